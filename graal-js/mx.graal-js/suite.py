@@ -565,7 +565,10 @@ suite = {
       "distDependencies" : [
         "GRAALJS",
       ],
-      "maven" : False,
+      "description" : "Graal JavaScript snapshot and code cache tool",
+      "maven" : {
+        "artifactId" : "js-snapshot-tool",
+      },
     },
 
     "TRUFFLE_STATS" : {
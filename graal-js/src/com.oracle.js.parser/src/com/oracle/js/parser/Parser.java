@@ -65,6 +65,7 @@ import static com.oracle.js.parser.TokenType.ESCSTRING;
 import static com.oracle.js.parser.TokenType.EXPORT;
 import static com.oracle.js.parser.TokenType.EXTENDS;
 import static com.oracle.js.parser.TokenType.FINALLY;
+import static com.oracle.js.parser.TokenType.FOR;
 import static com.oracle.js.parser.TokenType.FROM;
 import static com.oracle.js.parser.TokenType.FUNCTION;
 import static com.oracle.js.parser.TokenType.GET;
@@ -78,7 +79,9 @@ import static com.oracle.js.parser.TokenType.LBRACKET;
 import static com.oracle.js.parser.TokenType.LET;
 import static com.oracle.js.parser.TokenType.LPAREN;
 import static com.oracle.js.parser.TokenType.MUL;
+import static com.oracle.js.parser.TokenType.NEW;
 import static com.oracle.js.parser.TokenType.OF;
+import static com.oracle.js.parser.TokenType.OPTIONAL_CHAIN;
 import static com.oracle.js.parser.TokenType.PERIOD;
 import static com.oracle.js.parser.TokenType.RBRACE;
 import static com.oracle.js.parser.TokenType.RBRACKET;
@@ -91,6 +94,7 @@ import static com.oracle.js.parser.TokenType.SPREAD_OBJECT;
 import static com.oracle.js.parser.TokenType.STATIC;
 import static com.oracle.js.parser.TokenType.STRING;
 import static com.oracle.js.parser.TokenType.SUPER;
+import static com.oracle.js.parser.TokenType.SWITCH;
 import static com.oracle.js.parser.TokenType.TEMPLATE;
 import static com.oracle.js.parser.TokenType.TEMPLATE_HEAD;
 import static com.oracle.js.parser.TokenType.TEMPLATE_MIDDLE;
@@ -99,16 +103,19 @@ import static com.oracle.js.parser.TokenType.TERNARY;
 import static com.oracle.js.parser.TokenType.VAR;
 import static com.oracle.js.parser.TokenType.VOID;
 import static com.oracle.js.parser.TokenType.WHILE;
+import static com.oracle.js.parser.TokenType.WITH;
 import static com.oracle.js.parser.TokenType.YIELD;
 import static com.oracle.js.parser.TokenType.YIELD_STAR;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.graalvm.collections.Pair;
@@ -271,6 +278,9 @@ public class Parser extends AbstractParser {
 
     private RecompilableScriptFunctionData reparsedFunction;
 
+    /** Id of the function being reparsed after preparsing, whose body is parsed in full. */
+    private int lazyFunctionId = -1;
+
     private boolean isModule;
 
     public static final boolean PROFILE_PARSING = Options.getBooleanProperty("parser.profiling", false);
@@ -483,6 +493,32 @@ public class Parser extends AbstractParser {
         return parse(PROGRAM_NAME, 0, source.getLength(), 0, null, argumentNames);
     }
 
+    /**
+     * Parses a function whose body has previously only been preparsed, i.e., skipped over up to its
+     * closing brace (see {@link ScriptEnvironment#lazyParsing}). Syntax errors in the body are
+     * reported here. Only the source range of the function is parsed; functions nested in it may
+     * be preparsed again.
+     *
+     * @param preparsed the preparsed function node
+     * @return function node with a fully parsed body
+     */
+    public FunctionNode reparseFunction(final FunctionNode preparsed) {
+        assert preparsed.isPreparsed();
+        try {
+            final int startPos = preparsed.getStart();
+            prepareLexer(startPos, preparsed.getFinish() - startPos);
+            lazyFunctionId = preparsed.getId();
+
+            scanFirstToken();
+
+            return lazyFunction(preparsed);
+        } catch (final Exception e) {
+            handleParseException(e);
+
+            return null;
+        }
+    }
+
     /**
      * Parse and return the list of function parameter list. A comma separated list of function
      * parameter identifiers is expected to be parsed. Errors will be thrown and the error manager
@@ -701,6 +737,7 @@ public class Parser extends AbstractParser {
                         function.getEndParserState(),
                         function.getModule(),
                         function.getInternalName());
+        functionNode.setPreparsedNames(function.getPreparsedNames());
 
         return functionNode;
     }
@@ -1070,6 +1107,37 @@ public class Parser extends AbstractParser {
         return createFunctionNode(script, functionToken, ident, functionLine, programBody);
     }
 
+    /**
+     * Parses a preparsed function in a synthetic script scope. The function is parsed as a
+     * statement if it was declared by one so that it gets the same flags as the preparsed node.
+     */
+    private FunctionNode lazyFunction(final FunctionNode preparsed) {
+        final long functionToken = Token.toDesc(FUNCTION, preparsed.getStart(), preparsed.getFinish() - preparsed.getStart());
+        final int functionLine = line;
+        final Scope topScope = Scope.createGlobal();
+        final ParserContextFunctionNode script = createParserContextFunctionNode(null, functionToken, FunctionNode.IS_SCRIPT, functionLine, Collections.<IdentNode> emptyList(), 0, topScope);
+
+        lc.push(script);
+        final ParserContextBlockNode body = newBlock(topScope);
+        functionDeclarations = new ArrayList<>();
+        final Expression function;
+        try {
+            if (preparsed.isAsync()) {
+                function = asyncFunctionExpression(preparsed.isStatement(), true);
+            } else {
+                function = functionExpression(preparsed.isStatement(), true);
+            }
+        } finally {
+            functionDeclarations = null;
+            restoreBlock(body);
+            lc.pop(script);
+        }
+
+        expect(EOF);
+
+        return (FunctionNode) function;
+    }
+
     private static Scope applyArgumentsToScope(Scope scope, String[] argumentNames) {
         if (argumentNames == null) {
             return scope;
@@ -4791,16 +4859,17 @@ public class Parser extends AbstractParser {
     private Expression asyncFunctionExpression(final boolean isStatement, final boolean topLevel) {
         assert isAsync() && lookaheadIsAsyncFunction();
         long asyncToken = token;
+        final boolean parenthesized = !isStatement && last == LPAREN;
         nextOrEOL();
-        return functionExpression(isStatement, topLevel, true, Token.recast(asyncToken, FUNCTION), false);
+        return functionExpression(isStatement, topLevel, true, Token.recast(asyncToken, FUNCTION), false, parenthesized);
     }
 
     private Expression functionExpression(final boolean isStatement, final boolean topLevel) {
-        return functionExpression(isStatement, topLevel, false, token, false);
+        return functionExpression(isStatement, topLevel, false, token, false, !isStatement && last == LPAREN);
     }
 
     private Expression functionExpression(final boolean isStatement, final boolean topLevel, final boolean expressionStatement) {
-        return functionExpression(isStatement, topLevel, false, token, expressionStatement);
+        return functionExpression(isStatement, topLevel, false, token, expressionStatement, !isStatement && last == LPAREN);
     }
 
     /**
@@ -4816,10 +4885,12 @@ public class Parser extends AbstractParser {
      *
      *
      * @param isStatement true if parsing in a statement context.
+     * @param parenthesized true if the function expression directly follows a left parenthesis.
      *
      * @return Expression node.
      */
-    private Expression functionExpression(final boolean isStatement, final boolean topLevel, final boolean async, final long functionToken, final boolean expressionStatement) {
+    private Expression functionExpression(final boolean isStatement, final boolean topLevel, final boolean async, final long functionToken, final boolean expressionStatement,
+                    final boolean parenthesized) {
         final int functionLine = line;
         // FUNCTION is tested in caller.
         assert type == FUNCTION;
@@ -4862,6 +4933,7 @@ public class Parser extends AbstractParser {
             // name is null, generate anonymous name
             functionNode.setInternalName(getDefaultFunctionName());
         }
+        functionNode.setParenthesized(parenthesized);
         lc.push(functionNode);
 
         Block functionBody;
@@ -5227,7 +5299,10 @@ public class Parser extends AbstractParser {
                 bodyFinish = finish;
             } else {
                 expectDontAdvance(LBRACE);
-                if (parseBody || !skipFunctionBody(functionNode)) {
+                if (parseBody && canPreparse(functionNode) && preparseFunctionBody(functionNode)) {
+                    // The body has been skipped up to its RBRACE and is parsed on demand.
+                    assert type == RBRACE;
+                } else if (parseBody || !skipFunctionBody(functionNode)) {
                     next();
                     // Gather the function elements.
                     final List<Statement> prevFunctionDecls = functionDeclarations;
@@ -5307,6 +5382,309 @@ public class Parser extends AbstractParser {
         return new Block(bodyToken, bodyFinish, body.getFlags() | Block.IS_BODY, body.getScope(), body.getStatements());
     }
 
+    /**
+     * Returns true if the body of the function should only be preparsed. This is the case for
+     * ordinary functions, including generator and async functions, with a simple parameter list
+     * that are not nested in a class. Function expressions in parentheses are parsed eagerly since
+     * they are usually invoked immediately.
+     */
+    private boolean canPreparse(final ParserContextFunctionNode functionNode) {
+        return env.lazyParsing && !isModule && !scripting && functionNode.getId() != lazyFunctionId &&
+                        !functionNode.isProgram() && !functionNode.isArrow() && !functionNode.isMethod() && functionNode.isSimpleParameterList() &&
+                        !functionNode.isParenthesized() && lc.getCurrentClass() == null;
+    }
+
+    /*
+     * Brackets tracked while preparsing a function body. Braces are classified by the preceding
+     * token so that a '/' following them can be told apart as a division or a regular expression.
+     */
+    private static final byte PREPARSE_PAREN = 0;
+    /** Parentheses of if, for, while, with, switch, and catch. */
+    private static final byte PREPARSE_CONTROL_PAREN = 1;
+    private static final byte PREPARSE_BRACKET = 2;
+    private static final byte PREPARSE_BLOCK = 3;
+    private static final byte PREPARSE_OBJECT_LITERAL = 4;
+    /** Function or class body, or a brace that cannot be classified. */
+    private static final byte PREPARSE_FUNCTION_BODY = 5;
+    private static final byte PREPARSE_TEMPLATE = 6;
+
+    /**
+     * Preparses the body of a function: scans its tokens up to the matching RBRACE without
+     * creating any IR nodes, recording the names that the body (including nested functions) may
+     * reference from enclosing scopes. Syntax errors other than unbalanced brackets are only
+     * reported when the function is parsed on demand.
+     *
+     * The body is not skipped if its analysis requires the full parser, i.e. if it has a directive
+     * prologue other than "use strict", refers to eval or new.target, or has a '/' that could start a regular expression
+     * as well as be a division. In that case, the tokens scanned so far are discarded and the
+     * parser continues at the LBRACE.
+     *
+     * @return true if the body has been skipped and the current token is its RBRACE
+     */
+    private boolean preparseFunctionBody(final ParserContextFunctionNode functionNode) {
+        assert type == LBRACE;
+        final boolean previousPauseOnRightBrace = lexer.pauseOnRightBrace;
+        final int previousLast = stream.last();
+        final Lexer.State previousLexerState = lexer.saveState();
+        boolean skipped = false;
+        final Set<String> referencedNames = new HashSet<>();
+        final Set<String> declaredNames = new HashSet<>();
+        byte[] brackets = new byte[16];
+        int depth = 0;
+        brackets[depth++] = PREPARSE_BLOCK;
+        int nestedFunctions = 0;
+        byte closed = PREPARSE_BLOCK;
+        TokenType prev = LBRACE;
+        TokenType prevPrev = null;
+        boolean declaration = false;
+        // last token before the RBRACE other than EOL or COMMENT, and the EOL preceding it
+        int lastIndex = k;
+        long lastLineToken = 0;
+        long lineToken = 0;
+        int i = k;
+        try {
+            while (true) {
+                if (stream.isFull() && lastIndex > previousLast + 1) {
+                    // Drop the tokens scanned so far instead of growing the token stream.
+                    final int removed = lastIndex - previousLast - 1;
+                    stream.removeRange(previousLast + 1, lastIndex);
+                    lastIndex -= removed;
+                    i -= removed;
+                }
+                final long t = getToken(++i);
+                final TokenType tt = Token.descType(t);
+                if (tt == EOL) {
+                    lineToken = t;
+                    continue;
+                } else if (tt == COMMENT) {
+                    continue;
+                }
+                final boolean propertyName = prev == PERIOD || prev == OPTIONAL_CHAIN;
+                final boolean statementStart = depth == 1 && (prev == LBRACE || prev == RBRACE || prev == SEMICOLON);
+                boolean declares = false;
+                switch (tt) {
+                    case EOF:
+                    case ERROR:
+                    case DIRECTIVE_COMMENT:
+                        return false;
+                    case STRING:
+                    case ESCSTRING:
+                        if (depth == 1 && prev == LBRACE) {
+                            // directive prologue: only a single "use strict"; is supported
+                            if (tt != STRING || !"use strict".equals(getValue(t)) || T(i + 1) != SEMICOLON) {
+                                return false;
+                            }
+                            if (!functionNode.isStrict()) {
+                                functionNode.setFlag(FunctionNode.IS_STRICT);
+                                verifyUseStrict(functionNode, 0);
+                            }
+                        }
+                        break;
+                    case IDENT:
+                        if (!propertyName) {
+                            final String name = (String) getValue(t);
+                            if (name == null || EVAL_NAME.equals(name)) {
+                                return false;
+                            }
+                            (declaration ? declaredNames : referencedNames).add(name);
+                        }
+                        break;
+                    case VAR:
+                        declares = !propertyName && nestedFunctions == 0;
+                        break;
+                    case LET:
+                    case CONST:
+                    case CLASS:
+                    case FUNCTION:
+                        declares = statementStart;
+                        break;
+                    case MUL:
+                        // generator function declaration
+                        declares = declaration && prev == FUNCTION;
+                        break;
+                    case PERIOD:
+                        if (prev == NEW) {
+                            // new.target
+                            return false;
+                        }
+                        break;
+                    case DIV:
+                    case ASSIGN_DIV: {
+                        final int regex = startsRegex(prev, prevPrev, closed);
+                        if (regex < 0 || (regex > 0 && !lexer.scanLiteral(t, tt, lineInfoReceiver))) {
+                            return false;
+                        }
+                        break;
+                    }
+                    case LPAREN:
+                    case LBRACKET:
+                    case LBRACE:
+                    case TEMPLATE_HEAD:
+                    case TEMPLATE_MIDDLE: {
+                        final byte bracket;
+                        if (tt == LPAREN) {
+                            final boolean control = !(prevPrev == PERIOD || prevPrev == OPTIONAL_CHAIN) &&
+                                            (prev == IF || prev == FOR || prev == WHILE || prev == WITH || prev == SWITCH || prev == CATCH || (prev == AWAIT && prevPrev == FOR));
+                            bracket = control ? PREPARSE_CONTROL_PAREN : PREPARSE_PAREN;
+                        } else if (tt == LBRACKET) {
+                            bracket = PREPARSE_BRACKET;
+                        } else if (tt == LBRACE) {
+                            bracket = classifyBrace(prev, closed, brackets[depth - 1]);
+                        } else {
+                            bracket = PREPARSE_TEMPLATE;
+                            lexer.pauseOnRightBrace = true;
+                        }
+                        if (depth == brackets.length) {
+                            brackets = Arrays.copyOf(brackets, depth * 2);
+                        }
+                        brackets[depth++] = bracket;
+                        if (bracket == PREPARSE_FUNCTION_BODY) {
+                            nestedFunctions++;
+                        }
+                        break;
+                    }
+                    case RPAREN:
+                    case RBRACKET:
+                    case RBRACE: {
+                        final byte bracket = brackets[--depth];
+                        if (tt == RPAREN ? !(bracket == PREPARSE_PAREN || bracket == PREPARSE_CONTROL_PAREN) : tt == RBRACKET ? bracket != PREPARSE_BRACKET : bracket <= PREPARSE_BRACKET) {
+                            return false;
+                        }
+                        closed = bracket;
+                        if (bracket == PREPARSE_FUNCTION_BODY) {
+                            nestedFunctions--;
+                        } else if (bracket == PREPARSE_TEMPLATE) {
+                            if (i != stream.last()) {
+                                return false;
+                            }
+                            lexer.scanTemplateSpan();
+                        }
+                        break;
+                    }
+                    default:
+                        if (!propertyName && (tt.isContextualKeyword() || tt.getKind() == TokenKind.FUTURESTRICT)) {
+                            // may be used as an identifier in non-strict code
+                            referencedNames.add(tt.getName());
+                        }
+                        break;
+                }
+                if (depth == 0) {
+                    break;
+                }
+                lastIndex = i;
+                lastLineToken = lineToken;
+                declaration = declares;
+                prevPrev = prev;
+                prev = tt;
+            }
+            skipped = true;
+        } catch (final ParserException e) {
+            // reported by the parser, unless the lexer was misled by a wrong guess of ours
+            return false;
+        } finally {
+            lexer.pauseOnRightBrace = previousPauseOnRightBrace;
+            if (!skipped) {
+                // Discard the tokens scanned so far since the parser would scan regular
+                // expressions and template spans again.
+                stream.removeRange(previousLast + 1, stream.last() + 1);
+                lexer.restoreState(previousLexerState);
+            }
+        }
+
+        for (final IdentNode parameter : functionNode.getParameters()) {
+            declaredNames.add(parameter.getName());
+        }
+        referencedNames.removeAll(declaredNames);
+        functionNode.setPreparsedNames(referencedNames);
+
+        // fast forward to the RBRACE as if the parser had consumed the tokens before it
+        if (lastIndex != k) {
+            k = lastIndex;
+            token = stream.get(k);
+            type = Token.descType(token);
+            start = Token.descPosition(token);
+            if (lastLineToken != 0) {
+                // EOL uses length field to store the line number
+                line = Token.descLength(lastLineToken);
+                linePosition = Token.descPosition(lastLineToken);
+            }
+        }
+        next();
+        return true;
+    }
+
+    /**
+     * Classifies a brace by the token preceding it and the enclosing bracket.
+     */
+    private static byte classifyBrace(final TokenType prev, final byte closed, final byte enclosing) {
+        switch (prev) {
+            case LBRACE:
+            case RBRACE:
+            case SEMICOLON:
+                // e.g. for (;{}.x;)
+                return enclosing == PREPARSE_BLOCK || enclosing == PREPARSE_FUNCTION_BODY ? PREPARSE_BLOCK : PREPARSE_OBJECT_LITERAL;
+            case ELSE:
+            case DO:
+            case TRY:
+            case FINALLY:
+                return PREPARSE_BLOCK;
+            case RPAREN:
+                return closed == PREPARSE_CONTROL_PAREN ? PREPARSE_BLOCK : PREPARSE_FUNCTION_BODY;
+            case ARROW:
+            case COLON:
+                return PREPARSE_FUNCTION_BODY;
+            case LPAREN:
+            case LBRACKET:
+            case TEMPLATE_HEAD:
+            case TEMPLATE_MIDDLE:
+                return PREPARSE_OBJECT_LITERAL;
+            default:
+                return prev.getKind() == TokenKind.BINARY || prev.getKind() == TokenKind.UNARY ? PREPARSE_OBJECT_LITERAL : PREPARSE_FUNCTION_BODY;
+        }
+    }
+
+    /**
+     * Decides if a '/' following the given tokens starts a regular expression literal.
+     *
+     * @return 1 for a regular expression, 0 for a division, or -1 if this cannot be decided
+     *         without the parser
+     */
+    private static int startsRegex(final TokenType prev, final TokenType prevPrev, final byte closed) {
+        if (prevPrev == PERIOD || prevPrev == OPTIONAL_CHAIN) {
+            // property name
+            return 0;
+        }
+        switch (prev) {
+            case RPAREN:
+                return closed == PREPARSE_CONTROL_PAREN ? 1 : 0;
+            case RBRACKET:
+            case THIS:
+            case SUPER:
+                return 0;
+            case RBRACE:
+                return closed == PREPARSE_BLOCK ? 1 : closed == PREPARSE_OBJECT_LITERAL ? 0 : -1;
+            case INCPREFIX:
+            case DECPREFIX:
+                return -1;
+            case TEMPLATE_HEAD:
+            case TEMPLATE_MIDDLE:
+                return 1;
+            default:
+                break;
+        }
+        switch (prev.getKind()) {
+            case LITERAL:
+                // identifiers and literals
+                return 0;
+            case CONTEXTUAL:
+            case FUTURESTRICT:
+            case FUTURE:
+                return -1;
+            default:
+                return 1;
+        }
+    }
+
     private boolean skipFunctionBody(final ParserContextFunctionNode functionNode) {
         if (reparsedFunction == null) {
             // Not reparsing, so don't skip any function body.
@@ -43,6 +43,7 @@ package com.oracle.js.parser;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import com.oracle.js.parser.ir.Block;
 import com.oracle.js.parser.ir.Expression;
@@ -90,6 +91,11 @@ class ParserContextFunctionNode extends ParserContextBaseNode {
     /** Opaque node for parser end state, see {@link Parser} */
     private Object endParserState;
 
+    private Set<String> preparsedNames;
+
+    /** Is this a function expression enclosed in parentheses? */
+    private boolean parenthesized;
+
     private int length;
     private int parameterCount;
     private IdentNode duplicateParameterBinding;
@@ -246,6 +252,34 @@ class ParserContextFunctionNode extends ParserContextBaseNode {
         this.endParserState = endParserState;
     }
 
+    /**
+     * Returns the names that the body of this function may reference from enclosing scopes if it
+     * has only been preparsed.
+     *
+     * @return the referenced names, or {@code null} if the body has been fully parsed
+     */
+    public Set<String> getPreparsedNames() {
+        return preparsedNames;
+    }
+
+    /**
+     * Marks this function as preparsed.
+     *
+     * @param preparsedNames the names the body of this function may reference from enclosing
+     *            scopes
+     */
+    public void setPreparsedNames(final Set<String> preparsedNames) {
+        this.preparsedNames = preparsedNames;
+    }
+
+    public boolean isParenthesized() {
+        return parenthesized;
+    }
+
+    public void setParenthesized(final boolean parenthesized) {
+        this.parenthesized = parenthesized;
+    }
+
     /**
      * Returns the if of this function
      *
@@ -113,8 +113,12 @@ public final class ScriptEnvironment {
     /** Is class field support enabled. */
     final boolean classFields;
 
+    /** Are bodies of nested functions only preparsed and parsed again on demand? */
+    final boolean lazyParsing;
+
     private ScriptEnvironment(boolean strict, int ecmaScriptVersion, boolean emptyStatements, boolean syntaxExtensions, boolean scripting, boolean shebang,
-                    boolean constAsVar, boolean allowBigInt, boolean annexB, boolean classFields, FunctionStatementBehavior functionStatementBehavior, PrintWriter dumpOnError) {
+                    boolean constAsVar, boolean allowBigInt, boolean annexB, boolean classFields, boolean lazyParsing, FunctionStatementBehavior functionStatementBehavior,
+                    PrintWriter dumpOnError) {
         this.namespace = new Namespace();
         this.err = dumpOnError;
 
@@ -130,6 +134,7 @@ public final class ScriptEnvironment {
         this.allowBigInt = allowBigInt;
         this.annexB = annexB;
         this.classFields = classFields;
+        this.lazyParsing = lazyParsing;
     }
 
     /**
@@ -170,6 +175,7 @@ public final class ScriptEnvironment {
         private boolean allowBigInt;
         private boolean annexB = true;
         private boolean classFields = true;
+        private boolean lazyParsing;
         private FunctionStatementBehavior functionStatementBehavior = FunctionStatementBehavior.ERROR;
         private PrintWriter dumpOnError;
 
@@ -226,6 +232,11 @@ public final class ScriptEnvironment {
             return this;
         }
 
+        public Builder lazyParsing(boolean lazyParsing) {
+            this.lazyParsing = lazyParsing;
+            return this;
+        }
+
         public Builder functionStatementBehavior(FunctionStatementBehavior functionStatementBehavior) {
             this.functionStatementBehavior = functionStatementBehavior;
             return this;
@@ -238,7 +249,7 @@ public final class ScriptEnvironment {
 
         public ScriptEnvironment build() {
             return new ScriptEnvironment(strict, ecmaScriptVersion, emptyStatements, syntaxExtensions, scripting, shebang, constAsVar, allowBigInt, annexB,
-                            classFields, functionStatementBehavior, dumpOnError);
+                            classFields, lazyParsing, functionStatementBehavior, dumpOnError);
         }
     }
 }
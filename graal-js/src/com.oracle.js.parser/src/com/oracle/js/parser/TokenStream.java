@@ -202,4 +202,20 @@ public class TokenStream {
     void reset() {
         in = out = count = base = 0;
     }
+
+    /**
+     * Removes a range of token descriptors from the stream. The following tokens move down.
+     *
+     * @param from Position of the first token to remove.
+     * @param to Position after the last token to remove.
+     */
+    void removeRange(final int from, final int to) {
+        assert base <= from && from <= to && to <= last() + 1;
+        final int last = last();
+        for (int k = to; k <= last; k++) {
+            buffer[index(k - (to - from))] = buffer[index(k)];
+        }
+        count -= to - from;
+        in = index(base + count);
+    }
 }
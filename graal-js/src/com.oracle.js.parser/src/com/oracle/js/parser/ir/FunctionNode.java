@@ -45,6 +45,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import com.oracle.js.parser.Source;
 import com.oracle.js.parser.Token;
@@ -102,6 +103,12 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
 
     private boolean usesAncestorScope;
 
+    /**
+     * Names the body of a preparsed function may reference from enclosing scopes, or {@code null}
+     * if the body has been fully parsed.
+     */
+    private Set<String> preparsedNames;
+
     /** Is anonymous function flag. */
     public static final int IS_ANONYMOUS = 1 << 0;
 
@@ -316,6 +323,7 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.numOfParams = functionNode.numOfParams;
         this.module = functionNode.module;
         this.internalName = functionNode.internalName;
+        this.preparsedNames = functionNode.preparsedNames;
     }
 
     @Override
@@ -756,6 +764,27 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         this.usesAncestorScope = usesAncestorScope;
     }
 
+    /**
+     * Returns true if the body of this function has only been skipped over and needs to be parsed
+     * before it can be translated.
+     */
+    public boolean isPreparsed() {
+        return preparsedNames != null;
+    }
+
+    /**
+     * Returns the names of identifiers referenced in the body of this preparsed function (including
+     * nested functions) that are not declared at its top level; a superset of the free variables
+     * of the function.
+     */
+    public Set<String> getPreparsedNames() {
+        return preparsedNames;
+    }
+
+    public void setPreparsedNames(Set<String> preparsedNames) {
+        this.preparsedNames = preparsedNames;
+    }
+
     public boolean isNormal() {
         return !getFlag(IS_SCRIPT | IS_MODULE | IS_GETTER | IS_SETTER | IS_METHOD | IS_ARROW | IS_GENERATOR | IS_ASYNC);
     }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Atomics read-modify-write operations on one SharedArrayBuffer performed concurrently by
+ * several agents (test262 debug agents, each running on its own thread and context). With
+ * {@code disjoint} indices, every agent works on its own cache line; with {@code shared}, all
+ * agents contend on the same element.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHAtomicsBenchmark {
+    @State(Scope.Thread)
+    public static class AgentState {
+        protected static final int OPERATIONS = 100000;
+        /** Distance between the elements of different agents (64 bytes, i.e. one cache line). */
+        protected static final int STRIDE = 16;
+
+        @Param({"1", "2", "4", "8"}) int agents;
+        @Param({"disjoint", "shared"}) String indices;
+
+        Context context;
+        Value runRound;
+        Value stopAgents;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.newBuilder("js").allowExperimentalOptions(true).option("js.test262-mode", "true").build();
+            for (int i = 0; i < agents; i++) {
+                int index = "shared".equals(indices) ? STRIDE : STRIDE * (i + 1);
+                String agentSource = "$262.agent.receiveBroadcast(function(sab) {" +
+                                "  var ta = new Int32Array(sab);" +
+                                "  if (Atomics.load(ta, 0) !== 0) { $262.agent.leaving(); return; }" +
+                                "  for (var i = 0; i < " + OPERATIONS + "; i++) {" +
+                                "    Atomics.add(ta, " + index + ", 1);" +
+                                "    var old = Atomics.load(ta, " + (index + 1) + ");" +
+                                "    Atomics.compareExchange(ta, " + (index + 1) + ", old, old + 1);" +
+                                "  }" +
+                                "  $262.agent.report('done');" +
+                                "});";
+                context.getBindings("js").getMember("$262").getMember("agent").invokeMember("start", agentSource);
+            }
+            Value setup = context.eval(Source.create("js", "(function(agents, length) {" +
+                            "  var sab = new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT * length);" +
+                            "  return [function() {" +
+                            "    $262.agent.broadcast(sab);" +
+                            "    var reports = 0;" +
+                            "    while (reports < agents) {" +
+                            "      if ($262.agent.getReport() !== null) { reports++; }" +
+                            "    }" +
+                            "    return Atomics.load(new Int32Array(sab), " + STRIDE + ");" +
+                            "  }, function() {" +
+                            "    Atomics.store(new Int32Array(sab), 0, 1);" +
+                            "    $262.agent.broadcast(sab);" +
+                            "  }];" +
+                            "})"));
+            Value functions = setup.execute(agents, STRIDE * (agents + 2));
+            runRound = functions.getArrayElement(0);
+            stopAgents = functions.getArrayElement(1);
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            stopAgents.executeVoid();
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testAtomicsConcurrentAgents(AgentState state) {
+        return state.runRound.execute();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code Map} and {@code Set} operations with different kinds of keys.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHCollectionsBenchmark {
+    public static class CollectionState extends JSBenchmarkState {
+        @Param({"int", "double", "string", "object"}) String keys;
+
+        Value mapSetGet;
+        Value mapDelete;
+        Value setAddHas;
+        Value mapIterate;
+
+        @Override
+        protected String getSource() {
+            return "(function(kind) {" +
+                            "  var keys = [];" +
+                            "  for (var i = 0; i < ITERATIONS; i++) {" +
+                            "    keys.push(kind === 'int' ? i : kind === 'double' ? i + 0.5 : kind === 'string' ? 'key' + i : {id: i});" +
+                            "  }" +
+                            "  var full = new Map();" +
+                            "  keys.forEach(function(k, i) { full.set(k, i); });" +
+                            "  return {" +
+                            "    mapSetGet: function() { var m = new Map(); var sum = 0;" +
+                            "      for (var i = 0; i < ITERATIONS; i++) { m.set(keys[i], i); }" +
+                            "      for (var i = 0; i < ITERATIONS; i++) { sum += m.get(keys[i]); } return sum; }," +
+                            "    mapDelete: function() { var m = new Map(full);" +
+                            "      for (var i = 0; i < ITERATIONS; i += 2) { m.delete(keys[i]); } return m.size; }," +
+                            "    setAddHas: function() { var s = new Set(); var n = 0;" +
+                            "      for (var i = 0; i < ITERATIONS; i += 2) { s.add(keys[i]); }" +
+                            "      for (var i = 0; i < ITERATIONS; i++) { if (s.has(keys[i])) { n++; } } return n; }," +
+                            "    mapIterate: function() { var sum = 0; for (var e of full) { sum += e[1]; } return sum; }" +
+                            "  };" +
+                            "})('" + keys + "')";
+        }
+
+        @Override
+        protected void init(Value benchmarks) {
+            mapSetGet = benchmarks.getMember("mapSetGet");
+            mapDelete = benchmarks.getMember("mapDelete");
+            setAddHas = benchmarks.getMember("setAddHas");
+            mapIterate = benchmarks.getMember("mapIterate");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value mapSetGet(CollectionState state) {
+        return state.mapSetGet.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value mapDelete(CollectionState state) {
+        return state.mapDelete.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value setAddHas(CollectionState state) {
+        return state.setAddHas.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value mapIterate(CollectionState state) {
+        return state.mapIterate.execute();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creation, initialization and disposal of contexts, with and without a shared engine, and with
+ * lazily ({@code js.lazy-builtins=true}) or eagerly created global builtins.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHContextCreationBenchmark {
+    @State(Scope.Thread)
+    public static class EngineState {
+        @Param({"true", "false"}) boolean sharedEngine;
+        @Param({"true", "false"}) boolean lazyBuiltins;
+
+        Engine engine;
+        Source source;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            engine = sharedEngine ? Engine.create() : null;
+            source = Source.create("js", "var o = {a: [1, 2, 3], s: 'x'}; JSON.stringify(o) + Object.keys(this).length;");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            if (engine != null) {
+                engine.close();
+            }
+        }
+
+        Context newContext() {
+            Context.Builder builder = Context.newBuilder("js").allowExperimentalOptions(true).option("js.lazy-builtins", String.valueOf(lazyBuiltins));
+            if (engine != null) {
+                builder.engine(engine);
+            }
+            return builder.build();
+        }
+    }
+
+    @Benchmark
+    public void initialize(EngineState state) {
+        try (Context context = state.newContext()) {
+            context.initialize("js");
+        }
+    }
+
+    @Benchmark
+    public String eval(EngineState state) {
+        try (Context context = state.newContext()) {
+            return context.eval(state.source).asString();
+        }
+    }
+
+    static final int RETAINED_CONTEXTS = 50;
+
+    /**
+     * Heap retained per initialized context, reported as secondary result of
+     * {@link #retainedHeap}.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RetainedHeap {
+        public long retainedBytesPerContext;
+    }
+
+    /**
+     * Keeps a number of initialized contexts alive and measures the used heap after a full GC.
+     * The primary score includes the forced GCs and is not meaningful on its own.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void retainedHeap(EngineState state, RetainedHeap counters) {
+        long before = usedHeapAfterGC();
+        Context[] contexts = new Context[RETAINED_CONTEXTS];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = state.newContext();
+            contexts[i].initialize("js");
+        }
+        long after = usedHeapAfterGC();
+        counters.retainedBytesPerContext = (after - before) / RETAINED_CONTEXTS;
+        for (Context context : contexts) {
+            context.close();
+        }
+    }
+
+    private static long usedHeapAfterGC() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Function calls ({@code JSFunctionCallNode}) with one or several different call targets per call
+ * site.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHFunctionCallBenchmark {
+    public static class CallState extends JSBenchmarkState {
+        @Param({"1", "8"}) int targets;
+
+        Value direct;
+        Value method;
+        Value apply;
+        Value bound;
+        Value construct;
+
+        @Override
+        protected String getSource() {
+            return "(function(targets) {" +
+                            "  var functions = [];" +
+                            "  for (var i = 0; i < targets; i++) { functions.push(new Function('a', 'b', 'return a + b + ' + i + ';')); }" +
+                            "  var receivers = functions.map(function(f) { return { add: f }; });" +
+                            "  var bounds = functions.map(function(f) { return f.bind(null, 1); });" +
+                            "  var constructors = functions.map(function(f, i) { return new Function('a', 'this.a = a + ' + i + ';'); });" +
+                            "  var mask = targets - 1;" +
+                            "  return {" +
+                            "    direct: function() { var sum = 0; for (var i = 0; i < ITERATIONS; i++) { sum += functions[i & mask](i, 1); } return sum; }," +
+                            "    method: function() { var sum = 0; for (var i = 0; i < ITERATIONS; i++) { sum += receivers[i & mask].add(i, 1); } return sum; }," +
+                            "    apply: function() { var sum = 0; var args = [1, 2]; for (var i = 0; i < ITERATIONS; i++) { sum += functions[i & mask].apply(null, args); } return sum; }," +
+                            "    bound: function() { var sum = 0; for (var i = 0; i < ITERATIONS; i++) { sum += bounds[i & mask](i); } return sum; }," +
+                            "    construct: function() { var sum = 0; for (var i = 0; i < ITERATIONS; i++) { sum += new constructors[i & mask](i).a; } return sum; }" +
+                            "  };" +
+                            "})(" + targets + ")";
+        }
+
+        @Override
+        protected void init(Value benchmarks) {
+            direct = benchmarks.getMember("direct");
+            method = benchmarks.getMember("method");
+            apply = benchmarks.getMember("apply");
+            bound = benchmarks.getMember("bound");
+            construct = benchmarks.getMember("construct");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value direct(CallState state) {
+        return state.direct.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value method(CallState state) {
+        return state.method.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value apply(CallState state) {
+        return state.apply.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value bound(CallState state) {
+        return state.bound.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value construct(CallState state) {
+        return state.construct.execute();
+    }
+}
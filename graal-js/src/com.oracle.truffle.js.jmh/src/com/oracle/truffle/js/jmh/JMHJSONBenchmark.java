@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code JSON.parse} and {@code JSON.stringify} of documents consisting of records with the same
+ * structure.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHJSONBenchmark {
+    public static class JSONState extends JSBenchmarkState {
+        @Param({"10", "1000"}) int records;
+
+        Value parse;
+        Value stringify;
+        Value roundTrip;
+
+        @Override
+        protected String getSource() {
+            return "(function(records) {" +
+                            "  var data = [];" +
+                            "  for (var i = 0; i < records; i++) {" +
+                            "    data.push({id: i, name: 'record ' + i, active: (i & 1) === 0, score: i / 7, tags: ['a', 'b', 'c'], nested: {x: i, y: null}});" +
+                            "  }" +
+                            "  var text = JSON.stringify(data);" +
+                            "  return {" +
+                            "    parse: function() { return JSON.parse(text).length; }," +
+                            "    stringify: function() { return JSON.stringify(data).length; }," +
+                            "    roundTrip: function() { return JSON.stringify(JSON.parse(text), null, 2).length; }" +
+                            "  };" +
+                            "})(" + records + ")";
+        }
+
+        @Override
+        protected void init(Value benchmarks) {
+            parse = benchmarks.getMember("parse");
+            stringify = benchmarks.getMember("stringify");
+            roundTrip = benchmarks.getMember("roundTrip");
+        }
+    }
+
+    @Benchmark
+    public Value parse(JSONState state) {
+        return state.parse.execute();
+    }
+
+    @Benchmark
+    public Value stringify(JSONState state) {
+        return state.stringify.execute();
+    }
+
+    @Benchmark
+    public Value roundTrip(JSONState state) {
+        return state.roundTrip.execute();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Promise reactions and async functions. The pending jobs are processed when the benchmark
+ * function returns to Java, so every invocation includes the complete execution of the jobs.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHPromiseBenchmark {
+    public static class PromiseState extends JSBenchmarkState {
+        Value thenChain;
+        Value asyncAwait;
+        Value all;
+
+        @Override
+        protected String getSource() {
+            return "(function() {" +
+                            "  var result = 0;" +
+                            "  function store(v) { result = v; }" +
+                            "  async function step(v) { return v + 1; }" +
+                            "  async function loop() { var v = 0; for (var i = 0; i < ITERATIONS; i++) { v = await step(v); } return v; }" +
+                            "  return {" +
+                            "    thenChain: function() { var p = Promise.resolve(0);" +
+                            "      for (var i = 0; i < ITERATIONS; i++) { p = p.then(function(v) { return v + 1; }); } p.then(store); return result; }," +
+                            "    asyncAwait: function() { loop().then(store); return result; }," +
+                            "    all: function() { var ps = []; for (var i = 0; i < ITERATIONS; i++) { ps.push(Promise.resolve(i)); }" +
+                            "      Promise.all(ps).then(function(a) { store(a.length); }); return result; }" +
+                            "  };" +
+                            "})()";
+        }
+
+        @Override
+        protected void init(Value benchmarks) {
+            thenChain = benchmarks.getMember("thenChain");
+            asyncAwait = benchmarks.getMember("asyncAwait");
+            all = benchmarks.getMember("all");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value thenChain(PromiseState state) {
+        return state.thenChain.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value asyncAwait(PromiseState state) {
+        return state.asyncAwait.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value all(PromiseState state) {
+        return state.all.execute();
+    }
+}
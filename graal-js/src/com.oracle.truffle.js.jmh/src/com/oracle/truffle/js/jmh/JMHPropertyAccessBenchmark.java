@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Property reads and writes ({@code PropertyGetNode}/{@code PropertySetNode}) on receivers with
+ * one (monomorphic), a few (polymorphic) or many (megamorphic) different shapes.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHPropertyAccessBenchmark {
+    public static class PropertyState extends JSBenchmarkState {
+        @Param({"1", "4", "16"}) int shapes;
+
+        Value get;
+        Value set;
+        Value prototypeGet;
+
+        @Override
+        protected String getSource() {
+            return "(function(shapes) {" +
+                            "  var objects = [];" +
+                            "  for (var i = 0; i < 64; i++) {" +
+                            "    var o = {};" +
+                            "    o['p' + (i % shapes)] = i;" +
+                            "    o.x = i;" +
+                            "    objects.push(o);" +
+                            "  }" +
+                            "  function Base() {}" +
+                            "  Base.prototype.y = 1;" +
+                            "  var inherited = objects.map(function(o) { var d = Object.create(o); Object.setPrototypeOf(o, Base.prototype); return d; });" +
+                            "  return {" +
+                            "    get: function() { var sum = 0; for (var i = 0; i < ITERATIONS; i++) { sum += objects[i & 63].x; } return sum; }," +
+                            "    set: function() { for (var i = 0; i < ITERATIONS; i++) { objects[i & 63].x = i; } return objects; }," +
+                            "    prototypeGet: function() { var sum = 0; for (var i = 0; i < ITERATIONS; i++) { sum += inherited[i & 63].y; } return sum; }" +
+                            "  };" +
+                            "})(" + shapes + ")";
+        }
+
+        @Override
+        protected void init(Value benchmarks) {
+            get = benchmarks.getMember("get");
+            set = benchmarks.getMember("set");
+            prototypeGet = benchmarks.getMember("prototypeGet");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value get(PropertyState state) {
+        return state.get.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value set(PropertyState state) {
+        return state.set.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value prototypeGet(PropertyState state) {
+        return state.prototypeGet.execute();
+    }
+}
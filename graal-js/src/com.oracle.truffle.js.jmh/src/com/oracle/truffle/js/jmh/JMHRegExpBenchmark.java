@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Regular expression matching through {@code exec}, {@code test}, {@code replace} and
+ * {@code split}.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHRegExpBenchmark {
+    public static class RegExpState extends JSBenchmarkState {
+        Value exec;
+        Value test;
+        Value replace;
+        Value split;
+
+        @Override
+        protected String getSource() {
+            return "(function() {" +
+                            "  var lines = [];" +
+                            "  for (var i = 0; i < ITERATIONS; i++) { lines.push('2020-01-' + (10 + i % 20) + ' INFO request ' + i + ' took ' + (i % 97) + 'ms'); }" +
+                            "  var text = lines.join('\\n');" +
+                            "  return {" +
+                            "    exec: function() { var re = /(\\d+)-(\\d+)-(\\d+) (\\w+) .*? took (\\d+)ms/g; var sum = 0, m;" +
+                            "      while ((m = re.exec(text)) !== null) { sum += +m[5]; } return sum; }," +
+                            "    test: function() { var n = 0; for (var i = 0; i < ITERATIONS; i++) { if (/took 1\\dms$/.test(lines[i])) { n++; } } return n; }," +
+                            "    replace: function() { return text.replace(/request (\\d+)/g, function(s, id) { return 'req#' + id; }).length; }," +
+                            "    split: function() { return text.split(/\\s+/).length; }" +
+                            "  };" +
+                            "})()";
+        }
+
+        @Override
+        protected void init(Value benchmarks) {
+            exec = benchmarks.getMember("exec");
+            test = benchmarks.getMember("test");
+            replace = benchmarks.getMember("replace");
+            split = benchmarks.getMember("split");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value exec(RegExpState state) {
+        return state.exec.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value test(RegExpState state) {
+        return state.test.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value replace(RegExpState state) {
+        return state.replace.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value split(RegExpState state) {
+        return state.split.execute();
+    }
+}
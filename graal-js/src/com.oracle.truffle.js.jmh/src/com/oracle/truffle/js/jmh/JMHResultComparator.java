@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+
+/**
+ * Compares two JMH result files in JSON format (as produced by {@code -rf json -rff <file>}) and
+ * reports the benchmarks whose score changed by more than a threshold. The exit code is non-zero if
+ * any benchmark regressed, so that the tool can be used to check a new engine version locally:
+ *
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main -rf json -rff baseline.json
+ * (switch the engine version)
+ * java -cp ... org.openjdk.jmh.Main -rf json -rff current.json
+ * java -cp ... com.oracle.truffle.js.jmh.JMHResultComparator baseline.json current.json [--threshold=5]
+ * </pre>
+ */
+public final class JMHResultComparator {
+    private static final double DEFAULT_THRESHOLD = 5.0;
+
+    private JMHResultComparator() {
+    }
+
+    static final class Score {
+        final double score;
+        final double error;
+        final String unit;
+        final boolean higherIsBetter;
+
+        Score(double score, double error, String unit, boolean higherIsBetter) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+        /**
+         * Returns the relative change against the baseline in percent, positive values meaning
+         * improvements.
+         */
+        double improvementOver(Score baseline) {
+            double change = (score - baseline.score) / baseline.score * 100;
+            return higherIsBetter ? change : -change;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        double threshold = DEFAULT_THRESHOLD;
+        String baselineFile = null;
+        String currentFile = null;
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else if (baselineFile == null) {
+                baselineFile = arg;
+            } else {
+                currentFile = arg;
+            }
+        }
+        if (currentFile == null) {
+            System.out.println("Usage: JMHResultComparator BASELINE.json CURRENT.json [--threshold=PERCENT]");
+            System.exit(2);
+        }
+        int regressions = compare(readResults(baselineFile), readResults(currentFile), threshold, System.out);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /**
+     * Prints the comparison of the results.
+     *
+     * @return the number of regressions
+     */
+    static int compare(Map<String, Score> baseline, Map<String, Score> current, double threshold, PrintStream out) {
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                out.printf("%-90s %14s %14.3f %s  (new)%n", entry.getKey(), "", after.score, after.unit);
+                continue;
+            }
+            double improvement = after.improvementOver(before);
+            // changes within the error margins are noise
+            boolean significant = Math.abs(improvement) > threshold && Math.abs(after.score - before.score) > before.error + after.error;
+            String verdict = "";
+            if (significant) {
+                if (improvement < 0) {
+                    regressions++;
+                    verdict = "REGRESSION";
+                } else {
+                    verdict = "improvement";
+                }
+            }
+            out.printf("%-90s %14.3f %14.3f %s %+7.2f%% %s%n", entry.getKey(), before.score, after.score, after.unit, improvement, verdict);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                out.printf("%-90s (missing)%n", key);
+            }
+        }
+        out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    static Map<String, Score> readResults(String file) throws IOException {
+        String json = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        try (Context context = Context.create("js")) {
+            Value results = context.eval("js", "JSON.parse").execute(json);
+            Map<String, Score> scores = new LinkedHashMap<>();
+            for (long i = 0; i < results.getArraySize(); i++) {
+                Value result = results.getArrayElement(i);
+                StringBuilder key = new StringBuilder(result.getMember("benchmark").asString());
+                Value params = result.getMember("params");
+                if (params != null && params.hasMembers()) {
+                    Map<String, String> sortedParams = new TreeMap<>();
+                    for (String name : params.getMemberKeys()) {
+                        sortedParams.put(name, params.getMember(name).asString());
+                    }
+                    key.append(sortedParams);
+                }
+                String mode = result.getMember("mode").asString();
+                key.append(' ').append(mode);
+                Value metric = result.getMember("primaryMetric");
+                Value error = metric.getMember("scoreError");
+                double scoreError = error.isNumber() ? error.asDouble() : Double.NaN;
+                scores.put(key.toString(), new Score(metric.getMember("score").asDouble(), Double.isNaN(scoreError) ? 0 : scoreError, metric.getMember("scoreUnit").asString(),
+                                "thrpt".equals(mode)));
+            }
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * String concatenation, i.e., creation of {@code JSLazyString}s and their flattening.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHStringConcatBenchmark {
+    public static class ConcatState extends JSBenchmarkState {
+        Value append;
+        Value appendAndFlatten;
+        Value template;
+        Value join;
+
+        @Override
+        protected String getSource() {
+            return "({" +
+                            "  append: function() { var s = ''; for (var i = 0; i < ITERATIONS; i++) { s += 'item' + i + ','; } return s.length; }," +
+                            "  appendAndFlatten: function() { var s = ''; for (var i = 0; i < ITERATIONS; i++) { s += 'item' + i + ','; s.charCodeAt(s.length >> 1); } return s.length; }," +
+                            "  template: function() { var n = 0; for (var i = 0; i < ITERATIONS; i++) { n += `${i}: ${'item'} [${i * 2}]`.length; } return n; }," +
+                            "  join: function() { var parts = []; for (var i = 0; i < ITERATIONS; i++) { parts.push('item' + i); } return parts.join(',').length; }" +
+                            "})";
+        }
+
+        @Override
+        protected void init(Value benchmarks) {
+            append = benchmarks.getMember("append");
+            appendAndFlatten = benchmarks.getMember("appendAndFlatten");
+            template = benchmarks.getMember("template");
+            join = benchmarks.getMember("join");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value append(ConcatState state) {
+        return state.append.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value appendAndFlatten(ConcatState state) {
+        return state.appendAndFlatten.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value template(ConcatState state) {
+        return state.template.execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JSBenchmarkState.ITERATIONS)
+    public Value join(ConcatState state) {
+        return state.join.execute();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared harness of the JavaScript JMH benchmarks. The benchmark source is an expression that
+ * evaluates to an object whose members are the benchmark functions. Every function performs
+ * {@link #ITERATIONS} operations per call (see {@code OperationsPerInvocation}) and is called
+ * {@link #WARMUP_CALLS} times during the setup so that the measured code is compiled before the
+ * first warmup iteration of JMH.
+ */
+@State(Scope.Thread)
+public abstract class JSBenchmarkState {
+    public static final int ITERATIONS = 1000;
+    protected static final int WARMUP_CALLS = 200;
+
+    protected Context context;
+
+    /**
+     * Returns the source of the benchmark, see the class documentation. {@code ITERATIONS} is
+     * defined as a global variable when the source is evaluated.
+     */
+    protected abstract String getSource();
+
+    /**
+     * Initializes the state from the object returned by the benchmark source.
+     */
+    protected abstract void init(Value benchmarks);
+
+    protected Context.Builder newContextBuilder() {
+        return Context.newBuilder("js").allowExperimentalOptions(true);
+    }
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+        context = newContextBuilder().build();
+        context.getBindings("js").putMember("ITERATIONS", ITERATIONS);
+        Value benchmarks = context.eval(Source.create("js", getSource()));
+        for (String name : benchmarks.getMemberKeys()) {
+            Value function = benchmarks.getMember(name);
+            if (function.canExecute()) {
+                for (int i = 0; i < WARMUP_CALLS; i++) {
+                    function.execute();
+                }
+            }
+        }
+        init(benchmarks);
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() {
+        context.close();
+    }
+}
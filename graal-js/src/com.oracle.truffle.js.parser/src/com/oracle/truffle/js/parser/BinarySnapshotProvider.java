@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.parser;
 
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
 import com.oracle.truffle.api.source.Source;
@@ -74,16 +75,34 @@ public class BinarySnapshotProvider implements SnapshotProvider {
         this(ByteBuffer.wrap(bytes));
     }
 
-    @Override
-    public Object apply(NodeFactory nodeFactory, JSContext context, Source source) {
-        BinaryDecoder decoder = new BinaryDecoder(buffer);
-        checkFormat(decoder);
+    private static void checkSource(BinaryDecoder decoder, CharSequence code) {
         int sourceLength = decoder.getInt32();
         int sourceHash = decoder.getInt32();
-        CharSequence code = source.getCharacters();
         if (code.length() != sourceLength || code.hashCode() != sourceHash) {
             throw new IllegalArgumentException("Snapshot verification failed");
         }
+    }
+
+    /**
+     * Checks whether the snapshot has the expected format, was created by a compatible version of
+     * the node decoder and belongs to the given source code.
+     */
+    public static boolean isValidFor(ByteBuffer buffer, CharSequence code) {
+        try {
+            BinaryDecoder decoder = new BinaryDecoder(buffer);
+            checkFormat(decoder);
+            checkSource(decoder, code);
+            return true;
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Object apply(NodeFactory nodeFactory, JSContext context, Source source) {
+        BinaryDecoder decoder = new BinaryDecoder(buffer);
+        checkFormat(decoder);
+        checkSource(decoder, source.getCharacters());
         return new JSNodeDecoder().decodeNode(new NodeDecoder.DecoderState(decoder), nodeFactory, context, source);
     }
 }
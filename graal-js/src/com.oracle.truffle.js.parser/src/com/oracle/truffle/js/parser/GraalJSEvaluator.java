@@ -116,6 +116,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.LRUCache;
 import com.oracle.truffle.js.runtime.util.Pair;
 
 /**
@@ -205,10 +206,34 @@ public final class GraalJSEvaluator implements JSParser {
     @TruffleBoundary
     private static Object doEvaluate(JSRealm realm, Node lastNode, Object thisObj, MaterializedFrame materializedFrame, Source source, boolean isStrict, DirectEvalContext directEval) {
         JSContext context = realm.getContext();
-        ScriptNode scriptNode = parseEval(context, lastNode, source, isStrict, directEval);
+        ScriptNode scriptNode = parseEvalCached(context, lastNode, source, isStrict, directEval);
         return runParsed(scriptNode, realm, thisObj, materializedFrame);
     }
 
+    /**
+     * Looks up the translated script in the eval cache of the context before parsing. Direct eval
+     * scripts are only reused for the same call site, i.e., the same lexical environment.
+     */
+    private static ScriptNode parseEvalCached(JSContext context, Node lastNode, Source source, boolean isStrict, DirectEvalContext directEval) {
+        LRUCache<Object, ScriptNode> cache = context.getEvalCache();
+        if (cache == null) {
+            return parseEval(context, lastNode, source, isStrict, directEval);
+        }
+        context.checkEvalAllowed();
+        EvalCacheKey key = new EvalCacheKey(source, isStrict, directEval);
+        ScriptNode scriptNode;
+        synchronized (cache) {
+            scriptNode = cache.get(key);
+        }
+        if (scriptNode == null) {
+            scriptNode = parseEval(context, lastNode, source, isStrict, directEval);
+            synchronized (cache) {
+                cache.put(key, scriptNode);
+            }
+        }
+        return scriptNode;
+    }
+
     private static Object runParsed(ScriptNode scriptNode, JSRealm realm, Object thisObj, MaterializedFrame materializedFrame) {
         DynamicObject functionObj = JSFunction.create(realm, scriptNode.getFunctionData(), materializedFrame);
         return scriptNode.run(JSArguments.createZeroArg(thisObj, functionObj));
@@ -224,6 +249,32 @@ public final class GraalJSEvaluator implements JSParser {
         }
     }
 
+    private static final class EvalCacheKey {
+        private final Source source;
+        private final boolean isStrict;
+        private final DirectEvalContext directEval;
+
+        EvalCacheKey(Source source, boolean isStrict, DirectEvalContext directEval) {
+            this.source = source;
+            this.isStrict = isStrict;
+            this.directEval = directEval;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof EvalCacheKey)) {
+                return false;
+            }
+            EvalCacheKey other = (EvalCacheKey) obj;
+            return isStrict == other.isStrict && directEval == other.directEval && source.equals(other.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * source.hashCode() + Boolean.hashCode(isStrict)) + System.identityHashCode(directEval);
+        }
+    }
+
     @TruffleBoundary
     private static JSException parserToJSError(Node lastNode, com.oracle.js.parser.ParserException e, JSContext context) {
         String message = e.getMessage().replace("\r\n", "\n");
@@ -261,6 +312,9 @@ public final class GraalJSEvaluator implements JSParser {
             return fakeScriptForModule(context, source);
         }
         try {
+            if (prolog.isEmpty() && epilog.isEmpty() && (argumentNames == null || argumentNames.length == 0) && SnapshotCache.isCacheable(context, source)) {
+                return SnapshotCache.parseScript(context, source);
+            }
             return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, context.getParserOptions().isStrict(), prolog, epilog, argumentNames);
         } catch (com.oracle.js.parser.ParserException e) {
             throw Errors.createSyntaxError(e.getMessage());
@@ -84,15 +84,24 @@ public final class GraalJSParserHelper {
 
     public static FunctionNode parseScript(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions, boolean eval, boolean evalInFunction,
                     Scope evalScope, String prologue, String epilogue, String[] argumentNames) {
-        return parseSource(context, truffleSource, parserOptions, false, eval, evalInFunction, evalScope, prologue, epilogue, argumentNames);
+        return parseScript(context, truffleSource, parserOptions, eval, evalInFunction, evalScope, prologue, epilogue, argumentNames, true);
+    }
+
+    /**
+     * @param allowLazyParsing whether nested function bodies may be preparsed (see
+     *            {@link com.oracle.truffle.js.runtime.JSContextOptions#LAZY_PARSING})
+     */
+    public static FunctionNode parseScript(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions, boolean eval, boolean evalInFunction,
+                    Scope evalScope, String prologue, String epilogue, String[] argumentNames, boolean allowLazyParsing) {
+        return parseSource(context, truffleSource, parserOptions, false, eval, evalInFunction, evalScope, prologue, epilogue, argumentNames, allowLazyParsing);
     }
 
     public static FunctionNode parseModule(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions) {
-        return parseSource(context, truffleSource, parserOptions, true, false, false, null, "", "", null);
+        return parseSource(context, truffleSource, parserOptions, true, false, false, null, "", "", null, false);
     }
 
     private static FunctionNode parseSource(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions,
-                    boolean parseModule, boolean eval, boolean evalInFunction, Scope evalScope, String prologue, String epilogue, String[] argumentNames) {
+                    boolean parseModule, boolean eval, boolean evalInFunction, Scope evalScope, String prologue, String epilogue, String[] argumentNames, boolean allowLazyParsing) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         CharSequence code;
         if (prologue.isEmpty() && epilogue.isEmpty()) {
@@ -106,7 +115,8 @@ public final class GraalJSParserHelper {
         }
         com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), code, eval);
 
-        ScriptEnvironment env = makeScriptEnvironment(parserOptions);
+        boolean lazyParsing = allowLazyParsing && context.getContextOptions().isLazyParsing() && !parseModule && !eval;
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions, lazyParsing);
         ErrorManager errors;
         if (eval) {
             errors = new ErrorManager.ThrowErrorManager();
@@ -134,6 +144,24 @@ public final class GraalJSParserHelper {
         return parsed;
     }
 
+    /**
+     * Parses the body of a function that was only preparsed when its enclosing script was parsed.
+     * Syntax errors in the body are thrown now, i.e., when the function is first called.
+     */
+    public static FunctionNode reparseFunction(JSContext context, com.oracle.truffle.api.source.Source truffleSource, FunctionNode preparsed, JSParserOptions parserOptions) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions, true);
+        ErrorManager errors = new ErrorManager.StringBuilderErrorManager();
+        errors.setLimit(0);
+
+        Parser parser = createParser(context, env, preparsed.getSource(), errors, parserOptions, preparsed.isStrict(), preparsed.getLineNumber() - 1);
+        FunctionNode parsed = parser.reparseFunction(preparsed);
+        if (errors.hasErrors()) {
+            throwErrors(truffleSource, errors);
+        }
+        return parsed;
+    }
+
     public static Expression parseExpression(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         CharSequence code = truffleSource.getCharacters();
@@ -153,7 +181,12 @@ public final class GraalJSParserHelper {
     }
 
     private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions) {
-        return new Parser(env, source, errors) {
+        return createParser(context, env, source, errors, parserOptions, env.isStrict(), 0);
+    }
+
+    private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions, boolean strict,
+                    int lineOffset) {
+        return new Parser(env, source, errors, strict, lineOffset) {
             @Override
             protected void validateLexerToken(LexerToken lexerToken) {
                 if (lexerToken instanceof RegexToken) {
@@ -177,6 +210,10 @@ public final class GraalJSParserHelper {
     }
 
     private static ScriptEnvironment makeScriptEnvironment(JSParserOptions parserOptions) {
+        return makeScriptEnvironment(parserOptions, false);
+    }
+
+    private static ScriptEnvironment makeScriptEnvironment(JSParserOptions parserOptions, boolean lazyParsing) {
         ScriptEnvironment.Builder builder = ScriptEnvironment.builder();
         builder.strict(parserOptions.isStrict());
         builder.ecmaScriptVersion(parserOptions.getEcmaScriptVersion());
@@ -188,6 +225,7 @@ public final class GraalJSParserHelper {
         builder.allowBigInt(parserOptions.isAllowBigInt());
         builder.annexB(parserOptions.isAnnexB());
         builder.classFields(parserOptions.isClassFields());
+        builder.lazyParsing(lazyParsing);
         if (parserOptions.isFunctionStatementError()) {
             builder.functionStatementBehavior(FunctionStatementBehavior.ERROR);
         } else {
@@ -338,7 +338,10 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         }
         boolean functionMode = !isGlobal || (isStrict && isIndirectEval);
 
-        boolean lazyTranslation = context.getContextOptions().isLazyTranslation() && functionMode && !functionNode.isProgram() && !inDirectEval;
+        boolean lazyTranslation = (context.getContextOptions().isLazyTranslation() || functionNode.isPreparsed()) && functionMode && !functionNode.isProgram() && !inDirectEval;
+        if (functionNode.isPreparsed() && !lazyTranslation) {
+            return enterFunctionNode(reparseFunction(functionNode));
+        }
 
         String functionName = getFunctionName(functionNode);
         JSFunctionData functionData;
@@ -352,12 +355,20 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
                             needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
 
+            if (!functionNode.isPreparsed()) {
+                markNumericComparator(functionNode, functionData);
+            }
+
             LexicalContext savedLC = lc.copy();
             Environment parentEnv = environment;
             functionData.setLazyInit(fd -> {
                 GraalJSTranslator translator = newTranslator(parentEnv, savedLC);
-                translator.translateFunctionOnDemand(functionNode, fd, isStrict, isArrowFunction, isGeneratorFunction, isAsyncFunction, isDerivedConstructor, isGlobal,
-                                needsNewTarget, needsParentFrame, functionName, hasSyntheticArguments);
+                FunctionNode parsedFunctionNode = functionNode.isPreparsed() ? translator.reparseFunction(functionNode) : functionNode;
+                if (functionNode.isPreparsed()) {
+                    markNumericComparator(parsedFunctionNode, fd);
+                }
+                translator.translateFunctionOnDemand(parsedFunctionNode, fd, isStrict, isArrowFunction, isGeneratorFunction, isAsyncFunction, isDerivedConstructor, isGlobal,
+                                needsNewTarget, needsParentFrame, functionName, functionNode.getInternalName(), hasSyntheticArguments);
             });
             functionRoot = null;
         } else {
@@ -397,6 +408,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
 
                 functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
                                 needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
+                markNumericComparator(functionNode, functionData);
 
                 functionRoot = createFunctionRoot(functionNode, functionData, currentFunction, body);
 
@@ -466,11 +478,12 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
     }
 
     private FunctionRootNode translateFunctionOnDemand(FunctionNode functionNode, JSFunctionData functionData, boolean isStrict, boolean isArrowFunction, boolean isGeneratorFunction,
-                    boolean isAsyncFunction, boolean isDerivedConstructor, boolean isGlobal, boolean needsNewTarget, boolean needsParentFrame, String functionName, boolean hasSyntheticArguments) {
+                    boolean isAsyncFunction, boolean isDerivedConstructor, boolean isGlobal, boolean needsNewTarget, boolean needsParentFrame, String functionName, String internalFunctionName,
+                    boolean hasSyntheticArguments) {
         try (EnvironmentCloseable functionEnv = enterFunctionEnvironment(isStrict, isArrowFunction, isGeneratorFunction, isDerivedConstructor, isAsyncFunction, isGlobal, hasSyntheticArguments)) {
             FunctionEnvironment currentFunction = currentFunction();
             currentFunction.setFunctionName(functionName);
-            currentFunction.setInternalFunctionName(functionNode.getInternalName());
+            currentFunction.setInternalFunctionName(internalFunctionName);
             currentFunction.setNamedFunctionExpression(functionNode.isNamedFunctionExpression());
 
             currentFunction.setNeedsParentFrame(needsParentFrame);
@@ -489,6 +502,17 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         }
     }
 
+    /**
+     * Parses the body of a preparsed function and performs the parent frame analysis for the
+     * functions nested in it.
+     */
+    private FunctionNode reparseFunction(FunctionNode preparsed) {
+        FunctionNode functionNode = GraalJSParserHelper.reparseFunction(context, source, preparsed, context.getParserOptions());
+        functionNode.setUsesAncestorScope(preparsed.usesAncestorScope());
+        functionNeedsParentFramePass(functionNode, context);
+        return functionNode;
+    }
+
     private FunctionRootNode createFunctionRoot(FunctionNode functionNode, JSFunctionData functionData, FunctionEnvironment currentFunction, JavaScriptNode body) {
         SourceSection functionSourceSection = createSourceSection(functionNode);
         FunctionBodyNode functionBody = factory.createFunctionBody(body);
@@ -824,6 +848,40 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         return size == 0 ? EMPTY_NODE_ARRAY : new JavaScriptNode[size];
     }
 
+    /**
+     * Recognizes comparator functions of the form {@code function(a, b) { return a - b; }} (or
+     * {@code b - a}), so that Array.prototype.sort can order numeric backing arrays in place
+     * without calling them.
+     */
+    private static void markNumericComparator(FunctionNode functionNode, JSFunctionData functionData) {
+        if (functionNode.isClassConstructor() || functionNode.isGenerator() || functionNode.isAsync() || !functionNode.hasSimpleParameterList() || functionNode.getNumOfParams() != 2) {
+            return;
+        }
+        List<Statement> statements = functionNode.getBody().getStatements();
+        if (statements.size() != 1 || !(statements.get(0) instanceof com.oracle.js.parser.ir.ReturnNode)) {
+            return;
+        }
+        Expression expression = ((com.oracle.js.parser.ir.ReturnNode) statements.get(0)).getExpression();
+        if (!(expression instanceof BinaryNode) || !expression.isTokenType(TokenType.SUB)) {
+            return;
+        }
+        BinaryNode sub = (BinaryNode) expression;
+        if (!(sub.getLhs() instanceof IdentNode) || !(sub.getRhs() instanceof IdentNode)) {
+            return;
+        }
+        String first = functionNode.getParameters().get(0).getName();
+        String second = functionNode.getParameters().get(1).getName();
+        String lhs = ((IdentNode) sub.getLhs()).getName();
+        String rhs = ((IdentNode) sub.getRhs()).getName();
+        if (first.equals(second)) {
+            return;
+        } else if (lhs.equals(first) && rhs.equals(second)) {
+            functionData.setNumericComparatorOrder(1);
+        } else if (lhs.equals(second) && rhs.equals(first)) {
+            functionData.setNumericComparatorOrder(-1);
+        }
+    }
+
     private String getFunctionName(FunctionNode functionNode) {
         if (context.getEcmaScriptVersion() < 6 && (functionNode.isGetter() || functionNode.isSetter())) {
             // strip getter/setter name prefix in ES5 mode
@@ -934,9 +992,13 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
     }
 
     private static void functionNeedsParentFramePass(FunctionNode rootFunctionNode, JSContext context) {
-        if (!context.getContextOptions().isLazyTranslation()) {
+        if (!context.getContextOptions().isLazyTranslation() && !context.getContextOptions().isLazyParsing()) {
             return; // nothing to do
         }
+        // a reparsed function may reference variables of enclosing functions outside of the
+        // analyzed AST, in which case names that cannot be resolved are assumed to be such
+        // references
+        boolean assumeUnresolvedInAncestorScope = !rootFunctionNode.isProgram() && rootFunctionNode.usesAncestorScope();
 
         com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext> visitor = new com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext>(new LexicalContext()) {
             @Override
@@ -967,7 +1029,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                             if (!local) {
                                 markUsesAncestorScopeUntil(lastFunction, true);
                             }
-                            break;
+                            return;
                         }
                     } else if (node instanceof FunctionNode) {
                         FunctionNode function = (FunctionNode) node;
@@ -975,7 +1037,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                             if (!local) {
                                 markUsesAncestorScopeUntil(lastFunction, true);
                             }
-                            break;
+                            return;
                         } else if (function.isArrow() && isVarLexicallyScopedInArrowFunction(varName)) {
                             FunctionNode nonArrowFunction = lc.getCurrentNonArrowFunction();
                             // `this` is read from the arrow function object,
@@ -985,11 +1047,11 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                                     markUsesAncestorScopeUntil(nonArrowFunction, false);
                                 }
                             }
-                            break;
+                            return;
                         } else if (!function.isProgram() && varName.equals(Environment.ARGUMENTS_NAME)) {
                             assert !function.isArrow();
                             assert local;
-                            break;
+                            return;
                         } else if (function.hasEval() && !function.isProgram()) {
                             if (!local) {
                                 markUsesAncestorScopeUntil(lastFunction, true);
@@ -1008,6 +1070,23 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                         }
                     }
                 }
+                if (assumeUnresolvedInAncestorScope && !local) {
+                    markUsesAncestorScopeUntil(lastFunction, true);
+                }
+            }
+
+            @Override
+            public boolean enterBlock(Block block) {
+                if (block.isFunctionBody()) {
+                    FunctionNode function = lc.getCurrentFunction();
+                    if (function.isPreparsed()) {
+                        // the body has not been retained, resolve all names referenced in it
+                        for (String varName : function.getPreparsedNames()) {
+                            findSymbol(varName);
+                        }
+                    }
+                }
+                return true;
             }
 
             private boolean isVarLexicallyScopedInArrowFunction(String varName) {
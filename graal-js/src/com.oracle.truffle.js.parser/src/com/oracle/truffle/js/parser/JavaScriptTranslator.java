@@ -71,26 +71,35 @@ public final class JavaScriptTranslator extends GraalJSTranslator {
 
     public static ScriptNode translateScript(NodeFactory factory, JSContext context, Source source, boolean isParentStrict, String prologue,
                     String epilogue, String[] argumentNames) {
-        return translateScript(factory, context, null, source, isParentStrict, false, false, null, prologue, epilogue, argumentNames);
+        return translateScript(factory, context, null, source, isParentStrict, false, false, null, prologue, epilogue, argumentNames, true);
+    }
+
+    /**
+     * Translates the script without preparsing nested functions (see
+     * {@link com.oracle.truffle.js.runtime.JSContextOptions#LAZY_PARSING}), i.e., all function
+     * bodies are created through the given node factory. Used for recording snapshots.
+     */
+    public static ScriptNode translateScriptEagerly(NodeFactory factory, JSContext context, Source source, boolean isParentStrict, String prologue, String epilogue) {
+        return translateScript(factory, context, null, source, isParentStrict, false, false, null, prologue, epilogue, null, false);
     }
 
     public static ScriptNode translateEvalScript(NodeFactory factory, JSContext context, Source source, boolean isParentStrict, DirectEvalContext directEval) {
         Environment parentEnv = directEval == null ? null : directEval.env;
         EvalEnvironment env = new EvalEnvironment(parentEnv, factory, context, directEval != null);
         boolean evalInFunction = parentEnv != null && (parentEnv.function() == null || !parentEnv.function().isGlobal());
-        return translateScript(factory, context, env, source, isParentStrict, true, evalInFunction, directEval, "", "", null);
+        return translateScript(factory, context, env, source, isParentStrict, true, evalInFunction, directEval, "", "", null, true);
     }
 
     public static ScriptNode translateInlineScript(NodeFactory factory, JSContext context, Environment env, Source source, boolean isParentStrict) {
         boolean evalInFunction = env.getParent() != null;
-        return translateScript(factory, context, env, source, isParentStrict, true, evalInFunction, null, "", "", null);
+        return translateScript(factory, context, env, source, isParentStrict, true, evalInFunction, null, "", "", null, true);
     }
 
     private static ScriptNode translateScript(NodeFactory nodeFactory, JSContext context, Environment env, Source source, boolean isParentStrict,
-                    boolean isEval, boolean evalInFunction, DirectEvalContext directEval, String prologue, String epilogue, String[] argumentNames) {
+                    boolean isEval, boolean evalInFunction, DirectEvalContext directEval, String prologue, String epilogue, String[] argumentNames, boolean allowLazyParsing) {
         Scope parentScope = directEval == null ? null : directEval.scope;
         FunctionNode parserFunctionNode = GraalJSParserHelper.parseScript(context, source, context.getParserOptions().putStrict(isParentStrict), isEval, evalInFunction, parentScope, prologue,
-                        epilogue, argumentNames);
+                        epilogue, argumentNames, allowLazyParsing);
         Source src = applyExplicitSourceURL(source, parserFunctionNode);
         LexicalContext lc = new LexicalContext();
         if (directEval != null && directEval.enclosingClass != null) {
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.graalvm.home.HomeFinder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+
+/**
+ * On-disk cache of binary snapshots of large scripts (see {@link JSContextOptions#SNAPSHOT_CACHE}).
+ * Snapshots are keyed by a digest of the source code, the engine version and the options that
+ * affect the translation. Existing snapshots are decoded instead of parsing the script. Missing
+ * snapshots are recorded after the script has been parsed, provided that a {@link SnapshotRecorder}
+ * is available (i.e., the snapshot tool is on the class path). The cache directory is accessed
+ * through the file system of the context, i.e., subject to its IO permissions; inaccessible
+ * snapshots are treated as cache misses.
+ */
+final class SnapshotCache {
+
+    private static final String SNAPSHOT_FILE_SUFFIX = ".bin";
+    private static final String GRAALVM_VERSION = String.valueOf(HomeFinder.getInstance().getVersion());
+
+    private static volatile SnapshotRecorder recorder;
+    private static volatile boolean recorderLoaded;
+
+    private SnapshotCache() {
+    }
+
+    static boolean isCacheable(JSContext context, Source source) {
+        JSContextOptions options = context.getContextOptions();
+        // snapshots are recorded in sloppy mode with eager parsing and translation
+        return !options.getSnapshotCache().isEmpty() && !context.getParserOptions().isStrict() && !options.isLazyTranslation() && !options.isLazyParsing() &&
+                        source.getLength() >= options.getSnapshotCacheMinSize();
+    }
+
+    @TruffleBoundary
+    static ScriptNode parseScript(JSContext context, Source source) {
+        TruffleLanguage.Env env = context.getRealm().getEnv();
+        TruffleFile file;
+        try {
+            file = env.getPublicTruffleFile(context.getContextOptions().getSnapshotCache()).resolve(key(context, source.getCharacters()) + SNAPSHOT_FILE_SUFFIX);
+        } catch (SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+            // no IO access or invalid path
+            return translateScript(context, source);
+        }
+        ByteBuffer snapshot = read(file);
+        if (snapshot != null && BinarySnapshotProvider.isValidFor(snapshot, source.getCharacters())) {
+            try {
+                return ScriptNode.fromFunctionRoot(context, (FunctionRootNode) new BinarySnapshotProvider(snapshot).apply(NodeFactory.getInstance(context), context, source));
+            } catch (IllegalArgumentException e) {
+                // fall back to parsing and replace the snapshot
+            }
+        }
+        ScriptNode script = translateScript(context, source);
+        store(context, env, source, file);
+        return script;
+    }
+
+    private static ScriptNode translateScript(JSContext context, Source source) {
+        return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, false, "", "");
+    }
+
+    private static ByteBuffer read(TruffleFile file) {
+        try {
+            if (!file.isRegularFile()) {
+                return null;
+            }
+            return ByteBuffer.wrap(file.readAllBytes());
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static void store(JSContext context, TruffleLanguage.Env env, Source source, TruffleFile file) {
+        SnapshotRecorder snapshotRecorder = getRecorder();
+        if (snapshotRecorder == null) {
+            return;
+        }
+        byte[] snapshot;
+        try {
+            snapshot = snapshotRecorder.record(context, source);
+        } catch (RuntimeException e) {
+            // the snapshot cache is best effort
+            return;
+        }
+        try {
+            TruffleFile directory = file.getParent();
+            directory.createDirectories();
+            // write to a temporary file first so that concurrent readers never see partial data
+            TruffleFile tmp = env.createTempFile(directory, null, ".tmp");
+            try {
+                try (OutputStream out = tmp.newOutputStream()) {
+                    out.write(snapshot);
+                }
+                tmp.move(file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                if (tmp.exists()) {
+                    tmp.delete();
+                }
+            }
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            // ignore, the script has been parsed already
+        }
+    }
+
+    private static SnapshotRecorder getRecorder() {
+        if (!recorderLoaded) {
+            synchronized (SnapshotCache.class) {
+                if (!recorderLoaded) {
+                    try {
+                        Iterator<SnapshotRecorder> iterator = ServiceLoader.load(SnapshotRecorder.class, SnapshotCache.class.getClassLoader()).iterator();
+                        recorder = iterator.hasNext() ? iterator.next() : null;
+                    } catch (ServiceConfigurationError e) {
+                        recorder = null;
+                    }
+                    recorderLoaded = true;
+                }
+            }
+        }
+        return recorder;
+    }
+
+    private static String key(JSContext context, CharSequence code) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String header = GRAALVM_VERSION + ':' + Integer.toHexString(JSNodeDecoder.getChecksum()) + ':' + Integer.toHexString(context.getParserOptions().hashCode()) + ':' +
+                        Integer.toHexString(context.getContextOptions().hashCode()) + '\0';
+        digest.update(header.getBytes(StandardCharsets.UTF_8));
+        digest.update(code.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
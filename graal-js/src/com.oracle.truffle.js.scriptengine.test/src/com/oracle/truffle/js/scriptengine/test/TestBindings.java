@@ -173,6 +173,18 @@ public class TestBindings {
         assertEquals(defaultVarValue, engine.eval(varName));
     }
 
+    @Test
+    public void globalBindingsReimport() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        Bindings globalBindings = engine.getBindings(ScriptContext.GLOBAL_SCOPE);
+        globalBindings.put("first", 1);
+        assertEquals(1, engine.eval("first"));
+        // values are read from the bindings, keys added later are imported on the next eval
+        globalBindings.put("first", 2);
+        globalBindings.put("second", 3);
+        assertEquals(5, ((Number) engine.eval("first + second")).intValue());
+    }
+
     @Test
     public void setBindings1() throws ScriptException {
         Bindings bindings = new SimpleBindings();
@@ -54,12 +54,14 @@ import java.util.NoSuchElementException;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
@@ -260,6 +262,61 @@ public class TestEngine {
         assertEquals(text, result);
     }
 
+    @Test
+    public void compiledScriptInMultipleContexts() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        CompiledScript script = ((Compilable) engine).compile("typeof counter === 'undefined' ? counter = 1 : ++counter");
+        assertEquals(1, ((Number) script.eval()).intValue());
+        assertEquals(2, ((Number) script.eval()).intValue());
+        ScriptContext otherContext = new SimpleScriptContext();
+        otherContext.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+        assertEquals(1, ((Number) script.eval(otherContext)).intValue());
+        assertEquals(3, ((Number) script.eval()).intValue());
+    }
+
+    @Test
+    public void largeUnicodeOutput() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        StringWriter output = new StringWriter();
+        engine.getContext().setWriter(output);
+        // multi-byte sequences crossing the boundaries of the internal buffers
+        String result = (String) engine.eval("var s = 'x'; while (s.length < 20000) { s += '\u010d\ud83d\udca9'; } print(s); s;");
+        assertEquals(result + '\n', output.toString());
+    }
+
+    @Test
+    public void largeUnicodeInput() throws ScriptException {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 20000) {
+            text.append("a\u010d\ud83d\udca9");
+        }
+        ScriptEngine engine = GraalJSScriptEngine.create(
+                        Engine.newBuilder().build(),
+                        Context.newBuilder("js").allowExperimentalOptions(true).option("js.shell", "true"));
+        engine.getContext().setReader(new StringReader(text.toString()));
+        Object result = engine.eval("readline()");
+        assertEquals(text.toString(), result);
+    }
+
+    @Test
+    public void directOutput() throws ScriptException {
+        String property = "polyglot.js.script-engine-direct-output";
+        System.setProperty(property, "true");
+        try {
+            ScriptEngine engine = getEngine();
+            StringWriter output = new StringWriter();
+            StringWriter errorOutput = new StringWriter();
+            engine.getContext().setWriter(output);
+            engine.getContext().setErrorWriter(errorOutput);
+            engine.eval("print('Tu\u010d\u0148\u00e1', 42, undefined, {}); printErr('err'); print();");
+            assertEquals("Tu\u010d\u0148\u00e1 42 undefined [object Object]\n\n", output.toString());
+            assertEquals("err\n", errorOutput.toString());
+            assertEquals(1, ((Number) engine.eval("print.length")).intValue());
+        } finally {
+            System.clearProperty(property);
+        }
+    }
+
     @Test
     public void exceptionInCauseChain() {
         try {
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.graalvm.polyglot.Context;
+
+/**
+ * A bounded pool of fresh, pre-initialized polyglot contexts. Contexts handed out by the pool are
+ * not returned to it; instead, the pool is refilled in the background so that creating and
+ * initializing a context is moved off the critical path of script evaluation. The pool must be
+ * {@link #close() closed} together with its owner to close the contexts that have not been handed
+ * out.
+ */
+final class ContextPool {
+
+    private final BlockingQueue<Context> contexts;
+    private final Supplier<Context> contextFactory;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private volatile Thread refillThread;
+    private volatile boolean closed;
+
+    ContextPool(int size, Supplier<Context> contextFactory) {
+        assert size > 0;
+        this.contexts = new ArrayBlockingQueue<>(size);
+        this.contextFactory = contextFactory;
+        scheduleRefill();
+    }
+
+    /**
+     * Returns a pre-initialized context, or {@code null} if the pool is currently empty.
+     */
+    Context take() {
+        if (closed) {
+            return null;
+        }
+        Context context = contexts.poll();
+        scheduleRefill();
+        return context;
+    }
+
+    /**
+     * Stops refilling the pool and closes the pooled contexts. Waits for a pending refill, i.e.,
+     * for the creation of at most one context.
+     */
+    void close() {
+        closed = true;
+        Thread thread = refillThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeContexts();
+    }
+
+    private void closeContexts() {
+        Context context;
+        while ((context = contexts.poll()) != null) {
+            context.close();
+        }
+    }
+
+    private void scheduleRefill() {
+        if (!closed && contexts.remainingCapacity() > 0 && refilling.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::refill, "graal-js-context-pool");
+            thread.setDaemon(true);
+            refillThread = thread;
+            thread.start();
+        }
+    }
+
+    private void refill() {
+        try {
+            while (!closed && contexts.remainingCapacity() > 0) {
+                Context context = contextFactory.get();
+                if (closed || !contexts.offer(context)) {
+                    context.close();
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // context creation failed, e.g. the engine has been closed; contexts are then
+            // created on demand (and fail there with a proper error)
+            closed = true;
+        } finally {
+            refilling.set(false);
+        }
+        if (closed) {
+            // contexts offered concurrently with close
+            closeContexts();
+        }
+    }
+}
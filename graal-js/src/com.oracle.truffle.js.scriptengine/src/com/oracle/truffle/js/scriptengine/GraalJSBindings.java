@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.scriptengine;
 
 import java.util.AbstractMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -64,13 +65,20 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Map<String, Object> global;
     private Value deleteProperty;
     private Value clear;
+    private Value importGlobalBindings;
     private Context.Builder contextBuilder;
+    // factory providing pre-initialized contexts, null if the context builder is not the default one
+    private GraalJSEngineFactory contextPoolFactory;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
+    // GLOBAL_SCOPE bindings imported most recently, and their keys at that time
+    private Bindings importedGlobalBindings;
+    private Set<String> importedGlobalKeys;
 
-    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
+    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext, GraalJSEngineFactory contextPoolFactory) {
         this.contextBuilder = contextBuilder;
         this.engineScriptContext = scriptContext;
+        this.contextPoolFactory = contextPoolFactory;
     }
 
     GraalJSBindings(Context context, ScriptContext scriptContext) {
@@ -86,7 +94,8 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        Context pooledContext = contextPoolFactory != null ? contextPoolFactory.takePooledContext() : null;
+        context = pooledContext != null ? pooledContext : GraalJSScriptEngine.createDefaultContext(contextBuilder);
         initGlobal();
     }
 
@@ -118,6 +127,7 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
                     contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    contextPoolFactory = null;
                     return true;
                 }
             } else {
@@ -182,13 +192,27 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return new IllegalStateException(String.format("failed to set graal-js option \"%s\": js context is already initialized", name));
     }
 
+    /**
+     * Makes the GLOBAL_SCOPE bindings of the script context accessible as global properties. The
+     * properties read the current value from the bindings, so the bindings need to be imported
+     * again only if they have got new keys since the last import.
+     */
     void importGlobalBindings(ScriptContext scriptContext) {
         Bindings globalBindings = scriptContext.getBindings(ScriptContext.GLOBAL_SCOPE);
-        if (globalBindings != null && !globalBindings.isEmpty() && this != globalBindings) {
-            getContext().getBindings("js").getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME).execute(globalBindings);
+        if (globalBindings != null && !globalBindings.isEmpty() && this != globalBindings && !isImported(globalBindings)) {
+            if (importGlobalBindings == null) {
+                importGlobalBindings = getContext().getBindings("js").getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME);
+            }
+            importGlobalBindings.execute(globalBindings);
+            importedGlobalBindings = globalBindings;
+            importedGlobalKeys = new HashSet<>(globalBindings.keySet());
         }
     }
 
+    private boolean isImported(Bindings globalBindings) {
+        return globalBindings == importedGlobalBindings && importedGlobalKeys.containsAll(globalBindings.keySet());
+    }
+
     void updateEngineScriptContext(ScriptContext scriptContext) {
         engineScriptContext = scriptContext;
     }
@@ -44,14 +44,19 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 
+import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
 
 public final class GraalJSEngineFactory implements ScriptEngineFactory {
 
@@ -67,6 +72,11 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
 
     public static final boolean RegisterAsNashornScriptEngineFactory = Boolean.getBoolean("graaljs.RegisterGraalJSAsNashorn");
 
+    /** Maximum number of script sources cached per factory; 0 disables the cache. */
+    private static final int SOURCE_CACHE_SIZE = Integer.getInteger("polyglot.js.script-engine-source-cache-size", 256);
+    /** Number of pre-initialized contexts kept ready per factory; 0 disables the pool. */
+    private static final int CONTEXT_POOL_SIZE = Integer.getInteger("polyglot.js.script-engine-context-pool-size", 0);
+
     static {
         List<String> nameList = new ArrayList<>(Arrays.asList("Graal.js", "graal.js", "Graal-js", "graal-js", "Graal.JS", "Graal-JS", "GraalJS", "GraalJSPolyglot", "js", "JS", "JavaScript",
                         "javascript", "ECMAScript", "ecmascript"));
@@ -90,13 +100,17 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
     }
 
     private final Engine engine;
+    private final Map<String, Source> sourceCache;
+    private volatile ContextPool contextPool;
+    private boolean contextPoolClosed;
 
     public GraalJSEngineFactory() {
-        this.engine = Engine.newBuilder().allowExperimentalOptions(true).build();
+        this(Engine.newBuilder().allowExperimentalOptions(true).build());
     }
 
     GraalJSEngineFactory(Engine engine) {
         this.engine = engine;
+        this.sourceCache = SOURCE_CACHE_SIZE > 0 ? new LinkedHashMap<>(16, 0.75f, true) : null;
     }
 
     /**
@@ -106,6 +120,74 @@ public final class GraalJSEngineFactory implements ScriptEngineFactory {
         return engine;
     }
 
+    /**
+     * Returns a (shared) source for an anonymous script with the given content. Reusing the same
+     * source for repeated evaluations of the same script avoids re-creating and re-hashing it.
+     */
+    Source getSource(String script) {
+        if (sourceCache == null) {
+            return createSource(script);
+        }
+        synchronized (sourceCache) {
+            Source source = sourceCache.get(script);
+            if (source == null) {
+                source = createSource(script);
+                sourceCache.put(script, source);
+                if (sourceCache.size() > SOURCE_CACHE_SIZE) {
+                    Iterator<String> eldest = sourceCache.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            return source;
+        }
+    }
+
+    private static Source createSource(String script) {
+        return Source.newBuilder(GraalJSScriptEngine.ID, script, GraalJSScriptEngine.ANONYMOUS_SCRIPT_NAME).buildLiteral();
+    }
+
+    /**
+     * Returns a fresh, pre-initialized context with the default configuration of script engines
+     * created by this factory, or {@code null} if there is none available.
+     */
+    Context takePooledContext() {
+        if (CONTEXT_POOL_SIZE <= 0) {
+            return null;
+        }
+        ContextPool pool = contextPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = contextPool;
+                if (pool == null) {
+                    if (contextPoolClosed) {
+                        return null;
+                    }
+                    contextPool = pool = new ContextPool(CONTEXT_POOL_SIZE, this::createPooledContext);
+                    return null;
+                }
+            }
+        }
+        return pool.take();
+    }
+
+    /**
+     * Closes the pre-initialized contexts and stops creating new ones. Called when a script engine
+     * that owns this factory is closed.
+     */
+    synchronized void closeContextPool() {
+        contextPoolClosed = true;
+        if (contextPool != null) {
+            contextPool.close();
+        }
+    }
+
+    private Context createPooledContext() {
+        Context context = GraalJSScriptEngine.createDefaultContext(GraalJSScriptEngine.createDefaultContextBuilder(engine));
+        context.initialize(GraalJSScriptEngine.ID);
+        return context;
+    }
+
     @Override
     public String getEngineName() {
         return ENGINE_NAME;
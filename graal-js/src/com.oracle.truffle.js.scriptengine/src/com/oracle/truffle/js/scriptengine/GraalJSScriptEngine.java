@@ -45,6 +45,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -53,6 +54,8 @@ import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -75,6 +78,7 @@ import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.Proxy;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
 
 /**
  * A Graal.JS implementation of the script engine. It provides access to the polyglot context using
@@ -82,7 +86,8 @@ import org.graalvm.polyglot.proxy.Proxy;
  */
 public final class GraalJSScriptEngine extends AbstractScriptEngine implements Compilable, Invocable, AutoCloseable {
 
-    private static final String ID = "js";
+    static final String ID = "js";
+    static final String ANONYMOUS_SCRIPT_NAME = "<eval>";
     private static final String POLYGLOT_CONTEXT = "polyglot.context";
     private static final String OUT_SYMBOL = "$$internal.out$$";
     private static final String IN_SYMBOL = "$$internal.in$$";
@@ -93,7 +98,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final String JS_PRINT_OPTION = "js.print";
     private static final String JS_GLOBAL_ARGUMENTS_OPTION = "js.global-arguments";
     private static final String NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY = "polyglot.js.nashorn-compat";
+    private static final String DIRECT_OUTPUT_SYSTEM_PROPERTY = "polyglot.js.script-engine-direct-output";
     static final String MAGIC_OPTION_PREFIX = "polyglot.js.";
+    private static final int IO_BUFFER_SIZE = 8192;
 
     private static final HostAccess NASHORN_HOST_ACCESS = HostAccess.newBuilder(HostAccess.ALL).targetTypeMapping(Object.class, String.class, Objects::nonNull, String::valueOf).build();
 
@@ -238,6 +245,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    /** Factory to take pre-initialized contexts from, or null if they cannot be used. */
+    private final GraalJSEngineFactory contextPoolFactory;
+    /** Whether the factory was created for this engine only, i.e., is closed with it. */
+    private final boolean ownsFactory;
 
     private boolean evalCalled;
 
@@ -250,21 +261,28 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
         }
-        Context.Builder contextConfigToUse = contextConfig;
-        if (contextConfigToUse == null) {
-            // default config
-            contextConfigToUse = Context.newBuilder(ID).allowExperimentalOptions(true);
-            contextConfigToUse.option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
-            contextConfigToUse.option(JS_LOAD_OPTION, "true");
-            contextConfigToUse.option(JS_PRINT_OPTION, "true");
-            contextConfigToUse.option(JS_GLOBAL_ARGUMENTS_OPTION, "true");
-            if (NASHORN_COMPATIBILITY_MODE) {
-                updateForNashornCompatibilityMode(contextConfigToUse);
-            }
+        if (contextConfig == null) {
+            this.contextConfig = createDefaultContextBuilder(engineToUse);
+        } else {
+            this.contextConfig = contextConfig.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
+        }
+        this.ownsFactory = factory == null;
+        this.factory = ownsFactory ? new GraalJSEngineFactory(engineToUse) : factory;
+        // pooled contexts are created with the default config and the engine of the factory
+        this.contextPoolFactory = (contextConfig == null && engineToUse == this.factory.getPolyglotEngine()) ? this.factory : null;
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context, contextPoolFactory), ScriptContext.ENGINE_SCOPE);
+    }
+
+    static Context.Builder createDefaultContextBuilder(Engine engine) {
+        Context.Builder builder = Context.newBuilder(ID).allowExperimentalOptions(true);
+        builder.option(JS_SYNTAX_EXTENSIONS_OPTION, "true");
+        builder.option(JS_LOAD_OPTION, "true");
+        builder.option(JS_PRINT_OPTION, "true");
+        builder.option(JS_GLOBAL_ARGUMENTS_OPTION, "true");
+        if (NASHORN_COMPATIBILITY_MODE) {
+            updateForNashornCompatibilityMode(builder);
         }
-        this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
-        this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        return builder.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engine);
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -281,6 +299,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
         ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
         ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
+        if (Boolean.getBoolean(DIRECT_OUTPUT_SYSTEM_PROPERTY)) {
+            evalInternal(ctx, DIRECT_PRINT_INSTALLER).execute(new DirectPrint(out), new DirectPrint(err));
+        }
         return ctx;
     }
 
@@ -291,6 +312,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     @Override
     public void close() {
         getPolyglotContext().close();
+        if (ownsFactory) {
+            factory.closeContextPool();
+        }
     }
 
     /**
@@ -325,7 +349,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig, null);
+        return new GraalJSBindings(contextConfig, null, contextPoolFactory);
     }
 
     @Override
@@ -373,10 +397,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return eval(createSource(script, ctxt), ctxt);
     }
 
-    private static Source createSource(String script, ScriptContext ctxt) throws ScriptException {
+    private Source createSource(String script, ScriptContext ctxt) throws ScriptException {
         final Object val = ctxt.getAttribute(ScriptEngine.FILENAME);
         if (val == null) {
-            return Source.newBuilder(ID, script, "<eval>").buildLiteral();
+            return factory.getSource(script);
         } else {
             try {
                 return Source.newBuilder(ID, new File(val.toString())).content(script).build();
@@ -394,6 +418,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private Object eval(Source source, ScriptContext scriptContext) throws ScriptException {
+        return eval(source, null, scriptContext);
+    }
+
+    private Object eval(Source source, GraalJSCompiledScript compiledScript, ScriptContext scriptContext) throws ScriptException {
         GraalJSBindings engineBindings = getOrCreateGraalJSBindings(scriptContext);
         Context polyglotContext = engineBindings.getContext();
         updateDelegatingIOStreams(polyglotContext, scriptContext);
@@ -402,7 +430,8 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                 jrunscriptInitWorkaround(source, polyglotContext);
             }
             engineBindings.importGlobalBindings(scriptContext);
-            return polyglotContext.eval(source).as(Object.class);
+            Value result = compiledScript == null ? polyglotContext.eval(source) : compiledScript.getParsedScript(polyglotContext).execute();
+            return result.as(Object.class);
         } catch (PolyglotException e) {
             throw toScriptException(e);
         } finally {
@@ -447,14 +476,17 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         Object ctx = engineB.get(POLYGLOT_CONTEXT);
         if (!(ctx instanceof Context)) {
             Context.Builder builder = contextConfig;
+            boolean defaultConfig = true;
             for (MagicBindingsOptionSetter optionSetter : MAGIC_OPTION_SETTERS) {
                 Object value = engineB.get(optionSetter.getOptionKey());
                 if (value != null) {
                     builder = optionSetter.setOption(builder, value);
                     engineB.remove(optionSetter.getOptionKey());
+                    defaultConfig = false;
                 }
             }
-            ctx = createDefaultContext(builder);
+            Context pooledContext = (defaultConfig && contextPoolFactory != null) ? contextPoolFactory.takePooledContext() : null;
+            ctx = pooledContext != null ? pooledContext : createDefaultContext(builder);
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
         return (Context) ctx;
@@ -563,55 +595,123 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private CompiledScript compile(Source source) throws ScriptException {
-        checkSyntax(source);
-        return new CompiledScript() {
-            @Override
-            public ScriptEngine getEngine() {
-                return GraalJSScriptEngine.this;
-            }
+        GraalJSCompiledScript compiledScript = new GraalJSCompiledScript(source);
+        try {
+            // checks the syntax
+            compiledScript.getParsedScript(getPolyglotContext());
+        } catch (PolyglotException pex) {
+            throw toScriptException(pex);
+        }
+        return compiledScript;
+    }
+
+    private final class GraalJSCompiledScript extends CompiledScript {
+
+        private final Source source;
+        /** The script parsed in the polyglot context it has been evaluated in most recently. */
+        private volatile ParsedScript parsedScript;
+
+        GraalJSCompiledScript(Source source) {
+            this.source = source;
+        }
 
-            @Override
-            public Object eval(ScriptContext ctx) throws ScriptException {
-                return GraalJSScriptEngine.this.eval(source, ctx);
+        @Override
+        public ScriptEngine getEngine() {
+            return GraalJSScriptEngine.this;
+        }
+
+        @Override
+        public Object eval(ScriptContext ctx) throws ScriptException {
+            return GraalJSScriptEngine.this.eval(source, this, ctx);
+        }
+
+        /**
+         * Returns the parsed script for the given context. Executing the parsed script is
+         * equivalent to evaluating the source, but avoids looking up the source in the code cache.
+         */
+        Value getParsedScript(Context polyglotContext) {
+            ParsedScript parsed = parsedScript;
+            if (parsed == null || parsed.context != polyglotContext) {
+                parsed = new ParsedScript(polyglotContext, polyglotContext.parse(source));
+                parsedScript = parsed;
             }
-        };
+            return parsed.script;
+        }
     }
 
-    private void checkSyntax(Source source) throws ScriptException {
-        try {
-            getPolyglotContext().parse(source);
-        } catch (PolyglotException pex) {
-            throw toScriptException(pex);
+    private static final class ParsedScript {
+
+        final Context context;
+        final Value script;
+
+        ParsedScript(Context context, Value script) {
+            this.context = context;
+            this.script = script;
         }
     }
 
     private static class DelegatingInputStream extends InputStream implements Proxy {
 
         private Reader reader;
-        private CharsetEncoder encoder = Charset.defaultCharset().newEncoder();
-        private CharBuffer charBuffer = CharBuffer.allocate(2);
-        private ByteBuffer byteBuffer = (ByteBuffer) ByteBuffer.allocate((int) encoder.maxBytesPerChar() * 2).flip();
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer charBuffer = CharBuffer.allocate(IO_BUFFER_SIZE);
+        private final ByteBuffer byteBuffer = (ByteBuffer) ByteBuffer.allocate((int) Math.ceil(encoder.maxBytesPerChar() * IO_BUFFER_SIZE)).flip();
 
         @Override
         public int read() throws IOException {
             if (reader != null) {
-                while (!byteBuffer.hasRemaining()) {
-                    int c = reader.read();
-                    if (c == -1) {
-                        return -1;
-                    }
-                    byteBuffer.clear();
-                    charBuffer.put((char) c);
-                    charBuffer.flip();
-                    encoder.encode(charBuffer, byteBuffer, false);
-                    charBuffer.compact();
-                    byteBuffer.flip();
+                if (!fillByteBuffer()) {
+                    return -1;
                 }
-                return byteBuffer.get();
+                return byteBuffer.get() & 0xff;
             }
             return 0;
         }
 
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (reader == null) {
+                return super.read(b, off, len);
+            }
+            checkBounds(b, off, len);
+            if (len == 0) {
+                return 0;
+            }
+            if (!fillByteBuffer()) {
+                return -1;
+            }
+            int n = Math.min(len, byteBuffer.remaining());
+            byteBuffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return byteBuffer.remaining();
+        }
+
+        /**
+         * Reads and encodes the next chunk of characters unless there are encoded bytes left. A
+         * trailing high surrogate is kept in the char buffer until its low surrogate has been read.
+         *
+         * @return {@code false} if the end of the reader has been reached
+         */
+        private boolean fillByteBuffer() throws IOException {
+            while (!byteBuffer.hasRemaining()) {
+                int n = reader.read(charBuffer.array(), charBuffer.position(), charBuffer.remaining());
+                if (n == -1) {
+                    return false;
+                }
+                charBuffer.position(charBuffer.position() + n);
+                charBuffer.flip();
+                byteBuffer.clear();
+                encoder.encode(charBuffer, byteBuffer, false);
+                charBuffer.compact();
+                byteBuffer.flip();
+            }
+            return true;
+        }
+
         void setReader(Reader reader) {
             this.reader = reader;
         }
@@ -621,26 +721,51 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static class DelegatingOutputStream extends OutputStream implements Proxy {
 
         private Writer writer;
-        private CharsetDecoder decoder = Charset.defaultCharset().newDecoder();
-        private ByteBuffer byteBuffer = ByteBuffer.allocate((int) Charset.defaultCharset().newEncoder().maxBytesPerChar() * 2);
-        private CharBuffer charBuffer = CharBuffer.allocate(byteBuffer.capacity() * (int) decoder.maxCharsPerByte());
+        private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer byteBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        private final CharBuffer charBuffer = CharBuffer.allocate((int) Math.ceil(decoder.maxCharsPerByte() * IO_BUFFER_SIZE));
 
         @Override
         public void write(int b) throws IOException {
             if (writer != null) {
                 byteBuffer.put((byte) b);
-                byteBuffer.flip();
-                decoder.decode(byteBuffer, charBuffer, false);
-                byteBuffer.compact();
-                charBuffer.flip();
-                while (charBuffer.hasRemaining()) {
-                    char c = charBuffer.get();
-                    writer.write(c);
+                decodeAndWrite();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkBounds(b, off, len);
+            if (writer != null) {
+                int offset = off;
+                int remaining = len;
+                while (remaining > 0) {
+                    int n = Math.min(remaining, byteBuffer.remaining());
+                    byteBuffer.put(b, offset, n);
+                    offset += n;
+                    remaining -= n;
+                    decodeAndWrite();
                 }
-                charBuffer.clear();
             }
         }
 
+        /**
+         * Decodes the buffered bytes and writes the characters to the writer. The bytes of an
+         * incomplete multi-byte sequence at the end of the buffer stay in the buffer.
+         */
+        private void decodeAndWrite() throws IOException {
+            byteBuffer.flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(byteBuffer, charBuffer, false);
+                if (charBuffer.position() != 0) {
+                    writer.write(charBuffer.array(), 0, charBuffer.position());
+                    charBuffer.clear();
+                }
+            } while (result.isOverflow());
+            byteBuffer.compact();
+        }
+
         @Override
         public void flush() throws IOException {
             if (writer != null) {
@@ -652,6 +777,46 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
             this.writer = writer;
         }
 
+        /**
+         * Writes a line directly to the writer, bypassing the encoding to and decoding from bytes.
+         */
+        void writeLine(String line) throws IOException {
+            if (writer != null) {
+                writer.write(line);
+                writer.write('\n');
+                writer.flush();
+            }
+        }
+
+    }
+
+    private static void checkBounds(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Used by {@code print} and {@code printErr} in the direct output mode.
+     */
+    private static final class DirectPrint implements ProxyExecutable {
+
+        private final DelegatingOutputStream stream;
+
+        DirectPrint(DelegatingOutputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public Object execute(Value... arguments) {
+            try {
+                stream.writeLine(arguments[0].asString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+
     }
 
     /**
@@ -726,6 +891,32 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                     "    return new Proxy(target, handler);\n" +
                     "}});\n";
 
+    /**
+     * Replaces {@code print} and {@code printErr} (if present) with functions that pass the string
+     * to the current {@link Writer} of the {@link ScriptContext} directly. Unlike the built-in
+     * functions, they ignore the indentation of {@code console.group}. Other output (like
+     * {@code console.log}) still goes through the delegating output streams.
+     */
+    private static final String DIRECT_PRINT_INSTALLER = "(function(global) {\n" +
+                    "    function toLine(args) {\n" +
+                    "        var line = '';\n" +
+                    "        for (var i = 0; i < args.length; i++) {\n" +
+                    "            var arg = args[i];\n" +
+                    "            line += (i === 0 ? '' : ' ') + (typeof arg === 'symbol' ? '' + arg : String(arg));\n" +
+                    "        }\n" +
+                    "        return line;\n" +
+                    "    }\n" +
+                    "    function install(name, fn) {\n" +
+                    "        if (typeof global[name] === 'function') {\n" +
+                    "            Object.defineProperty(global, name, {value: fn, writable: true, enumerable: false, configurable: true});\n" +
+                    "        }\n" +
+                    "    }\n" +
+                    "    return function(out, err) {\n" +
+                    "        install('print', function print(s) { out(toLine(arguments)); });\n" +
+                    "        install('printErr', function printErr(s) { err(toLine(arguments)); });\n" +
+                    "    };\n" +
+                    "})(this)";
+
     private static IllegalArgumentException magicOptionValueErrorBool(String name, Object v) {
         return new IllegalArgumentException(String.format("failed to set graal-js option \"%s\": expected a boolean value, got \"%s\"", name, v));
     }
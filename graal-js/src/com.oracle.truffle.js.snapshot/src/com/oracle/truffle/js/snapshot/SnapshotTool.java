@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.snapshot;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -144,9 +145,7 @@ public class SnapshotTool {
         }
         final Recording rec;
         try (TimerCloseable timer = timeStats.file(fileName)) {
-            rec = new Recording();
-            ScriptNode program = JavaScriptTranslator.translateScript(RecordingProxy.createRecordingNodeFactory(rec, NodeFactory.getInstance(context)), context, source, false, prefix, suffix);
-            rec.finish(program.getRootNode());
+            rec = record(context, source, prefix, suffix);
             outputFile.getParentFile().mkdirs();
             try (FileOutputStream outs = new FileOutputStream(outputFile)) {
                 rec.saveToStream(fileName, outs, binary);
@@ -156,6 +155,28 @@ public class SnapshotTool {
         }
     }
 
+    private static Recording record(JSContext context, Source source, String prefix, String suffix) {
+        Recording rec = new Recording();
+        // function bodies that are only preparsed would be translated lazily, i.e., not recorded
+        ScriptNode program = JavaScriptTranslator.translateScriptEagerly(RecordingProxy.createRecordingNodeFactory(rec, NodeFactory.getInstance(context)), context, source, false, prefix,
+                        suffix);
+        rec.finish(program.getRootNode());
+        return rec;
+    }
+
+    /**
+     * Creates a binary snapshot of the given script that can be consumed by
+     * {@code BinarySnapshotProvider}. Unlike the snapshots created by {@link #main}, the script is
+     * translated in the current context, i.e., this method can be used to produce code caches at
+     * run time.
+     */
+    public static byte[] createBinarySnapshot(JSContext context, Source source, String prefix, String suffix) {
+        Recording rec = record(context, source, prefix, suffix);
+        ByteArrayOutputStream outs = new ByteArrayOutputStream();
+        rec.saveToStream(source.getName(), outs, true);
+        return outs.toByteArray();
+    }
+
     private interface TimerCloseable extends AutoCloseable {
         @Override
         void close();
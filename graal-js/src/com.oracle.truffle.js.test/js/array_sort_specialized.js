@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests the specialized paths of Array.prototype.sort: the default order and comparators of the form
+ * (a, b) => a - b, which are recognized when translated and sort int and double arrays in place.
+ */
+
+load('assert.js');
+
+// default order of int arrays (in place)
+assertSame('-1,-20,1,10,100,2,9', [10, 2, -1, 100, 9, 1, -20].sort().join());
+
+// default order of doubles and mixed primitives
+assertSame('-0.5,1.5,10,2', [10, 1.5, 2, -0.5].sort().join());
+assertSame('1,10,2,a,false,null,true,', [true, 'a', 2, null, 10, false, undefined, 1].sort().join());
+var withUndefined = [undefined, 'b', undefined, 'a'].sort();
+assertSame('a', withUndefined[0]);
+assertSame('b', withUndefined[1]);
+assertSame(undefined, withUndefined[2]);
+assertSame(4, withUndefined.length);
+
+// default order is stable for elements with equal string values
+var mixed = ['1', 1, '1', 1].sort();
+assertSame('string', typeof mixed[0]);
+assertSame('number', typeof mixed[1]);
+assertSame('string', typeof mixed[2]);
+assertSame('number', typeof mixed[3]);
+
+// objects are converted by the comparator
+var log = [];
+var obj = {toString: function() { log.push('toString'); return 'x'; }};
+assertSame('a,x', ['a', obj].sort().join());
+assertTrue(log.length > 0);
+
+// comparators recognized as numeric, on int and double arrays
+assertSame('-20,-1,1,2,9,10,100', [10, 2, -1, 100, 9, 1, -20].sort((a, b) => a - b).join());
+assertSame('100,10,9,2,1,-1,-20', [10, 2, -1, 100, 9, 1, -20].sort((a, b) => b - a).join());
+assertSame('-20,-1,1,2', [2, -1, 1, -20].sort(function(x, y) { return x - y; }).join());
+assertSame('2,1,-1,-20', [2, -1, 1, -20].sort(function cmp(x, y) { return y - x; }).join());
+assertSame('-0.5,1.5,2.25,10', [10, 2.25, 1.5, -0.5].sort((a, b) => { return a - b; }).join());
+assertSame('10,2.25,1.5,-0.5', [10, 2.25, 1.5, -0.5].sort((a, b) => b - a).join());
+assertSame('-Infinity,-1,1.5,Infinity,Infinity', [Infinity, 1.5, -Infinity, Infinity, -1].sort((a, b) => a - b).join());
+var contiguous = [0.5, 9.5, 2.5, 7.5, 1.5];
+contiguous.shift();
+assertSame('1.5,2.5,7.5,9.5', contiguous.sort((a, b) => a - b).join());
+assertSame('9.5,7.5,2.5,1.5', contiguous.sort((a, b) => b - a).join());
+
+// comparators that only look numeric are still called
+var calls = 0;
+assertSame('1,2,3', [3, 1, 2].sort((a, b) => { calls++; return a - b; }).join());
+assertTrue(calls > 0);
+assertSame('3,1,2', [3, 1, 2].sort(function(a, a) { return a - a; }).join());
+assertSame('1,2,3', [3, 1, 2].sort((a, b, c) => a - b).join());
+var cmp = (a, b) => a - b;
+assertSame('3,2,1', [1, 2, 3].sort((a, b) => cmp(b, a)).join());
+
+// NaN and -0 are equal to everything / to 0 for a numeric comparator
+var withNaN = [3, NaN, 1, 2].sort((a, b) => a - b);
+assertSame(4, withNaN.length);
+var withNegZero = [0, -0, 0].sort((a, b) => a - b);
+assertSame(Infinity, 1 / withNegZero[0]);
+assertSame(-Infinity, 1 / withNegZero[1]);
+assertSame(Infinity, 1 / withNegZero[2]);
+
+// arrays with holes
+var holes = [3, , 1, , 2];
+holes.sort((a, b) => a - b);
+assertSame('1,2,3,,', holes.join());
+assertFalse(3 in holes);
+assertSame(5, holes.length);
+
+true;
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests BigInt arithmetic around the boundaries of the 64-bit (long) representation.
+ */
+
+load('assert.js');
+
+const MAX = 2n ** 63n - 1n;
+const MIN = -(2n ** 63n);
+
+function add(a, b) { return a + b; }
+function sub(a, b) { return a - b; }
+function mul(a, b) { return a * b; }
+
+// warm up the long specializations, then overflow
+for (let i = 0; i < 1000; i++) {
+    assertSame(BigInt(2 * i + 1), add(BigInt(i), BigInt(i + 1)));
+    assertSame(-1n, sub(BigInt(i), BigInt(i + 1)));
+    assertSame(BigInt(i * 3), mul(BigInt(i), 3n));
+}
+assertSame('9223372036854775808', add(MAX, 1n).toString());
+assertSame('-9223372036854775809', sub(MIN, 1n).toString());
+assertSame('85070591730234615847396907784232501249', mul(MAX, MAX).toString());
+assertSame('-9223372036854775808', mul(MIN, 1n).toString());
+assertSame('9223372036854775808', mul(MIN, -1n).toString());
+assertSame(MAX, add(MAX, 0n));
+assertSame(MIN, sub(MIN, 0n));
+
+// results that shrink back into the long range compare equal to small values
+assertSame(5n, sub(add(MAX, 5n), MAX));
+assertSame(MAX, sub(add(MAX, 1n), 1n));
+assertSame(MIN, add(sub(MIN, 1n), 1n));
+assertSame(0n, (MAX + 1n) - (MAX + 1n));
+assertSame(-1n, MIN / (-MIN));
+assertSame(9223372036854775808n, -MIN);
+assertSame(0n, MIN % -1n);
+assertSame(9223372036854775808n, MIN / -1n);
+assertSame(MAX, ~MIN);
+assertSame(-1n, MIN >> 100n);
+assertSame(1n, (MAX + 1n) >> 63n);
+assertTrue(MAX + 1n > MAX);
+assertTrue(MIN - 1n < MIN);
+
+// values as Map/Set keys
+const map = new Map();
+map.set(MAX + 1n - 1n, 'max');
+map.set(2n ** 64n, 'big');
+assertSame('max', map.get(MAX));
+assertSame('big', map.get(2n ** 63n * 2n));
+assertTrue(new Set([MAX + 1n]).has(2n ** 63n));
+
+// typed array round trips
+const i64 = new BigInt64Array([MAX, MIN, -1n, MAX + 1n]);
+assertSame(MAX, i64[0]);
+assertSame(MIN, i64[1]);
+assertSame(-1n, i64[2]);
+assertSame(MIN, i64[3]);
+const u64 = new BigUint64Array([MAX, -1n, 2n ** 64n + 3n]);
+assertSame(MAX, u64[0]);
+assertSame(2n ** 64n - 1n, u64[1]);
+assertSame(3n, u64[2]);
+assertSame(MAX + 1n, BigInt.asUintN(64, MIN));
+assertSame(MIN, BigInt.asIntN(64, MAX + 1n));
+
+true;
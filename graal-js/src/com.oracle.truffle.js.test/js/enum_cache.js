@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests for-in, Object.keys, Object.values and Object.entries on objects sharing a shape (enum cache).
+ */
+
+load('assert.js');
+
+function forInKeys(obj) {
+    var result = [];
+    for (var key in obj) {
+        result.push(key);
+    }
+    return result.join();
+}
+
+for (var i = 0; i < 100; i++) {
+    var obj = {b: i, a: i + 1, 2: 'x', 1: 'y'};
+    assertSame('1,2,b,a', forInKeys(obj));
+    assertSame('1,2,b,a', Object.keys(obj).join());
+    assertSame('y,x,' + i + ',' + (i + 1), Object.values(obj).join());
+    assertSame('1,y|2,x|b,' + i + '|a,' + (i + 1), Object.entries(obj).map(function(e) { return e.join(); }).join('|'));
+}
+
+// arrays returned by Object.keys share the enum cache but must not affect each other
+var k1 = Object.keys({p: 1, q: 2});
+k1[0] = 'changed';
+k1.push(42);
+k1.sort();
+var k2 = Object.keys({p: 3, q: 4});
+assertSame('p,q', k2.join());
+assertSame(2, k2.length);
+k2.length = 0;
+assertSame('p,q', Object.keys({p: 5, q: 6}).join());
+
+// non-enumerable own properties shadow enumerable prototype properties
+var proto = {x: 1, y: 2, z: 3};
+var child = Object.create(proto);
+Object.defineProperty(child, 'x', {value: 0, enumerable: false});
+child.w = 4;
+assertSame('w,y,z', forInKeys(child));
+assertSame('w', Object.keys(child).join());
+
+// shape changes during for-in: deleted properties are skipped, shadowing is preserved
+var child2 = Object.create(proto);
+Object.defineProperty(child2, 'y', {value: 0, enumerable: false});
+child2.a = 1;
+child2.b = 2;
+child2.c = 3;
+var seen = [];
+for (var key in child2) {
+    seen.push(key);
+    if (key === 'a') {
+        delete child2.b;
+        child2.d = 4;
+    }
+}
+assertSame('a,c,x,z', seen.join());
+
+// getters modifying the object during Object.values/entries
+var obj2 = {
+    get a() {
+        delete this.b;
+        Object.defineProperty(this, 'c', {enumerable: false});
+        return 'A';
+    },
+    b: 'B',
+    c: 'C',
+    d: 'D'
+};
+assertSame('A,D', Object.values(obj2).join());
+var obj3 = {
+    get a() {
+        this.b = 'changed';
+        return 'A';
+    },
+    b: 'B'
+};
+assertSame('a,A|b,changed', Object.entries(obj3).map(function(e) { return e.join(); }).join('|'));
+
+// symbols and non-enumerable properties are not listed
+var sym = {[Symbol('s')]: 1, e: 2};
+Object.defineProperty(sym, 'hidden', {value: 3, enumerable: false});
+assertSame('e', Object.keys(sym).join());
+assertSame('e', forInKeys(sym));
+assertSame('', Object.keys({}).join());
+assertSame('', forInKeys(Object.create(null)));
+
+true;
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests that repeated evaluation of the same source through direct and indirect eval (served by
+ * the eval cache) observes the current lexical environment of each call.
+ *
+ * @option eval-cache-size=4
+ */
+
+load('assert.js');
+
+function render(template, data) {
+    return eval(template);
+}
+
+var template = "'<b>' + data.name + '</b>'";
+for (var i = 0; i < 10; i++) {
+    assertSame('<b>n' + i + '</b>', render(template, {name: 'n' + i}));
+}
+
+// same source from different call sites
+function add(a, b) {
+    return eval('a + b');
+}
+function concat(a, b) {
+    'use strict';
+    return eval('a + b');
+}
+for (var i = 0; i < 5; i++) {
+    assertSame(i + 1, add(i, 1));
+    assertSame(i + '1', concat(String(i), '1'));
+}
+
+// sloppy eval declares a fresh variable in the caller on each call
+function declare(v) {
+    eval('var declared = v;');
+    return declared;
+}
+for (var i = 0; i < 5; i++) {
+    assertSame(i, declare(i));
+}
+
+// strict eval keeps its declarations local
+function declareStrict(v) {
+    'use strict';
+    eval('var local = v;');
+    return typeof local;
+}
+for (var i = 0; i < 5; i++) {
+    assertSame('undefined', declareStrict(i));
+}
+
+// indirect eval runs in the global scope
+var counter = 0;
+var indirect = eval;
+for (var i = 0; i < 5; i++) {
+    indirect('counter++;');
+}
+assertSame(5, counter);
+
+// more distinct sources than the cache can hold
+for (var round = 0; round < 3; round++) {
+    for (var i = 0; i < 10; i++) {
+        assertSame(i * 2, eval(i + ' * 2'));
+    }
+}
+
+// syntax errors are reported each time
+for (var i = 0; i < 3; i++) {
+    assertThrows(() => eval('1 +'), SyntaxError);
+}
+
+true;
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests JSON.parse of repeated key sequences and homogeneous arrays.
+ */
+
+load('assert.js');
+
+// records sharing a key sequence, with changing value types
+var records = [];
+for (var i = 0; i < 100; i++) {
+    records.push('{"id":' + i + ',"name":"n' + i + '","score":' + (i % 3 === 0 ? i + 0.5 : i) + ',"tag":' + (i % 7 === 0 ? 'null' : '"t"') + '}');
+}
+var parsed = JSON.parse('[' + records.join(',') + ']');
+assertSame(100, parsed.length);
+for (var i = 0; i < 100; i++) {
+    var r = parsed[i];
+    assertSame('id,name,score,tag', Object.keys(r).join());
+    assertSame(i, r.id);
+    assertSame('n' + i, r.name);
+    assertSame(i % 3 === 0 ? i + 0.5 : i, r.score);
+    assertSame(i % 7 === 0 ? null : 't', r.tag);
+}
+
+// diverging key sequences, escaped keys and duplicate keys
+parsed = JSON.parse('[{"a":1,"b":2},{"a":1,"c":3},{"a":1,"b\\u0032":4},{"a":1,"b":2,"b":5},{"a\\"":6},{"":7}]');
+assertSame('a,b', Object.keys(parsed[0]).join());
+assertSame('a,c', Object.keys(parsed[1]).join());
+assertSame('a,b2', Object.keys(parsed[2]).join());
+assertSame(4, parsed[2].b2);
+assertSame('a,b', Object.keys(parsed[3]).join());
+assertSame(5, parsed[3].b);
+assertSame(6, parsed[4]['a"']);
+assertSame(7, parsed[5]['']);
+
+// key prefixes must not be mistaken for a cached key
+parsed = JSON.parse('[{"key":1},{"keys":2},{"key" : 3}]');
+assertSame(1, parsed[0].key);
+assertSame(2, parsed[1].keys);
+assertSame(3, parsed[2].key);
+
+// index-like keys keep their ordering
+parsed = JSON.parse('[{"b":1,"1":2,"a":3},{"b":1,"1":2,"a":3}]');
+assertSame('1,b,a', Object.keys(parsed[1]).join());
+
+// homogeneous and mixed arrays
+var ints = JSON.parse('[1,2,3,-4,2147483647]');
+assertSame('1,2,3,-4,2147483647', ints.join());
+ints.push('x');
+assertSame(6, ints.length);
+var doubles = JSON.parse('[1,2.5,-0,1e3]');
+assertSame(2.5, doubles[1]);
+assertSame(-Infinity, 1 / doubles[2]);
+assertSame(1000, doubles[3]);
+var mixed = JSON.parse('[1,"a",null,true,[2,[3]],{"x":[]}]');
+assertSame(6, mixed.length);
+assertSame('a', mixed[1]);
+assertSame(null, mixed[2]);
+assertSame(3, mixed[4][1][0]);
+assertSame(0, mixed[5].x.length);
+assertSame(0, JSON.parse('[]').length);
+
+// malformed input still reports errors
+assertThrows(() => JSON.parse('[{"a":1},{"a" 1}]'), SyntaxError);
+assertThrows(() => JSON.parse('[1,2'), SyntaxError);
+assertThrows(() => JSON.parse('{"a":1,}'), SyntaxError);
+
+true;
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests JSON.stringify of objects sharing a shape and JSON.stringifyStream.
+ *
+ * @option json-stringify-stream
+ */
+
+load('assert.js');
+
+// objects sharing a shape, with accessors, toJSON and non-plain keys
+var records = [];
+for (var i = 0; i < 50; i++) {
+    records.push({id: i, 'quo"te': 'q', nested: {a: [i, i + 0.5]}});
+}
+var expected = '[' + records.map(r => '{"id":' + r.id + ',"quo\\"te":"q","nested":{"a":[' + r.nested.a.join(',') + ']}}').join(',') + ']';
+assertSame(expected, JSON.stringify(records));
+
+var withGetter = [{a: 1, get b() { return 2; }}, {a: 3, get b() { return 4; }}];
+assertSame('[{"a":1,"b":2},{"a":3,"b":4}]', JSON.stringify(withGetter));
+
+var withToJSON = [{a: {toJSON() { return 'x'; }}, b: 1}, {a: 2, b: 3}];
+assertSame('[{"a":"x","b":1},{"a":2,"b":3}]', JSON.stringify(withToJSON));
+
+// a getter modifying the object while it is serialized
+var mutating = {a: 1, get b() { delete this.c; return 2; }, c: 3, d: 4};
+assertSame('{"a":1,"b":2,"d":4}', JSON.stringify(mutating));
+var replaced = {a: 1, b: 2, c: 3};
+assertSame('{"a":1,"b":20,"c":30}', JSON.stringify(replaced, function(k, v) {
+    if (k === 'a') {
+        this.b = 20;
+        this.c = 30;
+    }
+    return v;
+}));
+
+// index-like keys, non-enumerable properties and replacer lists
+var indexed = {b: 1, 2: 'two', a: 3};
+Object.defineProperty(indexed, 'hidden', {value: 5, enumerable: false});
+assertSame('{"2":"two","b":1,"a":3}', JSON.stringify(indexed));
+assertSame('{"a":3}', JSON.stringify(indexed, ['a']));
+assertSame('{\n  "a": [\n    1\n  ]\n}', JSON.stringify({a: [1]}, null, 2));
+
+// streaming to a function, to an object and compared to stringify
+var big = [];
+for (var i = 0; i < 20000; i++) {
+    big.push({index: i, text: 'some text ' + i, values: [i, -i, i / 3]});
+}
+var chunks = [];
+assertSame(true, JSON.stringifyStream(function(chunk) { chunks.push(chunk); }, big));
+assertTrue(chunks.length > 1);
+assertSame(JSON.stringify(big), chunks.join(''));
+
+var written = '';
+var writer = {write(chunk) { written += chunk; }};
+assertSame(true, JSON.stringifyStream(writer, {a: [1, 2]}, null, 1));
+assertSame(JSON.stringify({a: [1, 2]}, null, 1), written);
+
+written = '';
+assertSame(true, JSON.stringifyStream(writer, {a: 1, b: 2}, ['b']));
+assertSame('{"b":2}', written);
+
+assertSame(false, JSON.stringifyStream(writer, undefined));
+assertSame(false, JSON.stringifyStream(writer, function() {}));
+assertThrows(() => JSON.stringifyStream(undefined, {}), TypeError);
+assertThrows(() => JSON.stringifyStream({}, {}), TypeError);
+
+true;
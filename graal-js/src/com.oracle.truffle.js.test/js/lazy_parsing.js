@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests that preparsed (lazily parsed) function bodies behave like eagerly parsed ones.
+ *
+ * @option lazy-parsing
+ */
+
+load('assert.js');
+
+// closures capturing variables of enclosing functions
+function makeCounter(start) {
+    var count = start;
+    function inc() {
+        function add(n) {
+            count += n;
+            return count;
+        }
+        return add(1);
+    }
+    return inc;
+}
+var counter = makeCounter(10);
+assertSame(11, counter());
+assertSame(12, counter());
+
+// hoisted declarations and named function expressions
+assertSame(120, fact(5));
+function fact(n) {
+    return n <= 1 ? 1 : n * fact(n - 1);
+}
+var fib = function f(n) {
+    return n < 2 ? n : f(n - 1) + f(n - 2);
+};
+assertSame(55, fib(10));
+
+// arguments in strict functions
+function sum() {
+    'use strict';
+    var s = 0;
+    for (var i = 0; i < arguments.length; i++) {
+        s += arguments[i];
+    }
+    return s;
+}
+assertSame(6, sum(1, 2, 3));
+
+// generators and async functions
+function* gen(x) {
+    yield x;
+    yield x * 2;
+}
+assertSame('3,6', [...gen(3)].join());
+
+async function asyncFn(x) {
+    return await x + 1;
+}
+asyncFn(41).then(function(v) { assertSame(42, v); });
+
+// direct eval inside a lazily parsed function sees the enclosing scopes
+function outer() {
+    var hidden = 'outer';
+    function inner() {
+        return eval('hidden');
+    }
+    return inner();
+}
+assertSame('outer', outer());
+
+// source text is retained
+function withSource(a, b) { return a + b; }
+assertSame('function withSource(a, b) { return a + b; }', withSource.toString());
+
+// strict mode directive of a preparsed function
+function strictThis() {
+    'use strict';
+    return this;
+}
+assertSame(undefined, strictThis());
+
+// regular expressions, divisions, and templates in preparsed bodies
+function slashes(a, b) {
+    var re = /}[/]\//g;
+    if (a) /x}/.test(a);
+    var o = {c: 8} / 2;
+    return a / b / 2 + '}'.length + `${ {d: 1}.d }}` + re.source + o;
+}
+assertSame('31}}[/]\\/NaN', slashes(8, 2));
+
+// new.target in a function that is not called as a constructor first
+function newTarget() {
+    return new.target === newTarget;
+}
+assertSame(false, newTarget());
+assertTrue(new newTarget() instanceof newTarget);
+
+// syntax errors in the body of a preparsed function are reported on its first call
+var lazyError = load({name: 'lazy_parsing_error.js', script: '(function() { return function neverCalled() { return 1 = 2; }; })()'});
+assertThrows(lazyError, SyntaxError);
+assertThrows(lazyError, SyntaxError);
+lazyError = load({name: 'lazy_parsing_error.js', script: '(function() { return function neverCalled() { function inner() { let x; let x; } }; })()'});
+assertThrows(lazyError, SyntaxError);
+
+// unbalanced brackets are still reported when the script is loaded
+assertThrows(function() {
+    load({name: 'lazy_parsing_early_error.js', script: 'function neverCalled() { if (true) { return [1); }'});
+}, SyntaxError);
+
+// functions loaded from another script are parsed on first invocation
+var loaded = load({name: 'lazy_parsing_load.js', script: '(function() { var v = 7; return function get() { return v * 6; }; })()'});
+assertSame(42, loaded());
+
+true;
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests live Map/Set iteration across deletions, compactions and clear().
+ */
+
+load('assert.js');
+
+function keysOf(it) {
+    var result = [];
+    for (var entry of it) {
+        result.push(entry);
+    }
+    return result.join();
+}
+
+// deleting visited and not yet visited entries while iterating
+var map = new Map();
+for (var i = 0; i < 100; i++) {
+    map.set(i, 'v' + i);
+}
+var visited = [];
+for (var [k, v] of map) {
+    assertSame('v' + k, v);
+    visited.push(k);
+    if (k < 90) {
+        // triggers shrinking compactions behind and ahead of the iterator
+        map.delete(k);
+        map.delete(k + 10);
+    }
+}
+assertSame('0,1,2,3,4,5,6,7,8,9,20,21,22,23,24,25,26,27,28,29,40,41,42,43,44,45,46,47,48,49,60,61,62,63,64,65,66,67,68,69,80,81,82,83,84,85,86,87,88,89', visited.join());
+assertSame(0, map.size);
+
+// entries added during iteration are visited, even after growing the table
+var set = new Set([1]);
+var count = 0;
+set.forEach(function(value) {
+    count++;
+    if (value < 50) {
+        set.add(value + 1);
+        set.delete(value);
+    }
+});
+assertSame(50, count);
+assertSame('50', keysOf(set));
+
+// clear() restarts pending iterators on the new contents
+var set2 = new Set(['a', 'b', 'c']);
+var it = set2.values();
+assertSame('a', it.next().value);
+set2.clear();
+set2.add('d');
+assertSame('d', it.next().value);
+assertTrue(it.next().done);
+set2.add('e');
+assertTrue(it.next().done);
+
+// number keys are normalized
+var map2 = new Map([[1, 'one'], [-0, 'zero'], [NaN, 'nan'], [1.5, 'x']]);
+assertSame('one', map2.get(1.0));
+assertSame('zero', map2.get(0));
+assertSame('nan', map2.get(0 / 0));
+assertSame('x', map2.get(3 / 2));
+assertTrue(map2.has(-0));
+assertFalse(map2.has('1'));
+assertSame('1,0,NaN,1.5', keysOf(map2.keys()));
+
+true;
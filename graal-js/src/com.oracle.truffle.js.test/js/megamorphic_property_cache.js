@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests megamorphic property accesses served by the context-wide property cache, including
+ * invalidation when prototypes change.
+ */
+
+load('assert.js');
+
+function makeObjects(count) {
+    var objects = [];
+    for (var i = 0; i < count; i++) {
+        var o = {};
+        o['p' + i] = i;
+        o.value = i;
+        objects.push(o);
+    }
+    return objects;
+}
+
+function getValue(o) {
+    return o.value;
+}
+function setValue(o, v) {
+    o.value = v;
+}
+function getInherited(o) {
+    return o.inherited;
+}
+function hasInherited(o) {
+    return 'inherited' in o;
+}
+
+var objects = makeObjects(20);
+for (var round = 0; round < 3; round++) {
+    objects.forEach((o, i) => assertSame(i + round, getValue(o)));
+    objects.forEach((o, i) => setValue(o, i + round + 1));
+}
+
+// inherited properties, later shadowed, changed and deleted on the prototype
+var proto = {inherited: 'proto'};
+var children = makeObjects(20).map(o => Object.setPrototypeOf(o, proto));
+children.forEach(o => assertSame('proto', getInherited(o)));
+children.forEach(o => assertTrue(hasInherited(o)));
+proto.inherited = 'changed';
+children.forEach(o => assertSame('changed', getInherited(o)));
+children[3].inherited = 'own';
+assertSame('own', getInherited(children[3]));
+assertSame('changed', getInherited(children[4]));
+delete proto.inherited;
+assertSame('own', getInherited(children[3]));
+assertSame(undefined, getInherited(children[4]));
+assertFalse(hasInherited(children[4]));
+Object.defineProperty(proto, 'inherited', {get() { return this.value * 2; }, configurable: true});
+assertSame(children[5].value * 2, getInherited(children[5]));
+
+// absent properties become present on a deeper prototype
+var absent = makeObjects(20);
+absent.forEach(o => assertSame(undefined, getInherited(o)));
+Object.prototype.inherited = 'object';
+try {
+    absent.forEach(o => assertSame('object', getInherited(o)));
+    absent.forEach(o => assertTrue(hasInherited(o)));
+} finally {
+    delete Object.prototype.inherited;
+}
+absent.forEach(o => assertSame(undefined, getInherited(o)));
+
+// inherited setters and read-only own properties
+var log = [];
+var setterProto = {set value(v) { log.push(v); }};
+var withSetter = makeObjects(20).map(o => {
+    var c = Object.create(setterProto);
+    c['q' + o.value] = 0;
+    return c;
+});
+withSetter.forEach((o, i) => setValue(o, i));
+assertSame(20, log.length);
+assertFalse(Object.prototype.hasOwnProperty.call(withSetter[0], 'value'));
+
+var frozen = makeObjects(20).map(o => Object.freeze(o));
+frozen.forEach(o => setValue(o, -1));
+frozen.forEach((o, i) => assertSame(i, getValue(o)));
+assertThrows(() => {
+    'use strict';
+    frozen[0].value = -1;
+}, TypeError);
+
+true;
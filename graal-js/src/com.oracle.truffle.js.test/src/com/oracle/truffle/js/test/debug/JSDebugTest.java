@@ -348,6 +348,32 @@ public class JSDebugTest {
         assertEquals("2", expectDone());
     }
 
+    @Test
+    public void testBreakpointInNumericComparator() throws Throwable {
+        // the sort must not bypass a comparator that the debugger observes
+        final Source sort = Source.newBuilder("js", "var a = [2, 1];\n" +
+                        "a.sort(function cmp(x, y) {\n" +
+                        "  return x - y;\n" +
+                        "});\n" +
+                        "a.join();\n", "sort.js").buildLiteral();
+
+        try (DebuggerSession session = startSession()) {
+            startEval(sort);
+            Breakpoint breakpoint = session.install(Breakpoint.newBuilder(DebuggerTester.getSourceImpl(sort)).lineIs(3).build());
+
+            expectSuspended((SuspendedEvent event) -> {
+                checkState(event, "cmp", 3, true, "return x - y;", "x", "2", "y", "1");
+                event.prepareContinue();
+            });
+            expectSuspended((SuspendedEvent event) -> {
+                checkState(event, "cmp", 3, true, "return x - y;", "x", "1", "y", "2");
+                event.prepareContinue();
+            });
+            assertEquals("1,2", expectDone());
+            assertEquals(2, breakpoint.getHitCount());
+        }
+    }
+
     @Test
     public void testConditionalBreakpoint() throws Throwable {
         final Source factorial = createGlobalFactorial();
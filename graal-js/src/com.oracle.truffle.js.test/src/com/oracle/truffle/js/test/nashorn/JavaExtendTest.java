@@ -68,4 +68,28 @@ public class JavaExtendTest {
         Assert.assertEquals("true", testIntl(sourceCode));
     }
 
+    private static Context newNashornContext() {
+        return JSTest.newContextBuilder().option(JSContextOptions.NASHORN_COMPATIBILITY_MODE_NAME, "true").allowAllAccess(true).build();
+    }
+
+    @Test
+    public void adapterClassCache() {
+        String extendRunnable = "Java.extend(java.lang.Runnable, java.util.concurrent.Callable).class";
+        try (Context context1 = newNashornContext(); Context context2 = newNashornContext()) {
+            Class<?> class1 = context1.eval(JavaScriptLanguage.ID, extendRunnable).asHostObject();
+            Class<?> class2 = context1.eval(JavaScriptLanguage.ID, extendRunnable).asHostObject();
+            Class<?> class3 = context2.eval(JavaScriptLanguage.ID, extendRunnable).asHostObject();
+            Assert.assertSame(class1, class2);
+            Assert.assertSame(class1, class3);
+        }
+    }
+
+    @Test
+    public void adapterClassCacheWithClassOverrides() {
+        String sourceCode = "var Callable = java.util.concurrent.Callable;\n" +
+                        "var C1 = Java.extend(Callable, { call: function() { return 'one'; } });\n" +
+                        "var C2 = Java.extend(Callable, { call: function() { return 'two'; } });\n" +
+                        "(C1 !== C2) + ' ' + new C1().call() + ' ' + new C2().call();";
+        Assert.assertEquals("true one two", testIntl(sourceCode));
+    }
 }
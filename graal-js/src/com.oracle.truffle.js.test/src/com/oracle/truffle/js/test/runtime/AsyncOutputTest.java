@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.AsyncOutput;
+import com.oracle.truffle.js.test.JSTest;
+
+public class AsyncOutputTest {
+
+    @Test
+    public void testFlushOnClose() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().out(out).err(err).option(JSContextOptions.CONSOLE_ASYNC_NAME, "true").option(JSContextOptions.CONSOLE_ASYNC_BUFFER_SIZE_NAME,
+                        "16").option(JSContextOptions.CONSOLE_ASYNC_FLUSH_INTERVAL_NAME, "10000").build()) {
+            context.eval(JavaScriptLanguage.ID, "for (var i = 0; i < 1000; i++) { console.log('line ' + i); } printErr('done');");
+        }
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.append("line ").append(i).append(System.lineSeparator());
+        }
+        assertEquals(expected.toString(), out.toString());
+        assertEquals("done" + System.lineSeparator(), err.toString());
+    }
+
+    @Test
+    public void testChildRealms() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().out(out).option(JSContextOptions.CONSOLE_ASYNC_NAME, "true").option(JSContextOptions.V8_REALM_BUILTIN_NAME, "true").build()) {
+            context.eval(JavaScriptLanguage.ID, "for (var i = 0; i < 10; i++) { print('parent ' + i); Realm.eval(Realm.create(), 'print(\"child ' + i + '\")'); }");
+            // child realms share the writer thread of the top-level realm
+            assertEquals(1, Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().equals("graaljs-console-writer")).count());
+        }
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            expected.append("parent ").append(i).append(System.lineSeparator());
+            expected.append("child ").append(i).append(System.lineSeparator());
+        }
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    @Test
+    public void testSetTarget() throws IOException {
+        ByteArrayOutputStream target1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream target2 = new ByteArrayOutputStream();
+        AsyncOutput asyncOutput = new AsyncOutput(16, 1, AsyncOutput.OverflowPolicy.BLOCK);
+        AsyncOutput.AsyncStream stream1 = asyncOutput.createStream(target1);
+        AsyncOutput.AsyncStream stream2 = asyncOutput.createStream(target1);
+        stream1.write('a');
+        stream2.write('b');
+        stream1.write('c');
+        stream2.setTarget(target2);
+        stream2.write('d');
+        stream1.write('e');
+        asyncOutput.close();
+        assertEquals("abce", target1.toString());
+        assertEquals("d", target2.toString());
+    }
+
+    @Test
+    public void testConcurrentClose() throws InterruptedException {
+        for (int round = 0; round < 100; round++) {
+            ByteArrayOutputStream target = new ByteArrayOutputStream();
+            AsyncOutput asyncOutput = new AsyncOutput(8, 1, AsyncOutput.OverflowPolicy.BLOCK);
+            OutputStream stream = asyncOutput.createStream(target);
+            Thread[] writers = new Thread[4];
+            for (int i = 0; i < writers.length; i++) {
+                writers[i] = new Thread(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        try {
+                            stream.write('x');
+                        } catch (IOException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                });
+                writers[i].start();
+            }
+            // output written before, during and after closing must not be lost
+            asyncOutput.close();
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertEquals(writers.length * 500, target.size());
+        }
+    }
+
+    @Test
+    public void testDrop() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        AsyncOutput asyncOutput = new AsyncOutput(4, 10000, AsyncOutput.OverflowPolicy.DROP);
+        OutputStream stream = asyncOutput.createStream(target);
+        for (int i = 0; i < 100; i++) {
+            stream.write('x');
+        }
+        asyncOutput.close();
+        assertTrue(asyncOutput.getDroppedCount() > 0);
+        assertEquals(100, target.size() + asyncOutput.getDroppedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidOverflowPolicy() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.CONSOLE_ASYNC_OVERFLOW_NAME, "wait").build()) {
+            context.eval(JavaScriptLanguage.ID, "1");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.CompiledRegexCache;
+import com.oracle.truffle.js.test.JSTest;
+
+public class CompiledRegexCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        CompiledRegexCache cache = new CompiledRegexCache(2, "");
+        Object a = new Object();
+        Object b = new Object();
+        Object c = new Object();
+        cache.put("a", "", a);
+        cache.put("b", "g", b);
+        assertSame(a, cache.get("a", ""));
+        cache.put("c", "", c);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b", "g"));
+        assertSame(a, cache.get("a", ""));
+        assertSame(c, cache.get("c", ""));
+        assertNull(cache.get("a", "g"));
+        assertEquals(3, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testDynamicPatterns() {
+        String code = "var n = 0;\n" +
+                        "for (var i = 0; i < 100; i++) {\n" +
+                        "  if (new RegExp('^x' + (i % 10) + '$', i % 2 ? 'g' : 'i').test('x' + (i % 10))) n++;\n" +
+                        "}\n" +
+                        "n;";
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.REGEX_CACHE_SIZE_NAME, "16").build()) {
+            assertEquals(100, context.eval(JavaScriptLanguage.ID, code).asInt());
+            CompiledRegexCache cache = JavaScriptLanguage.getJSRealm(context).getContext().getCompiledRegexCache();
+            assertTrue(cache.size() <= 16);
+            assertTrue(cache.getHits() >= 90);
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.REGEX_CACHE_SIZE_NAME, "0").build()) {
+            assertEquals(true, context.eval(JavaScriptLanguage.ID, "new RegExp('a+', 'g').test('caa')").asBoolean());
+            assertNull(JavaScriptLanguage.getJSRealm(context).getContext().getCompiledRegexCache());
+        }
+    }
+}
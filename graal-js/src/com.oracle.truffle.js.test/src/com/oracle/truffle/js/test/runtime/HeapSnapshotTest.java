@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.builtins.helper.HeapSnapshot;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.test.JSTest;
+
+public class HeapSnapshotTest {
+
+    private static final String SETUP = "function Foo() { this.x = 1; }\n" +
+                    "var foos = [new Foo(), new Foo(), new Foo()];\n" +
+                    "var leak = [];\n" +
+                    "for (var i = 0; i < 1000; i++) { leak.push({index: i, text: 'item' + i}); }\n" +
+                    "function makeClosure() { var captured = new Foo(); return function() { return captured; }; }\n" +
+                    "var closure = makeClosure();\n";
+
+    private static HeapSnapshot.Summary find(Iterable<HeapSnapshot.Summary> summaries, Object key) {
+        for (HeapSnapshot.Summary summary : summaries) {
+            if (summary.getKey().equals(key)) {
+                return summary;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testSummaries() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, SETUP);
+            context.enter();
+            try {
+                JSRealm realm = JavaScriptLanguage.getJSRealm(context);
+                HeapSnapshot snapshot = HeapSnapshot.take(realm);
+                HeapSnapshot.Summary foo = find(snapshot.getConstructorSummary(), "Foo");
+                assertNotNull(foo);
+                // three in foos and one captured by the closure
+                assertEquals(4, foo.getCount());
+                assertTrue(foo.getRetainedSize() >= foo.getSelfSize());
+
+                DynamicObject leak = (DynamicObject) JSObject.get(realm.getGlobalObject(), "leak");
+                // every element additionally retains its string
+                assertTrue(snapshot.getRetainedSize(leak) > 1000 * snapshot.getSelfSize(JSObject.get(leak, 0)));
+                assertNotNull(find(snapshot.getClassSummary(), "JSUserObject"));
+                assertTrue(snapshot.getShapeSummary().size() > 0);
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    @Test
+    public void testHeapSnapshotFormat() throws IOException {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, SETUP);
+            StringWriter writer = new StringWriter();
+            HeapSnapshot snapshot;
+            context.enter();
+            try {
+                snapshot = HeapSnapshot.take(JavaScriptLanguage.getJSRealm(context));
+                snapshot.writeTo(writer);
+            } finally {
+                context.leave();
+            }
+            Value json = context.eval(JavaScriptLanguage.ID, "(function(text) { var s = JSON.parse(text); " +
+                            "var nodeFields = s.snapshot.meta.node_fields.length, edgeFields = s.snapshot.meta.edge_fields.length; " +
+                            "var edges = 0; for (var i = 0; i < s.nodes.length; i += nodeFields) { edges += s.nodes[i + 4]; } " +
+                            "var names = []; for (var i = 0; i < s.nodes.length; i += nodeFields) { names.push(s.strings[s.nodes[i + 1]]); } " +
+                            "return [s.snapshot.node_count, s.nodes.length / nodeFields, s.snapshot.edge_count, s.edges.length / edgeFields, edges, names.indexOf('Foo') >= 0]; })");
+            Value result = json.execute(writer.toString());
+            assertEquals(snapshot.getNodeCount(), result.getArrayElement(0).asInt());
+            assertEquals(snapshot.getNodeCount(), result.getArrayElement(1).asInt());
+            assertEquals(snapshot.getEdgeCount(), result.getArrayElement(2).asInt());
+            assertEquals(snapshot.getEdgeCount(), result.getArrayElement(3).asInt());
+            assertEquals(snapshot.getEdgeCount(), result.getArrayElement(4).asInt());
+            assertTrue(result.getArrayElement(5).asBoolean());
+        }
+    }
+
+    @Test
+    public void testAllocationSites() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.ALLOCATION_SAMPLING_INTERVAL_NAME, "1").option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build()) {
+            Value sites = context.eval(JavaScriptLanguage.ID, "var keep = [];\n" +
+                            "function make() { return {value: 42}; }\n" +
+                            "for (var i = 0; i < 100; i++) { keep.push(make()); make(); }\n" +
+                            "Debug.allocationSites();");
+            boolean found = false;
+            for (int i = 0; i < sites.getArraySize(); i++) {
+                Value site = sites.getArrayElement(i);
+                if (site.getMember("allocated").asLong() >= 200 && site.getMember("live").asLong() >= 100) {
+                    found = true;
+                }
+            }
+            assertTrue(found);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.IntlObjectCache;
+import com.oracle.truffle.js.test.JSTest;
+
+public class IntlObjectCacheTest {
+
+    private static Context newContext() {
+        return JSTest.newContextBuilder().option(JSContextOptions.INTL_402_NAME, "true").option(JSContextOptions.LOCALE_NAME, "en").build();
+    }
+
+    private static IntlObjectCache getCache(Context context) {
+        return JavaScriptLanguage.getJSRealm(context).getIntlObjectCache();
+    }
+
+    @Test
+    public void testReuse() {
+        try (Context context = newContext()) {
+            String code = "var d = new Date(2020, 0, 2, 3, 4, 5); var r = [];\n" +
+                            "for (var i = 0; i < 10; i++) {\n" +
+                            "  r.push(d.toLocaleString(), d.toLocaleDateString('de'), d.toLocaleTimeString('en-US'),\n" +
+                            "    (1234.5).toLocaleString('de'), (1234.5).toLocaleString(), 'a'.localeCompare('b'));\n" +
+                            "}\n" +
+                            "var fresh = new Intl.NumberFormat('de').format(1234.5);\n" +
+                            "r.every(function(v, i) { return v === r[i % 6]; }) && r[3] === fresh && r[3] !== r[4];";
+            assertTrue(context.eval(JavaScriptLanguage.ID, code).asBoolean());
+            assertEquals(6, getCache(context).size());
+        }
+    }
+
+    @Test
+    public void testOptionsNotCached() {
+        try (Context context = newContext()) {
+            String code = "var reads = 0;\n" +
+                            "var options = { get minimumFractionDigits() { reads++; return 2; } };\n" +
+                            "(1).toLocaleString('en', options) + (1).toLocaleString('en', options) + reads;";
+            assertEquals("1.001.002", context.eval(JavaScriptLanguage.ID, code).asString());
+            assertEquals(0, getCache(context).size());
+        }
+    }
+
+    @Test
+    public void testInvalidLocaleNotCached() {
+        try (Context context = newContext()) {
+            String code = "var errors = 0;\n" +
+                            "for (var i = 0; i < 2; i++) {\n" +
+                            "  try { new Date().toLocaleString('not a locale'); } catch (e) { if (e instanceof RangeError) errors++; }\n" +
+                            "}\n" +
+                            "errors;";
+            assertEquals(2, context.eval(JavaScriptLanguage.ID, code).asInt());
+            assertEquals(0, getCache(context).size());
+        }
+    }
+
+    @Test
+    public void testBounded() {
+        try (Context context = newContext()) {
+            String code = "var locales = ['en', 'de', 'fr', 'it', 'es', 'cs', 'sk', 'pl'];\n" +
+                            "for (var i = 0; i < 100; i++) { (i).toLocaleString(locales[i % locales.length] + '-u-nu-latn-x-' + i); }";
+            context.eval(JavaScriptLanguage.ID, code);
+            assertEquals(JSConfig.IntlObjectCacheSize, getCache(context).size());
+        }
+    }
+}
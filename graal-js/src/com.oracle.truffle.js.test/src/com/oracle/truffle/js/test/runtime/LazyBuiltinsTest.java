@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Lazily created global builtins must not be distinguishable from eagerly created ones.
+ */
+public class LazyBuiltinsTest {
+
+    private static final String DESCRIBE_GLOBALS = "Object.getOwnPropertyNames(globalThis).map(function(key) {\n" +
+                    "  var desc = Object.getOwnPropertyDescriptor(globalThis, key);\n" +
+                    "  var value = desc.value;\n" +
+                    "  var proto = (typeof value === 'function') ? value.prototype : undefined;\n" +
+                    "  return [key, desc.writable, desc.enumerable, desc.configurable, typeof value,\n" +
+                    "    typeof value === 'function' ? value.name + '/' + value.length : '',\n" +
+                    "    proto ? Object.getOwnPropertyNames(proto).join() : '',\n" +
+                    "    value !== null && typeof value === 'object' ? Object.getOwnPropertyNames(value).join() : ''].join(':');\n" +
+                    "}).join('\\n');";
+
+    private static Context newContext(boolean lazyBuiltins) {
+        return JSTest.newContextBuilder().option(JSContextOptions.LAZY_BUILTINS_NAME, String.valueOf(lazyBuiltins)).option(JSContextOptions.INTL_402_NAME, "true").build();
+    }
+
+    private static String eval(boolean lazyBuiltins, String code) {
+        try (Context context = newContext(lazyBuiltins)) {
+            return context.eval(JavaScriptLanguage.ID, code).toString();
+        }
+    }
+
+    @Test
+    public void testGlobalPropertiesUnchanged() {
+        assertEquals(eval(false, DESCRIBE_GLOBALS), eval(true, DESCRIBE_GLOBALS));
+    }
+
+    @Test
+    public void testPrototypeChains() {
+        String code = "[Object.getPrototypeOf(RangeError) === Error, Object.getPrototypeOf(RangeError.prototype) === Error.prototype,\n" +
+                        "  Object.getPrototypeOf(Uint8Array) === Object.getPrototypeOf(Float64Array), new Int16Array(2) instanceof Int16Array,\n" +
+                        "  new Proxy({}, {}) instanceof Object, Reflect.apply(Math.max, null, [1, 3, 2]), Atomics.add(new Int32Array(1), 0, 5),\n" +
+                        "  new Intl.NumberFormat('en').format(1234.5), (1234.5).toLocaleString('en'), new DataView(new ArrayBuffer(2)).byteLength].join();";
+        assertEquals(eval(false, code), eval(true, code));
+    }
+
+    @Test
+    public void testInternallyCreatedObjects() {
+        // builtins created internally before the global property was read must be the same objects
+        String code = "var e; try { null.x; } catch (ex) { e = ex; }\n" +
+                        "var u = new Uint8Array(1);\n" +
+                        "[e instanceof TypeError, e.constructor === TypeError, Object.getPrototypeOf(u) === Uint8Array.prototype].join();";
+        assertEquals("true,true,true", eval(true, code));
+    }
+
+    @Test
+    public void testOverwriteAndDelete() {
+        String code = "Uint8Array = 42; var deleted = delete globalThis.Proxy;\n" +
+                        "Object.defineProperty(globalThis, 'Reflect', {value: 'r', enumerable: true});\n" +
+                        "var desc = Object.getOwnPropertyDescriptor(globalThis, 'Reflect');\n" +
+                        "[Uint8Array, deleted, typeof Proxy, Reflect, desc.enumerable, desc.writable,\n" +
+                        "  Object.keys(globalThis).indexOf('Reflect') >= 0].join();";
+        String expected = "42,true,undefined,r,true,true,true";
+        assertEquals(expected, eval(false, code));
+        assertEquals(expected, eval(true, code));
+    }
+
+    @Test
+    public void testFrozenGlobal() {
+        String code = "'use strict'; Object.freeze(globalThis); var threw = false;\n" +
+                        "try { Int8Array = 1; } catch (e) { threw = e instanceof TypeError; }\n" +
+                        "var desc = Object.getOwnPropertyDescriptor(globalThis, 'Int8Array');\n" +
+                        "[threw, typeof Int8Array, desc.writable, desc.configurable, Object.isFrozen(globalThis)].join();";
+        assertEquals("true,function,false,false,true", eval(true, code));
+    }
+
+    @Test
+    public void testCreatedOnFirstAccess() {
+        try (Context context = newContext(true)) {
+            context.initialize(JavaScriptLanguage.ID);
+            DynamicObject global = JavaScriptLanguage.getJSRealm(context).getGlobalObject();
+            assertTrue(JSProperty.isProxy(global.getShape().getProperty("Float64Array")));
+            assertTrue(JSProperty.isProxy(global.getShape().getProperty("Intl")));
+            assertEquals(8, context.eval(JavaScriptLanguage.ID, "Float64Array.BYTES_PER_ELEMENT").asInt());
+            assertFalse(JSProperty.isProxy(global.getShape().getProperty("Float64Array")));
+            assertTrue(JSProperty.isProxy(global.getShape().getProperty("Intl")));
+        }
+    }
+}
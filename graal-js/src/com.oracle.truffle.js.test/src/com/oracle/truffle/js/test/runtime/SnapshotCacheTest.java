@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.parser.BinarySnapshotProvider;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.snapshot.RuntimeSnapshotRecorder;
+import com.oracle.truffle.js.test.JSTest;
+import com.oracle.truffle.js.test.TestHelper;
+
+public class SnapshotCacheTest {
+
+    private static final String LIBRARY = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }\n" +
+                    "var lib = { answer: function() { return fib(9) + 8; }, text: 'cached' };\n" +
+                    "lib.answer() + lib.text;";
+
+    private Path cacheDir;
+
+    @Before
+    public void createCacheDir() throws IOException {
+        cacheDir = Files.createTempDirectory("snapshot-cache");
+    }
+
+    @After
+    public void deleteCacheDir() throws IOException {
+        for (Path file : snapshotFiles()) {
+            Files.delete(file);
+        }
+        Files.delete(cacheDir);
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private Context.Builder newContextBuilder(int minSize) {
+        return JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.SNAPSHOT_CACHE_NAME, cacheDir.toString()).option(JSContextOptions.SNAPSHOT_CACHE_MIN_SIZE_NAME,
+                        String.valueOf(minSize));
+    }
+
+    private String eval(String code, int minSize) {
+        return eval(newContextBuilder(minSize), code);
+    }
+
+    private static String eval(Context.Builder contextBuilder, String code) {
+        try (Context context = contextBuilder.build()) {
+            return context.eval(Source.create(JavaScriptLanguage.ID, code)).asString();
+        }
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        assertEquals("42cached", eval(LIBRARY, 0));
+        List<Path> files = snapshotFiles();
+        assertEquals(1, files.size());
+        // loaded from the snapshot
+        assertEquals("42cached", eval(LIBRARY, 0));
+        assertEquals(files, snapshotFiles());
+    }
+
+    @Test
+    public void testSizeThreshold() throws IOException {
+        assertEquals("42cached", eval(LIBRARY, LIBRARY.length() + 1));
+        assertEquals(0, snapshotFiles().size());
+    }
+
+    @Test
+    public void testCorruptedSnapshot() throws IOException {
+        assertEquals("42cached", eval(LIBRARY, 0));
+        Path file = snapshotFiles().get(0);
+        Files.write(file, new byte[]{1, 2, 3});
+        assertEquals("42cached", eval(LIBRARY, 0));
+        // replaced by a valid snapshot
+        assertEquals(1, snapshotFiles().size());
+        assertEquals("42cached", eval(LIBRARY, 0));
+    }
+
+    @Test
+    public void testNoIOAccess() throws IOException {
+        assertEquals("42cached", eval(newContextBuilder(0).allowIO(false), LIBRARY));
+        assertEquals(0, snapshotFiles().size());
+        // existing snapshots are not read either
+        assertEquals("42cached", eval(LIBRARY, 0));
+        assertEquals("42cached", eval(newContextBuilder(0).allowIO(false), LIBRARY));
+    }
+
+    @Test
+    public void testLazyParsing() throws IOException {
+        assertEquals("42cached", eval(newContextBuilder(0).option(JSContextOptions.LAZY_PARSING_NAME, "true"), LIBRARY));
+        assertEquals("42cached", eval(newContextBuilder(0).option(JSContextOptions.LAZY_PARSING_NAME, "true"), LIBRARY));
+        // preparsed functions would be missing from the snapshot
+        assertEquals(0, snapshotFiles().size());
+    }
+
+    @Test
+    public void testRecordWithLazyParsing() {
+        try (TestHelper helper = new TestHelper(JSTest.newContextBuilder().option(JSContextOptions.LAZY_PARSING_NAME, "true"))) {
+            helper.enterContext();
+            try {
+                JSContext context = helper.getJSContext();
+                com.oracle.truffle.api.source.Source source = com.oracle.truffle.api.source.Source.newBuilder(JavaScriptLanguage.ID, LIBRARY, "library.js").build();
+                ByteBuffer snapshot = ByteBuffer.wrap(new RuntimeSnapshotRecorder().record(context, source));
+                FunctionRootNode root = (FunctionRootNode) new BinarySnapshotProvider(snapshot).apply(NodeFactory.getInstance(context), context, source);
+                assertEquals("42cached", helper.runNoPolyglot(ScriptNode.fromFunctionRoot(context, root)));
+            } finally {
+                helper.leaveContext();
+            }
+        }
+    }
+}
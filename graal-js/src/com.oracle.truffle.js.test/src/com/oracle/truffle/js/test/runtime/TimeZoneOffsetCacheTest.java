@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+import com.oracle.truffle.js.runtime.util.TimeZoneOffsetCache;
+
+public class TimeZoneOffsetCacheTest {
+
+    private static final String[] ZONES = {"Europe/Prague", "America/New_York", "Pacific/Apia", "Australia/Lord_Howe", "Asia/Kolkata", "UTC"};
+
+    private static void check(TimeZoneOffsetCache cache, double t, ZoneId zone) {
+        assertEquals("UTC " + (long) t + " in " + zone, JSDate.localTZA(t, true, zone), cache.localTZA(t, true, zone));
+        assertEquals("local " + (long) t + " in " + zone, JSDate.localTZA(t, false, zone), cache.localTZA(t, false, zone));
+    }
+
+    @Test
+    public void testAroundTransitions() {
+        TimeZoneOffsetCache cache = new TimeZoneOffsetCache();
+        for (String zoneName : ZONES) {
+            ZoneId zone = ZoneId.of(zoneName);
+            Instant instant = Instant.ofEpochMilli(1_200_000_000_000L);
+            for (int i = 0; i < 20; i++) {
+                ZoneOffsetTransition transition = zone.getRules().nextTransition(instant);
+                if (transition == null) {
+                    break;
+                }
+                long transitionTime = transition.getInstant().toEpochMilli();
+                for (long delta = -3 * 3600_000L; delta <= 3 * 3600_000L; delta += 900_000L) {
+                    check(cache, transitionTime + delta, zone);
+                    check(cache, transitionTime + delta - 1, zone);
+                }
+                instant = transition.getInstant();
+            }
+        }
+    }
+
+    @Test
+    public void testRandomTimes() {
+        TimeZoneOffsetCache cache = new TimeZoneOffsetCache();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            ZoneId zone = ZoneId.of(ZONES[(i / 1000) % ZONES.length]);
+            double t = (i % 2 == 0) ? (double) (random.nextLong() % (long) JSDate.MAX_DATE) : 1.5e12 + random.nextInt(1_000_000_000) * 100.0;
+            check(cache, t, zone);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * WeakMap entries are stored on the key; only the first insertion may change the key's shape.
+ */
+public class WeakMapTest {
+
+    private static Shape keyShape(Context context) {
+        DynamicObject global = JavaScriptLanguage.getJSRealm(context).getGlobalObject();
+        return ((DynamicObject) JSObject.get(global, "key")).getShape();
+    }
+
+    @Test
+    public void testShapeStableAcrossMaps() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, "var key = {a: 1}; var m1 = new WeakMap(); m1.set(key, 'v1');");
+            Shape shape = keyShape(context);
+            String code = "var maps = [];\n" +
+                            "for (var i = 0; i < 10; i++) { var m = new WeakMap(); m.set(key, i); maps.push(m); }\n" +
+                            "m1.set(key, 'v2'); var m2 = new WeakMap(); m2.set(key, 'w'); m1.delete(key);\n" +
+                            "var r = [m1.has(key), m1.get(key), m2.get(key), maps[7].get(key)];\n" +
+                            "m1.set(key, 'v3'); r.push(m1.get(key), m2.get(key), key.a, Object.getOwnPropertyNames(key).length);\n" +
+                            "r.join();";
+            assertEquals("false,,w,7,v3,w,1,1", context.eval(JavaScriptLanguage.ID, code).asString());
+            assertSame(shape, keyShape(context));
+        }
+    }
+
+    @Test
+    public void testNonExtensibleKeys() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "var frozen = Object.freeze({x: 1}); var sealed = Object.seal({}); var m = new WeakMap();\n" +
+                            "m.set(frozen, 'f'); m.set(sealed, 's'); new WeakMap().set(frozen, 'g');\n" +
+                            "[m.get(frozen), m.get(sealed), Object.isFrozen(frozen), Object.isSealed(sealed), Object.isExtensible(frozen),\n" +
+                            "  Object.getOwnPropertyNames(frozen).join('|'), Reflect.ownKeys(sealed).length].join();";
+            assertEquals("f,s,true,true,false,x,0", context.eval(JavaScriptLanguage.ID, code).asString());
+        }
+    }
+
+    @Test
+    public void testValueReferencingKey() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "var m = new WeakMap(); var keys = [];\n" +
+                            "for (var i = 0; i < 100; i++) { var k = {i: i}; m.set(k, {key: k}); keys.push(k); }\n" +
+                            "keys.every(function(k) { return m.get(k).key === k; }) && !m.has({}) && m.get({}) === undefined;";
+            assertEquals(true, context.eval(JavaScriptLanguage.ID, code).asBoolean());
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.oracle.js.parser.ErrorManager;
+import com.oracle.js.parser.Parser;
+import com.oracle.js.parser.ParserException;
+import com.oracle.js.parser.ScriptEnvironment;
+import com.oracle.js.parser.Source;
+import com.oracle.js.parser.ir.FunctionNode;
+import com.oracle.js.parser.ir.LexicalContext;
+import com.oracle.js.parser.ir.Node;
+import com.oracle.js.parser.ir.visitor.NodeVisitor;
+
+/**
+ * Tests that the parser skips the bodies of nested functions with lazy parsing enabled.
+ */
+public class LazyParsingTest {
+
+    private static final int MODULES = 200;
+
+    /**
+     * A bundle of modules with functions that are never called.
+     */
+    private static String bundle() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("var modules = {};\n");
+        for (int i = 0; i < MODULES; i++) {
+            sb.append("modules['m").append(i).append("'] = function(exports, require) {\n");
+            sb.append("  'use strict';\n");
+            sb.append("  var pattern = /^[a-z]+\\/(\\d+)$/i;\n");
+            sb.append("  function parse(text, radix) {\n");
+            sb.append("    var match = pattern.exec(text);\n");
+            sb.append("    if (!match) { throw new Error(`cannot parse ${text} in m").append(i).append("`); }\n");
+            sb.append("    return parseInt(match[1], radix) / 2;\n");
+            sb.append("  }\n");
+            sb.append("  function format(values) {\n");
+            sb.append("    return values.map(function(v) { return {value: v, half: v / 2}; }).filter((e) => e.half > 1);\n");
+            sb.append("  }\n");
+            sb.append("  exports.parse = parse;\n");
+            sb.append("  exports.format = format;\n");
+            sb.append("};\n");
+        }
+        return sb.toString();
+    }
+
+    private static FunctionNode parse(String code, boolean lazyParsing) {
+        ScriptEnvironment env = ScriptEnvironment.builder().ecmaScriptVersion(11).lazyParsing(lazyParsing).build();
+        return new Parser(env, Source.sourceFor("test.js", code), new ErrorManager.ThrowErrorManager()).parse();
+    }
+
+    private static List<FunctionNode> functions(FunctionNode program) {
+        List<FunctionNode> functions = new ArrayList<>();
+        program.accept(new NodeVisitor<LexicalContext>(new LexicalContext()) {
+            @Override
+            public boolean enterFunctionNode(FunctionNode functionNode) {
+                if (!functionNode.isProgram()) {
+                    functions.add(functionNode);
+                }
+                return true;
+            }
+        });
+        return functions;
+    }
+
+    private static int countNodes(FunctionNode program) {
+        int[] count = new int[1];
+        program.accept(new NodeVisitor<LexicalContext>(new LexicalContext()) {
+            @Override
+            protected boolean enterDefault(Node node) {
+                count[0]++;
+                return true;
+            }
+        });
+        return count[0];
+    }
+
+    private static FunctionNode preparsedFunction(String code) {
+        FunctionNode function = functions(parse(code, true)).get(0);
+        assertTrue(function.isPreparsed());
+        return function;
+    }
+
+    private static FunctionNode reparse(FunctionNode preparsed) {
+        ScriptEnvironment env = ScriptEnvironment.builder().ecmaScriptVersion(11).lazyParsing(true).build();
+        return new Parser(env, preparsed.getSource(), new ErrorManager.ThrowErrorManager(), preparsed.isStrict(), preparsed.getLineNumber() - 1).reparseFunction(preparsed);
+    }
+
+    @Test
+    public void testBundleIsSkipped() {
+        String code = bundle();
+        FunctionNode eager = parse(code, false);
+        FunctionNode lazy = parse(code, true);
+
+        List<FunctionNode> lazyFunctions = functions(lazy);
+        assertEquals(MODULES, lazyFunctions.size());
+        for (FunctionNode function : lazyFunctions) {
+            assertTrue(function.isPreparsed());
+            assertTrue(function.isStrict());
+        }
+        assertEquals(MODULES * 5, functions(eager).size());
+        assertTrue(countNodes(lazy) * 10 < countNodes(eager));
+
+        // the skipped bodies are parsed on demand like the eagerly parsed ones
+        FunctionNode reparsed = reparse(lazyFunctions.get(MODULES - 1));
+        assertFalse(reparsed.isPreparsed());
+        assertEquals(3, functions(reparsed).size());
+        assertEquals(lazyFunctions.get(MODULES - 1).getFinish(), reparsed.getFinish());
+    }
+
+    @Test
+    public void testBundleAllocatesLess() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+        String code = bundle();
+        long eager = Long.MAX_VALUE;
+        long lazy = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            eager = Math.min(eager, allocatedBytes(bean, code, false));
+            lazy = Math.min(lazy, allocatedBytes(bean, code, true));
+        }
+        assertTrue("lazy: " + lazy + " bytes, eager: " + eager + " bytes", lazy * 2 < eager);
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean bean, String code, boolean lazyParsing) {
+        long threadId = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(threadId);
+        assertNotNull(parse(code, lazyParsing));
+        return bean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @Test
+    public void testPreparsedNames() {
+        String code = "var x, w; function f(p) { var y; let z; function g() { return p + y + z + x; } return g() + w.prop + `${v}`; }";
+        FunctionNode function = preparsedFunction(code);
+        assertEquals(new HashSet<>(Arrays.asList("x", "w", "v")), function.getPreparsedNames());
+    }
+
+    @Test
+    public void testNotSkipped() {
+        String[] codes = {
+                        "function f(a) { return eval(a); }",
+                        "function f() { return new.target; }",
+                        "function f() { 'use asm'; }",
+                        "function f() { var g = function() {} / 2; }",
+                        "function f(a = 1) { return a; }",
+                        "(function() { return 1; })();",
+        };
+        for (String code : codes) {
+            assertFalse(code, functions(parse(code, true)).get(0).isPreparsed());
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorReportedOnReparse() {
+        FunctionNode function = preparsedFunction("function f() { if (x) { return 1 = 2; } }");
+        try {
+            reparse(function);
+            fail("SyntaxError expected");
+        } catch (ParserException e) {
+            assertEquals(1, e.getLineNumber());
+        }
+
+        try {
+            parse("function f() { if (x) { return [1); } }", true);
+            fail("SyntaxError expected");
+        } catch (ParserException e) {
+            // unbalanced brackets are reported when the script is parsed
+        }
+    }
+}
@@ -54,18 +54,22 @@ import java.util.Set;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode.WrapperNode;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.nodes.SlowPathException;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -175,6 +179,7 @@ import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.truffleinterop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.util.Pair;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
+import com.oracle.truffle.js.runtime.util.SortUtil;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 
 /**
@@ -2496,6 +2501,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final BranchProfile hasCompareFnBranch = BranchProfile.create();
         private final BranchProfile noCompareFnBranch = BranchProfile.create();
         private final BranchProfile growProfile = BranchProfile.create();
+        private final ConditionProfile isDenseInPlace = ConditionProfile.create();
         @Child private InteropLibrary interopNode;
         @Child private ImportValueNode importValueNode;
 
@@ -2516,6 +2522,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
 
             ScriptArray scriptArray = arrayGetArrayType(thisObj);
+            if (isDenseInPlace.profile(!isTypedArrayImplementation && sortDenseInPlace(thisObj, scriptArray, compare, len))) {
+                return thisObj;
+            }
             Object[] array = arrayToObjectArrayNode.executeObjectArray(thisObj, scriptArray, len);
 
             sortIntl(getComparator(thisObj, compare), array);
@@ -2530,6 +2539,67 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return thisObj;
         }
 
+        /**
+         * Sorts int and double arrays without holes directly in their backing store, either in the
+         * default sort order (int arrays only) or with a comparison function that the translator
+         * recognized as numeric (see {@link JSFunctionData#getNumericComparatorOrder()}).
+         *
+         * @return {@code false} if the array has not been sorted
+         */
+        @TruffleBoundary
+        private static boolean sortDenseInPlace(DynamicObject thisObj, ScriptArray scriptArray, Object compare, long len) {
+            if (!(scriptArray instanceof AbstractIntArray || scriptArray instanceof AbstractDoubleArray) || scriptArray.isHolesType() || scriptArray.isFrozen() || len > Integer.MAX_VALUE ||
+                            scriptArray.firstElementIndex(thisObj) != 0 || scriptArray.lastElementIndex(thisObj) != len - 1) {
+                return false;
+            }
+            if (compare == Undefined.instance) {
+                if (scriptArray instanceof AbstractIntArray) {
+                    ((AbstractIntArray) scriptArray).sortDenseInPlace(thisObj, (int) len);
+                    return true;
+                }
+                return false;
+            }
+            int order = getNumericComparatorOrder(thisObj, scriptArray, compare);
+            if (order == 0) {
+                return false;
+            } else if (scriptArray instanceof AbstractIntArray) {
+                ((AbstractIntArray) scriptArray).sortDenseNumericInPlace(thisObj, (int) len, order < 0);
+                return true;
+            } else {
+                return ((AbstractDoubleArray) scriptArray).sortDenseNumericInPlace(thisObj, (int) len, order < 0);
+            }
+        }
+
+        /**
+         * Returns the order of a comparison function of the form {@code (a, b) => a - b} (1) or
+         * {@code (a, b) => b - a} (-1), or 0 if it must be called for every comparison. The
+         * function is called once through the regular path before, so that instruments (e.g. a
+         * debugger) that observe its execution have inserted their wrappers; such a function is
+         * never bypassed.
+         */
+        private static int getNumericComparatorOrder(DynamicObject thisObj, ScriptArray scriptArray, Object compare) {
+            if (!JSFunction.isJSFunction(compare)) {
+                return 0;
+            }
+            DynamicObject function = (DynamicObject) compare;
+            JSFunctionData functionData = JSFunction.getFunctionData(function);
+            if (functionData.isBuiltin() || functionData.isBound()) {
+                return 0;
+            }
+            // lazily parsed functions are only analyzed when they are translated
+            functionData.materialize();
+            int order = functionData.getNumericComparatorOrder();
+            if (order == 0) {
+                return 0;
+            }
+            JSFunction.call(function, Undefined.instance, new Object[]{scriptArray.getElement(thisObj, 0), scriptArray.getElement(thisObj, 1)});
+            RootNode rootNode = ((RootCallTarget) functionData.getCallTarget()).getRootNode();
+            if (NodeUtil.findFirstNodeInstance(rootNode, WrapperNode.class) != null) {
+                return 0;
+            }
+            return order;
+        }
+
         private void delete(Object obj, Object i) {
             if (deletePropertyNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -2652,6 +2722,11 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
 
         @TruffleBoundary
         private static void sortIntl(Comparator<Object> comparator, Object[] array) {
+            if (comparator == JSArray.DEFAULT_JSARRAY_COMPARATOR || comparator == JSArray.DEFAULT_JSARRAY_INTEGER_COMPARATOR || comparator == JSArray.DEFAULT_JSARRAY_DOUBLE_COMPARATOR) {
+                if (SortUtil.sortByStringValue(array)) {
+                    return;
+                }
+            }
             try {
                 Arrays.sort(array, comparator);
             } catch (IllegalArgumentException e) {
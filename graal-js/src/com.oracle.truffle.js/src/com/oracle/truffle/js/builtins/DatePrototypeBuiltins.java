@@ -97,6 +97,7 @@ import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSDate;
 import com.oracle.truffle.js.runtime.builtins.JSDateTimeFormat;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.IntlObjectCache;
 
 /**
  * Contains builtins for {@linkplain JSDate}.prototype.
@@ -354,9 +355,19 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             }
         }
 
-        protected DynamicObject createDateTimeFormat(InitializeDateTimeFormatNode initDateTimeFormatNode, Object locales, Object options) {
+        protected DynamicObject createDateTimeFormat(InitializeDateTimeFormatNode initDateTimeFormatNode, String cacheKind, Object locales, Object options) {
+            boolean cacheable = IntlObjectCache.isCacheable(locales, options);
+            if (cacheable) {
+                DynamicObject cached = getContext().getRealm().getIntlObjectCache().get(cacheKind, locales);
+                if (cached != null) {
+                    return cached;
+                }
+            }
             DynamicObject dateTimeFormatObj = JSDateTimeFormat.create(getContext());
             initDateTimeFormatNode.executeInit(dateTimeFormatObj, locales, options);
+            if (cacheable) {
+                getContext().getRealm().getIntlObjectCache().put(cacheKind, locales, dateTimeFormatObj);
+            }
             return dateTimeFormatObj;
         }
     }
@@ -420,7 +431,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
+            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, IntlObjectCache.DATE_TIME_FORMAT_ANY, locales, options);
             return JSDateTimeFormat.format(getContext(), formatter, t);
         }
     }
@@ -488,7 +499,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
+            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, IntlObjectCache.DATE_TIME_FORMAT_DATE, locales, options);
             return JSDateTimeFormat.format(getContext(), formatter, t);
         }
     }
@@ -524,7 +535,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
+            DynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, IntlObjectCache.DATE_TIME_FORMAT_TIME, locales, options);
             return JSDateTimeFormat.format(getContext(), formatter, t);
         }
     }
@@ -41,9 +41,11 @@
 package com.oracle.truffle.js.builtins;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,9 +60,11 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.instrumentation.Tag;
 import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugAllocationSitesNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugArrayTypeNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugAssertIntNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugClassNameNodeGen;
@@ -72,6 +76,8 @@ import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugCreateSafeIntege
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugDumpCountersNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugDumpFunctionTreeNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugHeapDumpNodeGen;
+import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugHeapSnapshotNodeGen;
+import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugHeapSummaryNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugInspectNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugIsHolesArrayNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugJSStackNodeGen;
@@ -87,6 +93,7 @@ import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugToJavaStringNode
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugTypedArrayDetachBufferNodeGen;
 import com.oracle.truffle.js.builtins.helper.GCNodeGen;
 import com.oracle.truffle.js.builtins.helper.HeapDump;
+import com.oracle.truffle.js.builtins.helper.HeapSnapshot;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.ScriptNode;
@@ -118,6 +125,7 @@ import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.AllocationSampler;
 import com.oracle.truffle.object.DynamicObjectImpl;
 
 /**
@@ -157,7 +165,10 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
         systemProperty(1),
         systemProperties(0),
         neverPartOfCompilation(0),
-        dumpHeap(2);
+        dumpHeap(2),
+        heapSnapshot(1),
+        heapSummary(1),
+        allocationSites(0);
 
         private final int length;
 
@@ -229,6 +240,12 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
 
             case dumpHeap:
                 return DebugHeapDumpNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            case heapSnapshot:
+                return DebugHeapSnapshotNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
+            case heapSummary:
+                return DebugHeapSummaryNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
+            case allocationSites:
+                return DebugAllocationSitesNodeGen.create(context, builtin, args().createArgumentNodes(context));
         }
         return null;
     }
@@ -551,6 +568,99 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
         }
     }
 
+    /**
+     * Writes a snapshot of the JavaScript heap of the current realm in the Chrome DevTools
+     * {@code .heapsnapshot} format and returns the file name.
+     */
+    public abstract static class DebugHeapSnapshotNode extends JSBuiltinNode {
+        public DebugHeapSnapshotNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected String heapSnapshot(Object fileName0) {
+            String fileName = fileName0 == Undefined.instance ? HeapSnapshot.defaultSnapshotName() : JSRuntime.toString(fileName0);
+            JSRealm realm = getContext().getRealm();
+            HeapSnapshot snapshot = HeapSnapshot.take(realm);
+            try (Writer writer = realm.getEnv().getPublicTruffleFile(fileName).newBufferedWriter()) {
+                snapshot.writeTo(writer);
+            } catch (IOException | SecurityException e) {
+                throw JSException.create(JSErrorType.Error, e.getMessage(), e, this);
+            }
+            return fileName;
+        }
+    }
+
+    /**
+     * Returns the JavaScript heap of the current realm summarized by constructor name (default),
+     * by JSClass ({@code "class"}) or by shape ({@code "shape"}).
+     */
+    public abstract static class DebugHeapSummaryNode extends JSBuiltinNode {
+        public DebugHeapSummaryNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected Object heapSummary(Object groupBy0) {
+            String groupBy = groupBy0 == Undefined.instance ? "constructor" : JSRuntime.toString(groupBy0);
+            HeapSnapshot snapshot = HeapSnapshot.take(getContext().getRealm());
+            List<HeapSnapshot.Summary> summaries;
+            switch (groupBy) {
+                case "constructor":
+                    summaries = snapshot.getConstructorSummary();
+                    break;
+                case "class":
+                    summaries = snapshot.getClassSummary();
+                    break;
+                case "shape":
+                    summaries = snapshot.getShapeSummary();
+                    break;
+                default:
+                    throw Errors.createRangeError("Unsupported grouping: " + groupBy);
+            }
+            List<Object> result = new ArrayList<>(summaries.size());
+            for (HeapSnapshot.Summary summary : summaries) {
+                Object key = summary.getKey();
+                DynamicObject entry = JSUserObject.create(getContext());
+                JSObject.set(entry, "name", key instanceof Shape ? ((Shape) key).getKeyList().toString() : key.toString());
+                JSObject.set(entry, "count", summary.getCount());
+                JSObject.set(entry, "selfSize", JSRuntime.longToIntOrDouble(summary.getSelfSize()));
+                JSObject.set(entry, "retainedSize", JSRuntime.longToIntOrDouble(summary.getRetainedSize()));
+                result.add(entry);
+            }
+            return JSRuntime.createArrayFromList(getContext(), result);
+        }
+    }
+
+    /**
+     * Returns the allocation sites recorded by the allocation sampler (see option
+     * {@code js.allocation-sampling-interval}), ordered by the estimated number of live objects.
+     */
+    public abstract static class DebugAllocationSitesNode extends JSBuiltinNode {
+        public DebugAllocationSitesNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected Object allocationSites() {
+            AllocationSampler allocationSampler = getContext().getAllocationSampler();
+            List<Object> result = new ArrayList<>();
+            if (allocationSampler != null) {
+                for (AllocationSampler.SiteStatistics site : allocationSampler.getStatistics()) {
+                    DynamicObject entry = JSUserObject.create(getContext());
+                    JSObject.set(entry, "site", site.getLocation());
+                    JSObject.set(entry, "allocated", JSRuntime.longToIntOrDouble(site.getAllocated()));
+                    JSObject.set(entry, "live", JSRuntime.longToIntOrDouble(site.getLive()));
+                    result.add(entry);
+                }
+            }
+            return JSRuntime.createArrayFromList(getContext(), result);
+        }
+    }
+
     /**
      * Used by testV8!
      */
@@ -56,6 +56,7 @@ import com.oracle.truffle.js.builtins.ForInIteratorPrototypeBuiltinsFactory.ForI
 import com.oracle.truffle.js.builtins.helper.ListGetNode;
 import com.oracle.truffle.js.builtins.helper.ListSizeNode;
 import com.oracle.truffle.js.nodes.access.CreateIterResultObjectNode;
+import com.oracle.truffle.js.nodes.access.GetEnumCacheNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
 import com.oracle.truffle.js.nodes.access.HasOnlyShapePropertiesNode;
 import com.oracle.truffle.js.nodes.access.PropertyGetNode;
@@ -71,7 +72,6 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSObjectPrototype;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSProperty;
-import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -117,12 +117,15 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
         @Child private PropertyGetNode getIteratorNode;
         @Child private GetPrototypeNode getPrototypeNode;
         @Child private HasOnlyShapePropertiesNode hasOnlyShapePropertiesNode;
+        @Child private GetEnumCacheNode getEnumCacheNode;
+        @Child private GetEnumCacheNode getPrototypeEnumCacheNode;
         @Child private ListGetNode listGet;
         @Child private ListSizeNode listSize;
         private final BranchProfile errorBranch = BranchProfile.create();
         private final BranchProfile growProfile = BranchProfile.create();
         private final ConditionProfile fastOwnKeysProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile sameShapeProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile enumCacheProfile = ConditionProfile.createBinaryProfile();
 
         private static final Object DONE = null;
         private static final int MAX_PROTO_DEPTH = 1000;
@@ -133,6 +136,8 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
             this.getIteratorNode = PropertyGetNode.createGetHidden(JSRuntime.FOR_IN_ITERATOR_ID, context);
             this.getPrototypeNode = GetPrototypeNode.create();
             this.hasOnlyShapePropertiesNode = HasOnlyShapePropertiesNode.create();
+            this.getEnumCacheNode = GetEnumCacheNode.create();
+            this.getPrototypeEnumCacheNode = GetEnumCacheNode.create();
             this.listGet = ListGetNode.create();
             this.listSize = ListSizeNode.create();
         }
@@ -168,28 +173,37 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
                     Shape objectShape = object.getShape();
                     boolean fastOwnKeys;
                     List<?> list;
+                    Property[] properties;
                     int size;
                     if (fastOwnKeysProfile.profile(JSConfig.FastOwnKeys && hasOnlyShapePropertiesNode.execute(object, jsclass))) {
                         fastOwnKeys = true;
-                        // if the object does not have enumerable properties, no need to enumerate
-                        list = JSShape.getPropertiesIfHasEnumerablePropertyNames(objectShape);
-                        size = list.size();
+                        // enumerable properties are shared by all objects with this shape
+                        list = null;
+                        properties = getEnumCacheNode.execute(objectShape).getProperties();
+                        size = properties.length;
                     } else {
                         fastOwnKeys = false;
                         list = jsclass.ownPropertyKeys(object);
+                        properties = null;
                         size = listSize.execute(list);
                     }
                     state.objectShape = objectShape;
                     state.remainingKeys = list;
+                    state.remainingProperties = properties;
                     state.remainingKeysSize = size;
                     state.remainingKeysIndex = 0;
                     state.fastOwnKeys = fastOwnKeys;
                     state.objectWasVisited = true;
                 }
 
-                assert state.remainingKeysSize == state.remainingKeys.size();
+                assert state.remainingKeysSize == (state.remainingProperties != null ? state.remainingProperties.length : state.remainingKeys.size());
                 while (state.remainingKeysIndex < state.remainingKeysSize) {
-                    final Object next = listGet.execute(state.remainingKeys, state.remainingKeysIndex++);
+                    final Object next;
+                    if (enumCacheProfile.profile(state.remainingProperties != null)) {
+                        next = state.remainingProperties[state.remainingKeysIndex++];
+                    } else {
+                        next = listGet.execute(state.remainingKeys, state.remainingKeysIndex++);
+                    }
                     final Object key = getKey(next);
                     if (!(key instanceof String)) {
                         continue;
@@ -201,11 +215,8 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
                     if (fastOwnKeysProfile.profile(state.fastOwnKeys && next instanceof Property)) {
                         if (sameShapeProfile.profile(state.objectShape == object.getShape())) {
                             // same shape => can skip GetOwnProperty
-                            if (JSProperty.isEnumerable((Property) next)) {
-                                return key;
-                            } else {
-                                continue;
-                            }
+                            assert JSProperty.isEnumerable((Property) next);
+                            return key;
                         } else {
                             // shape has changed => must perform GetOwnProperty
                             addPreviouslyVisitedKeys(state);
@@ -257,7 +268,15 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
         @TruffleBoundary
         private static void addPreviouslyVisitedKeys(ForInIterator state) {
             for (int i = 0; i < state.remainingKeysIndex - 1; i++) {
-                state.addVisitedKey(getKey(state.remainingKeys.get(i)));
+                state.addVisitedKey(getKey(state.getRemainingKey(i)));
+            }
+            if (state.remainingProperties != null) {
+                // non-enumerable properties are not in the enum cache but still shadow prototype properties
+                for (Property property : state.objectShape.getPropertyList()) {
+                    if (!JSProperty.isEnumerable(property) && property.getKey() instanceof String) {
+                        state.addVisitedKey(property.getKey());
+                    }
+                }
             }
         }
 
@@ -269,7 +288,7 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
             // If the object has an immutable prototype (i.e., Object.prototype, Module Namespace),
             // its prototype is always null and we can skip [[GetPrototypeOf]]().
             JSClass jsclass = JSObject.getJSClass(proto);
-            if (jsclass == JSObjectPrototype.INSTANCE && hasOnlyShapePropertiesNode.execute(proto, jsclass) && JSShape.getEnumerablePropertyNames(proto.getShape()).isEmpty()) {
+            if (jsclass == JSObjectPrototype.INSTANCE && hasOnlyShapePropertiesNode.execute(proto, jsclass) && getPrototypeEnumCacheNode.execute(proto.getShape()).isEmpty()) {
                 assert JSObject.getPrototype(proto) == Null.instance;
                 return true;
             } else {
@@ -1415,13 +1415,18 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
                         @Cached("create()") JSToNumberNode toNumberNode) {
             int exitCode = arg.length == 0 ? 0 : (int) JSRuntime.toInteger(toNumberNode.executeNumber(arg[0]));
             if (getContext().isOptionNashornCompatibilityMode()) {
-                nashornExit(exitCode);
+                nashornExit(getContext().getRealm(), exitCode);
             }
             throw new ExitException(exitCode, this);
         }
 
         @TruffleBoundary
-        private static void nashornExit(int exitCode) {
+        private static void nashornExit(JSRealm realm, int exitCode) {
+            JSRealm topLevelRealm = realm;
+            while (topLevelRealm.getParent() != null) {
+                topLevelRealm = topLevelRealm.getParent();
+            }
+            topLevelRealm.closeAsyncOutput();
             System.exit(exitCode);
         }
     }
@@ -54,6 +54,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyNodeGen;
+import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyStreamNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSONData;
 import com.oracle.truffle.js.builtins.helper.JSONStringifyStringNode;
 import com.oracle.truffle.js.builtins.helper.TruffleJSONParser;
@@ -65,6 +66,7 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.nodes.unary.JSIsArrayNode;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
@@ -84,6 +86,7 @@ import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuiltins.JSON> {
 
     public static final JSBuiltinsContainer BUILTINS = new JSONBuiltins();
+    public static final JSBuiltinsContainer BUILTINS_STREAM = new JSONStreamBuiltins();
 
     protected JSONBuiltins() {
         super(com.oracle.truffle.js.runtime.builtins.JSON.CLASS_NAME, JSON.class);
@@ -116,6 +119,36 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         return null;
     }
 
+    public static final class JSONStreamBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONStreamBuiltins.JSONStream> {
+        protected JSONStreamBuiltins() {
+            super(com.oracle.truffle.js.runtime.builtins.JSON.CLASS_NAME, JSONStream.class);
+        }
+
+        public enum JSONStream implements BuiltinEnum<JSONStream> {
+            stringifyStream(4);
+
+            private final int length;
+
+            JSONStream(int length) {
+                this.length = length;
+            }
+
+            @Override
+            public int getLength() {
+                return length;
+            }
+        }
+
+        @Override
+        protected Object createNode(JSContext context, JSBuiltin builtin, boolean construct, boolean newTarget, JSONStream builtinEnum) {
+            switch (builtinEnum) {
+                case stringifyStream:
+                    return JSONStringifyStreamNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context));
+            }
+            return null;
+        }
+    }
+
     public abstract static class JSONOperation extends JSBuiltinNode {
         public JSONOperation(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -193,9 +226,12 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         }
     }
 
-    public abstract static class JSONStringifyNode extends JSONOperation {
+    /**
+     * Common argument handling of {@code JSON.stringify} and {@code JSON.stringifyStream}.
+     */
+    public abstract static class JSONStringifyOperation extends JSONOperation {
 
-        public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
+        public JSONStringifyOperation(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
         }
 
@@ -233,14 +269,14 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             return isCallableNode.executeBoolean(obj);
         }
 
-        @Specialization(guards = "isCallable(replacerFn)")
-        protected Object stringify(Object value, DynamicObject replacerFn, Object spaceParam) {
-            assert JSRuntime.isCallable(replacerFn);
-            return stringifyIntl(value, spaceParam, replacerFn, null);
+        @TruffleBoundary
+        private static void addToReplacer(List<String> replacerList, String item) {
+            if (!replacerList.contains(item)) {
+                replacerList.add(item);
+            }
         }
 
-        @Specialization(guards = "isArray(replacerObj)")
-        protected Object stringifyReplacerArray(Object value, DynamicObject replacerObj, Object spaceParam) {
+        protected List<String> createReplacerList(DynamicObject replacerObj) {
             int len = (int) JSRuntime.toLength(JSObject.get(replacerObj, JSArray.LENGTH));
             List<String> replacerList = new ArrayList<>();
             for (int i = 0; i < len; i++) {
@@ -256,38 +292,10 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
                     addToReplacer(replacerList, item);
                 }
             }
-            return stringifyIntl(value, spaceParam, null, replacerList);
+            return replacerList;
         }
 
-        @TruffleBoundary
-        private static void addToReplacer(List<String> replacerList, String item) {
-            if (!replacerList.contains(item)) {
-                replacerList.add(item);
-            }
-        }
-
-        @SuppressWarnings("unused")
-        @Specialization(guards = {"isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
-        // GR-24628: JSON.stringify is frequently called with (just) a String argument
-        protected Object stringifyAStringNoReplacer(Object value, Object replacer, Object spaceParam,
-                        @Cached("createStringBuilderProfile()") StringBuilderProfile stringBuilderProfile) {
-            String str = JSRuntime.toStringIsString(value);
-            StringBuilder builder = new StringBuilder(str.length() + 8);
-            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str);
-            return stringBuilderProfile.toString(builder);
-        }
-
-        protected StringBuilderProfile createStringBuilderProfile() {
-            return StringBuilderProfile.create(getContext().getStringLengthLimit());
-        }
-
-        @SuppressWarnings("unused")
-        @Specialization(guards = {"!isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
-        protected Object stringifyNoReplacer(Object value, Object replacer, Object spaceParam) {
-            return stringifyIntl(value, spaceParam, null, null);
-        }
-
-        private Object stringifyIntl(Object value, Object spaceParam, DynamicObject replacerFnObj, List<String> replacerList) {
+        protected Object stringifyIntl(Object value, Object spaceParam, DynamicObject replacerFnObj, List<String> replacerList, Object writer) {
             final String gap = spaceIsUndefinedProfile.profile(spaceParam == Undefined.instance) ? "" : getGap(spaceParam);
 
             DynamicObject wrapper = JSUserObject.create(getContext());
@@ -296,7 +304,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
                 createWrapperPropertyNode = insert(CreateDataPropertyNode.create(getContext(), ""));
             }
             createWrapperPropertyNode.executeVoid(wrapper, value);
-            return jsonStr(new JSONData(gap, replacerFnObj, replacerList), "", wrapper);
+            return jsonStr(new JSONData(gap, replacerFnObj, replacerList, writer), "", wrapper);
         }
 
         private String getGap(Object spaceParam) {
@@ -347,4 +355,81 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             return toNumberNode.executeNumber(target);
         }
     }
+
+    public abstract static class JSONStringifyNode extends JSONStringifyOperation {
+
+        public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable(replacerFn)")
+        protected Object stringify(Object value, DynamicObject replacerFn, Object spaceParam) {
+            assert JSRuntime.isCallable(replacerFn);
+            return stringifyIntl(value, spaceParam, replacerFn, null, null);
+        }
+
+        @Specialization(guards = "isArray(replacerObj)")
+        protected Object stringifyReplacerArray(Object value, DynamicObject replacerObj, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, createReplacerList(replacerObj), null);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
+        // GR-24628: JSON.stringify is frequently called with (just) a String argument
+        protected Object stringifyAStringNoReplacer(Object value, Object replacer, Object spaceParam,
+                        @Cached("createStringBuilderProfile()") StringBuilderProfile stringBuilderProfile) {
+            String str = JSRuntime.toStringIsString(value);
+            StringBuilder builder = new StringBuilder(str.length() + 8);
+            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str);
+            return stringBuilderProfile.toString(builder);
+        }
+
+        protected StringBuilderProfile createStringBuilderProfile() {
+            return StringBuilderProfile.create(getContext().getStringLengthLimit());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"!isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
+        protected Object stringifyNoReplacer(Object value, Object replacer, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, null, null);
+        }
+    }
+
+    /**
+     * {@code JSON.stringifyStream(writer, value, replacer, space)}: like {@code JSON.stringify}, but
+     * the JSON text is passed to the writer in chunks instead of being returned as one string. The
+     * writer is either a function, an object with a {@code write} method or a foreign object with
+     * a {@code write} member accepting a string, e.g. a {@link java.io.Writer}. Returns
+     * {@code true} if the value was serialized and {@code false} if it is not serializable.
+     */
+    public abstract static class JSONStringifyStreamNode extends JSONStringifyOperation {
+
+        public JSONStringifyStreamNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable(replacerFn)")
+        protected Object stringify(Object writer, Object value, DynamicObject replacerFn, Object spaceParam) {
+            assert JSRuntime.isCallable(replacerFn);
+            return stringifyIntl(value, spaceParam, replacerFn, null, checkWriter(writer));
+        }
+
+        @Specialization(guards = "isArray(replacerObj)")
+        protected Object stringifyReplacerArray(Object writer, Object value, DynamicObject replacerObj, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, createReplacerList(replacerObj), checkWriter(writer));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"!isCallable(replacer)", "!isArray(replacer)"})
+        protected Object stringifyNoReplacer(Object writer, Object value, Object replacer, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, null, checkWriter(writer));
+        }
+
+        private static Object checkWriter(Object writer) {
+            if (JSRuntime.isObject(writer) || JSRuntime.isForeignObject(writer)) {
+                return writer;
+            }
+            throw Errors.createTypeError("writer must be a function or an object with a write method");
+        }
+    }
 }
@@ -197,6 +197,26 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization(guards = "isJSMap(thisObj)")
+        protected static Object getInt(DynamicObject thisObj, int key) {
+            Object value = JSMap.getInternalMap(thisObj).get(key);
+            if (value != null) {
+                return value;
+            } else {
+                return Undefined.instance;
+            }
+        }
+
+        @Specialization(guards = "isJSMap(thisObj)")
+        protected static Object getDouble(DynamicObject thisObj, double key) {
+            Object value = JSMap.getInternalMap(thisObj).get(key);
+            if (value != null) {
+                return value;
+            } else {
+                return Undefined.instance;
+            }
+        }
+
         @Specialization(guards = "isJSMap(thisObj)")
         protected Object get(DynamicObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
@@ -247,6 +267,16 @@ public final class MapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<M
             super(context, builtin);
         }
 
+        @Specialization(guards = "isJSMap(thisObj)")
+        protected static boolean hasInt(DynamicObject thisObj, int key) {
+            return JSMap.getInternalMap(thisObj).has(key);
+        }
+
+        @Specialization(guards = "isJSMap(thisObj)")
+        protected static boolean hasDouble(DynamicObject thisObj, double key) {
+            return JSMap.getInternalMap(thisObj).has(key);
+        }
+
         @Specialization(guards = "isJSMap(thisObj)")
         protected boolean has(DynamicObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
@@ -71,6 +71,7 @@ import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
 import com.oracle.truffle.js.runtime.builtins.JSNumberFormat;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.IntlObjectCache;
 
 /**
  * Contains builtins for {@linkplain JSNumber}.prototype.
@@ -279,8 +280,19 @@ public final class NumberPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
         @TruffleBoundary
         private DynamicObject createNumberFormat(Object locales, Object options) {
+            boolean cacheable = IntlObjectCache.isCacheable(locales, options);
+            IntlObjectCache cache = getContext().getRealm().getIntlObjectCache();
+            if (cacheable) {
+                DynamicObject cached = cache.get(IntlObjectCache.NUMBER_FORMAT, locales);
+                if (cached != null) {
+                    return cached;
+                }
+            }
             DynamicObject numberFormatObj = JSNumberFormat.create(getContext());
             initNumberFormatNode.executeInit(numberFormatObj, locales, options);
+            if (cacheable) {
+                cache.put(IntlObjectCache.NUMBER_FORMAT, locales, numberFormatObj);
+            }
             return numberFormatObj;
         }
 
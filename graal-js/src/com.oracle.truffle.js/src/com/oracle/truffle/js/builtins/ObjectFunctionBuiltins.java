@@ -62,6 +62,7 @@ import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.ObjectAssignNodeGen;
@@ -89,8 +90,10 @@ import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.access.CreateObjectNode;
 import com.oracle.truffle.js.nodes.access.EnumerableOwnPropertyNamesNode;
 import com.oracle.truffle.js.nodes.access.FromPropertyDescriptorNode;
+import com.oracle.truffle.js.nodes.access.GetEnumCacheNode;
 import com.oracle.truffle.js.nodes.access.GetIteratorNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
+import com.oracle.truffle.js.nodes.access.HasOnlyShapePropertiesNode;
 import com.oracle.truffle.js.nodes.access.IsExtensibleNode;
 import com.oracle.truffle.js.nodes.access.IsObjectNode;
 import com.oracle.truffle.js.nodes.access.IteratorCloseNode;
@@ -121,6 +124,7 @@ import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.EnumCache;
 import com.oracle.truffle.js.runtime.objects.IteratorRecord;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
@@ -757,8 +761,11 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
 
     public abstract static class ObjectKeysNode extends ObjectOperation {
         @Child private EnumerableOwnPropertyNamesNode enumerableOwnPropertyNamesNode;
+        @Child private HasOnlyShapePropertiesNode hasOnlyShapePropertiesNode;
+        @Child private GetEnumCacheNode getEnumCacheNode;
         @Child private InteropLibrary asString;
         private final ConditionProfile hasElements = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile enumCacheProfile = ConditionProfile.createBinaryProfile();
 
         public ObjectKeysNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -766,7 +773,16 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
 
         @Specialization(guards = "isJSType(thisObj)")
         protected DynamicObject keysDynamicObject(DynamicObject thisObj) {
-            UnmodifiableArrayList<? extends Object> keyList = enumerableOwnPropertyNames(toOrAsJSObject(thisObj));
+            DynamicObject obj = toOrAsJSObject(thisObj);
+            if (enumCacheProfile.profile(JSConfig.FastOwnKeys && hasOnlyShapeProperties(obj))) {
+                Object[] keyArray = getEnumCache(obj.getShape()).getKeys();
+                if (hasElements.profile(keyArray.length > 0)) {
+                    // the key array of the enum cache is shared; constant arrays are copied on write
+                    return JSArray.createConstant(getContext(), keyArray);
+                }
+                return JSArray.createEmptyChecked(getContext(), 0);
+            }
+            UnmodifiableArrayList<? extends Object> keyList = enumerableOwnPropertyNames(obj);
             int len = keyList.size();
             if (hasElements.profile(len > 0)) {
                 assert keyList.stream().allMatch(String.class::isInstance);
@@ -837,6 +853,22 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
             return enumerableOwnPropertyNamesNode.execute(obj);
         }
 
+        private boolean hasOnlyShapeProperties(DynamicObject obj) {
+            if (hasOnlyShapePropertiesNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                hasOnlyShapePropertiesNode = insert(HasOnlyShapePropertiesNode.create());
+            }
+            return hasOnlyShapePropertiesNode.execute(obj);
+        }
+
+        private EnumCache getEnumCache(Shape shape) {
+            if (getEnumCacheNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                getEnumCacheNode = insert(GetEnumCacheNode.create());
+            }
+            return getEnumCacheNode.execute(shape);
+        }
+
         private String asStringKey(Object key) throws UnsupportedMessageException {
             assert InteropLibrary.getFactory().getUncached().isString(key);
             if (key instanceof String) {
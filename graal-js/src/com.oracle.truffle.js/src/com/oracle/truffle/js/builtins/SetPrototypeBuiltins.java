@@ -216,6 +216,16 @@ public final class SetPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<S
             super(context, builtin);
         }
 
+        @Specialization(guards = "isJSSet(thisObj)")
+        protected static boolean hasInt(DynamicObject thisObj, int key) {
+            return JSSet.getInternalSet(thisObj).has(key);
+        }
+
+        @Specialization(guards = "isJSSet(thisObj)")
+        protected static boolean hasDouble(DynamicObject thisObj, double key) {
+            return JSSet.getInternalSet(thisObj).has(key);
+        }
+
         @Specialization(guards = "isJSSet(thisObj)")
         protected boolean has(DynamicObject thisObj, Object key) {
             Object normalizedKey = normalize(key);
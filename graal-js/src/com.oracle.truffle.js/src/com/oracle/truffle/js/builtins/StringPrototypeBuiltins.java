@@ -134,6 +134,7 @@ import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.IntlObjectCache;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
@@ -2308,8 +2309,19 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
         @TruffleBoundary
         private DynamicObject createCollator(Object locales, Object options) {
+            boolean cacheable = IntlObjectCache.isCacheable(locales, options);
+            IntlObjectCache cache = getContext().getRealm().getIntlObjectCache();
+            if (cacheable) {
+                DynamicObject cached = cache.get(IntlObjectCache.COLLATOR, locales);
+                if (cached != null) {
+                    return cached;
+                }
+            }
             DynamicObject collatorObj = JSCollator.create(getContext());
             initCollatorNode.executeInit(collatorObj, locales, options);
+            if (cacheable) {
+                cache.put(IntlObjectCache.COLLATOR, locales, collatorObj);
+            }
             return collatorObj;
         }
 
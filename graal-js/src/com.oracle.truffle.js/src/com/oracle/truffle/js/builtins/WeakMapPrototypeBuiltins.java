@@ -40,7 +40,6 @@
  */
 package com.oracle.truffle.js.builtins;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -61,8 +60,6 @@ import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.WeakMap;
 
-import java.util.WeakHashMap;
-
 /**
  * Contains builtins for {@linkplain JSWeakMap}.prototype.
  */
@@ -176,14 +173,10 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
                         @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
                         @Cached("createClassProfile()") ValueProfile weakMapKlassProfile,
-                        @Cached("createClassProfile()") ValueProfile invertedKlassProfile,
                         @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
             WeakMap map = (WeakMap) weakMapKlassProfile.profile(storageGetter.getValue(thisObj));
             if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
-                Object inverted = invertedKlassProfile.profile(invertedGetter.getValue(key));
-                @SuppressWarnings("unchecked")
-                WeakHashMap<WeakMap, Object> invertedMap = (WeakHashMap<WeakMap, Object>) inverted;
-                Object value = mapGet(map, invertedMap);
+                Object value = map.getInverted(invertedGetter.getValue(key));
                 if (value != null) {
                     return value;
                 }
@@ -212,11 +205,6 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected static boolean notWeakMap(Object thisObj, Object key) {
             throw typeErrorWeakMapExpected();
         }
-
-        @TruffleBoundary(allowInlining = true)
-        private static Object mapGet(WeakMap map, WeakHashMap<WeakMap, Object> invertedMap) {
-            return invertedMap.get(map);
-        }
     }
 
     /**
@@ -234,17 +222,12 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
                         @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
                         @Cached("createClassProfile()") ValueProfile weakMapKlassProfile,
-                        @Cached("createClassProfile()") ValueProfile invertedKlassProfile,
                         @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
             WeakMap map = (WeakMap) weakMapKlassProfile.profile(storageGetter.getValue(thisObj));
-            if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
-                Object inverted = invertedKlassProfile.profile(invertedGetter.getValue(key));
-                @SuppressWarnings("unchecked")
-                WeakHashMap<WeakMap, Object> invertedMap = (WeakHashMap<WeakMap, Object>) inverted;
-                mapPut(map, invertedMap, value);
-            } else {
-                Boundaries.mapPut(JSWeakMap.getInternalWeakMap(thisObj), key, value);
+            if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key)) && map.setInverted(invertedGetter.getValue(key), value)) {
+                return thisObj;
             }
+            Boundaries.mapPut(map, key, value);
             return thisObj;
         }
 
@@ -265,11 +248,6 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected static DynamicObject notWeakMap(Object thisObj, Object key, Object value) {
             throw typeErrorWeakMapExpected();
         }
-
-        @TruffleBoundary(allowInlining = true)
-        private static Object mapPut(WeakMap map, WeakHashMap<WeakMap, Object> invertedMap, Object value) {
-            return invertedMap.put(map, value);
-        }
     }
 
     /**
@@ -287,23 +265,14 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
                         @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
                         @Cached("createClassProfile()") ValueProfile weakMapKlassProfile,
-                        @Cached("createClassProfile()") ValueProfile invertedKlassProfile,
                         @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
             WeakMap map = (WeakMap) weakMapKlassProfile.profile(storageGetter.getValue(thisObj));
             if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
-                Object inverted = invertedKlassProfile.profile(invertedGetter.getValue(key));
-                @SuppressWarnings("unchecked")
-                WeakHashMap<WeakMap, Object> invertedMap = (WeakHashMap<WeakMap, Object>) inverted;
-                return mapHas(map, invertedMap);
+                return map.hasInverted(invertedGetter.getValue(key));
             }
             return false;
         }
 
-        @TruffleBoundary(allowInlining = true)
-        private static boolean mapHas(WeakMap map, WeakHashMap<WeakMap, Object> invertedMap) {
-            return invertedMap.containsKey(map);
-        }
-
         @Specialization(guards = {"isJSWeakMap(thisObj)", "isJSObject(key)"})
         protected static boolean has(DynamicObject thisObj, DynamicObject key) {
             return Boundaries.mapContainsKey(JSWeakMap.getInternalWeakMap(thisObj), key);
@@ -0,0 +1,693 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.HiddenKey;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSMap;
+import com.oracle.truffle.js.runtime.builtins.JSProxy;
+import com.oracle.truffle.js.runtime.builtins.JSRegExp;
+import com.oracle.truffle.js.runtime.builtins.JSSet;
+import com.oracle.truffle.js.runtime.objects.Accessor;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+/**
+ * Snapshot of the JavaScript objects reachable from a realm's global object and the JavaScript
+ * frames on the stack.
+ *
+ * The snapshot is a graph of objects, strings, symbols, BigInts and frames (closure contexts)
+ * with estimated shallow sizes. Retained sizes are computed from the dominator tree of the graph
+ * and summarized per {@code JSClass}, per {@link Shape} and per constructor name. The graph can be
+ * written in the Chrome DevTools {@code .heapsnapshot} format.
+ */
+public final class HeapSnapshot {
+
+    private static final String[] NODE_TYPES = {"hidden", "array", "string", "object", "code", "closure", "regexp", "number", "native", "synthetic", "concatenated string", "sliced string",
+                    "symbol", "bigint"};
+    private static final int NODE_HIDDEN = 0;
+    private static final int NODE_STRING = 2;
+    private static final int NODE_OBJECT = 3;
+    private static final int NODE_CLOSURE = 5;
+    private static final int NODE_REGEXP = 6;
+    private static final int NODE_SYNTHETIC = 9;
+    private static final int NODE_CONCATENATED_STRING = 10;
+    private static final int NODE_SYMBOL = 12;
+    private static final int NODE_BIGINT = 13;
+
+    private static final String[] EDGE_TYPES = {"context", "element", "property", "internal", "hidden", "shortcut", "weak"};
+    private static final int EDGE_CONTEXT = 0;
+    private static final int EDGE_ELEMENT = 1;
+    private static final int EDGE_PROPERTY = 2;
+    private static final int EDGE_INTERNAL = 3;
+    private static final int EDGE_HIDDEN = 4;
+
+    /** Estimated size of an object header and of a reference field. */
+    private static final int HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int MAX_STRING_NAME_LENGTH = 1024;
+
+    private static final Object ROOT = new Object();
+    private static final Object FRAMES_ROOT = new Object();
+
+    /**
+     * Retained size summary of a group of objects.
+     */
+    public static final class Summary {
+        private final Object key;
+        private int count;
+        private long selfSize;
+        private long retainedSize;
+
+        Summary(Object key) {
+            this.key = key;
+        }
+
+        /** The JSClass name, the {@link Shape} or the constructor name of this group. */
+        public Object getKey() {
+            return key;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getSelfSize() {
+            return selfSize;
+        }
+
+        /**
+         * Size of the objects retained by the members of this group, counting objects that are
+         * retained by several members (including nested members) only once.
+         */
+        public long getRetainedSize() {
+            return retainedSize;
+        }
+
+        @Override
+        public String toString() {
+            return key + ": count=" + count + ", self=" + selfSize + ", retained=" + retainedSize;
+        }
+    }
+
+    private final List<Object> nodeObjects = new ArrayList<>();
+    private final Map<Object, Integer> nodeIds = new IdentityHashMap<>();
+    private final List<Frame> stackFrames = new ArrayList<>();
+    private final Map<Frame, String> frameNames = new IdentityHashMap<>();
+    private int[] nodeTypes = new int[1024];
+    private String[] nodeNames = new String[1024];
+    private long[] selfSizes = new long[1024];
+    private int[] firstEdges = new int[1024];
+    private int[] edgeCounts = new int[1024];
+    private Object[] classKeys = new Object[1024];
+    private Object[] shapeKeys = new Object[1024];
+    private Object[] constructorKeys = new Object[1024];
+
+    private int edgeCount;
+    private int[] edgeTypes = new int[4096];
+    private Object[] edgeNames = new Object[4096];
+    private int[] edgeTargets = new int[4096];
+
+    private long[] retainedSizes;
+    private List<Summary> classSummary;
+    private List<Summary> shapeSummary;
+    private List<Summary> constructorSummary;
+
+    private HeapSnapshot() {
+    }
+
+    /**
+     * Takes a snapshot of the objects reachable from the global object and global scope of the
+     * given realm and from the JavaScript frames of the current thread.
+     */
+    @TruffleBoundary
+    public static HeapSnapshot take(JSRealm realm) {
+        HeapSnapshot snapshot = new HeapSnapshot();
+        snapshot.collectStackFrames();
+        snapshot.walk(realm);
+        snapshot.computeRetainedSizes();
+        return snapshot;
+    }
+
+    public static String defaultSnapshotName() {
+        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+        return "Heap-" + dtf.format(LocalDateTime.now()) + ".heapsnapshot";
+    }
+
+    private void collectStackFrames() {
+        Truffle.getRuntime().iterateFrames(frameInstance -> {
+            RootNode rootNode = ((RootCallTarget) frameInstance.getCallTarget()).getRootNode();
+            if (JSRuntime.isJSFunctionRootNode(rootNode)) {
+                Frame frame = frameInstance.getFrame(FrameInstance.FrameAccess.MATERIALIZE);
+                String name = rootNode.getName();
+                stackFrames.add(frame);
+                frameNames.put(frame, "(frame) " + (name == null || name.isEmpty() ? "(anonymous)" : name));
+            }
+            return null;
+        });
+    }
+
+    private void walk(JSRealm realm) {
+        addNode(ROOT, NODE_SYNTHETIC, "", 0);
+        addNode(FRAMES_ROOT, NODE_SYNTHETIC, "(JS frames)", 0);
+        for (int current = 0; current < nodeObjects.size(); current++) {
+            firstEdges[current] = edgeCount;
+            Object object = nodeObjects.get(current);
+            if (object == ROOT) {
+                addEdge(EDGE_ELEMENT, 1, FRAMES_ROOT);
+                addEdge(EDGE_PROPERTY, "global", realm.getGlobalObject());
+                addEdge(EDGE_PROPERTY, "globalScope", realm.getGlobalScope());
+            } else if (object == FRAMES_ROOT) {
+                for (int i = 0; i < stackFrames.size(); i++) {
+                    addEdge(EDGE_ELEMENT, i, stackFrames.get(i));
+                }
+            } else if (object instanceof DynamicObject) {
+                walkObject(current, (DynamicObject) object);
+            } else if (object instanceof Frame) {
+                walkFrame(current, (Frame) object);
+            }
+            edgeCounts[current] = edgeCount - firstEdges[current];
+        }
+    }
+
+    private void walkObject(int current, DynamicObject object) {
+        Shape shape = object.getShape();
+        for (Property property : shape.getPropertyList()) {
+            Object key = property.getKey();
+            Object value = property.get(object, false);
+            if (JSProperty.isProxy(property)) {
+                continue;
+            } else if (key instanceof HiddenKey) {
+                // e.g. the enclosing frame of a function
+                addEdge(value instanceof Frame ? EDGE_CONTEXT : EDGE_HIDDEN, key.toString(), value);
+            } else if (JSProperty.isAccessor(property)) {
+                Accessor accessor = (Accessor) value;
+                addEdge(EDGE_PROPERTY, "get " + key, accessor.getGetter());
+                addEdge(EDGE_PROPERTY, "set " + key, accessor.getSetter());
+            } else {
+                addEdge(EDGE_PROPERTY, key.toString(), value);
+            }
+        }
+        if (!JSProxy.isProxy(object)) {
+            addEdge(EDGE_INTERNAL, "__proto__", JSObject.getPrototype(object));
+        }
+        if (JSArray.isJSArray(object)) {
+            ScriptArray array = JSObject.getArray(object);
+            long last = array.lastElementIndex(object);
+            int elements = 0;
+            for (long i = array.firstElementIndex(object); i <= last; i = array.nextElementIndex(object, i)) {
+                addEdge(EDGE_ELEMENT, i <= Integer.MAX_VALUE ? (Object) (int) i : String.valueOf(i), array.getElement(object, i));
+                elements++;
+            }
+            selfSizes[current] += (long) elements * REFERENCE_SIZE;
+        } else if (JSMap.isJSMap(object) || JSSet.isJSSet(object)) {
+            boolean isMap = JSMap.isJSMap(object);
+            JSHashMap map = isMap ? JSMap.getInternalMap(object) : JSSet.getInternalSet(object);
+            JSHashMap.Cursor cursor = map.getEntries();
+            int entries = 0;
+            while (cursor.advance()) {
+                addEdge(EDGE_INTERNAL, "key", cursor.getKey());
+                if (isMap) {
+                    addEdge(EDGE_INTERNAL, "value", cursor.getValue());
+                }
+                entries++;
+            }
+            selfSizes[current] += (long) entries * 3 * REFERENCE_SIZE;
+        }
+    }
+
+    private void walkFrame(int current, Frame frame) {
+        for (FrameSlot slot : frame.getFrameDescriptor().getSlots()) {
+            addEdge(EDGE_CONTEXT, String.valueOf(slot.getIdentifier()), frame.getValue(slot));
+        }
+        Object[] arguments = frame.getArguments();
+        for (int i = 0; i < arguments.length; i++) {
+            addEdge(EDGE_HIDDEN, "arguments[" + i + "]", arguments[i]);
+        }
+        selfSizes[current] += (long) (frame.getFrameDescriptor().getSize() + arguments.length) * REFERENCE_SIZE;
+    }
+
+    private void addEdge(int type, Object name, Object target) {
+        int targetId = getOrAddNode(target);
+        if (targetId < 0) {
+            return;
+        }
+        if (edgeCount == edgeTargets.length) {
+            int newLength = edgeCount * 2;
+            edgeTypes = Arrays.copyOf(edgeTypes, newLength);
+            edgeNames = Arrays.copyOf(edgeNames, newLength);
+            edgeTargets = Arrays.copyOf(edgeTargets, newLength);
+        }
+        edgeTypes[edgeCount] = type;
+        edgeNames[edgeCount] = name;
+        edgeTargets[edgeCount] = targetId;
+        edgeCount++;
+    }
+
+    private int getOrAddNode(Object value) {
+        if (value == null || value == Undefined.instance || value == Null.instance) {
+            return -1;
+        }
+        Integer id = nodeIds.get(value);
+        if (id != null) {
+            return id;
+        }
+        if (value instanceof DynamicObject) {
+            return addObjectNode((DynamicObject) value);
+        } else if (value instanceof String) {
+            String string = (String) value;
+            String name = string.length() > MAX_STRING_NAME_LENGTH ? string.substring(0, MAX_STRING_NAME_LENGTH) : string;
+            return addNode(value, NODE_STRING, name, HEADER_SIZE + 2L * string.length());
+        } else if (value instanceof JSLazyString) {
+            return addNode(value, NODE_CONCATENATED_STRING, "(concatenated string)", HEADER_SIZE + 2L * ((JSLazyString) value).length());
+        } else if (value instanceof Symbol) {
+            return addNode(value, NODE_SYMBOL, String.valueOf(((Symbol) value).getDescription()), HEADER_SIZE + REFERENCE_SIZE);
+        } else if (value instanceof BigInt) {
+            return addNode(value, NODE_BIGINT, "bigint", HEADER_SIZE + REFERENCE_SIZE);
+        } else if (value instanceof Frame) {
+            String name = frameNames.get(value);
+            return addNode(value, NODE_HIDDEN, name != null ? name : "system / Context", HEADER_SIZE);
+        }
+        return -1;
+    }
+
+    private int addObjectNode(DynamicObject object) {
+        Shape shape = object.getShape();
+        String constructorName = getConstructorName(object);
+        int type;
+        String name;
+        if (JSFunction.isJSFunction(object)) {
+            type = NODE_CLOSURE;
+            name = JSFunction.getName(object);
+        } else if (JSRegExp.isJSRegExp(object)) {
+            type = NODE_REGEXP;
+            name = constructorName;
+        } else {
+            type = NODE_OBJECT;
+            name = constructorName;
+        }
+        int id = addNode(object, type, name, HEADER_SIZE + (long) shape.getPropertyCount() * REFERENCE_SIZE);
+        classKeys[id] = JSObject.getJSClass(object).getClass().getSimpleName();
+        shapeKeys[id] = shape;
+        constructorKeys[id] = constructorName;
+        return id;
+    }
+
+    private static String getConstructorName(DynamicObject object) {
+        if (!JSProxy.isProxy(object)) {
+            DynamicObject prototype = JSObject.getPrototype(object);
+            if (prototype != Null.instance) {
+                Property constructorProperty = prototype.getShape().getProperty(JSObject.CONSTRUCTOR);
+                if (constructorProperty != null && JSProperty.isData(constructorProperty) && !JSProperty.isProxy(constructorProperty)) {
+                    Object constructor = constructorProperty.get(prototype, false);
+                    if (JSFunction.isJSFunction(constructor)) {
+                        String name = JSFunction.getName((DynamicObject) constructor);
+                        if (!name.isEmpty()) {
+                            return name;
+                        }
+                    }
+                }
+            }
+        }
+        return JSObject.getClassName(object);
+    }
+
+    private int addNode(Object object, int type, String name, long selfSize) {
+        int id = nodeObjects.size();
+        if (id == nodeTypes.length) {
+            int newLength = id * 2;
+            nodeTypes = Arrays.copyOf(nodeTypes, newLength);
+            nodeNames = Arrays.copyOf(nodeNames, newLength);
+            selfSizes = Arrays.copyOf(selfSizes, newLength);
+            firstEdges = Arrays.copyOf(firstEdges, newLength);
+            edgeCounts = Arrays.copyOf(edgeCounts, newLength);
+            classKeys = Arrays.copyOf(classKeys, newLength);
+            shapeKeys = Arrays.copyOf(shapeKeys, newLength);
+            constructorKeys = Arrays.copyOf(constructorKeys, newLength);
+        }
+        nodeObjects.add(object);
+        nodeIds.put(object, id);
+        nodeTypes[id] = type;
+        nodeNames[id] = name;
+        selfSizes[id] = selfSize;
+        return id;
+    }
+
+    /**
+     * Computes the immediate dominators (Cooper, Harvey, Kennedy: "A Simple, Fast Dominance
+     * Algorithm") and from them the retained sizes and group summaries.
+     */
+    private void computeRetainedSizes() {
+        int n = nodeObjects.size();
+        // reverse postorder of a depth-first traversal
+        int[] order = new int[n];
+        int[] orderIndex = new int[n];
+        Arrays.fill(orderIndex, -1);
+        int[] stack = new int[n];
+        int[] nextEdge = new int[n];
+        boolean[] visited = new boolean[n];
+        int sp = 0;
+        int postorder = n;
+        stack[sp++] = 0;
+        visited[0] = true;
+        nextEdge[0] = firstEdges[0];
+        while (sp > 0) {
+            int node = stack[sp - 1];
+            if (nextEdge[node] < firstEdges[node] + edgeCounts[node]) {
+                int target = edgeTargets[nextEdge[node]++];
+                if (!visited[target]) {
+                    visited[target] = true;
+                    nextEdge[target] = firstEdges[target];
+                    stack[sp++] = target;
+                }
+            } else {
+                sp--;
+                order[--postorder] = node;
+                orderIndex[node] = postorder;
+            }
+        }
+        assert postorder == 0;
+
+        // predecessors in compressed form
+        int[] predecessorStart = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            predecessorStart[edgeTargets[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            predecessorStart[i + 1] += predecessorStart[i];
+        }
+        int[] predecessors = new int[edgeCount];
+        int[] fill = Arrays.copyOf(predecessorStart, n);
+        for (int node = 0; node < n; node++) {
+            for (int e = firstEdges[node]; e < firstEdges[node] + edgeCounts[node]; e++) {
+                predecessors[fill[edgeTargets[e]]++] = node;
+            }
+        }
+
+        int[] dominators = new int[n];
+        Arrays.fill(dominators, -1);
+        dominators[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < n; i++) {
+                int node = order[i];
+                int newDominator = -1;
+                for (int p = predecessorStart[node]; p < predecessorStart[node + 1]; p++) {
+                    int predecessor = predecessors[p];
+                    if (dominators[predecessor] == -1) {
+                        continue;
+                    }
+                    newDominator = newDominator == -1 ? predecessor : intersect(predecessor, newDominator, dominators, orderIndex);
+                }
+                if (dominators[node] != newDominator) {
+                    dominators[node] = newDominator;
+                    changed = true;
+                }
+            }
+        }
+
+        retainedSizes = Arrays.copyOf(selfSizes, n);
+        for (int i = n - 1; i > 0; i--) {
+            int node = order[i];
+            retainedSizes[dominators[node]] += retainedSizes[node];
+        }
+
+        computeSummaries(n, order, dominators);
+    }
+
+    private static int intersect(int node1, int node2, int[] dominators, int[] orderIndex) {
+        int finger1 = node1;
+        int finger2 = node2;
+        while (finger1 != finger2) {
+            while (orderIndex[finger1] > orderIndex[finger2]) {
+                finger1 = dominators[finger1];
+            }
+            while (orderIndex[finger2] > orderIndex[finger1]) {
+                finger2 = dominators[finger2];
+            }
+        }
+        return finger1;
+    }
+
+    /**
+     * A group member contributes its retained size unless it is dominated by another member of the
+     * same group, in which case its retained size is already included.
+     */
+    private void computeSummaries(int n, int[] order, int[] dominators) {
+        // children of the dominator tree in compressed form
+        int[] childStart = new int[n + 1];
+        for (int node = 1; node < n; node++) {
+            childStart[dominators[node] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        int[] children = new int[Math.max(0, n - 1)];
+        int[] fill = Arrays.copyOf(childStart, n);
+        for (int i = 1; i < n; i++) {
+            int node = order[i];
+            children[fill[dominators[node]]++] = node;
+        }
+
+        Map<Object, Summary> classes = new HashMap<>();
+        Map<Object, Summary> shapes = new IdentityHashMap<>();
+        Map<Object, Summary> constructors = new HashMap<>();
+        Map<Object, int[]> activeClasses = new HashMap<>();
+        Map<Object, int[]> activeShapes = new IdentityHashMap<>();
+        Map<Object, int[]> activeConstructors = new HashMap<>();
+
+        // depth-first traversal of the dominator tree, tracking the groups of the members on the
+        // path from the root
+        int[] stack = new int[n];
+        int[] nextChild = new int[n];
+        int sp = 0;
+        stack[sp++] = 0;
+        nextChild[0] = childStart[0];
+        while (sp > 0) {
+            int node = stack[sp - 1];
+            if (nextChild[node] < childStart[node + 1]) {
+                int child = children[nextChild[node]++];
+                enterGroup(child, classKeys[child], classes, activeClasses);
+                enterGroup(child, shapeKeys[child], shapes, activeShapes);
+                enterGroup(child, constructorKeys[child], constructors, activeConstructors);
+                nextChild[child] = childStart[child];
+                stack[sp++] = child;
+            } else {
+                sp--;
+                exitGroup(classKeys[node], activeClasses);
+                exitGroup(shapeKeys[node], activeShapes);
+                exitGroup(constructorKeys[node], activeConstructors);
+            }
+        }
+        classSummary = sortSummaries(classes);
+        shapeSummary = sortSummaries(shapes);
+        constructorSummary = sortSummaries(constructors);
+    }
+
+    private void enterGroup(int node, Object key, Map<Object, Summary> summaries, Map<Object, int[]> active) {
+        if (key == null) {
+            return;
+        }
+        Summary summary = summaries.computeIfAbsent(key, Summary::new);
+        summary.count++;
+        summary.selfSize += selfSizes[node];
+        int[] activeCount = active.computeIfAbsent(key, k -> new int[1]);
+        if (activeCount[0]++ == 0) {
+            summary.retainedSize += retainedSizes[node];
+        }
+    }
+
+    private static void exitGroup(Object key, Map<Object, int[]> active) {
+        if (key != null) {
+            active.get(key)[0]--;
+        }
+    }
+
+    private static List<Summary> sortSummaries(Map<Object, Summary> summaries) {
+        List<Summary> list = new ArrayList<>(summaries.values());
+        list.sort((a, b) -> Long.compare(b.retainedSize, a.retainedSize));
+        return list;
+    }
+
+    public int getNodeCount() {
+        return nodeObjects.size();
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the retained size of the given object, or -1 if it is not part of the snapshot.
+     */
+    public long getRetainedSize(Object object) {
+        Integer id = nodeIds.get(object);
+        return id == null ? -1 : retainedSizes[id];
+    }
+
+    /**
+     * Returns the estimated shallow size of the given object, or -1 if it is not part of the
+     * snapshot.
+     */
+    public long getSelfSize(Object object) {
+        Integer id = nodeIds.get(object);
+        return id == null ? -1 : selfSizes[id];
+    }
+
+    /** Summaries per {@code JSClass}, ordered by decreasing retained size. */
+    public List<Summary> getClassSummary() {
+        return classSummary;
+    }
+
+    /** Summaries per {@link Shape}, ordered by decreasing retained size. */
+    public List<Summary> getShapeSummary() {
+        return shapeSummary;
+    }
+
+    /** Summaries per constructor name, ordered by decreasing retained size. */
+    public List<Summary> getConstructorSummary() {
+        return constructorSummary;
+    }
+
+    /**
+     * Writes the snapshot in the Chrome DevTools {@code .heapsnapshot} (JSON) format.
+     */
+    @TruffleBoundary
+    public void writeTo(Writer out) throws IOException {
+        Map<String, Integer> strings = new HashMap<>();
+        List<String> stringTable = new ArrayList<>();
+        out.write("{\"snapshot\":{\"meta\":{");
+        out.write("\"node_fields\":[\"type\",\"name\",\"id\",\"self_size\",\"edge_count\",\"trace_node_id\"],");
+        out.write("\"node_types\":[");
+        writeStringArray(out, NODE_TYPES);
+        out.write(",\"string\",\"number\",\"number\",\"number\",\"number\",\"number\"],");
+        out.write("\"edge_fields\":[\"type\",\"name_or_index\",\"to_node\"],");
+        out.write("\"edge_types\":[");
+        writeStringArray(out, EDGE_TYPES);
+        out.write(",\"string_or_number\",\"node\"],");
+        out.write("\"trace_function_info_fields\":[\"function_id\",\"name\",\"script_name\",\"script_id\",\"line\",\"column\"],");
+        out.write("\"trace_node_fields\":[\"id\",\"function_info_index\",\"count\",\"size\",\"children\"],");
+        out.write("\"sample_fields\":[\"timestamp_us\",\"last_assigned_id\"],");
+        out.write("\"location_fields\":[\"object_index\",\"script_id\",\"line\",\"column\"]},");
+        out.write("\"node_count\":" + nodeObjects.size() + ",\"edge_count\":" + edgeCount + ",\"trace_function_count\":0},\n");
+
+        out.write("\"nodes\":[");
+        for (int i = 0; i < nodeObjects.size(); i++) {
+            if (i != 0) {
+                out.write(",\n");
+            }
+            // ids of JS objects are odd in V8 snapshots
+            out.write(nodeTypes[i] + "," + stringIndex(nodeNames[i], strings, stringTable) + "," + (2 * i + 1) + "," + selfSizes[i] + "," + edgeCounts[i] + ",0");
+        }
+        out.write("],\n\"edges\":[");
+        int nodeFieldCount = 6;
+        for (int e = 0; e < edgeCount; e++) {
+            if (e != 0) {
+                out.write(",\n");
+            }
+            Object name = edgeNames[e];
+            Object nameOrIndex = (edgeTypes[e] == EDGE_ELEMENT && name instanceof Integer) ? name : stringIndex(String.valueOf(name), strings, stringTable);
+            out.write(edgeTypes[e] + "," + nameOrIndex + "," + (edgeTargets[e] * nodeFieldCount));
+        }
+        out.write("],\n\"trace_function_infos\":[],\"trace_tree\":[],\"samples\":[],\"locations\":[],\n\"strings\":[");
+        for (int i = 0; i < stringTable.size(); i++) {
+            if (i != 0) {
+                out.write(",\n");
+            }
+            out.write(JSRuntime.quote(stringTable.get(i)));
+        }
+        out.write("]}\n");
+        out.flush();
+    }
+
+    private static int stringIndex(String string, Map<String, Integer> strings, List<String> stringTable) {
+        Integer index = strings.get(string);
+        if (index == null) {
+            index = stringTable.size();
+            stringTable.add(string);
+            strings.put(string, index);
+        }
+        return index;
+    }
+
+    private static void writeStringArray(Writer out, String[] values) throws IOException {
+        out.write('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i != 0) {
+                out.write(',');
+            }
+            out.write(JSRuntime.quote(values[i]));
+        }
+        out.write(']');
+    }
+}
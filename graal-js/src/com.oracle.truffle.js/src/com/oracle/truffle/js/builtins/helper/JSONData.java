@@ -41,9 +41,12 @@
 package com.oracle.truffle.js.builtins.helper;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
 
 public class JSONData {
 
@@ -52,13 +55,21 @@ public class JSONData {
     private final String gap;
     private final List<String> propertyList;
     private final DynamicObject replacerFnObj;
+    private final Object writer;
+    private Map<Shape, JSONStringifyStringNode.ShapeKeys> shapeKeysCache;
 
     private static final int MAX_STACK_SIZE = 1000;
+    private static final int MAX_SHAPE_KEYS_CACHE_SIZE = 64;
 
     public JSONData(String gap, DynamicObject replacerFnObj, List<String> replacerList) {
+        this(gap, replacerFnObj, replacerList, null);
+    }
+
+    public JSONData(String gap, DynamicObject replacerFnObj, List<String> replacerList, Object writer) {
         this.gap = gap;
         this.replacerFnObj = replacerFnObj;
         this.propertyList = replacerList;
+        this.writer = writer;
     }
 
     public String getGap() {
@@ -81,6 +92,27 @@ public class JSONData {
         return replacerFnObj;
     }
 
+    /**
+     * The sink that receives the output in chunks, or {@code null} if the result is returned as a
+     * single string.
+     */
+    public Object getWriter() {
+        return writer;
+    }
+
+    JSONStringifyStringNode.ShapeKeys getCachedShapeKeys(Shape shape) {
+        return shapeKeysCache == null ? null : shapeKeysCache.get(shape);
+    }
+
+    void putCachedShapeKeys(Shape shape, JSONStringifyStringNode.ShapeKeys shapeKeys) {
+        if (shapeKeysCache == null) {
+            shapeKeysCache = new HashMap<>();
+        } else if (shapeKeysCache.size() >= MAX_SHAPE_KEYS_CACHE_SIZE) {
+            return;
+        }
+        shapeKeysCache.put(shape, shapeKeys);
+    }
+
     public void pushStack(Object value) {
         stack.add(value);
     }
@@ -45,18 +45,22 @@ import java.util.List;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
@@ -67,6 +71,8 @@ import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.truffleinterop.JSInteropUtil;
@@ -79,6 +85,9 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     @Child private JSFunctionCallNode callToJSONFunction;
     private final StringBuilderProfile stringBuilderProfile;
 
+    private static final int STREAM_CHUNK_SIZE = 1 << 16;
+    private static final String WRITE = "write";
+
     protected JSONStringifyStringNode(JSContext context) {
         this.context = context;
         this.stringBuilderProfile = StringBuilderProfile.create(context.getStringLengthLimit());
@@ -97,7 +106,10 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             JSONData data = (JSONData) jsonData;
             Object value = jsonStrPrepare(data, key, holder);
             if (!isStringifyable(value)) {
-                return Undefined.instance;
+                return data.getWriter() != null ? Boolean.FALSE : Undefined.instance;
+            }
+            if (data.getWriter() != null) {
+                return jsonStrStream(data, value);
             }
             StringBuilder builder = new StringBuilder();
             jsonStrExecute(builder, data, value);
@@ -108,6 +120,44 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
     }
 
+    @TruffleBoundary
+    private Object jsonStrStream(JSONData data, Object value) {
+        StringBuilder builder = new StringBuilder();
+        jsonStrExecute(builder, data, value);
+        writeChunk(builder, data);
+        return Boolean.TRUE;
+    }
+
+    /**
+     * In streaming mode, hands the output produced so far to the writer once it exceeds the chunk
+     * size, so that the complete text is never held in memory.
+     */
+    private void flushChunk(StringBuilder builder, JSONData data) {
+        if (data.getWriter() != null && builder.length() >= STREAM_CHUNK_SIZE) {
+            writeChunk(builder, data);
+        }
+    }
+
+    private void writeChunk(StringBuilder builder, JSONData data) {
+        if (builder.length() == 0) {
+            return;
+        }
+        String chunk = builder.toString();
+        builder.setLength(0);
+        Object writer = data.getWriter();
+        if (JSRuntime.isCallable(writer)) {
+            JSRuntime.call(writer, Undefined.instance, new Object[]{chunk});
+        } else if (JSObject.isJSObject(writer)) {
+            JSRuntime.call(JSObject.get((DynamicObject) writer, WRITE), writer, new Object[]{chunk});
+        } else {
+            try {
+                InteropLibrary.getFactory().getUncached(writer).invokeMember(writer, WRITE, chunk);
+            } catch (InteropException e) {
+                throw Errors.createTypeErrorInteropException(writer, e, WRITE, this);
+            }
+        }
+    }
+
     private static boolean isStringifyable(Object value) {
         // values that are not stringifyable are replaced by undefined in jsonStrPrepare()
         return value != Undefined.instance;
@@ -266,7 +316,12 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         boolean hasContent;
         if (data.getPropertyList() == null) {
             if (JSObject.isJSObject(value)) {
-                hasContent = serializeJSONObjectProperties(builder, data, value, indent, JSObject.enumerableOwnNames((DynamicObject) value));
+                DynamicObject valueObj = (DynamicObject) value;
+                if (JSConfig.FastOwnKeys && JSObject.getJSClass(valueObj).hasOnlyShapeProperties(valueObj)) {
+                    hasContent = serializeShapeProperties(builder, data, valueObj, indent);
+                } else {
+                    hasContent = serializeJSONObjectProperties(builder, data, value, indent, JSObject.enumerableOwnNames(valueObj));
+                }
             } else {
                 hasContent = serializeForeignObjectProperties(builder, data, value, indent);
             }
@@ -295,12 +350,71 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                 jsonQuote(stringBuilderProfile, builder, name);
                 appendColon(builder, data);
                 jsonStrExecute(builder, data, strPPrepared);
+                flushChunk(builder, data);
                 hasContent = true;
             }
         }
         return hasContent;
     }
 
+    /**
+     * Serializes an object whose own properties are all described by its shape, using the key
+     * list, the properties and the quoted keys cached for that shape. Plain data properties are
+     * read directly as long as the object keeps its shape, i.e. no toJSON, replacer or getter has
+     * modified it in the meantime.
+     */
+    private boolean serializeShapeProperties(StringBuilder builder, JSONData data, DynamicObject value, int indent) {
+        Shape shape = value.getShape();
+        ShapeKeys shapeKeys = getShapeKeys(data, shape);
+        boolean isFirst = true;
+        boolean hasContent = false;
+        for (int i = 0; i < shapeKeys.names.length; i++) {
+            String name = shapeKeys.names[i];
+            Property property = shapeKeys.properties[i];
+            Object propertyValue;
+            if (property != null && value.getShape() == shape) {
+                propertyValue = property.get(value, false);
+            } else {
+                propertyValue = JSObject.get(value, name);
+            }
+            Object strPPrepared = jsonStrPreparePart2(data, name, value, propertyValue);
+            if (isStringifyable(strPPrepared)) {
+                if (isFirst) {
+                    concatFirstStep(builder, data);
+                    isFirst = false;
+                } else {
+                    appendSeparator(builder, data, indent);
+                }
+                stringBuilderProfile.append(builder, shapeKeys.quotedNames[i]);
+                appendColon(builder, data);
+                jsonStrExecute(builder, data, strPPrepared);
+                flushChunk(builder, data);
+                hasContent = true;
+            }
+        }
+        return hasContent;
+    }
+
+    private ShapeKeys getShapeKeys(JSONData data, Shape shape) {
+        ShapeKeys shapeKeys = data.getCachedShapeKeys(shape);
+        if (shapeKeys == null) {
+            List<String> names = JSShape.getEnumerablePropertyNames(shape);
+            int size = names.size();
+            shapeKeys = new ShapeKeys(new String[size], new String[size], new Property[size]);
+            for (int i = 0; i < size; i++) {
+                String name = names.get(i);
+                Property property = shape.getProperty(name);
+                shapeKeys.names[i] = name;
+                StringBuilder quoted = new StringBuilder(name.length() + 2);
+                jsonQuote(stringBuilderProfile, quoted, name);
+                shapeKeys.quotedNames[i] = quoted.toString();
+                shapeKeys.properties[i] = JSProperty.isAccessor(property) || JSProperty.isProxy(property) ? null : property;
+            }
+            data.putCachedShapeKeys(shape, shapeKeys);
+        }
+        return shapeKeys;
+    }
+
     private void appendColon(StringBuilder builder, JSONData data) {
         stringBuilderProfile.append(builder, ':');
         if (data.getGap().length() > 0) {
@@ -338,6 +452,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                     jsonQuote(stringBuilderProfile, builder, stringKey);
                     appendColon(builder, data);
                     jsonStrExecute(builder, data, strPPrepared);
+                    flushChunk(builder, data);
                     hasContent = true;
                 }
             }
@@ -394,6 +509,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             } else {
                 stringBuilderProfile.append(builder, Null.NAME);
             }
+            flushChunk(builder, data);
         }
 
         concatEnd(builder, data, stepback, ']', len > 0);
@@ -534,4 +650,20 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             throw Errors.createTypeErrorInteropException(obj, e, "readArrayElement", index, this);
         }
     }
+
+    /**
+     * Enumerable property keys of a shape in property order, with their quoted JSON form and, for
+     * plain data properties, the property itself.
+     */
+    static final class ShapeKeys {
+        final String[] names;
+        final String[] quotedNames;
+        final Property[] properties;
+
+        ShapeKeys(String[] names, String[] quotedNames, Property[] properties) {
+            this.names = names;
+            this.quotedNames = quotedNames;
+            this.properties = properties;
+        }
+    }
 }
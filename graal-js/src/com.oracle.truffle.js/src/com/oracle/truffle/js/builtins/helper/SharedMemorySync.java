@@ -42,6 +42,9 @@ package com.oracle.truffle.js.builtins.helper;
 
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetArrayType;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
@@ -52,6 +55,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.util.ByteBufferAtomics;
 import com.oracle.truffle.js.runtime.util.Fences;
 
 /**
@@ -100,98 +104,116 @@ public final class SharedMemorySync {
     // ##### Atomic CAS primitives
     @TruffleBoundary
     public static boolean compareAndSwapInt(JSContext cx, DynamicObject target, int intArrayOffset, int initial, int result) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int value = doVolatileGet(target, intArrayOffset);
-            if (value == initial) {
-                doVolatilePut(target, intArrayOffset, result);
-                return true;
-            }
-            return false;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
-        }
+        int elementSize = typedArrayGetArrayType(target).bytesPerElement();
+        return compareExchangeIntElement(cx, target, intArrayOffset, initial, result) == (initial & elementMask(elementSize));
     }
 
     @TruffleBoundary
     public static boolean compareAndSwapBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt initial, BigInt result) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            BigInt value = doVolatileGetBigInt(target, intArrayOffset);
-            if (value.compareTo(initial) == 0) {
-                doVolatilePutBigInt(target, intArrayOffset, result);
-                return true;
-            }
-            return false;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
-        }
+        long expected = initial.longValue();
+        return compareExchangeLongElement(cx, target, intArrayOffset, expected, result.longValue()) == expected;
     }
 
     // ##### Atomic Fetch-or-Get primitives
     @TruffleBoundary
     public static long atomicFetchOrGetUnsigned(JSContext cx, DynamicObject target, int intArrayOffset, Object expected, Object replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        long read = JSRuntime.toUInt32(doVolatileGet(target, intArrayOffset));
-        if (read == JSRuntime.toUInt32(expected)) {
-            doVolatilePut(target, intArrayOffset, (int) JSRuntime.toUInt32(replacement));
-        }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
+        int read = compareExchangeIntElement(cx, target, intArrayOffset, (int) JSRuntime.toUInt32(expected), (int) JSRuntime.toUInt32(replacement));
+        return read & 0xFFFFFFFFL;
     }
 
     @TruffleBoundary
     public static long atomicFetchOrGetLong(JSContext cx, DynamicObject target, int intArrayOffset, long expected, long replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int read = doVolatileGet(target, intArrayOffset);
-            if (read == expected) {
-                doVolatilePut(target, intArrayOffset, (int) replacement);
-            }
-            return read;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+        if (expected != (int) expected) {
+            // cannot match any int32 element
+            return doVolatileGet(target, intArrayOffset);
         }
+        return compareExchangeIntElement(cx, target, intArrayOffset, (int) expected, (int) replacement);
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetInt(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int read = doVolatileGet(target, intArrayOffset);
-            if (read == expected) {
-                doVolatilePut(target, intArrayOffset, replacement);
-            }
-            return read;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
-        }
+        return compareExchangeIntElement(cx, target, intArrayOffset, expected, replacement);
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetShort(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        int read = doVolatileGet(target, intArrayOffset);
-        read = sign ? read : read & 0xFFFF;
-        int expectedChopped = sign ? (short) expected : expected & 0xFFFF;
-        if (read == expectedChopped) {
-            int signed = sign ? replacement : replacement & 0xFFFF;
-            SharedMemorySync.doVolatilePut(target, intArrayOffset, (short) signed);
-        }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
+        int read = compareExchangeIntElement(cx, target, intArrayOffset, expected, replacement);
+        return sign ? (short) read : read;
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetByte(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
+        int read = compareExchangeIntElement(cx, target, intArrayOffset, expected, replacement);
+        return sign ? (byte) read : read;
+    }
+
+    @TruffleBoundary
+    public static BigInt atomicFetchOrGetBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt expected, BigInt replacement) {
+        long read = compareExchangeLongElement(cx, target, intArrayOffset, expected.longValue(), replacement.longValue());
+        if (typedArrayGetArrayType(target) instanceof TypedArray.DirectBigUint64Array) {
+            return BigInt.valueOfUnsigned(read);
+        } else {
+            return BigInt.valueOf(read);
+        }
+    }
+
+    // ##### Lock-free element access
+
+    private static int elementMask(int elementSize) {
+        return elementSize == 4 ? 0xFFFFFFFF : (1 << (elementSize * Byte.SIZE)) - 1;
+    }
+
+    /**
+     * Compares the 8, 16 or 32-bit element with {@code expected} (truncated to the element width)
+     * and, if equal, replaces it with {@code replacement}. Elements are updated using a hardware
+     * CAS on the containing 32-bit word whenever it is within bounds and aligned, and under the
+     * buffer's lock otherwise (which only happens for the trailing bytes of buffers whose length is
+     * not a multiple of 4, or for unaligned foreign buffers).
+     *
+     * @return the previous element bits, zero-extended
+     */
+    private static int compareExchangeIntElement(JSContext cx, DynamicObject target, int index, int expected, int replacement) {
+        int elementSize = typedArrayGetArrayType(target).bytesPerElement();
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target, true);
+        int byteIndex = JSArrayBufferView.typedArrayGetOffset(target) + index * elementSize;
+        int wordIndex = byteIndex & ~(Integer.BYTES - 1);
+        if (ByteBufferAtomics.isAtomicAccessible(buffer, wordIndex, Integer.BYTES)) {
+            if (elementSize == Integer.BYTES) {
+                return ByteBufferAtomics.compareAndExchangeInt(buffer, byteIndex, expected, replacement);
+            } else {
+                return compareExchangeSubWord(buffer, wordIndex, byteIndex - wordIndex, elementSize, expected, replacement);
+            }
+        }
+        return lockedCompareExchangeInt(cx, target, index, expected, replacement, elementMask(elementSize));
+    }
+
+    private static int compareExchangeSubWord(ByteBuffer buffer, int wordIndex, int byteInWord, int elementSize, int expected, int replacement) {
+        int mask = elementMask(elementSize);
+        int shift = (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? byteInWord : Integer.BYTES - elementSize - byteInWord) * Byte.SIZE;
+        int expectedBits = expected & mask;
+        int replacementBits = replacement & mask;
+        int word = ByteBufferAtomics.getIntVolatile(buffer, wordIndex);
+        while (true) {
+            int read = (word >>> shift) & mask;
+            if (read != expectedBits) {
+                return read;
+            }
+            int newWord = (word & ~(mask << shift)) | (replacementBits << shift);
+            int witness = ByteBufferAtomics.compareAndExchangeInt(buffer, wordIndex, word, newWord);
+            if (witness == word) {
+                return read;
+            }
+            // concurrent update of this or a neighboring element, retry
+            word = witness;
+        }
+    }
+
+    private static int lockedCompareExchangeInt(JSContext cx, DynamicObject target, int index, int expected, int replacement, int mask) {
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            int read = doVolatileGet(target, intArrayOffset);
-            read = sign ? read : read & 0xFF;
-            int expectedChopped = sign ? (byte) expected : expected & 0xFF;
-            if (read == expectedChopped) {
-                int signed = sign ? replacement : replacement & 0xFF;
-                SharedMemorySync.doVolatilePut(target, intArrayOffset, (byte) signed);
+            int read = doVolatileGet(target, index) & mask;
+            if (read == (expected & mask)) {
+                doVolatilePut(target, index, replacement);
             }
             return read;
         } finally {
@@ -199,13 +221,23 @@ public final class SharedMemorySync {
         }
     }
 
-    @TruffleBoundary
-    public static BigInt atomicFetchOrGetBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt expected, BigInt replacement) {
+    /**
+     * Compares the 64-bit element with {@code expected} and, if equal, replaces it with
+     * {@code replacement}.
+     *
+     * @return the previous element bits
+     */
+    private static long compareExchangeLongElement(JSContext cx, DynamicObject target, int index, long expected, long replacement) {
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target, true);
+        int byteIndex = JSArrayBufferView.typedArrayGetOffset(target) + index * Long.BYTES;
+        if (ByteBufferAtomics.isAtomicAccessible(buffer, byteIndex, Long.BYTES)) {
+            return ByteBufferAtomics.compareAndExchangeLong(buffer, byteIndex, expected, replacement);
+        }
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            BigInt read = doVolatileGetBigInt(target, intArrayOffset);
-            if (read.compareTo(expected) == 0) {
-                doVolatilePutBigInt(target, intArrayOffset, replacement);
+            long read = doVolatileGetBigInt(target, index).longValue();
+            if (read == expected) {
+                doVolatilePutBigInt(target, index, BigInt.valueOf(replacement));
             }
             return read;
         } finally {
@@ -40,16 +40,21 @@
  */
 package com.oracle.truffle.js.builtins.helper;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import com.oracle.js.parser.ParserException;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRuntime;
-import com.oracle.truffle.js.runtime.array.ScriptArray;
-import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.Null;
 
 public class TruffleJSONParser {
@@ -66,6 +71,15 @@ public class TruffleJSONParser {
     protected static final int MAX_PARSE_DEPTH = 100000;
 
     private static final String MALFORMED_NUMBER = "malformed number";
+    private static final int MAX_KEY_TRANSITIONS = 1024;
+    private static final int MAX_KEY_TRANSITION_CHILDREN = 8;
+    private static final int INITIAL_ELEMENT_STACK_SIZE = 16;
+
+    private KeyTransition rootTransition;
+    private int transitionCount;
+    private Map<String, String> internedKeys;
+    private Object[] elementStack;
+    private int elementStackTop;
 
     public TruffleJSONParser(JSContext context) {
         this.context = context;
@@ -94,6 +108,8 @@ public class TruffleJSONParser {
             throwSyntaxError(null);
         } finally {
             parseStr = null;
+            elementStack = null;
+            elementStackTop = 0;
         }
         return null;
     }
@@ -161,32 +177,102 @@ public class TruffleJSONParser {
     }
 
     private void parseJSONMemberList(DynamicObject object) {
-        Member member = parseJSONMember();
-        JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+        if (rootTransition == null) {
+            rootTransition = new KeyTransition(null);
+        }
+        KeyTransition transition = parseJSONMember(object, rootTransition);
         while (get() == ',') {
             read();
-            member = parseJSONMember();
-            JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+            transition = parseJSONMember(object, transition);
         }
     }
 
-    private Member parseJSONMember() {
-        String jsonString = parseJSONString();
+    /**
+     * Parses a member and adds it to the object. Members are tracked in a tree of key sequences;
+     * once a key sequence has been seen, its key strings are reused and the property is stored
+     * directly using the shape transition recorded for the previous object with the same keys.
+     */
+    private KeyTransition parseJSONMember(DynamicObject object, KeyTransition parent) {
+        KeyTransition transition = parent == null ? null : matchKey(parent);
+        String key;
+        if (transition != null) {
+            key = transition.key;
+        } else {
+            key = parseJSONString();
+            transition = parent == null ? null : addTransition(parent, key);
+            if (transition != null) {
+                key = transition.key;
+            }
+        }
         read(':');
-        Object jsonValue = parseJSONValue();
-        return new Member(jsonString, jsonValue);
+        Object value = parseJSONValue();
+        if (transition == null || !transition.trySet(object, value)) {
+            Shape oldShape = object.getShape();
+            JSRuntime.createDataProperty(object, key, value);
+            if (transition != null) {
+                transition.update(oldShape, object.getShape());
+            }
+        }
+        return transition;
+    }
+
+    /**
+     * Tries to match the key at the current position against the keys that followed the parent
+     * key before, without creating a new string.
+     */
+    private KeyTransition matchKey(KeyTransition parent) {
+        if (!isStringQuote(get())) {
+            return null;
+        }
+        int keyStart = pos + 1;
+        for (KeyTransition child = parent.firstChild; child != null; child = child.nextSibling) {
+            if (child.plainKey) {
+                String key = child.key;
+                int keyEnd = keyStart + key.length();
+                if (keyEnd < len && isStringQuote(get(keyEnd)) && parseStr.regionMatches(keyStart, key, 0, key.length())) {
+                    pos = keyEnd;
+                    read();
+                    return child;
+                }
+            }
+        }
+        return null;
+    }
+
+    private KeyTransition addTransition(KeyTransition parent, String key) {
+        int childCount = 0;
+        for (KeyTransition child = parent.firstChild; child != null; child = child.nextSibling) {
+            if (child.key.equals(key)) {
+                return child;
+            }
+            childCount++;
+        }
+        if (childCount >= MAX_KEY_TRANSITION_CHILDREN || transitionCount >= MAX_KEY_TRANSITIONS) {
+            return null;
+        }
+        if (internedKeys == null) {
+            internedKeys = new HashMap<>();
+        }
+        String internedKey = internedKeys.putIfAbsent(key, key);
+        KeyTransition child = new KeyTransition(internedKey == null ? key : internedKey);
+        child.nextSibling = parent.firstChild;
+        parent.firstChild = child;
+        transitionCount++;
+        return child;
     }
 
     private Object parseJSONArray() {
         assert isArray(get());
         incDepth();
         read(); // parseJSONValue ensures this is a "["
-        DynamicObject array = JSArray.createEmptyZeroLength(context);
+        DynamicObject array;
         if (get() != ']') {
-            parseJSONElementList(array);
+            array = parseJSONElementList();
             if (get() != ']') {
                 error("closing quote ] expected");
             }
+        } else {
+            array = JSArray.createEmptyZeroLength(context);
         }
         read(']');
         decDepth();
@@ -212,17 +298,60 @@ public class TruffleJSONParser {
         this.parseDepth--;
     }
 
-    protected ScriptArray parseJSONElementList(DynamicObject arrayObject) {
-        int index = 0;
-        ScriptArray scriptArray = JSAbstractArray.arrayGetArrayType(arrayObject);
-        scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(), false);
+    /**
+     * Parses the elements of an array onto a shared element stack, then allocates the array with
+     * an exactly sized backing store of the narrowest type that fits all elements.
+     */
+    protected DynamicObject parseJSONElementList() {
+        int start = elementStackTop;
+        pushElement(parseJSONValue());
         while (get() == ',') {
             read();
-            index++;
-            scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(), false);
+            pushElement(parseJSONValue());
+        }
+        DynamicObject array = createArray(start, elementStackTop - start);
+        Arrays.fill(elementStack, start, elementStackTop, null);
+        elementStackTop = start;
+        return array;
+    }
+
+    private void pushElement(Object value) {
+        if (elementStack == null) {
+            elementStack = new Object[INITIAL_ELEMENT_STACK_SIZE];
+        } else if (elementStackTop == elementStack.length) {
+            elementStack = Arrays.copyOf(elementStack, elementStack.length * 2);
+        }
+        elementStack[elementStackTop++] = value;
+    }
+
+    private DynamicObject createArray(int start, int length) {
+        boolean allInt = true;
+        boolean allNumber = true;
+        for (int i = start; i < start + length; i++) {
+            Object element = elementStack[i];
+            if (element instanceof Double) {
+                allInt = false;
+            } else if (!(element instanceof Integer)) {
+                allInt = false;
+                allNumber = false;
+                break;
+            }
+        }
+        if (allInt) {
+            int[] intArray = new int[length];
+            for (int i = 0; i < length; i++) {
+                intArray[i] = (int) elementStack[start + i];
+            }
+            return JSArray.createZeroBasedIntArray(context, intArray);
+        } else if (allNumber) {
+            double[] doubleArray = new double[length];
+            for (int i = 0; i < length; i++) {
+                doubleArray[i] = ((Number) elementStack[start + i]).doubleValue();
+            }
+            return JSArray.createZeroBasedDoubleArray(context, doubleArray);
+        } else {
+            return JSArray.createZeroBasedObjectArray(context, Arrays.copyOfRange(elementStack, start, start + length));
         }
-        JSAbstractArray.arraySetArrayType(arrayObject, scriptArray);
-        return scriptArray;
     }
 
     protected String parseJSONString() {
@@ -577,21 +706,57 @@ public class TruffleJSONParser {
         return true;
     }
 
-    protected final class Member {
-        private final String key;
-        private final Object value;
-
-        public Member(String key, Object value) {
+    /**
+     * A node in the tree of member key sequences seen during this parse, together with the shape
+     * transition that adding its key caused on the last object that reached it.
+     */
+    private static final class KeyTransition {
+        final String key;
+        final boolean plainKey;
+        KeyTransition firstChild;
+        KeyTransition nextSibling;
+        private Shape oldShape;
+        private Shape newShape;
+        private Property property;
+
+        KeyTransition(String key) {
             this.key = key;
-            this.value = value;
+            this.plainKey = key != null && isPlainKey(key);
+        }
+
+        /**
+         * A key can be matched against the source text directly if its JSON representation needs
+         * no escapes.
+         */
+        private static boolean isPlainKey(String key) {
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (c < ' ' || c == '"' || c == '\\') {
+                    return false;
+                }
+            }
+            return true;
         }
 
-        public String getKey() {
-            return key;
+        boolean trySet(DynamicObject object, Object value) {
+            if (property != null && object.getShape() == oldShape && newShape.isValid() && property.getLocation().canStore(value)) {
+                property.setSafe(object, value, oldShape, newShape);
+                return true;
+            }
+            return false;
         }
 
-        public Object getValue() {
-            return value;
+        void update(Shape before, Shape after) {
+            Property lastProperty = after.getLastProperty();
+            if (after != before && after.getParent() == before && lastProperty != null && key.equals(lastProperty.getKey()) && JSProperty.isData(lastProperty)) {
+                this.oldShape = before;
+                this.newShape = after;
+                this.property = lastProperty;
+            } else {
+                this.oldShape = null;
+                this.newShape = null;
+                this.property = null;
+            }
         }
     }
 }
@@ -406,6 +406,7 @@ public final class JavaScriptLanguage extends AbstractJavaScriptLanguage {
         if (options.isProfileTime() && options.isProfileTimePrintCumulative()) {
             context.getTimeProfiler().printCumulative();
         }
+        realm.closeAsyncOutput();
         realm.setGlobalObject(Undefined.instance);
     }
 
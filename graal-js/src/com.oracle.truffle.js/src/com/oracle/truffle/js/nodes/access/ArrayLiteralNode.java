@@ -70,6 +70,7 @@ import com.oracle.truffle.js.runtime.array.dyn.ConstantObjectArray;
 import com.oracle.truffle.js.runtime.array.dyn.HolesIntArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.objects.IteratorRecord;
+import com.oracle.truffle.js.runtime.util.AllocationSampler;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
 import java.util.Set;
@@ -89,7 +90,12 @@ public abstract class ArrayLiteralNode extends JavaScriptNode {
 
     @Override
     public final Object execute(VirtualFrame frame) {
-        return executeDynamicObject(frame);
+        DynamicObject array = executeDynamicObject(frame);
+        AllocationSampler allocationSampler = context.getAllocationSampler();
+        if (allocationSampler != null) {
+            allocationSampler.sample(this, array);
+        }
+        return array;
     }
 
     @Override
@@ -58,6 +58,7 @@ import com.oracle.truffle.js.runtime.builtins.JSUserObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.AllocationSampler;
 
 import java.util.Set;
 
@@ -96,6 +97,14 @@ public abstract class CreateObjectNode extends JavaScriptBaseNode {
         return context;
     }
 
+    protected final DynamicObject trackAllocation(DynamicObject object) {
+        AllocationSampler allocationSampler = context.getAllocationSampler();
+        if (allocationSampler != null) {
+            allocationSampler.sample(this, object);
+        }
+        return object;
+    }
+
     private static class CreateOrdinaryObjectNode extends CreateObjectNode {
         protected CreateOrdinaryObjectNode(JSContext context) {
             super(context);
@@ -103,7 +112,7 @@ public abstract class CreateObjectNode extends JavaScriptBaseNode {
 
         @Override
         public DynamicObject executeDynamicObject(VirtualFrame frame) {
-            return JSUserObject.create(context);
+            return trackAllocation(JSUserObject.create(context));
         }
 
         @Override
@@ -142,27 +151,27 @@ public abstract class CreateObjectNode extends JavaScriptBaseNode {
         final DynamicObject doCachedPrototype(@SuppressWarnings("unused") DynamicObject prototype,
                         @Cached("prototype") @SuppressWarnings("unused") DynamicObject cachedPrototype,
                         @Cached("getProtoChildShape(cachedPrototype)") Shape protoChildShape) {
-            return JSObject.create(context, protoChildShape);
+            return trackAllocation(JSObject.create(context, protoChildShape));
         }
 
         @Specialization(guards = {"isOrdinaryObject()", "isValidPrototype(prototype)"}, replaces = "doCachedPrototype")
         final DynamicObject doOrdinaryInstancePrototype(DynamicObject prototype) {
-            return JSUserObject.createWithPrototypeInObject(prototype, context);
+            return trackAllocation(JSUserObject.createWithPrototypeInObject(prototype, context));
         }
 
         @Specialization(guards = {"isPromiseObject()", "isValidPrototype(prototype)"}, replaces = "doCachedPrototype")
         final DynamicObject doPromiseInstancePrototype(DynamicObject prototype) {
-            return JSPromise.createWithPrototypeInObject(prototype, context);
+            return trackAllocation(JSPromise.createWithPrototypeInObject(prototype, context));
         }
 
         @Specialization(guards = {"!isOrdinaryObject()", "!isPromiseObject()", "isValidPrototype(prototype)"}, replaces = "doCachedPrototype")
         final DynamicObject doUncachedPrototype(DynamicObject prototype) {
-            return JSObject.create(context, prototype, jsclass);
+            return trackAllocation(JSObject.create(context, prototype, jsclass));
         }
 
         @Specialization(guards = {"!isValidPrototype(prototype)"})
         final DynamicObject doNotJSObjectOrNull(@SuppressWarnings("unused") Object prototype) {
-            return JSUserObject.create(context);
+            return trackAllocation(JSUserObject.create(context));
         }
 
         final Shape getProtoChildShape(DynamicObject prototype) {
@@ -190,7 +199,7 @@ public abstract class CreateObjectNode extends JavaScriptBaseNode {
 
         @Override
         public DynamicObject executeDynamicObject(VirtualFrame frame) {
-            return JSDictionaryObject.create(context);
+            return trackAllocation(JSDictionaryObject.create(context));
         }
 
         @Override
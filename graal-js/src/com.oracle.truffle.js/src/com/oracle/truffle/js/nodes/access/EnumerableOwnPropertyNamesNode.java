@@ -46,6 +46,8 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.helper.ListGetNode;
@@ -56,7 +58,9 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSProxy;
-import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.EnumCache;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
@@ -72,6 +76,7 @@ public abstract class EnumerableOwnPropertyNamesNode extends JavaScriptBaseNode
     private final JSContext context;
     @Child private JSGetOwnPropertyNode getOwnPropertyNode;
     private final ConditionProfile hasFastShapesProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile sameShapeProfile = ConditionProfile.createBinaryProfile();
     private final BranchProfile growProfile = BranchProfile.create();
 
     protected EnumerableOwnPropertyNamesNode(JSContext context, boolean keys, boolean values) {
@@ -99,10 +104,17 @@ public abstract class EnumerableOwnPropertyNamesNode extends JavaScriptBaseNode
                     @Cached JSClassProfile jsclassProfile,
                     @Cached ListSizeNode listSize,
                     @Cached ListGetNode listGet,
-                    @Cached HasOnlyShapePropertiesNode hasOnlyShapeProperties) {
+                    @Cached HasOnlyShapePropertiesNode hasOnlyShapeProperties,
+                    @Cached GetEnumCacheNode getEnumCache) {
         JSClass jsclass = jsclassProfile.getJSClass(thisObj);
-        if (hasFastShapesProfile.profile(keys && !values && JSConfig.FastOwnKeys && hasOnlyShapeProperties.execute(thisObj, jsclass))) {
-            return JSShape.getEnumerablePropertyNames(thisObj.getShape());
+        if (hasFastShapesProfile.profile(JSConfig.FastOwnKeys && hasOnlyShapeProperties.execute(thisObj, jsclass))) {
+            Shape shape = thisObj.getShape();
+            EnumCache enumCache = getEnumCache.execute(shape);
+            if (keys && !values) {
+                return enumCache.getKeyList();
+            } else {
+                return enumerableOwnPropertyValues(thisObj, shape, enumCache);
+            }
         } else {
             boolean isProxy = JSProxy.isProxy(thisObj);
             List<Object> ownKeys = jsclass.ownPropertyKeys(thisObj);
@@ -133,6 +145,32 @@ public abstract class EnumerableOwnPropertyNamesNode extends JavaScriptBaseNode
         }
     }
 
+    /**
+     * Collects values or entries using the properties of the enum cache. As long as the shape is
+     * unchanged, property values can be read directly; once a getter has modified the object, the
+     * remaining properties need to be looked up again.
+     */
+    private UnmodifiableArrayList<? extends Object> enumerableOwnPropertyValues(DynamicObject thisObj, Shape shape, EnumCache enumCache) {
+        Property[] properties = enumCache.getProperties();
+        Object[] keyArray = enumCache.getKeys();
+        SimpleArrayList<Object> elements = SimpleArrayList.create(properties.length);
+        for (int i = 0; i < properties.length; i++) {
+            String key = (String) keyArray[i];
+            Object value;
+            if (sameShapeProfile.profile(thisObj.getShape() == shape)) {
+                value = JSProperty.getValue(properties[i], thisObj, thisObj, false);
+            } else {
+                PropertyDescriptor desc = getOwnProperty(thisObj, key);
+                if (desc == null || !desc.getEnumerable()) {
+                    continue;
+                }
+                value = desc.isAccessorDescriptor() ? JSObject.get(thisObj, key) : desc.getValue();
+            }
+            elements.add(keys ? JSArray.createConstant(context, new Object[]{key, value}) : value, growProfile);
+        }
+        return new UnmodifiableArrayList<>(elements.toArray());
+    }
+
     protected PropertyDescriptor getOwnProperty(DynamicObject thisObj, Object key) {
         if (getOwnPropertyNode == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -59,6 +59,7 @@ import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.java.JavaImporter;
 import com.oracle.truffle.js.runtime.java.JavaPackage;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
 
 /**
@@ -231,6 +232,10 @@ public class HasPropertyCacheNode extends PropertyCacheNode<HasPropertyCacheNode
         protected boolean hasProperty(Object thisObj, HasPropertyCacheNode root) {
             if (JSObject.isJSObject(thisObj)) {
                 Object key = root.getKey();
+                Object cached = hasInMegamorphicCache(root.getContext(), (DynamicObject) thisObj, key, root.isOwnProperty());
+                if (cached != MegamorphicPropertyCache.NOT_CACHED) {
+                    return (boolean) cached;
+                }
                 if (root.isOwnProperty()) {
                     return JSObject.hasOwnProperty((DynamicObject) thisObj, key, jsclassProfile);
                 } else {
@@ -248,6 +253,23 @@ public class HasPropertyCacheNode extends PropertyCacheNode<HasPropertyCacheNode
         }
     }
 
+    /**
+     * Returns whether the object has the property, or {@link MegamorphicPropertyCache#NOT_CACHED}
+     * if the lookup cannot be served by the megamorphic property cache.
+     */
+    @TruffleBoundary
+    static Object hasInMegamorphicCache(JSContext context, DynamicObject object, Object key, boolean ownProperty) {
+        MegamorphicPropertyCache cache = context.getMegamorphicPropertyCache();
+        if (cache == null) {
+            return MegamorphicPropertyCache.NOT_CACHED;
+        }
+        MegamorphicPropertyCache.Entry entry = cache.lookup(object, key);
+        if (entry == null) {
+            return MegamorphicPropertyCache.NOT_CACHED;
+        }
+        return ownProperty ? entry.isOwnProperty() : entry.getProperty() != null;
+    }
+
     public static final class ForeignHasPropertyCacheNode extends LinkedHasPropertyCacheNode {
         @Child private InteropLibrary interop;
 
@@ -108,6 +108,7 @@ import com.oracle.truffle.js.runtime.objects.Accessor;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
@@ -1157,8 +1158,11 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
                 throw Errors.createTypeErrorCannotGetProperty(root.getContext(), key, object, isMethod, this);
             }
 
-            // 1. try to get a JS property
-            Object value = isMethod ? jsclass.getMethodHelper(object, receiver, key) : jsclass.getHelper(object, receiver, key);
+            // 1. try to get a JS property, from the megamorphic property cache if possible
+            Object value = getFromMegamorphicCache(root.getContext(), object, receiver, key);
+            if (value == MegamorphicPropertyCache.NOT_CACHED) {
+                value = isMethod ? jsclass.getMethodHelper(object, receiver, key) : jsclass.getHelper(object, receiver, key);
+            }
             if (value != null) {
                 return value;
             }
@@ -1168,6 +1172,27 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             return getNoSuchProperty(object, defaultValue, root);
         }
 
+        /**
+         * Returns the value of the property, {@code null} if it is absent, or
+         * {@link MegamorphicPropertyCache#NOT_CACHED} if the lookup cannot be served by the cache.
+         */
+        @TruffleBoundary
+        private static Object getFromMegamorphicCache(JSContext context, DynamicObject object, Object receiver, Object key) {
+            MegamorphicPropertyCache cache = context.getMegamorphicPropertyCache();
+            if (cache == null) {
+                return MegamorphicPropertyCache.NOT_CACHED;
+            }
+            MegamorphicPropertyCache.Entry entry = cache.lookup(object, key);
+            if (entry == null) {
+                return MegamorphicPropertyCache.NOT_CACHED;
+            }
+            Property property = entry.getProperty();
+            if (property == null) {
+                return null;
+            }
+            return JSProperty.getValue(property, entry.getStore(object), receiver, false);
+        }
+
         protected Object getNoSuchProperty(DynamicObject thisObj, Object defaultValue, PropertyGetNode root) {
             if (root.getContext().isOptionNashornCompatibilityMode() &&
                             (!root.getContext().getNoSuchPropertyUnusedAssumption().isValid() || (root.isMethod() && !root.getContext().getNoSuchMethodUnusedAssumption().isValid()))) {
@@ -87,6 +87,7 @@ import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.objects.Accessor;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
@@ -1030,11 +1031,33 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
                 } else {
                     JSObject.defineOwnProperty(thisJSObj, key, PropertyDescriptor.createData(value, root.getAttributeFlags()), root.isStrict());
                 }
-            } else {
+            } else if (!setInMegamorphicCache(root.getContext(), thisJSObj, key, value, receiver, root.isStrict())) {
                 JSObject.setWithReceiver(thisJSObj, key, value, receiver, root.isStrict(), jsclassProfile);
             }
         }
 
+        /**
+         * Sets own properties and invokes inherited setters found through the megamorphic property
+         * cache. Returns {@code false} if the assignment has to be done generically.
+         */
+        @TruffleBoundary
+        private static boolean setInMegamorphicCache(JSContext context, DynamicObject object, Object key, Object value, Object receiver, boolean isStrict) {
+            MegamorphicPropertyCache cache = context.getMegamorphicPropertyCache();
+            if (cache == null || receiver != object) {
+                return false;
+            }
+            MegamorphicPropertyCache.Entry entry = cache.lookup(object, key);
+            if (entry == null || entry.getProperty() == null) {
+                return false;
+            }
+            Property property = entry.getProperty();
+            if (entry.isOwnProperty() || JSProperty.isAccessor(property)) {
+                JSProperty.setValue(property, entry.getStore(object), receiver, value, isStrict);
+                return true;
+            }
+            return false;
+        }
+
         @Override
         protected boolean setValueInt(Object thisObj, int value, Object receiver, PropertySetNode root, boolean guard) {
             return setValue(thisObj, value, receiver, root, guard);
@@ -161,7 +161,12 @@ public abstract class JSAddNode extends JSBinaryNode implements Truncatable {
         return a + b;
     }
 
-    @Specialization
+    @Specialization(guards = {"left.fitsInLong()", "right.fitsInLong()"}, rewriteOn = ArithmeticException.class)
+    protected static BigInt doBigIntLong(BigInt left, BigInt right) {
+        return BigInt.valueOf(Math.addExact(left.longValue(), right.longValue()));
+    }
+
+    @Specialization(replaces = "doBigIntLong")
     protected BigInt doBigInt(BigInt left, BigInt right) {
         return left.add(right);
     }
@@ -197,7 +202,7 @@ public abstract class JSAddNode extends JSBinaryNode implements Truncatable {
     }
 
     @Specialization(replaces = {"doInt", "doIntOverflow", "doIntTruncate", "doSafeInteger", "doIntSafeInteger", "doSafeIntegerInt",
-                    "doDouble", "doBigInt", "doString", "doStringInt", "doIntString", "doStringNumber", "doNumberString"})
+                    "doDouble", "doBigIntLong", "doBigInt", "doString", "doStringInt", "doIntString", "doStringNumber", "doNumberString"})
     protected Object doPrimitiveConversion(Object a, Object b,
                     @Cached("createHintNone()") JSToPrimitiveNode toPrimitiveA,
                     @Cached("createHintNone()") JSToPrimitiveNode toPrimitiveB,
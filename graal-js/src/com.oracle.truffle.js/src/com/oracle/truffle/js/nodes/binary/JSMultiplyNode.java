@@ -113,7 +113,12 @@ public abstract class JSMultiplyNode extends JSBinaryNode {
         return a * b;
     }
 
-    @Specialization
+    @Specialization(guards = {"a.fitsInLong()", "b.fitsInLong()"}, rewriteOn = ArithmeticException.class)
+    protected static BigInt doBigIntLongs(BigInt a, BigInt b) {
+        return BigInt.valueOf(Math.multiplyExact(a.longValue(), b.longValue()));
+    }
+
+    @Specialization(replaces = "doBigIntLongs")
     @TruffleBoundary
     protected BigInt doBigInts(BigInt a, BigInt b) {
         try {
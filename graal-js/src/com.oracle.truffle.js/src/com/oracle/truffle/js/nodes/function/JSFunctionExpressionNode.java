@@ -54,6 +54,7 @@ import com.oracle.truffle.js.nodes.instrumentation.JSTags.LiteralTag;
 import com.oracle.truffle.js.nodes.instrumentation.NodeObjectDescriptor;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
@@ -114,7 +115,11 @@ public abstract class JSFunctionExpressionNode extends JavaScriptNode implements
         if (JSConfig.LazyFunctionData && !materializedTags.isEmpty()) {
             // when instruments require the materialization of function expression nodes, we force
             // initialization.
-            functionData.materialize();
+            try {
+                functionData.materialize();
+            } catch (JSException e) {
+                // syntax error in a lazily parsed function body, thrown again when it is called
+            }
         }
         return this;
     }
@@ -54,30 +54,52 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.truffleinterop.JSMetaType;
 
+/**
+ * JavaScript BigInt value.
+ *
+ * Values that fit into a signed 64-bit {@code long} are stored inline in {@link #smallValue}
+ * (with {@link #value} being {@code null}); only larger values are backed by a
+ * {@link BigInteger}. The representation is normalized, i.e., a {@link BigInteger} is never used
+ * for a value that fits into a {@code long}, so {@link #fitsInLong()} is a simple field check.
+ */
 @ExportLibrary(InteropLibrary.class)
 @ValueType
 public final class BigInt implements Comparable<BigInt>, TruffleObject {
 
     static final long serialVersionUID = 6019523258212492110L;
 
+    /** Large value, or {@code null} if the value is stored in {@link #smallValue}. */
     private final BigInteger value;
+    private final long smallValue;
 
-    public static final BigInt ZERO = new BigInt(BigInteger.ZERO);
-    public static final BigInt ONE = new BigInt(BigInteger.ONE);
-    public static final BigInt NEGATIVE_ONE = new BigInt(BigInteger.valueOf(-1));
-    public static final BigInt TWO = new BigInt(BigInteger.valueOf(2));
+    public static final BigInt ZERO = new BigInt(0L);
+    public static final BigInt ONE = new BigInt(1L);
+    public static final BigInt NEGATIVE_ONE = new BigInt(-1L);
+    public static final BigInt TWO = new BigInt(2L);
 
-    public static final BigInt MAX_INT = new BigInt(BigInteger.valueOf(Integer.MAX_VALUE));
-    public static final BigInt MIN_INT = new BigInt(BigInteger.valueOf(Integer.MIN_VALUE));
+    public static final BigInt MAX_INT = new BigInt(Integer.MAX_VALUE);
+    public static final BigInt MIN_INT = new BigInt(Integer.MIN_VALUE);
 
     private static final BigInteger TWO64 = BigInteger.ONE.shiftLeft(64);
 
     public BigInt(String s, int r) {
-        this.value = new BigInteger(s, r);
+        this(new BigInteger(s, r));
     }
 
+    @TruffleBoundary
     public BigInt(BigInteger v) {
-        this.value = v;
+        if (v.bitLength() < Long.SIZE) {
+            this.value = null;
+            this.smallValue = v.longValue();
+        } else {
+            this.value = v;
+            this.smallValue = 0;
+        }
+    }
+
+    private BigInt(long v) {
+        this.value = null;
+        this.smallValue = v;
     }
 
     @TruffleBoundary
@@ -96,20 +118,23 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         return new BigInt(parseBigInteger(s));
     }
 
-    @TruffleBoundary
     public static BigInt valueOf(long i) {
-        return new BigInt(BigInteger.valueOf(i));
+        return new BigInt(i);
     }
 
-    @TruffleBoundary
     public static BigInt valueOfUnsigned(long i) {
         if (i >= 0) {
-            return new BigInt(BigInteger.valueOf(i));
+            return new BigInt(i);
         } else {
-            return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+            return valueOfUnsignedSlow(i);
         }
     }
 
+    @TruffleBoundary
+    private static BigInt valueOfUnsignedSlow(long i) {
+        return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+    }
+
     @TruffleBoundary
     private static BigInteger parseBigInteger(final String valueString) {
 
@@ -141,49 +166,101 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         return new BigInteger(trimmedString, 10);
     }
 
+    private boolean isSmall() {
+        return value == null;
+    }
+
+    /**
+     * Returns the value as a {@link BigInteger}; allocates for values stored inline.
+     */
     @TruffleBoundary
+    private BigInteger big() {
+        return isSmall() ? BigInteger.valueOf(smallValue) : value;
+    }
+
     public int intValue() {
-        return value.intValue();
+        if (isSmall()) {
+            return (int) smallValue;
+        }
+        return intValueSlow();
     }
 
     @TruffleBoundary
+    private int intValueSlow() {
+        return value.intValue();
+    }
+
     public double doubleValue() {
+        if (isSmall()) {
+            return (double) smallValue;
+        }
+        return doubleValueSlow();
+    }
+
+    @TruffleBoundary
+    private double doubleValueSlow() {
         return value.doubleValue();
     }
 
     public BigInteger bigIntegerValue() {
-        return value;
+        return big();
     }
 
-    @TruffleBoundary
     public BigInt toBigInt64() {
-        return valueOf(value.longValue());
+        if (isSmall()) {
+            return this;
+        }
+        return valueOf(longValueSlow());
     }
 
-    @TruffleBoundary
     public BigInt toBigUint64() {
-        return new BigInt(value.mod(TWO64));
+        if (isSmall() && smallValue >= 0) {
+            return this;
+        }
+        return toBigUint64Slow();
     }
 
     @TruffleBoundary
-    public BigInt pow(int e) {
-        return new BigInt(value.pow(e));
+    private BigInt toBigUint64Slow() {
+        return new BigInt(big().mod(TWO64));
     }
 
     @TruffleBoundary
+    public BigInt pow(int e) {
+        return new BigInt(big().pow(e));
+    }
+
     public BigInt mod(BigInt m) {
-        return new BigInt(value.mod(m.value));
+        if (isSmall() && m.isSmall() && m.smallValue > 0) {
+            return new BigInt(Math.floorMod(smallValue, m.smallValue));
+        }
+        return modSlow(m);
     }
 
-    @Override
     @TruffleBoundary
+    private BigInt modSlow(BigInt m) {
+        return new BigInt(big().mod(m.big()));
+    }
+
+    @Override
     public int compareTo(BigInt b) {
-        return value.compareTo(b.value);
+        if (isSmall() && b.isSmall()) {
+            return Long.compare(smallValue, b.smallValue);
+        }
+        return compareToSlow(b);
     }
 
     @TruffleBoundary
+    private int compareToSlow(BigInt b) {
+        return big().compareTo(b.big());
+    }
+
     public int compareValueTo(long b) {
-        return value.compareTo(BigInteger.valueOf(b));
+        if (isSmall()) {
+            return Long.compare(smallValue, b);
+        }
+        // a normalized large value is outside of the long range
+        return value.signum();
     }
 
     @TruffleBoundary
@@ -196,133 +273,247 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         } else if (b == Double.NEGATIVE_INFINITY) {
             return 1;
         } else {
-            BigDecimal thisValue = new BigDecimal(value);
+            BigDecimal thisValue = new BigDecimal(big());
             BigDecimal theOtherValue = new BigDecimal(b);
             return thisValue.compareTo(theOtherValue);
         }
     }
 
-    @TruffleBoundary
     public BigInt subtract(BigInt b) {
-        return new BigInt(value.subtract(b.value));
+        if (isSmall() && b.isSmall()) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long r = x - y;
+            if (((x ^ y) & (x ^ r)) >= 0) {
+                return new BigInt(r);
+            }
+        }
+        return subtractSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt subtractSlow(BigInt b) {
+        return new BigInt(big().subtract(b.big()));
+    }
+
     public BigInt add(BigInt b) {
-        return new BigInt(value.add(b.value));
+        if (isSmall() && b.isSmall()) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long r = x + y;
+            if (((x ^ r) & (y ^ r)) >= 0) {
+                return new BigInt(r);
+            }
+        }
+        return addSlow(b);
     }
 
     @TruffleBoundary
-    public String toString(int radix) {
-        return value.toString(radix);
+    private BigInt addSlow(BigInt b) {
+        return new BigInt(big().add(b.big()));
     }
 
     @TruffleBoundary
+    public String toString(int radix) {
+        return isSmall() ? Long.toString(smallValue, radix) : value.toString(radix);
+    }
+
     public boolean testBit(int n) {
-        return value.testBit(n);
+        if (isSmall() && n >= 0) {
+            return ((smallValue >> Math.min(n, Long.SIZE - 1)) & 1) != 0;
+        }
+        return testBitSlow(n);
+    }
+
+    @TruffleBoundary
+    private boolean testBitSlow(int n) {
+        return big().testBit(n);
     }
 
-    @TruffleBoundary(allowInlining = true)
     public int signum() {
+        if (isSmall()) {
+            return Long.signum(smallValue);
+        }
         return value.signum();
     }
 
-    @TruffleBoundary
     public BigInt negate() {
-        return new BigInt(value.negate());
+        if (isSmall() && smallValue != Long.MIN_VALUE) {
+            return new BigInt(-smallValue);
+        }
+        return negateSlow();
     }
 
     @TruffleBoundary
+    private BigInt negateSlow() {
+        return new BigInt(big().negate());
+    }
+
     public BigInt not() {
+        if (isSmall()) {
+            return new BigInt(~smallValue);
+        }
+        return notSlow();
+    }
+
+    @TruffleBoundary
+    private BigInt notSlow() {
         return new BigInt(value.not());
     }
 
     @Override
-    @TruffleBoundary
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((value == null) ? 0 : value.hashCode());
-        return result;
+        // the representation is normalized, so equal values always use the same representation
+        if (isSmall()) {
+            return Long.hashCode(smallValue);
+        }
+        return hashCodeSlow();
     }
 
-    @Override
     @TruffleBoundary
+    private int hashCodeSlow() {
+        return value.hashCode();
+    }
+
+    @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
-            return false;
-        }
-        if (getClass() != obj.getClass()) {
+        if (!(obj instanceof BigInt)) {
             return false;
         }
         BigInt other = (BigInt) obj;
-        if (value == null) {
-            if (other.value != null) {
-                return false;
-            }
-        } else if (!value.equals(other.value)) {
-            return false;
+        if (isSmall() || other.isSmall()) {
+            return isSmall() == other.isSmall() && smallValue == other.smallValue;
         }
-        return true;
+        return equalsSlow(other);
     }
 
     @TruffleBoundary
+    private boolean equalsSlow(BigInt other) {
+        return value.equals(other.value);
+    }
+
     public BigInt and(BigInt b) {
-        return new BigInt(value.and(b.value));
+        if (isSmall() && b.isSmall()) {
+            return new BigInt(smallValue & b.smallValue);
+        }
+        return andSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt andSlow(BigInt b) {
+        return new BigInt(big().and(b.big()));
+    }
+
     public BigInt or(BigInt b) {
-        return new BigInt(value.or(b.value));
+        if (isSmall() && b.isSmall()) {
+            return new BigInt(smallValue | b.smallValue);
+        }
+        return orSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt orSlow(BigInt b) {
+        return new BigInt(big().or(b.big()));
+    }
+
     public BigInt xor(BigInt b) {
-        return new BigInt(value.xor(b.value));
+        if (isSmall() && b.isSmall()) {
+            return new BigInt(smallValue ^ b.smallValue);
+        }
+        return xorSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt xorSlow(BigInt b) {
+        return new BigInt(big().xor(b.big()));
+    }
+
     public BigInt multiply(BigInt b) {
-        return new BigInt(value.multiply(b.value));
+        if (isSmall() && b.isSmall() && JSRuntime.longIsRepresentableAsInt(smallValue) && JSRuntime.longIsRepresentableAsInt(b.smallValue)) {
+            // the product of two 32-bit values always fits into 64 bits
+            return new BigInt(smallValue * b.smallValue);
+        }
+        return multiplySlow(b);
     }
 
     @TruffleBoundary
+    private BigInt multiplySlow(BigInt b) {
+        return new BigInt(big().multiply(b.big()));
+    }
+
     public BigInt divide(BigInt b) {
-        return new BigInt(value.divide(b.value));
+        if (isSmall() && b.isSmall() && b.smallValue != 0 && !(smallValue == Long.MIN_VALUE && b.smallValue == -1)) {
+            return new BigInt(smallValue / b.smallValue);
+        }
+        return divideSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt divideSlow(BigInt b) {
+        return new BigInt(big().divide(b.big()));
+    }
+
     public BigInt remainder(BigInt b) {
-        return new BigInt(value.remainder(b.value));
+        if (isSmall() && b.isSmall() && b.smallValue != 0) {
+            // Long.MIN_VALUE % -1 == 0, consistent with BigInteger.remainder
+            return new BigInt(smallValue % b.smallValue);
+        }
+        return remainderSlow(b);
     }
 
     @TruffleBoundary
-    public BigInt shiftLeft(int b) {
-        return new BigInt(value.shiftLeft(b));
+    private BigInt remainderSlow(BigInt b) {
+        return new BigInt(big().remainder(b.big()));
     }
 
     @TruffleBoundary
+    public BigInt shiftLeft(int b) {
+        return new BigInt(big().shiftLeft(b));
+    }
+
     public BigInt shiftRight(int b) {
-        return new BigInt(value.shiftRight(b));
+        if (isSmall() && b >= 0) {
+            return new BigInt(smallValue >> Math.min(b, Long.SIZE - 1));
+        }
+        return shiftRightSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt shiftRightSlow(int b) {
+        return new BigInt(big().shiftRight(b));
+    }
+
     public long longValueExact() {
-        return value.longValueExact();
+        if (isSmall()) {
+            return smallValue;
+        }
+        return longValueExactSlow();
     }
 
     @TruffleBoundary
+    private long longValueExactSlow() {
+        return value.longValueExact();
+    }
+
     public long longValue() {
+        if (isSmall()) {
+            return smallValue;
+        }
+        return longValueSlow();
+    }
+
+    @TruffleBoundary
+    private long longValueSlow() {
         return value.longValue();
     }
 
     @Override
     @TruffleBoundary
     public String toString() {
-        return value.toString(10);
+        return toString(10);
     }
 
     @ExportMessage
@@ -331,93 +522,87 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInByte() {
-        return value.bitLength() < Byte.SIZE;
+        return isSmall() && smallValue == (byte) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInShort() {
-        return value.bitLength() < Short.SIZE;
+        return isSmall() && smallValue == (short) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInInt() {
-        return value.bitLength() < Integer.SIZE;
+        return isSmall() && smallValue == (int) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     public boolean fitsInLong() {
-        return value.bitLength() < Long.SIZE;
+        return isSmall();
     }
 
     @ExportMessage
     @TruffleBoundary
     boolean fitsInDouble() {
-        if (value.bitLength() <= 53) { // 53 = size of double mantissa + 1
-            return true;
+        if (isSmall() && Math.abs(smallValue) <= JSRuntime.MAX_SAFE_INTEGER_LONG + 1) {
+            return true; // |value| <= 2^53 is exactly representable
         } else {
-            double doubleValue = value.doubleValue();
+            BigInteger bigValue = big();
+            double doubleValue = bigValue.doubleValue();
             if (!Double.isFinite(doubleValue)) {
                 return false;
             }
-            return new BigDecimal(doubleValue).toBigIntegerExact().equals(value);
+            return new BigDecimal(doubleValue).toBigIntegerExact().equals(bigValue);
         }
     }
 
     @ExportMessage
     @TruffleBoundary
     boolean fitsInFloat() {
-        if (value.bitLength() <= 24) { // 24 = size of float mantissa + 1
+        BigInteger bigValue = big();
+        if (bigValue.bitLength() <= 24) { // 24 = size of float mantissa + 1
             return true;
         } else {
-            float floatValue = value.floatValue();
+            float floatValue = bigValue.floatValue();
             if (!Float.isFinite(floatValue)) {
                 return false;
             }
-            return new BigDecimal(floatValue).toBigIntegerExact().equals(value);
+            return new BigDecimal(floatValue).toBigIntegerExact().equals(bigValue);
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     byte asByte() throws UnsupportedMessageException {
-        try {
-            return value.byteValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInByte()) {
+            return (byte) smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     short asShort() throws UnsupportedMessageException {
-        try {
-            return value.shortValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInShort()) {
+            return (short) smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     int asInt() throws UnsupportedMessageException {
-        try {
-            return value.intValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInInt()) {
+            return (int) smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     long asLong() throws UnsupportedMessageException {
-        try {
-            return longValueExact();
-        } catch (ArithmeticException e) {
+        if (fitsInLong()) {
+            return smallValue;
+        } else {
             throw UnsupportedMessageException.create();
         }
     }
@@ -426,7 +611,7 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
     @TruffleBoundary
     float asFloat() throws UnsupportedMessageException {
         if (fitsInFloat()) {
-            return value.floatValue();
+            return big().floatValue();
         } else {
             throw UnsupportedMessageException.create();
         }
@@ -436,7 +621,7 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
     @TruffleBoundary
     double asDouble() throws UnsupportedMessageException {
         if (fitsInDouble()) {
-            return value.doubleValue();
+            return doubleValue();
         } else {
             throw UnsupportedMessageException.create();
         }
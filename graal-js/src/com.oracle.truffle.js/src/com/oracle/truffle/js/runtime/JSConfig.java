@@ -80,6 +80,10 @@ public final class JSConfig {
 
     // Inline Cache options
     public static final int PropertyCacheLimit = 5;
+    /** Context-wide stub cache consulted by megamorphic property accesses. */
+    public static final boolean MegamorphicPropertyCache = true;
+    /** Number of entries of the megamorphic property cache; must be a power of 2. */
+    public static final int MegamorphicPropertyCacheSize = 1024;
     public static final int FunctionCacheLimit = 4;
     public static final boolean AssertFinalPropertySpecialization = false;
     /** Try to cache by function object instead of call target. */
@@ -110,6 +114,10 @@ public final class JSConfig {
     // Regex options
     public static final int MaxCompiledRegexCacheLength = 4;
     public static final boolean TrimCompiledRegexCache = true;
+    public static final int RegexCacheSize = 256;
+
+    // Intl options
+    public static final int IntlObjectCacheSize = 32;
 
     // Runtime options
     public static final boolean RestrictForceSplittingBuiltins = true;
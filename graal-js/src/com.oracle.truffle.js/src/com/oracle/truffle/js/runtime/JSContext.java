@@ -71,6 +71,7 @@ import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
 import com.oracle.truffle.js.runtime.array.TypedArray;
@@ -126,12 +127,16 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSPrototypeData;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.JSShapeData;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.AllocationSampler;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
 import com.oracle.truffle.js.runtime.util.CompilableFunction;
+import com.oracle.truffle.js.runtime.util.CompiledRegexCache;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.LRUCache;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
@@ -304,6 +309,11 @@ public class JSContext {
 
     private Map<Shape, JSShapeData> shapeDataMap;
 
+    private final MegamorphicPropertyCache megamorphicPropertyCache;
+    private final CompiledRegexCache compiledRegexCache;
+    private final LRUCache<Object, ScriptNode> evalCache;
+    private final AllocationSampler allocationSampler;
+
     final Assumption noChildRealmsAssumption;
     private final Assumption singleRealmAssumption;
     private final boolean isMultiContext;
@@ -444,6 +454,13 @@ public class JSContext {
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
         this.noChildRealmsAssumption = Truffle.getRuntime().createAssumption("no child realms");
+        this.megamorphicPropertyCache = JSConfig.MegamorphicPropertyCache ? new MegamorphicPropertyCache(this, JSConfig.MegamorphicPropertyCacheSize) : null;
+        int regexCacheSize = contextOptions.getRegexCacheSize();
+        this.compiledRegexCache = regexCacheSize > 0 ? new CompiledRegexCache(regexCacheSize, createRegexEngineOptions(contextOptions)) : null;
+        int evalCacheSize = contextOptions.getEvalCacheSize();
+        this.evalCache = evalCacheSize > 0 ? new LRUCache<>(evalCacheSize) : null;
+        int allocationSamplingInterval = contextOptions.getAllocationSamplingInterval();
+        this.allocationSampler = allocationSamplingInterval > 0 ? new AllocationSampler(allocationSamplingInterval) : null;
 
         this.throwerFunctionData = throwTypeErrorFunction();
         boolean annexB = isOptionAnnexB();
@@ -1006,6 +1023,35 @@ public class JSContext {
         return map;
     }
 
+    /**
+     * Stub cache used by megamorphic property accesses, or {@code null} if disabled.
+     */
+    public MegamorphicPropertyCache getMegamorphicPropertyCache() {
+        return megamorphicPropertyCache;
+    }
+
+    /**
+     * LRU cache of compiled regular expressions, or {@code null} if disabled.
+     */
+    public CompiledRegexCache getCompiledRegexCache() {
+        return compiledRegexCache;
+    }
+
+    /**
+     * Allocation site sampler, or {@code null} if allocation sampling is disabled.
+     */
+    public AllocationSampler getAllocationSampler() {
+        return allocationSampler;
+    }
+
+    /**
+     * Cache of translated eval scripts, or {@code null} if disabled. Callers synchronize on the
+     * cache.
+     */
+    public LRUCache<Object, ScriptNode> getEvalCache() {
+        return evalCache;
+    }
+
     private Map<Shape, JSShapeData> createShapeDataMap() {
         CompilerAsserts.neverPartOfCompilation();
         Map<Shape, JSShapeData> map = new WeakHashMap<>();
@@ -45,6 +45,7 @@ import java.time.ZoneId;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -63,6 +64,7 @@ import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.Option;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 import com.oracle.truffle.api.utilities.CyclicAssumption;
+import com.oracle.truffle.js.runtime.util.AsyncOutput;
 
 public final class JSContextOptions {
 
@@ -405,6 +407,16 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> FUNCTION_CONSTRUCTOR_CACHE_SIZE = new OptionKey<>(32);
     @CompilationFinal private int functionConstructorCacheSize;
 
+    public static final String EVAL_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "eval-cache-size";
+    @Option(name = EVAL_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum size of the parsing cache used by eval to avoid re-parsing known sources (0 disables the cache).") //
+    public static final OptionKey<Integer> EVAL_CACHE_SIZE = new OptionKey<>(32);
+    @CompilationFinal private int evalCacheSize;
+
+    public static final String ALLOCATION_SAMPLING_INTERVAL_NAME = JS_OPTION_PREFIX + "allocation-sampling-interval";
+    @Option(name = ALLOCATION_SAMPLING_INTERVAL_NAME, category = OptionCategory.EXPERT, help = "Record every n-th object allocated by object and array literals and constructors per allocation site (0 disables sampling).") //
+    public static final OptionKey<Integer> ALLOCATION_SAMPLING_INTERVAL = new OptionKey<>(0);
+    @CompilationFinal private int allocationSamplingInterval;
+
     public static final String STRING_LENGTH_LIMIT_NAME = JS_OPTION_PREFIX + "string-length-limit";
     @Option(name = STRING_LENGTH_LIMIT_NAME, category = OptionCategory.EXPERT, help = "Maximum string length.") //
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
@@ -447,6 +459,16 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> LAZY_TRANSLATION = new OptionKey<>(false);
     @CompilationFinal private boolean lazyTranslation;
 
+    public static final String LAZY_PARSING_NAME = JS_OPTION_PREFIX + "lazy-parsing";
+    @Option(name = LAZY_PARSING_NAME, category = OptionCategory.EXPERT, help = "Skip bodies of nested functions and parse them on first invocation, reporting syntax errors in them only then.") //
+    public static final OptionKey<Boolean> LAZY_PARSING = new OptionKey<>(false);
+    @CompilationFinal private boolean lazyParsing;
+
+    public static final String LAZY_BUILTINS_NAME = JS_OPTION_PREFIX + "lazy-builtins";
+    @Option(name = LAZY_BUILTINS_NAME, category = OptionCategory.EXPERT, help = "Create rarely used global builtins (e.g. typed arrays, Intl, Proxy) on first access.") //
+    public static final OptionKey<Boolean> LAZY_BUILTINS = new OptionKey<>(true);
+    @CompilationFinal private boolean lazyBuiltins;
+
     public static final String MAX_TYPED_ARRAY_LENGTH_NAME = JS_OPTION_PREFIX + "max-typed-array-length";
     @Option(name = MAX_TYPED_ARRAY_LENGTH_NAME, category = OptionCategory.EXPERT, help = "Maximum allowed length for TypedArrays.") //
     public static final OptionKey<Integer> MAX_TYPED_ARRAY_LENGTH = new OptionKey<>(JSConfig.MaxTypedArrayLength);
@@ -477,6 +499,49 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> FUNCTION_CACHE_LIMIT = new OptionKey<>(JSConfig.FunctionCacheLimit);
     @CompilationFinal private int functionCacheLimit;
 
+    public static final String REGEX_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "regex-cache-size";
+    @Option(name = REGEX_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum number of compiled regular expressions kept in the context-wide cache (0 disables the cache).") //
+    public static final OptionKey<Integer> REGEX_CACHE_SIZE = new OptionKey<>(JSConfig.RegexCacheSize);
+    @CompilationFinal private int regexCacheSize;
+
+    public static final String SNAPSHOT_CACHE_NAME = JS_OPTION_PREFIX + "snapshot-cache";
+    @Option(name = SNAPSHOT_CACHE_NAME, category = OptionCategory.EXPERT, help = "Directory used to store and load binary snapshots of large scripts.") //
+    public static final OptionKey<String> SNAPSHOT_CACHE = new OptionKey<>("");
+
+    public static final String SNAPSHOT_CACHE_MIN_SIZE_NAME = JS_OPTION_PREFIX + "snapshot-cache-min-size";
+    @Option(name = SNAPSHOT_CACHE_MIN_SIZE_NAME, category = OptionCategory.EXPERT, help = "Minimum length of a script (in characters) to be stored in the snapshot cache.") //
+    public static final OptionKey<Integer> SNAPSHOT_CACHE_MIN_SIZE = new OptionKey<>(64 * 1024);
+
+    public static final String JSON_STRINGIFY_STREAM_NAME = JS_OPTION_PREFIX + "json-stringify-stream";
+    @Option(name = JSON_STRINGIFY_STREAM_NAME, category = OptionCategory.EXPERT, help = "Provide JSON.stringifyStream(writer, value, replacer, space) that passes the result to a writer in chunks.") //
+    public static final OptionKey<Boolean> JSON_STRINGIFY_STREAM = new OptionKey<>(false);
+
+    public static final String CONSOLE_ASYNC_NAME = JS_OPTION_PREFIX + "console-async";
+    @Option(name = CONSOLE_ASYNC_NAME, category = OptionCategory.EXPERT, help = "Write console and print output on a background thread.") //
+    public static final OptionKey<Boolean> CONSOLE_ASYNC = new OptionKey<>(false);
+
+    public static final String CONSOLE_ASYNC_BUFFER_SIZE_NAME = JS_OPTION_PREFIX + "console-async-buffer-size";
+    @Option(name = CONSOLE_ASYNC_BUFFER_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum number of pending writes buffered by the asynchronous console output.") //
+    public static final OptionKey<Integer> CONSOLE_ASYNC_BUFFER_SIZE = new OptionKey<>(4096);
+
+    public static final String CONSOLE_ASYNC_FLUSH_INTERVAL_NAME = JS_OPTION_PREFIX + "console-async-flush-interval";
+    @Option(name = CONSOLE_ASYNC_FLUSH_INTERVAL_NAME, category = OptionCategory.EXPERT, help = "Interval (in milliseconds) in which the asynchronous console output is flushed.") //
+    public static final OptionKey<Long> CONSOLE_ASYNC_FLUSH_INTERVAL = new OptionKey<>(100L);
+
+    public static final String CONSOLE_ASYNC_OVERFLOW_NAME = JS_OPTION_PREFIX + "console-async-overflow";
+    @Option(name = CONSOLE_ASYNC_OVERFLOW_NAME, category = OptionCategory.EXPERT, help = "Behavior when the asynchronous console output buffer is full: 'block' or 'drop'.") //
+    public static final OptionKey<AsyncOutput.OverflowPolicy> CONSOLE_ASYNC_OVERFLOW = new OptionKey<>(AsyncOutput.OverflowPolicy.BLOCK,
+                    new OptionType<>("block|drop", new Function<String, AsyncOutput.OverflowPolicy>() {
+                        @Override
+                        public AsyncOutput.OverflowPolicy apply(String policy) {
+                            try {
+                                return AsyncOutput.OverflowPolicy.valueOf(policy.toUpperCase(Locale.ROOT));
+                            } catch (IllegalArgumentException e) {
+                                throw new IllegalArgumentException("Supported values are 'block' and 'drop'.", e);
+                            }
+                        }
+                    }));
+
     JSContextOptions(JSParserOptions parserOptions, OptionValues optionValues) {
         this.parserOptions = parserOptions;
         this.optionValues = optionValues;
@@ -548,6 +613,8 @@ public final class JSContextOptions {
         this.testV8Mode = readBooleanOption(TESTV8_MODE);
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
+        this.evalCacheSize = readIntegerOption(EVAL_CACHE_SIZE);
+        this.allocationSamplingInterval = readIntegerOption(ALLOCATION_SAMPLING_INTERVAL);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
         this.commonJSRequire = readBooleanOption(COMMONJS_REQUIRE);
@@ -555,6 +622,8 @@ public final class JSContextOptions {
         this.interopCompletePromises = readBooleanOption(INTEROP_COMPLETE_PROMISES);
         this.testCloneUninitialized = readBooleanOption(TEST_CLONE_UNINITIALIZED);
         this.lazyTranslation = readBooleanOption(LAZY_TRANSLATION);
+        this.lazyParsing = readBooleanOption(LAZY_PARSING);
+        this.lazyBuiltins = readBooleanOption(LAZY_BUILTINS);
         this.stackTraceLimit = readIntegerOption(STACK_TRACE_LIMIT);
         this.maxTypedArrayLength = readIntegerOption(MAX_TYPED_ARRAY_LENGTH);
         this.maxApplyArgumentLength = readIntegerOption(MAX_APPLY_ARGUMENT_LENGTH);
@@ -563,6 +632,7 @@ public final class JSContextOptions {
 
         this.propertyCacheLimit = readIntegerOption(PROPERTY_CACHE_LIMIT);
         this.functionCacheLimit = readIntegerOption(FUNCTION_CACHE_LIMIT);
+        this.regexCacheSize = readIntegerOption(REGEX_CACHE_SIZE);
     }
 
     private boolean patchBooleanOption(OptionKey<Boolean> key, String name, boolean oldValue, Consumer<String> invalidate) {
@@ -843,6 +913,14 @@ public final class JSContextOptions {
         return functionConstructorCacheSize;
     }
 
+    public int getEvalCacheSize() {
+        return evalCacheSize;
+    }
+
+    public int getAllocationSamplingInterval() {
+        return allocationSamplingInterval;
+    }
+
     public int getStringLengthLimit() {
         return stringLengthLimit;
     }
@@ -877,6 +955,14 @@ public final class JSContextOptions {
         return lazyTranslation;
     }
 
+    public boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
+    public boolean isLazyBuiltins() {
+        return lazyBuiltins;
+    }
+
     public boolean isProfileTimePrintCumulative() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option profile-time-print-cumulative was assumed not to be accessed in compiled code.");
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
@@ -906,6 +992,40 @@ public final class JSContextOptions {
         return functionCacheLimit;
     }
 
+    public int getRegexCacheSize() {
+        return regexCacheSize;
+    }
+
+    public boolean isConsoleAsync() {
+        return CONSOLE_ASYNC.getValue(optionValues);
+    }
+
+    public int getConsoleAsyncBufferSize() {
+        return CONSOLE_ASYNC_BUFFER_SIZE.getValue(optionValues);
+    }
+
+    public long getConsoleAsyncFlushInterval() {
+        return CONSOLE_ASYNC_FLUSH_INTERVAL.getValue(optionValues);
+    }
+
+    public AsyncOutput.OverflowPolicy getConsoleAsyncOverflow() {
+        return CONSOLE_ASYNC_OVERFLOW.getValue(optionValues);
+    }
+
+    public String getSnapshotCache() {
+        return SNAPSHOT_CACHE.getValue(optionValues);
+    }
+
+    public int getSnapshotCacheMinSize() {
+        return SNAPSHOT_CACHE_MIN_SIZE.getValue(optionValues);
+    }
+
+    public boolean isJSONStringifyStream() {
+        // only read when the JSON object is created
+        CompilerAsserts.neverPartOfCompilation("Option json-stringify-stream was assumed not to be accessed in compiled code.");
+        return JSON_STRINGIFY_STREAM.getValue(optionValues);
+    }
+
     public boolean isAsyncStackTraces() {
         return asyncStackTraces;
     }
@@ -943,6 +1063,8 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.testV8Mode ? 1 : 0);
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
+        hash = 53 * hash + this.evalCacheSize;
+        hash = 53 * hash + this.allocationSamplingInterval;
         hash = 53 * hash + this.stringLengthLimit;
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
         hash = 53 * hash + (this.commonJSRequire ? 1 : 0);
@@ -950,6 +1072,8 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.interopCompletePromises ? 1 : 0);
         hash = 53 * hash + (this.testCloneUninitialized ? 1 : 0);
         hash = 53 * hash + (this.lazyTranslation ? 1 : 0);
+        hash = 53 * hash + (this.lazyParsing ? 1 : 0);
+        hash = 53 * hash + (this.lazyBuiltins ? 1 : 0);
         hash = 53 * hash + this.stackTraceLimit;
         hash = 53 * hash + (this.asyncStackTraces ? 1 : 0);
         hash = 53 * hash + this.maxTypedArrayLength;
@@ -957,6 +1081,7 @@ public final class JSContextOptions {
         hash = 53 * hash + this.maxPrototypeChainLength;
         hash = 53 * hash + this.propertyCacheLimit;
         hash = 53 * hash + this.functionCacheLimit;
+        hash = 53 * hash + this.regexCacheSize;
         return hash;
     }
 
@@ -1059,6 +1184,12 @@ public final class JSContextOptions {
         if (this.functionConstructorCacheSize != other.functionConstructorCacheSize) {
             return false;
         }
+        if (this.evalCacheSize != other.evalCacheSize) {
+            return false;
+        }
+        if (this.allocationSamplingInterval != other.allocationSamplingInterval) {
+            return false;
+        }
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
@@ -1080,6 +1211,12 @@ public final class JSContextOptions {
         if (this.lazyTranslation != other.lazyTranslation) {
             return false;
         }
+        if (this.lazyParsing != other.lazyParsing) {
+            return false;
+        }
+        if (this.lazyBuiltins != other.lazyBuiltins) {
+            return false;
+        }
         if (this.stackTraceLimit != other.stackTraceLimit) {
             return false;
         }
@@ -1101,6 +1238,9 @@ public final class JSContextOptions {
         if (this.functionCacheLimit != other.functionCacheLimit) {
             return false;
         }
+        if (this.regexCacheSize != other.regexCacheSize) {
+            return false;
+        }
         return Objects.equals(this.parserOptions, other.parserOptions);
     }
 }
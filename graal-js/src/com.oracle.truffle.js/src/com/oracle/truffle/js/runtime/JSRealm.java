@@ -54,6 +54,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.SplittableRandom;
 import java.util.WeakHashMap;
+import java.util.function.Supplier;
 
 import org.graalvm.home.HomeFinder;
 import org.graalvm.options.OptionValues;
@@ -148,11 +149,15 @@ import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.AsyncOutput;
+import com.oracle.truffle.js.runtime.util.IntlObjectCache;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
+import com.oracle.truffle.js.runtime.util.TimeZoneOffsetCache;
 
 /**
  * Container for JavaScript globals (i.e. an ECMAScript 6 Realm object).
@@ -195,24 +200,24 @@ public class JSRealm {
     private final DynamicObject stringPrototype;
     private final DynamicObject regExpConstructor;
     private final DynamicObject regExpPrototype;
-    private final DynamicObject collatorConstructor;
-    private final DynamicObject collatorPrototype;
-    private final DynamicObject numberFormatConstructor;
-    private final DynamicObject numberFormatPrototype;
-    private final DynamicObject pluralRulesConstructor;
-    private final DynamicObject pluralRulesPrototype;
-    private final DynamicObject listFormatConstructor;
-    private final DynamicObject listFormatPrototype;
-    private final DynamicObject dateTimeFormatConstructor;
-    private final DynamicObject dateTimeFormatPrototype;
-    private final DynamicObject relativeTimeFormatConstructor;
-    private final DynamicObject relativeTimeFormatPrototype;
-    private final DynamicObject segmenterConstructor;
-    private final DynamicObject segmenterPrototype;
-    private final DynamicObject displayNamesConstructor;
-    private final DynamicObject displayNamesPrototype;
-    private final DynamicObject localeConstructor;
-    private final DynamicObject localePrototype;
+    @CompilationFinal private DynamicObject collatorConstructor;
+    @CompilationFinal private DynamicObject collatorPrototype;
+    @CompilationFinal private DynamicObject numberFormatConstructor;
+    @CompilationFinal private DynamicObject numberFormatPrototype;
+    @CompilationFinal private DynamicObject pluralRulesConstructor;
+    @CompilationFinal private DynamicObject pluralRulesPrototype;
+    @CompilationFinal private DynamicObject listFormatConstructor;
+    @CompilationFinal private DynamicObject listFormatPrototype;
+    @CompilationFinal private DynamicObject dateTimeFormatConstructor;
+    @CompilationFinal private DynamicObject dateTimeFormatPrototype;
+    @CompilationFinal private DynamicObject relativeTimeFormatConstructor;
+    @CompilationFinal private DynamicObject relativeTimeFormatPrototype;
+    @CompilationFinal private DynamicObject segmenterConstructor;
+    @CompilationFinal private DynamicObject segmenterPrototype;
+    @CompilationFinal private DynamicObject displayNamesConstructor;
+    @CompilationFinal private DynamicObject displayNamesPrototype;
+    @CompilationFinal private DynamicObject localeConstructor;
+    @CompilationFinal private DynamicObject localePrototype;
     private final DynamicObject dateConstructor;
     private final DynamicObject datePrototype;
     @CompilationFinal(dimensions = 1) private final DynamicObject[] errorConstructors;
@@ -242,6 +247,7 @@ public class JSRealm {
     private Object evalFunctionObject;
     private Object applyFunctionObject;
     private Object callFunctionObject;
+    /** Reflect.apply and Reflect.construct, or null while the Reflect object is not created. */
     private Object reflectApplyFunctionObject;
     private Object reflectConstructFunctionObject;
     private Object commonJSRequireFunctionObject;
@@ -255,14 +261,16 @@ public class JSRealm {
 
     @CompilationFinal(dimensions = 1) private final DynamicObject[] typedArrayConstructors;
     @CompilationFinal(dimensions = 1) private final DynamicObject[] typedArrayPrototypes;
-    private final DynamicObject dataViewConstructor;
-    private final DynamicObject dataViewPrototype;
+    @CompilationFinal private DynamicObject dataViewConstructor;
+    @CompilationFinal private DynamicObject dataViewPrototype;
     private final DynamicObject jsAdapterConstructor;
     private final DynamicObject jsAdapterPrototype;
     private final DynamicObject javaImporterConstructor;
     private final DynamicObject javaImporterPrototype;
-    private final DynamicObject proxyConstructor;
-    private final DynamicObject proxyPrototype;
+    @CompilationFinal private DynamicObject proxyConstructor;
+    @CompilationFinal private DynamicObject proxyPrototype;
+    /** The proxy constructor remains null before ES2015, so it cannot mark the initialization. */
+    @CompilationFinal private boolean proxyConstructorInitialized;
     private final DynamicObject finalizationRegistryConstructor;
     private final DynamicObject finalizationRegistryPrototype;
 
@@ -270,7 +278,7 @@ public class JSRealm {
     private final DynamicObject arrayIteratorPrototype;
     private final DynamicObject setIteratorPrototype;
     private final DynamicObject mapIteratorPrototype;
-    private final DynamicObject segmentIteratorPrototype;
+    @CompilationFinal private DynamicObject segmentIteratorPrototype;
     private final DynamicObject stringIteratorPrototype;
     private final DynamicObject regExpStringIteratorPrototype;
     private final DynamicObject enumerateIteratorPrototype;
@@ -347,8 +355,21 @@ public class JSRealm {
     private OutputStream errorStream;
     private PrintWriterWrapper outputWriter;
     private PrintWriterWrapper errorWriter;
+    /**
+     * Background writer of the output and error streams, used with js.console-async. Owned by the
+     * top-level realm and shared with child realms.
+     */
+    private AsyncOutput asyncOutput;
+    private AsyncOutput.AsyncStream asyncOutputStream;
+    private AsyncOutput.AsyncStream asyncErrorStream;
 
     private final JSConsoleUtil consoleUtil;
+
+    /** Intl objects created internally by the locale-sensitive builtins. */
+    private final IntlObjectCache intlObjectCache;
+
+    /** Offsets of the local time zone. */
+    private final TimeZoneOffsetCache timeZoneOffsetCache;
     private JSModuleLoader moduleLoader;
 
     /**
@@ -453,9 +474,6 @@ public class JSRealm {
             ctor = JSWeakSet.createConstructor(this);
             this.weakSetConstructor = ctor.getFunctionObject();
             this.weakSetPrototype = ctor.getPrototype();
-            ctor = JSProxy.createConstructor(this);
-            this.proxyConstructor = ctor.getFunctionObject();
-            this.proxyPrototype = ctor.getPrototype();
             ctor = JSPromise.createConstructor(this);
             this.promiseConstructor = ctor.getFunctionObject();
             this.promisePrototype = ctor.getPrototype();
@@ -470,15 +488,12 @@ public class JSRealm {
             this.weakMapPrototype = null;
             this.weakSetConstructor = null;
             this.weakSetPrototype = null;
-            this.proxyConstructor = null;
-            this.proxyPrototype = null;
             this.promiseConstructor = null;
             this.promisePrototype = null;
         }
 
         this.errorConstructors = new DynamicObject[JSErrorType.errorTypes().length];
         this.errorPrototypes = new DynamicObject[JSErrorType.errorTypes().length];
-        initializeErrorConstructors();
         ctor = JSError.createCallSiteConstructor(this);
         this.callSiteConstructor = ctor.getFunctionObject();
         this.callSitePrototype = ctor.getPrototype();
@@ -488,10 +503,6 @@ public class JSRealm {
         this.arrayBufferPrototype = ctor.getPrototype();
         this.typedArrayConstructors = new DynamicObject[TypedArray.factories(context).length];
         this.typedArrayPrototypes = new DynamicObject[TypedArray.factories(context).length];
-        initializeTypedArrayConstructors();
-        ctor = JSDataView.createConstructor(this);
-        this.dataViewConstructor = ctor.getFunctionObject();
-        this.dataViewPrototype = ctor.getPrototype();
 
         if (context.getContextOptions().isBigInt()) {
             ctor = JSBigInt.createConstructor(this);
@@ -509,35 +520,6 @@ public class JSRealm {
         this.stringIteratorPrototype = es6 ? createStringIteratorPrototype() : null;
         this.regExpStringIteratorPrototype = context.getContextOptions().getEcmaScriptVersion() >= JSConfig.ECMAScript2019 ? createRegExpStringIteratorPrototype() : null;
 
-        ctor = JSCollator.createConstructor(this);
-        this.collatorConstructor = ctor.getFunctionObject();
-        this.collatorPrototype = ctor.getPrototype();
-        ctor = JSNumberFormat.createConstructor(this);
-        this.numberFormatConstructor = ctor.getFunctionObject();
-        this.numberFormatPrototype = ctor.getPrototype();
-        ctor = JSDateTimeFormat.createConstructor(this);
-        this.dateTimeFormatConstructor = ctor.getFunctionObject();
-        this.dateTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSPluralRules.createConstructor(this);
-        this.pluralRulesConstructor = ctor.getFunctionObject();
-        this.pluralRulesPrototype = ctor.getPrototype();
-        ctor = JSListFormat.createConstructor(this);
-        this.listFormatConstructor = ctor.getFunctionObject();
-        this.listFormatPrototype = ctor.getPrototype();
-        ctor = JSRelativeTimeFormat.createConstructor(this);
-        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
-        this.relativeTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSSegmenter.createConstructor(this);
-        this.segmenterConstructor = ctor.getFunctionObject();
-        this.segmenterPrototype = ctor.getPrototype();
-        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
-        ctor = JSDisplayNames.createConstructor(this);
-        this.displayNamesConstructor = ctor.getFunctionObject();
-        this.displayNamesPrototype = ctor.getPrototype();
-        ctor = JSLocale.createConstructor(this);
-        this.localeConstructor = ctor.getFunctionObject();
-        this.localePrototype = ctor.getPrototype();
-
         if (es6) {
             ctor = JSFunction.createGeneratorFunctionConstructor(this);
             this.generatorFunctionConstructor = ctor.getFunctionObject();
@@ -625,17 +607,34 @@ public class JSRealm {
         this.outputWriter = new PrintWriterWrapper(outputStream, true);
         this.errorWriter = new PrintWriterWrapper(errorStream, true);
         this.consoleUtil = new JSConsoleUtil();
+        this.intlObjectCache = new IntlObjectCache(JSConfig.IntlObjectCacheSize);
+        this.timeZoneOffsetCache = new TimeZoneOffsetCache();
 
         if (context.getContextOptions().isCommonJSRequire()) {
             this.commonJSRequireCache = new HashMap<>();
         } else {
             this.commonJSRequireCache = null;
         }
+
+        if (!context.getContextOptions().isLazyBuiltins()) {
+            initializeErrorConstructors();
+            initializeTypedArrayConstructors();
+            initializeDataViewConstructor();
+            initializeProxyConstructor();
+            initializeIntlConstructors();
+        }
     }
 
+    /*
+     * The following builtins are not needed by most scripts and are therefore created on first use
+     * (unless js.lazy-builtins is disabled): the getters below call the respective initialize
+     * method if the builtin has not been created yet, and the global properties referring to them
+     * are installed as lazy properties (see LazyGlobalPropertyProxy).
+     */
+
     private void initializeTypedArrayConstructors() {
+        CompilerAsserts.neverPartOfCompilation();
         JSConstructor taConst = JSArrayBufferView.createTypedArrayConstructor(this);
-        typedArrayConstructor = taConst.getFunctionObject();
         typedArrayPrototype = taConst.getPrototype();
 
         for (TypedArrayFactory factory : TypedArray.factories(context)) {
@@ -643,14 +642,75 @@ public class JSRealm {
             typedArrayConstructors[factory.getFactoryIndex()] = constructor.getFunctionObject();
             typedArrayPrototypes[factory.getFactoryIndex()] = constructor.getPrototype();
         }
+        // assigned last since it marks the typed array constructors as initialized
+        typedArrayConstructor = taConst.getFunctionObject();
     }
 
     private void initializeErrorConstructors() {
         for (JSErrorType type : JSErrorType.errorTypes()) {
-            JSConstructor errorConstructor = JSError.createErrorConstructor(this, type);
-            errorConstructors[type.ordinal()] = errorConstructor.getFunctionObject();
-            errorPrototypes[type.ordinal()] = errorConstructor.getPrototype();
+            initializeErrorConstructor(type);
+        }
+    }
+
+    private void initializeErrorConstructor(JSErrorType type) {
+        CompilerAsserts.neverPartOfCompilation();
+        if (errorConstructors[type.ordinal()] != null) {
+            return;
+        }
+        JSConstructor errorConstructor = JSError.createErrorConstructor(this, type);
+        errorPrototypes[type.ordinal()] = errorConstructor.getPrototype();
+        errorConstructors[type.ordinal()] = errorConstructor.getFunctionObject();
+    }
+
+    private void initializeDataViewConstructor() {
+        CompilerAsserts.neverPartOfCompilation();
+        JSConstructor ctor = JSDataView.createConstructor(this);
+        this.dataViewPrototype = ctor.getPrototype();
+        this.dataViewConstructor = ctor.getFunctionObject();
+    }
+
+    private void initializeProxyConstructor() {
+        CompilerAsserts.neverPartOfCompilation();
+        if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2015) {
+            JSConstructor ctor = JSProxy.createConstructor(this);
+            this.proxyPrototype = ctor.getPrototype();
+            this.proxyConstructor = ctor.getFunctionObject();
         }
+        this.proxyConstructorInitialized = true;
+    }
+
+    private void initializeIntlConstructors() {
+        CompilerAsserts.neverPartOfCompilation();
+        JSConstructor ctor = JSCollator.createConstructor(this);
+        this.collatorConstructor = ctor.getFunctionObject();
+        this.collatorPrototype = ctor.getPrototype();
+        ctor = JSNumberFormat.createConstructor(this);
+        this.numberFormatConstructor = ctor.getFunctionObject();
+        this.numberFormatPrototype = ctor.getPrototype();
+        ctor = JSDateTimeFormat.createConstructor(this);
+        this.dateTimeFormatConstructor = ctor.getFunctionObject();
+        this.dateTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSPluralRules.createConstructor(this);
+        this.pluralRulesConstructor = ctor.getFunctionObject();
+        this.pluralRulesPrototype = ctor.getPrototype();
+        ctor = JSListFormat.createConstructor(this);
+        this.listFormatConstructor = ctor.getFunctionObject();
+        this.listFormatPrototype = ctor.getPrototype();
+        ctor = JSRelativeTimeFormat.createConstructor(this);
+        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
+        this.relativeTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSSegmenter.createConstructor(this);
+        this.segmenterConstructor = ctor.getFunctionObject();
+        this.segmenterPrototype = ctor.getPrototype();
+        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
+        ctor = JSDisplayNames.createConstructor(this);
+        this.displayNamesConstructor = ctor.getFunctionObject();
+        this.displayNamesPrototype = ctor.getPrototype();
+        ctor = JSLocale.createConstructor(this);
+        this.localePrototype = ctor.getPrototype();
+        // assigned last since it marks the Intl constructors as initialized
+        this.localeConstructor = ctor.getFunctionObject();
+
     }
 
     public final JSContext getContext() {
@@ -675,13 +735,50 @@ public class JSRealm {
     }
 
     public final DynamicObject getErrorConstructor(JSErrorType type) {
+        ensureErrorConstructorInitialized(type);
         return errorConstructors[type.ordinal()];
     }
 
     public final DynamicObject getErrorPrototype(JSErrorType type) {
+        ensureErrorConstructorInitialized(type);
         return errorPrototypes[type.ordinal()];
     }
 
+    private void ensureErrorConstructorInitialized(JSErrorType type) {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, errorConstructors[type.ordinal()] == null)) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeErrorConstructor(type);
+        }
+    }
+
+    private void ensureTypedArrayConstructorsInitialized() {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, typedArrayConstructor == null)) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeTypedArrayConstructors();
+        }
+    }
+
+    private void ensureDataViewConstructorInitialized() {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, dataViewConstructor == null)) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeDataViewConstructor();
+        }
+    }
+
+    private void ensureProxyConstructorInitialized() {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, !proxyConstructorInitialized)) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeProxyConstructor();
+        }
+    }
+
+    private void ensureIntlConstructorsInitialized() {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, localeConstructor == null)) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            initializeIntlConstructors();
+        }
+    }
+
     public final DynamicObject getGlobalObject() {
         return globalObject;
     }
@@ -755,50 +852,62 @@ public class JSRealm {
     }
 
     public final DynamicObject getCollatorConstructor() {
+        ensureIntlConstructorsInitialized();
         return collatorConstructor;
     }
 
     public final DynamicObject getCollatorPrototype() {
+        ensureIntlConstructorsInitialized();
         return collatorPrototype;
     }
 
     public final DynamicObject getNumberFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return numberFormatConstructor;
     }
 
     public final DynamicObject getNumberFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return numberFormatPrototype;
     }
 
     public final DynamicObject getPluralRulesConstructor() {
+        ensureIntlConstructorsInitialized();
         return pluralRulesConstructor;
     }
 
     public final DynamicObject getPluralRulesPrototype() {
+        ensureIntlConstructorsInitialized();
         return pluralRulesPrototype;
     }
 
     public final DynamicObject getListFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return listFormatConstructor;
     }
 
     public final DynamicObject getListFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return listFormatPrototype;
     }
 
     public final DynamicObject getRelativeTimeFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return relativeTimeFormatConstructor;
     }
 
     public final DynamicObject getRelativeTimeFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return relativeTimeFormatPrototype;
     }
 
     public final DynamicObject getDateTimeFormatConstructor() {
+        ensureIntlConstructorsInitialized();
         return dateTimeFormatConstructor;
     }
 
     public final DynamicObject getDateTimeFormatPrototype() {
+        ensureIntlConstructorsInitialized();
         return dateTimeFormatPrototype;
     }
 
@@ -811,26 +920,32 @@ public class JSRealm {
     }
 
     public final DynamicObject getSegmenterConstructor() {
+        ensureIntlConstructorsInitialized();
         return segmenterConstructor;
     }
 
     public final DynamicObject getSegmenterPrototype() {
+        ensureIntlConstructorsInitialized();
         return segmenterPrototype;
     }
 
     public final DynamicObject getDisplayNamesConstructor() {
+        ensureIntlConstructorsInitialized();
         return displayNamesConstructor;
     }
 
     public final DynamicObject getDisplayNamesPrototype() {
+        ensureIntlConstructorsInitialized();
         return displayNamesPrototype;
     }
 
     public final DynamicObject getLocaleConstructor() {
+        ensureIntlConstructorsInitialized();
         return localeConstructor;
     }
 
     public final DynamicObject getLocalePrototype() {
+        ensureIntlConstructorsInitialized();
         return localePrototype;
     }
 
@@ -913,26 +1028,32 @@ public class JSRealm {
     }
 
     public final DynamicObject getArrayBufferViewConstructor(TypedArrayFactory factory) {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayConstructors[factory.getFactoryIndex()];
     }
 
     public final DynamicObject getArrayBufferViewPrototype(TypedArrayFactory factory) {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayPrototypes[factory.getFactoryIndex()];
     }
 
     public final DynamicObject getDataViewConstructor() {
+        ensureDataViewConstructorInitialized();
         return dataViewConstructor;
     }
 
     public final DynamicObject getDataViewPrototype() {
+        ensureDataViewConstructorInitialized();
         return dataViewPrototype;
     }
 
     public final DynamicObject getTypedArrayConstructor() {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayConstructor;
     }
 
     public final DynamicObject getTypedArrayPrototype() {
+        ensureTypedArrayConstructorsInitialized();
         return typedArrayPrototype;
     }
 
@@ -941,10 +1062,12 @@ public class JSRealm {
     }
 
     public final DynamicObject getProxyConstructor() {
+        ensureProxyConstructorInitialized();
         return proxyConstructor;
     }
 
     public final DynamicObject getProxyPrototype() {
+        ensureProxyConstructorInitialized();
         return proxyPrototype;
     }
 
@@ -1099,6 +1222,7 @@ public class JSRealm {
     }
 
     public DynamicObject getSegmentIteratorPrototype() {
+        ensureIntlConstructorsInitialized();
         return segmentIteratorPrototype;
     }
 
@@ -1159,15 +1283,15 @@ public class JSRealm {
 
         for (JSErrorType type : JSErrorType.errorTypes()) {
             if (type != JSErrorType.AggregateError || context.getEcmaScriptVersion() >= JSConfig.ECMAScript2021) {
-                putGlobalProperty(type.name(), getErrorConstructor(type));
+                putLazyGlobalProperty(type.name(), () -> getErrorConstructor(type));
             }
         }
 
         putGlobalProperty(JSArrayBuffer.CLASS_NAME, getArrayBufferConstructor());
         for (TypedArrayFactory factory : TypedArray.factories(context)) {
-            putGlobalProperty(factory.getName(), getArrayBufferViewConstructor(factory));
+            putLazyGlobalProperty(factory.getName(), () -> getArrayBufferViewConstructor(factory));
         }
-        putGlobalProperty(JSDataView.CLASS_NAME, getDataViewConstructor());
+        putLazyGlobalProperty(JSDataView.CLASS_NAME, this::getDataViewConstructor);
 
         if (context.getContextOptions().isBigInt()) {
             putGlobalProperty(JSBigInt.CLASS_NAME, getBigIntConstructor());
@@ -1210,12 +1334,8 @@ public class JSRealm {
             putGlobalProperty(JSSymbol.CLASS_NAME, getSymbolConstructor());
             setupPredefinedSymbols(getSymbolConstructor());
 
-            DynamicObject reflectObject = createReflect();
-            putGlobalProperty(REFLECT_CLASS_NAME, reflectObject);
-            this.reflectApplyFunctionObject = JSObject.get(reflectObject, "apply");
-            this.reflectConstructFunctionObject = JSObject.get(reflectObject, "construct");
-
-            putGlobalProperty(JSProxy.CLASS_NAME, getProxyConstructor());
+            putLazyGlobalProperty(REFLECT_CLASS_NAME, this::createReflect);
+            putLazyGlobalProperty(JSProxy.CLASS_NAME, this::getProxyConstructor);
             putGlobalProperty(JSPromise.CLASS_NAME, getPromiseConstructor());
             this.promiseAllFunctionObject = (DynamicObject) JSObject.get(getPromiseConstructor(), "all");
         }
@@ -1224,7 +1344,7 @@ public class JSRealm {
             putGlobalProperty(SHARED_ARRAY_BUFFER_CLASS_NAME, getSharedArrayBufferConstructor());
         }
         if (context.isOptionAtomics()) {
-            putGlobalProperty(ATOMICS_CLASS_NAME, createAtomics());
+            putLazyGlobalProperty(ATOMICS_CLASS_NAME, this::createAtomics);
         }
         if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019) {
             putGlobalProperty("globalThis", global);
@@ -1254,7 +1374,7 @@ public class JSRealm {
         assert getContext().isOptionNashornCompatibilityMode();
 
         // Nashorn has no join method on TypedArrays
-        JSObject.delete(typedArrayPrototype, "join");
+        JSObject.delete(getTypedArrayPrototype(), "join");
     }
 
     private void addPrintGlobals() {
@@ -1365,7 +1485,7 @@ public class JSRealm {
 
     private void addIntlGlobal() {
         if (context.isOptionIntl402()) {
-            putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject != null ? preinitIntlObject : createIntlObject());
+            putLazyGlobalProperty(JSIntl.CLASS_NAME, () -> preinitIntlObject != null ? preinitIntlObject : createIntlObject());
         }
     }
 
@@ -1430,6 +1550,18 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(getContext(), getGlobalObject(), key, value, attributes);
     }
 
+    /**
+     * Defines a global data property with default attributes whose value is only created on first
+     * access (unless js.lazy-builtins is disabled).
+     */
+    private void putLazyGlobalProperty(Object key, Supplier<Object> valueSupplier) {
+        if (context.getContextOptions().isLazyBuiltins()) {
+            JSObjectUtil.defineProxyProperty(getGlobalObject(), key, new LazyGlobalPropertyProxy(key, valueSupplier), JSAttributes.getDefaultNotEnumerable());
+        } else {
+            putGlobalProperty(key, valueSupplier.get());
+        }
+    }
+
     private void putProperty(DynamicObject receiver, Object key, Object value) {
         JSObjectUtil.putDataProperty(getContext(), receiver, key, value, JSAttributes.getDefaultNotEnumerable());
     }
@@ -1592,6 +1724,8 @@ public class JSRealm {
         DynamicObject obj = JSObject.createInit(this, this.getObjectPrototype(), JSUserObject.INSTANCE);
         JSObjectUtil.putDataProperty(context, obj, Symbol.SYMBOL_TO_STRING_TAG, REFLECT_CLASS_NAME, JSAttributes.configurableNotEnumerableNotWritable());
         JSObjectUtil.putFunctionsFromContainer(this, obj, ReflectBuiltins.BUILTINS);
+        this.reflectApplyFunctionObject = JSObject.get(obj, "apply");
+        this.reflectConstructFunctionObject = JSObject.get(obj, "construct");
         return obj;
     }
 
@@ -1843,6 +1977,11 @@ public class JSRealm {
                 JSRealm childRealm = JavaScriptLanguage.getCurrentJSRealm();
                 childRealm.agent = this.agent;
                 childRealm.parentRealm = this;
+                if (getContext().getContextOptions().isConsoleAsync()) {
+                    // output is wrapped once the realm that owns the writer thread is known
+                    childRealm.setOutputWriter(null, childRealm.getOutputStream());
+                    childRealm.setErrorWriter(null, childRealm.getErrorStream());
+                }
 
                 if (getContext().getContextOptions().isV8RealmBuiltin()) {
                     JSRealm topLevelRealm = this;
@@ -1978,7 +2117,7 @@ public class JSRealm {
             this.outputWriter.setFrom((PrintWriterWrapper) writer);
         } else {
             if (stream != null) {
-                this.outputWriter.setDelegate(stream);
+                this.outputWriter.setDelegate(wrapOutputStream(stream, false));
             } else {
                 this.outputWriter.setDelegate(writer);
             }
@@ -1991,7 +2130,7 @@ public class JSRealm {
             this.errorWriter.setFrom((PrintWriterWrapper) writer);
         } else {
             if (stream != null) {
-                this.errorWriter.setDelegate(stream);
+                this.errorWriter.setDelegate(wrapOutputStream(stream, true));
             } else {
                 this.errorWriter.setDelegate(writer);
             }
@@ -1999,6 +2138,61 @@ public class JSRealm {
         this.errorStream = stream;
     }
 
+    private OutputStream wrapOutputStream(OutputStream stream, boolean error) {
+        AsyncOutput async = getAsyncOutput();
+        if (async == null) {
+            return stream;
+        }
+        AsyncOutput.AsyncStream asyncStream = error ? asyncErrorStream : asyncOutputStream;
+        if (asyncStream != null) {
+            asyncStream.setTarget(stream);
+        } else {
+            asyncStream = async.createStream(stream);
+            if (error) {
+                asyncErrorStream = asyncStream;
+            } else {
+                asyncOutputStream = asyncStream;
+            }
+        }
+        return asyncStream;
+    }
+
+    private AsyncOutput getAsyncOutput() {
+        JSContextOptions options = getContext().getContextOptions();
+        if (!options.isConsoleAsync()) {
+            return null;
+        }
+        if (parentRealm != null) {
+            return parentRealm.getAsyncOutput();
+        }
+        if (CREATING_CHILD_REALM.get() == Boolean.TRUE) {
+            // parent realm not known yet, see createChildRealm
+            return null;
+        }
+        if (asyncOutput == null) {
+            asyncOutput = new AsyncOutput(options.getConsoleAsyncBufferSize(), options.getConsoleAsyncFlushInterval(), options.getConsoleAsyncOverflow());
+        }
+        return asyncOutput;
+    }
+
+    /**
+     * Releases the asynchronous output streams of this realm. For the top-level realm, also
+     * writes out all pending asynchronous output and stops the background writer.
+     */
+    public final void closeAsyncOutput() {
+        if (asyncOutputStream != null) {
+            asyncOutputStream.release();
+            asyncOutputStream = null;
+        }
+        if (asyncErrorStream != null) {
+            asyncErrorStream.release();
+            asyncErrorStream = null;
+        }
+        if (asyncOutput != null) {
+            asyncOutput.close();
+        }
+    }
+
     public long nanoTime() {
         return nanoTime(nanoToZeroTimeOffset);
     }
@@ -2170,6 +2364,52 @@ public class JSRealm {
         }
     }
 
+    /**
+     * Value of a lazily installed global property. The value is created on first access, after
+     * which the property is replaced by an ordinary data property with the same attributes.
+     */
+    private static final class LazyGlobalPropertyProxy implements PropertyProxy {
+        private final Object key;
+        private final Supplier<Object> valueSupplier;
+        private Object value;
+
+        LazyGlobalPropertyProxy(Object key, Supplier<Object> valueSupplier) {
+            this.key = key;
+            this.valueSupplier = valueSupplier;
+        }
+
+        @TruffleBoundary
+        @Override
+        public Object get(DynamicObject store) {
+            Object result = value;
+            if (result == null) {
+                result = valueSupplier.get();
+                value = result;
+            }
+            Property property = store.getShape().getProperty(key);
+            if (property != null && JSProperty.isProxy(property) && property.get(store, false) == this) {
+                JSObjectUtil.defineDataProperty(store, key, result, property.getFlags() & JSAttributes.ATTRIBUTES_MASK);
+            }
+            return result;
+        }
+
+        @TruffleBoundary
+        @Override
+        public boolean set(DynamicObject store, Object newValue) {
+            Property property = store.getShape().getProperty(key);
+            JSObjectUtil.defineDataProperty(store, key, newValue, property.getFlags() & JSAttributes.ATTRIBUTES_MASK);
+            return true;
+        }
+    }
+
+    public final IntlObjectCache getIntlObjectCache() {
+        return intlObjectCache;
+    }
+
+    public final TimeZoneOffsetCache getTimeZoneOffsetCache() {
+        return timeZoneOffsetCache;
+    }
+
     public final Map<TruffleFile, DynamicObject> getCommonJSRequireCache() {
         assert context.getContextOptions().isCommonJSRequire();
         return commonJSRequireCache;
@@ -43,6 +43,7 @@ package com.oracle.truffle.js.runtime;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleException;
+import com.oracle.truffle.js.runtime.util.CompiledRegexCache;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 
 public final class RegexCompilerInterface {
@@ -57,8 +58,19 @@ public final class RegexCompilerInterface {
         // RegexLanguage does its own validation of the flags. This call to validateFlags only
         // serves the purpose of mimicking the error messages of Nashorn and V8.
         validateFlags(flags, context.getEcmaScriptVersion(), context.isOptionNashornCompatibilityMode());
+        CompiledRegexCache cache = context.getCompiledRegexCache();
+        if (cache != null) {
+            Object cachedRegex = cache.get(pattern, flags);
+            if (cachedRegex != null) {
+                return cachedRegex;
+            }
+        }
         try {
-            return compileRegexNode.execute(context.getRegexEngine(), pattern, flags);
+            Object compiledRegex = compileRegexNode.execute(context.getRegexEngine(), pattern, flags);
+            if (cache != null) {
+                cache.put(pattern, flags, compiledRegex);
+            }
+            return compiledRegex;
         } catch (RuntimeException e) {
             CompilerDirectives.transferToInterpreter();
             if (e instanceof TruffleException && ((TruffleException) e).isSyntaxError()) {
@@ -49,6 +49,7 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.util.SortUtil;
 
 public abstract class AbstractDoubleArray extends AbstractWritableArray {
 
@@ -111,6 +112,20 @@ public abstract class AbstractDoubleArray extends AbstractWritableArray {
         return arrayCast(arrayGetArray(object, condition), double[].class, condition);
     }
 
+    /**
+     * Sorts the elements in [0, length) numerically, in place. The caller has to ensure that all
+     * these elements are present, i.e. the array has no holes in this range, and that the array is
+     * not frozen.
+     *
+     * @return {@code false} (without modifying the array) if the range contains NaN or -0
+     */
+    public final boolean sortDenseNumericInPlace(DynamicObject object, int length, boolean descending) {
+        assert !(this instanceof HolesDoubleArray) && !isFrozen();
+        assert firstElementIndex(object) == 0 && lastElementIndex(object) == length - 1;
+        int fromIndex = prepareInBoundsFast(object, 0, arrayCondition());
+        return SortUtil.sortNumeric(getArray(object), fromIndex, fromIndex + length, descending);
+    }
+
     public final void setInBounds(DynamicObject object, int index, double value, boolean condition, ProfileHolder profile) {
         getArray(object, condition)[prepareInBounds(object, index, condition, profile)] = value;
         if (JSConfig.TraceArrayWrites) {
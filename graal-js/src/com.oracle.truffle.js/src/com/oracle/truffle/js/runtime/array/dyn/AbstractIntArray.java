@@ -49,6 +49,7 @@ import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArr
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.util.SortUtil;
 
 public abstract class AbstractIntArray extends AbstractWritableArray {
 
@@ -110,6 +111,29 @@ public abstract class AbstractIntArray extends AbstractWritableArray {
         return arrayCast(arrayGetArray(object, condition), int[].class, condition);
     }
 
+    /**
+     * Sorts the elements in [0, length) by their string values (default sort order), in place. The
+     * caller has to ensure that all these elements are present, i.e. the array has no holes in this
+     * range, and that the array is not frozen.
+     */
+    public final void sortDenseInPlace(DynamicObject object, int length) {
+        assert !(this instanceof HolesIntArray) && !isFrozen();
+        assert firstElementIndex(object) == 0 && lastElementIndex(object) == length - 1;
+        int fromIndex = prepareInBoundsFast(object, 0, arrayCondition());
+        SortUtil.sortByStringValue(getArray(object), fromIndex, fromIndex + length);
+    }
+
+    /**
+     * Sorts the elements in [0, length) numerically, in place. Same preconditions as
+     * {@link #sortDenseInPlace(DynamicObject, int)}.
+     */
+    public final void sortDenseNumericInPlace(DynamicObject object, int length, boolean descending) {
+        assert !(this instanceof HolesIntArray) && !isFrozen();
+        assert firstElementIndex(object) == 0 && lastElementIndex(object) == length - 1;
+        int fromIndex = prepareInBoundsFast(object, 0, arrayCondition());
+        SortUtil.sortNumeric(getArray(object), fromIndex, fromIndex + length, descending);
+    }
+
     @Override
     public abstract int getInBoundsFastInt(DynamicObject object, int index, boolean condition);
 
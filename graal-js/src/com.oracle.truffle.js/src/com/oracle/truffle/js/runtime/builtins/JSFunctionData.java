@@ -96,6 +96,11 @@ public final class JSFunctionData {
     private volatile CallTarget rootTarget;
     /** Lazy initialization function. */
     private volatile Initializer lazyInit;
+    /**
+     * Sort order of a comparator function whose body is {@code return a - b} (1) or
+     * {@code return b - a} (-1), or 0 if the function is not such a comparator.
+     */
+    private byte numericComparatorOrder;
 
     private static final AtomicReferenceFieldUpdater<JSFunctionData, CallTarget> UPDATER_CALL_TARGET = //
                     AtomicReferenceFieldUpdater.newUpdater(JSFunctionData.class, CallTarget.class, "callTarget");
@@ -260,6 +265,15 @@ public final class JSFunctionData {
         return flags;
     }
 
+    public int getNumericComparatorOrder() {
+        return numericComparatorOrder;
+    }
+
+    public void setNumericComparatorOrder(int order) {
+        assert order == 1 || order == -1;
+        this.numericComparatorOrder = (byte) order;
+    }
+
     public CallTarget getCallTarget(BranchProfile initBranch) {
         CallTarget result = callTarget;
         if (CompilerDirectives.injectBranchProbability(CompilerDirectives.FASTPATH_PROBABILITY, result != null)) {
@@ -61,6 +61,9 @@ public final class JSON {
         DynamicObject obj = JSObject.createInit(realm, realm.getObjectPrototype(), JSUserObject.INSTANCE);
         JSObjectUtil.putDataProperty(ctx, obj, Symbol.SYMBOL_TO_STRING_TAG, CLASS_NAME, JSAttributes.configurableNotEnumerableNotWritable());
         JSObjectUtil.putFunctionsFromContainer(realm, obj, JSONBuiltins.BUILTINS);
+        if (ctx.getContextOptions().isJSONStringifyStream()) {
+            JSObjectUtil.putFunctionsFromContainer(realm, obj, JSONBuiltins.BUILTINS_STREAM);
+        }
         return obj;
     }
 }
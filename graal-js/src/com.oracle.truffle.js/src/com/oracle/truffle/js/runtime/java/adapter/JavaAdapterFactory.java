@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.runtime.java.adapter;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -47,6 +48,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
@@ -55,11 +57,21 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
 
 /**
  * Provides static utility services to generated Java adapter classes.
  */
 public final class JavaAdapterFactory {
+    private static final DebugCounter adapterClassesGenerated = DebugCounter.create("Java adapter classes generated");
+    private static final DebugCounter adapterCacheHits = DebugCounter.create("Java adapter class cache hits");
+
+    /**
+     * Generated adapters, shared by all contexts, weakly keyed by the common class loader. Entries
+     * must not strongly reference classes of that loader, so the types in the key and the adapter
+     * class in the entry are only weakly referenced.
+     */
+    private static final Map<ClassLoader, Map<AdapterKey, AdapterCacheEntry>> adapterCache = new WeakHashMap<>();
 
     @TruffleBoundary
     public static Class<?> getAdapterClassFor(Class<?>[] types, DynamicObject classOverrides) {
@@ -121,11 +133,113 @@ public final class JavaAdapterFactory {
 
     private static Class<?> getAdapterClassForCommon(Class<?> superClass, List<Class<?>> interfaces, DynamicObject classOverrides, ClassLoader commonLoader) {
         boolean classOverride = classOverrides != null && JSRuntime.isObject(classOverrides);
+        AdapterCacheEntry entry = getAdapterCacheEntry(superClass, interfaces, commonLoader, classOverride);
+        if (classOverride) {
+            // class-level overrides are bound to the defining class loader of the adapter class,
+            // so only the bytecode can be reused.
+            Value classOverridesValue = Context.getCurrent().asValue(classOverrides);
+            adapterClassesGenerated.inc();
+            return entry.generatedClassLoader.generateClass(commonLoader, classOverridesValue);
+        }
+        synchronized (entry) {
+            Class<?> adapterClass = entry.adapterClass == null ? null : entry.adapterClass.get();
+            if (adapterClass == null) {
+                adapterClassesGenerated.inc();
+                adapterClass = entry.generatedClassLoader.generateClass(commonLoader, null);
+                entry.adapterClass = new WeakReference<>(adapterClass);
+            }
+            return adapterClass;
+        }
+    }
+
+    private static AdapterCacheEntry getAdapterCacheEntry(Class<?> superClass, List<Class<?>> interfaces, ClassLoader commonLoader, boolean classOverride) {
+        AdapterKey key = new AdapterKey(superClass, interfaces, classOverride);
+        synchronized (adapterCache) {
+            Map<AdapterKey, AdapterCacheEntry> loaderCache = adapterCache.get(commonLoader);
+            AdapterCacheEntry entry = loaderCache == null ? null : loaderCache.get(key);
+            if (entry != null) {
+                adapterCacheHits.inc();
+                return entry;
+            }
+        }
         JavaAdapterBytecodeGenerator bytecodeGenerator = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride);
-        JavaAdapterClassLoader generatedClassLoader = bytecodeGenerator.createAdapterClassLoader();
+        AdapterCacheEntry newEntry = new AdapterCacheEntry(bytecodeGenerator.createAdapterClassLoader());
+        synchronized (adapterCache) {
+            Map<AdapterKey, AdapterCacheEntry> loaderCache = adapterCache.computeIfAbsent(commonLoader, cl -> new HashMap<>());
+            loaderCache.keySet().removeIf(AdapterKey::isCleared);
+            AdapterCacheEntry entry = loaderCache.putIfAbsent(key, newEntry);
+            return entry != null ? entry : newEntry;
+        }
+    }
+
+    /**
+     * Cache key of a generated adapter: super class, interfaces, and whether the adapter has
+     * class-level overrides. The types are only weakly referenced; keys of unloaded types never
+     * match again.
+     */
+    private static final class AdapterKey {
+        private final WeakReference<?>[] types;
+        private final boolean classOverride;
+        private final int hash;
+
+        AdapterKey(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride) {
+            this.types = new WeakReference<?>[interfaces.size() + 1];
+            int h = superClass.hashCode();
+            this.types[0] = new WeakReference<>(superClass);
+            for (int i = 0; i < interfaces.size(); i++) {
+                Class<?> type = interfaces.get(i);
+                this.types[i + 1] = new WeakReference<>(type);
+                h = h * 31 + type.hashCode();
+            }
+            this.classOverride = classOverride;
+            this.hash = h * 31 + Boolean.hashCode(classOverride);
+        }
+
+        boolean isCleared() {
+            for (WeakReference<?> type : types) {
+                if (type.get() == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
 
-        Value classOverridesValue = classOverride ? Context.getCurrent().asValue(classOverrides) : null;
-        return generatedClassLoader.generateClass(commonLoader, classOverridesValue);
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AdapterKey)) {
+                return false;
+            }
+            AdapterKey other = (AdapterKey) obj;
+            if (hash != other.hash || classOverride != other.classOverride || types.length != other.types.length) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                Object type = types[i].get();
+                if (type == null || type != other.types[i].get()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class AdapterCacheEntry {
+        /** Bytecode of the adapter class; does not reference any types. */
+        final JavaAdapterClassLoader generatedClassLoader;
+        /** Adapter class without class-level overrides, if already defined. */
+        WeakReference<Class<?>> adapterClass;
+
+        AdapterCacheEntry(JavaAdapterClassLoader generatedClassLoader) {
+            this.generatedClassLoader = generatedClassLoader;
+        }
     }
 
     @TruffleBoundary
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
+
+/**
+ * Enum cache of a shape: the enumerable, string-keyed own properties in enumeration order, shared
+ * by all objects with this shape. The arrays must not be modified.
+ *
+ * @see JSShape#getEnumCache(com.oracle.truffle.api.object.Shape)
+ */
+public final class EnumCache {
+    static final EnumCache EMPTY = new EnumCache(new Object[0], new Property[0]);
+
+    /** Property keys (strings); an {@code Object[]} so that it can back constant arrays. */
+    @CompilationFinal(dimensions = 1) private final Object[] keys;
+    @CompilationFinal(dimensions = 1) private final Property[] properties;
+    private final UnmodifiableArrayList<String> keyList;
+
+    @SuppressWarnings("unchecked")
+    EnumCache(Object[] keys, Property[] properties) {
+        assert keys.length == properties.length;
+        this.keys = keys;
+        this.properties = properties;
+        // all keys are strings
+        this.keyList = (UnmodifiableArrayList<String>) (UnmodifiableArrayList<?>) new UnmodifiableArrayList<>(keys);
+    }
+
+    /**
+     * Returns the shared array of property keys. Must not be modified; it may only be used as the
+     * backing store of a copy-on-write (constant) array.
+     */
+    public Object[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the shared array of properties, in the same order as {@link #getKeys()}.
+     */
+    public Property[] getProperties() {
+        return properties;
+    }
+
+    public UnmodifiableArrayList<String> getKeyList() {
+        return keyList;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+}
@@ -196,9 +196,13 @@ public final class JSShape {
         return JSShapeData.getEnumerablePropertyNames(shape);
     }
 
-    public static UnmodifiableArrayList<Property> getPropertiesIfHasEnumerablePropertyNames(Shape shape) {
+    /**
+     * Returns the enum cache of the shape, i.e., its enumerable string-keyed properties in
+     * enumeration order. Only valid for objects that have only shape properties.
+     */
+    public static EnumCache getEnumCache(Shape shape) {
         assert JSConfig.FastOwnKeys;
-        return JSShapeData.getPropertiesIfHasEnumerablePropertyNames(shape);
+        return JSShapeData.getEnumCache(shape);
     }
 
     /**
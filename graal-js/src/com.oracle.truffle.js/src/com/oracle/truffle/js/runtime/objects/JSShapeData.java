@@ -61,10 +61,9 @@ import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
  */
 public final class JSShapeData {
     private static final Property[] EMPTY_PROPERTY_ARRAY = new Property[0];
-    private static final String[] EMPTY_STRING_ARRAY = new String[0];
 
     private Property[] propertyArray;
-    private String[] enumerablePropertyNames;
+    private EnumCache enumCache;
 
     private JSShapeData() {
     }
@@ -77,17 +76,25 @@ public final class JSShapeData {
         return ownProperties.toArray(EMPTY_PROPERTY_ARRAY);
     }
 
-    private static String[] createEnumerablePropertyNamesArray(Shape shape) {
+    private static EnumCache createEnumCache(Shape shape) {
         CompilerAsserts.neverPartOfCompilation();
         enumerablePropertyListAllocCount.inc();
-        List<String> ownProperties = new ArrayList<>();
+        List<Property> enumerableProperties = new ArrayList<>();
         shape.getPropertyList().forEach(property -> {
             if (JSProperty.isEnumerable(property) && property.getKey() instanceof String) {
-                ownProperties.add((String) property.getKey());
+                enumerableProperties.add(property);
             }
         });
-        sortPropertyKeys(ownProperties);
-        return ownProperties.toArray(EMPTY_STRING_ARRAY);
+        if (enumerableProperties.isEmpty()) {
+            return EnumCache.EMPTY;
+        }
+        sortProperties(enumerableProperties);
+        Property[] properties = enumerableProperties.toArray(EMPTY_PROPERTY_ARRAY);
+        Object[] keys = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            keys[i] = properties[i].getKey();
+        }
+        return new EnumCache(keys, properties);
     }
 
     private static void sortProperties(List<Property> ownProperties) {
@@ -95,11 +102,6 @@ public final class JSShapeData {
         Collections.sort(ownProperties, (o1, o2) -> JSRuntime.comparePropertyKeys(o1.getKey(), o2.getKey()));
     }
 
-    private static void sortPropertyKeys(List<? extends Object> ownProperties) {
-        CompilerAsserts.neverPartOfCompilation();
-        Collections.sort(ownProperties, JSRuntime::comparePropertyKeys);
-    }
-
     private static JSShapeData getShapeData(Shape shape) {
         CompilerAsserts.neverPartOfCompilation();
         JSContext context = JSShape.getJSContext(shape);
@@ -135,37 +137,26 @@ public final class JSShapeData {
     }
 
     @TruffleBoundary
-    private static String[] getEnumerablePropertyNamesArray(Shape shape) {
+    private static EnumCache getEnumCacheSlow(Shape shape) {
         assert shape.getPropertyCount() != 0;
-        return getEnumerablePropertyNamesArray(getShapeData(shape), shape);
+        return getEnumCache(getShapeData(shape), shape);
     }
 
-    private static String[] getEnumerablePropertyNamesArray(JSShapeData shapeData, Shape shape) {
-        String[] enumeratePropertyNames = shapeData.enumerablePropertyNames;
-        if (enumeratePropertyNames == null) {
-            enumeratePropertyNames = createEnumerablePropertyNamesArray(shape);
-            shapeData.enumerablePropertyNames = enumeratePropertyNames;
+    private static EnumCache getEnumCache(JSShapeData shapeData, Shape shape) {
+        EnumCache enumCache = shapeData.enumCache;
+        if (enumCache == null) {
+            enumCache = createEnumCache(shape);
+            shapeData.enumCache = enumCache;
         }
-        return enumeratePropertyNames;
-    }
-
-    static UnmodifiableArrayList<String> getEnumerablePropertyNames(Shape shape) {
-        return asUnmodifiableList(shape.getPropertyCount() == 0 ? EMPTY_STRING_ARRAY : getEnumerablePropertyNamesArray(shape));
+        return enumCache;
     }
 
-    @TruffleBoundary
-    private static Property[] getPropertiesArrayIfHasEnumerablePropertyNames(Shape shape) {
-        assert shape.getPropertyCount() != 0;
-        JSShapeData shapeData = getShapeData(shape);
-        if (getEnumerablePropertyNamesArray(shapeData, shape).length == 0) {
-            return EMPTY_PROPERTY_ARRAY;
-        } else {
-            return getPropertiesArray(shapeData, shape);
-        }
+    static EnumCache getEnumCache(Shape shape) {
+        return shape.getPropertyCount() == 0 ? EnumCache.EMPTY : getEnumCacheSlow(shape);
     }
 
-    static UnmodifiableArrayList<Property> getPropertiesIfHasEnumerablePropertyNames(Shape shape) {
-        return asUnmodifiableList(shape.getPropertyCount() == 0 ? EMPTY_PROPERTY_ARRAY : getPropertiesArrayIfHasEnumerablePropertyNames(shape));
+    static UnmodifiableArrayList<String> getEnumerablePropertyNames(Shape shape) {
+        return getEnumCache(shape).getKeyList();
     }
 
     private static <T> UnmodifiableArrayList<T> asUnmodifiableList(T[] array) {
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.builtins.JSClass;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
+/**
+ * Context-wide, fixed-size stub cache mapping (receiver shape, property key) to the property and
+ * the prototype that holds it. It is consulted by the generic (megamorphic) property access nodes
+ * before falling back to a full lookup.
+ *
+ * Entries are immutable and the table is written without synchronization; a racing update merely
+ * loses an entry. Prototype chain entries depend on the same shape and prototype assumptions as
+ * the prototype chain checks of the property caches and are dropped once one of them is
+ * invalidated.
+ */
+public final class MegamorphicPropertyCache {
+    /**
+     * Marker for lookups that the cache cannot serve.
+     */
+    public static final Object NOT_CACHED = new Object();
+
+    private static final Assumption[] NO_ASSUMPTIONS = new Assumption[0];
+    private static final int MAX_DEPTH = 16;
+
+    private final JSContext context;
+    private final Entry[] entries;
+    private final int mask;
+
+    public MegamorphicPropertyCache(JSContext context, int size) {
+        assert Integer.bitCount(size) == 1 : "size must be a power of 2";
+        this.context = context;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Result of a cached lookup of a key in an object with a specific shape.
+     */
+    public static final class Entry {
+        private final Shape shape;
+        private final Object key;
+        private final Property property;
+        private final DynamicObject holder;
+        private final Shape holderShape;
+        private final int depth;
+        private final Assumption[] assumptions;
+
+        Entry(Shape shape, Object key, Property property, DynamicObject holder, Shape holderShape, int depth, Assumption[] assumptions) {
+            this.shape = shape;
+            this.key = key;
+            this.property = property;
+            this.holder = holder;
+            this.holderShape = holderShape;
+            this.depth = depth;
+            this.assumptions = assumptions;
+        }
+
+        /**
+         * The property found for the key, or {@code null} if the key is absent from the whole
+         * prototype chain.
+         */
+        public Property getProperty() {
+            return property;
+        }
+
+        /**
+         * The object that holds the property.
+         */
+        public DynamicObject getStore(DynamicObject receiver) {
+            return depth == 0 ? receiver : holder;
+        }
+
+        public boolean isOwnProperty() {
+            return depth == 0 && property != null;
+        }
+
+        boolean isValidFor(Shape receiverShape, Object propertyKey) {
+            if (shape != receiverShape || !(key == propertyKey || key.equals(propertyKey)) || !shape.isValid()) {
+                return false;
+            }
+            if (holder != null && holder.getShape() != holderShape) {
+                return false;
+            }
+            for (Assumption assumption : assumptions) {
+                if (!assumption.isValid()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the entry for the key in the receiver, creating it if the receiver and its prototype
+     * chain are cacheable, or {@code null} if the lookup must be done generically.
+     */
+    public Entry lookup(DynamicObject receiver, Object key) {
+        CompilerAsserts.neverPartOfCompilation();
+        Shape shape = receiver.getShape();
+        int index = index(shape, key);
+        Entry entry = entries[index];
+        if (entry != null && entry.isValidFor(shape, key)) {
+            hitCount.inc();
+            return entry;
+        }
+        missCount.inc();
+        entry = createEntry(receiver, shape, key);
+        if (entry != null) {
+            entries[index] = entry;
+        }
+        return entry;
+    }
+
+    private int index(Shape shape, Object key) {
+        int hash = System.identityHashCode(shape) * 31 + key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static boolean isCacheableKey(Object key) {
+        if (key instanceof String) {
+            return !JSRuntime.isArrayIndex((String) key);
+        }
+        return key instanceof Symbol;
+    }
+
+    private static boolean isCacheableObject(DynamicObject object, Shape shape) {
+        JSClass jsclass = JSShape.getJSClass(shape);
+        return jsclass.hasOnlyShapeProperties(object);
+    }
+
+    private Entry createEntry(DynamicObject receiver, Shape shape, Object key) {
+        if (!isCacheableKey(key) || !isCacheableObject(receiver, shape)) {
+            return null;
+        }
+        Property property = shape.getProperty(key);
+        if (property != null) {
+            entryCount.inc();
+            return new Entry(shape, key, property, null, null, 0, NO_ASSUMPTIONS);
+        }
+        if (!context.isSingleRealm()) {
+            return null;
+        }
+        List<Assumption> assumptions = new ArrayList<>();
+        DynamicObject current = receiver;
+        Shape currentShape = shape;
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            if (!JSShape.isPrototypeInShape(currentShape)) {
+                return null;
+            }
+            if (depth > 1) {
+                assumptions.add(JSShape.getPrototypeAssumption(currentShape));
+            }
+            DynamicObject prototype = JSObject.getPrototype(current);
+            if (prototype == Null.instance) {
+                if (context.isOptionNashornCompatibilityMode()) {
+                    // a missing property may be handled by __noSuchProperty__
+                    return null;
+                }
+                return newEntry(shape, key, null, null, null, depth, assumptions);
+            }
+            Shape prototypeShape = prototype.getShape();
+            if (!isCacheableObject(prototype, prototypeShape)) {
+                return null;
+            }
+            assumptions.add(JSShape.getPropertyAssumption(prototypeShape, key, true));
+            Property prototypeProperty = prototypeShape.getProperty(key);
+            if (prototypeProperty != null) {
+                return newEntry(shape, key, prototypeProperty, prototype, prototypeShape, depth, assumptions);
+            }
+            current = prototype;
+            currentShape = prototypeShape;
+        }
+        return null;
+    }
+
+    private static Entry newEntry(Shape shape, Object key, Property property, DynamicObject holder, Shape holderShape, int depth, List<Assumption> assumptions) {
+        for (Assumption assumption : assumptions) {
+            if (!assumption.isValid()) {
+                return null;
+            }
+        }
+        entryCount.inc();
+        return new Entry(shape, key, property, holder, holderShape, depth, assumptions.toArray(NO_ASSUMPTIONS));
+    }
+
+    private static final DebugCounter hitCount = DebugCounter.create("Megamorphic property cache hits");
+    private static final DebugCounter missCount = DebugCounter.create("Megamorphic property cache misses");
+    private static final DebugCounter entryCount = DebugCounter.create("Megamorphic property cache entries created");
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Samples object allocations by allocation site (option {@code js.allocation-sampling-interval}).
+ *
+ * Every n-th allocation is recorded for its site together with a weak reference to the allocated
+ * object, so that the number of sampled objects that are still alive can be used to estimate how
+ * many objects allocated at a site are retained, e.g. to find leaks in long-running applications.
+ */
+public final class AllocationSampler {
+
+    /**
+     * Samples of a single allocation site.
+     */
+    private static final class Site {
+        private final String location;
+        private final List<WeakReference<Object>> samples = new ArrayList<>();
+        private long sampleCount;
+
+        Site(String location) {
+            this.location = location;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public long getSampleCount() {
+            return sampleCount;
+        }
+
+        int getLiveSampleCount() {
+            int live = 0;
+            for (WeakReference<Object> sample : samples) {
+                if (sample.get() != null) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        void add(Object object) {
+            sampleCount++;
+            if (samples.size() == Integer.highestOneBit(samples.size()) && samples.size() >= 64) {
+                samples.removeIf(sample -> sample.get() == null);
+            }
+            samples.add(new WeakReference<>(object));
+        }
+    }
+
+    private final int interval;
+    private int countdown;
+    private final Map<Object, Site> sites = new HashMap<>();
+
+    public AllocationSampler(int interval) {
+        assert interval > 0;
+        this.interval = interval;
+        this.countdown = interval;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Counts an allocation at the given site. Not synchronized; allocations of concurrent agents
+     * may occasionally be counted only once.
+     */
+    public void sample(Node site, Object object) {
+        if (--countdown <= 0) {
+            countdown = interval;
+            record(site, object);
+        }
+    }
+
+    @TruffleBoundary
+    private void record(Node site, Object object) {
+        SourceSection sourceSection = site.getEncapsulatingSourceSection();
+        Object key = sourceSection != null ? sourceSection : site;
+        synchronized (sites) {
+            Site entry = sites.get(key);
+            if (entry == null) {
+                entry = new Site(describe(site, sourceSection));
+                sites.put(key, entry);
+            }
+            entry.add(object);
+        }
+    }
+
+    private static String describe(Node site, SourceSection sourceSection) {
+        String kind = site.getClass().getSimpleName();
+        if (sourceSection == null || !sourceSection.isAvailable()) {
+            return kind;
+        }
+        return kind + " " + sourceSection.getSource().getName() + ":" + sourceSection.getStartLine() + ":" + sourceSection.getStartColumn();
+    }
+
+    /**
+     * Statistics entry of {@link #getStatistics()}.
+     */
+    public static final class SiteStatistics {
+        private final String location;
+        private final long allocated;
+        private final long live;
+
+        SiteStatistics(String location, long allocated, long live) {
+            this.location = location;
+            this.allocated = allocated;
+            this.live = live;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        /** Estimated number of objects allocated at this site. */
+        public long getAllocated() {
+            return allocated;
+        }
+
+        /** Estimated number of objects allocated at this site that are still alive. */
+        public long getLive() {
+            return live;
+        }
+    }
+
+    /**
+     * Returns the statistics of all sampled allocation sites, ordered by decreasing number of
+     * estimated live objects.
+     */
+    @TruffleBoundary
+    public List<SiteStatistics> getStatistics() {
+        List<SiteStatistics> result = new ArrayList<>();
+        synchronized (sites) {
+            for (Site site : sites.values()) {
+                result.add(new SiteStatistics(site.getLocation(), site.getSampleCount() * interval, (long) site.getLiveSampleCount() * interval));
+            }
+        }
+        result.sort((a, b) -> a.live != b.live ? Long.compare(b.live, a.live) : Long.compare(b.allocated, a.allocated));
+        return result;
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Asynchronous console output (option {@code js.console-async}).
+ *
+ * Writes to the streams returned by {@link #createStream} are copied into a bounded lock-free ring
+ * buffer and written to the target streams by a background writer thread, which flushes them at
+ * most every flush interval. {@link OutputStream#flush() Flushing} these streams is a no-op, the
+ * output is only guaranteed to be written out after {@link #close}.
+ *
+ * All streams writing to the same target stream share its buffer, and a target is flushed before
+ * output for a different target is written, so the output reaches the targets in the order in
+ * which it was written.
+ */
+public final class AsyncOutput {
+
+    public enum OverflowPolicy {
+        /** Wait until the writer thread has made room in the buffer. */
+        BLOCK,
+        /** Discard the output that does not fit into the buffer. */
+        DROP
+    }
+
+    private static final DebugCounter chunksDropped = DebugCounter.create("Async console output chunks dropped");
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int TARGET_BUFFER_SIZE = 8192;
+
+    private static final class Chunk {
+        final Target target;
+        final byte[] bytes;
+
+        Chunk(Target target, byte[] bytes) {
+            this.target = target;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Target stream. The buffer is only accessed by the writer thread (or under the lock once
+     * closed), the reference count only under the lock.
+     */
+    private static final class Target {
+        final OutputStream sink;
+        final OutputStream out;
+        boolean dirty;
+        int refCount;
+        /** Removed from {@link AsyncOutput#targets}, i.e., no longer flushed periodically. */
+        boolean removed;
+
+        Target(OutputStream sink) {
+            this.sink = sink;
+            this.out = new BufferedOutputStream(sink, TARGET_BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Stream returned by {@link AsyncOutput#createStream}.
+     */
+    public final class AsyncStream extends OutputStream {
+        private volatile Target target;
+
+        AsyncStream(Target target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) {
+            offer(new Chunk(target, new byte[]{(byte) b}));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len > 0) {
+                byte[] bytes = new byte[len];
+                System.arraycopy(b, off, bytes, 0, len);
+                offer(new Chunk(target, bytes));
+            }
+        }
+
+        /**
+         * Redirects subsequent output of this stream to {@code out}. Pending output is still
+         * written to the previous target.
+         */
+        @TruffleBoundary
+        public void setTarget(OutputStream out) {
+            Target previous = target;
+            if (previous.sink != out) {
+                target = acquireTarget(out);
+                releaseTarget(previous);
+            }
+        }
+
+        /**
+         * Releases the target of this stream; it must not be used afterwards.
+         */
+        @TruffleBoundary
+        public void release() {
+            releaseTarget(target);
+        }
+    }
+
+    /*
+     * Bounded multi-producer single-consumer queue: a slot may be written when its sequence equals
+     * the producer position and read when it equals the consumer position + 1. The volatile
+     * sequence updates publish the (plain) slot contents.
+     */
+    private final Chunk[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Map<OutputStream, Target> targets = new IdentityHashMap<>();
+    /** Target of the last chunk written by the writer thread. */
+    private Target lastTarget;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean closed;
+    /** Number of threads currently in {@link #offer}, drained by {@link #close}. */
+    private final AtomicInteger producers = new AtomicInteger();
+
+    public AsyncOutput(int bufferSize, long flushIntervalMillis, OverflowPolicy overflowPolicy) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.slots = new Chunk[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.overflowPolicy = overflowPolicy;
+        this.writerThread = new Thread(this::runWriter, "graaljs-console-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Returns a stream that writes to {@code out} asynchronously.
+     */
+    @TruffleBoundary
+    public AsyncStream createStream(OutputStream out) {
+        return new AsyncStream(acquireTarget(out));
+    }
+
+    private Target acquireTarget(OutputStream out) {
+        synchronized (targets) {
+            Target target = targets.get(out);
+            if (target == null) {
+                target = new Target(out);
+                targets.put(out, target);
+            }
+            target.refCount++;
+            return target;
+        }
+    }
+
+    private void releaseTarget(Target target) {
+        synchronized (targets) {
+            // unused targets are removed by the writer thread once their output has been flushed
+            target.refCount--;
+        }
+    }
+
+    /**
+     * Number of chunks discarded because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void offer(Chunk chunk) {
+        // registered before checking the flag, so that close either sees this producer or the
+        // producer sees the flag
+        producers.incrementAndGet();
+        try {
+            if (closed) {
+                writeDirect(chunk);
+                return;
+            }
+            while (!tryOffer(chunk)) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    droppedCount.incrementAndGet();
+                    chunksDropped.inc();
+                    return;
+                }
+                // once closed, close makes room until all producers are done
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            }
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    private boolean tryOffer(Chunk chunk) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = chunk;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    private Chunk poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        Chunk chunk = slots[index];
+        slots[index] = null;
+        sequences.set(index, head + mask + 1);
+        head++;
+        return chunk;
+    }
+
+    private void runWriter() {
+        long lastFlush = System.nanoTime();
+        while (true) {
+            boolean wasClosed = closed;
+            Chunk chunk;
+            while ((chunk = poll()) != null) {
+                write(chunk);
+            }
+            long now = System.nanoTime();
+            if (wasClosed || now - lastFlush >= flushIntervalNanos) {
+                flushTargets();
+                lastFlush = now;
+            }
+            if (wasClosed) {
+                return;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos - (now - lastFlush));
+        }
+    }
+
+    private void write(Chunk chunk) {
+        Target target = chunk.target;
+        if (lastTarget != target) {
+            if (lastTarget != null) {
+                // keep the order of output written to different targets
+                flush(lastTarget);
+            }
+            lastTarget = target;
+        }
+        try {
+            target.out.write(chunk.bytes);
+            target.dirty = true;
+        } catch (IOException e) {
+            // like PrintWriter, ignore errors of the underlying stream
+        }
+        if (target.removed) {
+            flush(target);
+        }
+    }
+
+    private static void flush(Target target) {
+        if (target.dirty) {
+            target.dirty = false;
+            try {
+                target.out.flush();
+            } catch (IOException e) {
+                // ignored, see write
+            }
+        }
+    }
+
+    private void flushTargets() {
+        synchronized (targets) {
+            for (Iterator<Target> iterator = targets.values().iterator(); iterator.hasNext();) {
+                Target target = iterator.next();
+                flush(target);
+                if (target.refCount == 0) {
+                    target.removed = true;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void writeDirect(Chunk chunk) {
+        synchronized (targets) {
+            write(chunk);
+            flush(chunk.target);
+        }
+    }
+
+    /**
+     * Stops the writer thread after all pending output has been written and flushed. Output
+     * written afterwards is written synchronously.
+     */
+    @TruffleBoundary
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writerThread);
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // output offered concurrently with closing
+        boolean done;
+        do {
+            done = producers.get() == 0;
+            Chunk chunk;
+            while ((chunk = poll()) != null) {
+                writeDirect(chunk);
+            }
+            if (!done) {
+                Thread.yield();
+            }
+        } while (!done);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Atomic access to the native-order int and long elements of a direct {@link ByteBuffer}.
+ *
+ * The actual implementations are provided by the JDK-specific overlays. Without them, no element is
+ * accessible atomically and callers have to fall back to locking.
+ */
+public final class ByteBufferAtomics {
+    private ByteBufferAtomics() {
+    }
+
+    /**
+     * Returns {@code true} if the element of the given size at {@code byteIndex} can be accessed
+     * atomically, i.e. it is within bounds and suitably aligned.
+     */
+    @SuppressWarnings("unused")
+    public static boolean isAtomicAccessible(ByteBuffer buffer, int byteIndex, int size) {
+        return false;
+    }
+
+    @SuppressWarnings("unused")
+    @TruffleBoundary(allowInlining = false)
+    public static int getIntVolatile(ByteBuffer buffer, int byteIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    @SuppressWarnings("unused")
+    @TruffleBoundary(allowInlining = false)
+    public static long getLongVolatile(ByteBuffer buffer, int byteIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Atomically sets the element to {@code replacement} if it equals {@code expected}.
+     *
+     * @return the witness value, i.e. the previous value of the element
+     */
+    @SuppressWarnings("unused")
+    @TruffleBoundary(allowInlining = false)
+    public static int compareAndExchangeInt(ByteBuffer buffer, int byteIndex, int expected, int replacement) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Atomically sets the element to {@code replacement} if it equals {@code expected}.
+     *
+     * @return the witness value, i.e. the previous value of the element
+     */
+    @SuppressWarnings("unused")
+    @TruffleBoundary(allowInlining = false)
+    public static long compareAndExchangeLong(ByteBuffer buffer, int byteIndex, long expected, long replacement) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Bounded, context-wide LRU cache of compiled TRegex objects, keyed by pattern, flags and the
+ * options the regex engine was created with. Complements the small per-node inline cache of
+ * {@code CompileRegexNode} for code that creates {@code RegExp} objects from many different
+ * patterns at the same site. The cache is guarded by its own lock since the owning
+ * {@code JSContext} may be shared by several polyglot contexts of one engine.
+ */
+public final class CompiledRegexCache {
+
+    private static final DebugCounter cacheHits = DebugCounter.create("Compiled regex cache hits");
+    private static final DebugCounter cacheMisses = DebugCounter.create("Compiled regex cache misses");
+
+    private final String regexOptions;
+    private final Map<Triple<String, String, String>, Object> map;
+    private long hits;
+    private long misses;
+
+    public CompiledRegexCache(int maxSize, String regexOptions) {
+        assert maxSize > 0;
+        this.regexOptions = regexOptions;
+        this.map = new LinkedHashMap<Triple<String, String, String>, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Triple<String, String, String>, Object> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled regex for the given pattern and flags, or {@code null} if not cached.
+     */
+    @TruffleBoundary
+    public synchronized Object get(String pattern, String flags) {
+        Object compiledRegex = map.get(new Triple<>(pattern, flags, regexOptions));
+        if (compiledRegex != null) {
+            hits++;
+            cacheHits.inc();
+        } else {
+            misses++;
+            cacheMisses.inc();
+        }
+        return compiledRegex;
+    }
+
+    @TruffleBoundary
+    public synchronized void put(String pattern, String flags, Object compiledRegex) {
+        map.put(new Triple<>(pattern, flags, regexOptions), compiledRegex);
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CompiledRegexCache[size=" + map.size() + ", hits=" + hits + ", misses=" + misses + "]";
+    }
+}
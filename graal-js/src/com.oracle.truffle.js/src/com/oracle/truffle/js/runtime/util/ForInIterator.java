@@ -47,6 +47,7 @@ import org.graalvm.collections.EconomicSet;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.runtime.Boundaries;
@@ -57,6 +58,8 @@ public class ForInIterator {
     public boolean objectWasVisited;
     public EconomicSet<Object> visitedKeys;
     public List<?> remainingKeys;
+    /** Enumerable properties from the shape's enum cache; used instead of remainingKeys if set. */
+    public Property[] remainingProperties;
     public int remainingKeysSize;
     public int remainingKeysIndex;
     public Shape[] visitedShapes;
@@ -68,11 +71,13 @@ public class ForInIterator {
     public ForInIterator(DynamicObject obj, boolean iterateValues) {
         this.object = obj;
         this.iterateValues = iterateValues;
-        this.visitedShapes = new Shape[4];
     }
 
     public void addVisitedShape(Shape shape, BranchProfile growBranch) {
-        if (visitedShapesSize >= visitedShapes.length) {
+        if (visitedShapes == null) {
+            growBranch.enter();
+            visitedShapes = new Shape[4];
+        } else if (visitedShapesSize >= visitedShapes.length) {
             growBranch.enter();
             visitedShapes = Arrays.copyOf(visitedShapes, visitedShapes.length * 2);
         }
@@ -86,6 +91,11 @@ public class ForInIterator {
         return Boundaries.economicSetAdd(visitedKeys, key);
     }
 
+    @TruffleBoundary
+    public Object getRemainingKey(int index) {
+        return remainingProperties != null ? remainingProperties[index] : remainingKeys.get(index);
+    }
+
     public boolean isVisitedKey(final Object key) {
         return (visitedShapesSize > 0 && visitedShapeSetContainsKey(visitedShapes, visitedShapesSize, key)) ||
                         (visitedKeys != null && Boundaries.economicSetContains(visitedKeys, key));
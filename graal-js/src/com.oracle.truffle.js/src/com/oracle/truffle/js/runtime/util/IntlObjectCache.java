@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Per-realm cache of the initialized Intl objects (DateTimeFormat, NumberFormat, Collator) that are
+ * created internally by the locale-sensitive methods of Date, Number, BigInt and String, like
+ * {@code Date.prototype.toLocaleString} or {@code String.prototype.localeCompare}. These objects
+ * never escape to user code, so it is safe to reuse them for calls with equal arguments.
+ *
+ * Only calls without options and with an undefined or string {@code locales} argument are cached:
+ * reading an options object or a locale list may invoke user code, so such calls always initialize
+ * a fresh object. The cache is confined to its realm (and thus to the thread currently entered in
+ * the context), so the ICU formatters held by the cached objects are never used concurrently.
+ */
+public final class IntlObjectCache {
+
+    /** Kinds of cached objects, distinguishing the different initializations of each Intl type. */
+    public static final String DATE_TIME_FORMAT_ANY = "DateTimeFormat:any:all";
+    public static final String DATE_TIME_FORMAT_DATE = "DateTimeFormat:date:date";
+    public static final String DATE_TIME_FORMAT_TIME = "DateTimeFormat:time:time";
+    public static final String NUMBER_FORMAT = "NumberFormat";
+    public static final String COLLATOR = "Collator";
+
+    private final int maxSize;
+    private LRUCache<Pair<String, Object>, DynamicObject> cache;
+
+    public IntlObjectCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns true if the Intl object initialized with the given arguments may be cached.
+     */
+    public static boolean isCacheable(Object locales, Object options) {
+        return options == Undefined.instance && (locales == Undefined.instance || JSRuntime.isString(locales));
+    }
+
+    /**
+     * Returns the cached Intl object of the given kind (e.g. {@link #NUMBER_FORMAT}) for the
+     * given locales, or null if there is none.
+     */
+    @TruffleBoundary
+    public DynamicObject get(String kind, Object locales) {
+        assert isCacheable(locales, Undefined.instance);
+        return cache == null ? null : cache.get(key(kind, locales));
+    }
+
+    @TruffleBoundary
+    public void put(String kind, Object locales, DynamicObject intlObject) {
+        assert isCacheable(locales, Undefined.instance);
+        if (cache == null) {
+            cache = new LRUCache<>(maxSize);
+        }
+        cache.put(key(kind, locales), intlObject);
+    }
+
+    @TruffleBoundary
+    public int size() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    private static Pair<String, Object> key(String kind, Object locales) {
+        return new Pair<>(kind, locales == Undefined.instance ? locales : locales.toString());
+    }
+}
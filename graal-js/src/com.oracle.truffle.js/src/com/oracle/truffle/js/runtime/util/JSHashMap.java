@@ -40,12 +40,19 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.JSRuntime;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * Entries are stored in insertion order in flat key and value arrays, with an additional chain
+ * array linking entries of the same bucket (similar to V8's OrderedHashTable). Deleted entries
+ * leave a hole ({@code null} key) that is removed on the next compaction, i.e. when the table is
+ * full or has become sparse. Live cursors are kept in sync with compactions via a chain of
+ * {@link Transition} records.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -72,21 +79,41 @@ public final class JSHashMap {
         Cursor copy();
     }
 
-    private final HashMap<Object, Node> map;
-    private final Node head;
-    private Node tail;
+    private static final int INITIAL_CAPACITY = 8;
+    /** Number of entries per bucket (on average) of a full table. */
+    private static final int LOAD_FACTOR = 2;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int NO_ENTRY = -1;
+
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+    private static final int[] EMPTY_CHAIN = new int[0];
+    private static final int[] EMPTY_BUCKETS = new int[]{NO_ENTRY};
+
+    /** Keys in insertion order; {@code null} denotes a deleted entry. */
+    private Object[] keys;
+    private Object[] values;
+    /** Index of the next entry in the same bucket, or {@link #NO_ENTRY}. */
+    private int[] chain;
+    /** Index of the first entry of each bucket, or {@link #NO_ENTRY}. */
+    private int[] buckets;
+    /** Number of used entry slots, including deleted ones. */
+    private int usedSlots;
+    private int size;
+    /** Latest transition; cursors holding an older one have to adjust their position. */
+    private Transition transition;
 
     @TruffleBoundary(allowInlining = true)
     public JSHashMap() {
-        this.map = new HashMap<>();
-        Node dummy = new Node(null, null, null, null);
-        this.head = dummy;
-        this.tail = dummy;
+        this.keys = EMPTY_ARRAY;
+        this.values = EMPTY_ARRAY;
+        this.chain = EMPTY_CHAIN;
+        this.buckets = EMPTY_BUCKETS;
+        this.transition = new Transition();
     }
 
     @TruffleBoundary(allowInlining = true)
     public int size() {
-        return map.size();
+        return size;
     }
 
     /**
@@ -94,172 +121,319 @@ public final class JSHashMap {
      */
     @TruffleBoundary
     public void put(Object key, Object value) {
-        Node newNode = new Node(key, value, null, null);
-        Node oldNode = map.putIfAbsent(key, newNode);
-        if (oldNode == null) {
-            newNode.setPrev(tail);
-            tail.setNext(newNode);
-            tail = newNode;
-        } else {
-            oldNode.setValue(value);
+        assert key != null && value != null;
+        int hash = hash(key);
+        int index = findEntry(key, hash);
+        if (index != NO_ENTRY) {
+            values[index] = value;
+            return;
         }
+        if (usedSlots == keys.length) {
+            grow();
+        }
+        index = usedSlots++;
+        keys[index] = key;
+        values[index] = value;
+        int bucket = hash & (buckets.length - 1);
+        chain[index] = buckets[bucket];
+        buckets[bucket] = index;
+        size++;
     }
 
     @TruffleBoundary
     public Object get(Object key) {
-        Node node = map.get(key);
-        return node == null ? null : node.getValue();
+        int index = findEntry(key, hash(key));
+        return index == NO_ENTRY ? null : values[index];
+    }
+
+    /**
+     * Allocation-free variant of {@link #get(Object)} for (normalized) int keys.
+     */
+    @TruffleBoundary
+    public Object get(int key) {
+        int index = findIntEntry(key);
+        return index == NO_ENTRY ? null : values[index];
+    }
+
+    /**
+     * Allocation-free variant of {@link #get(Object)} for double keys. The key does not need to be
+     * normalized.
+     */
+    @TruffleBoundary
+    public Object get(double key) {
+        int index = findDoubleEntry(key);
+        return index == NO_ENTRY ? null : values[index];
     }
 
     @TruffleBoundary
     public boolean has(Object key) {
-        return map.containsKey(key);
+        return findEntry(key, hash(key)) != NO_ENTRY;
+    }
+
+    @TruffleBoundary
+    public boolean has(int key) {
+        return findIntEntry(key) != NO_ENTRY;
+    }
+
+    @TruffleBoundary
+    public boolean has(double key) {
+        return findDoubleEntry(key) != NO_ENTRY;
     }
 
     @TruffleBoundary
     public boolean remove(Object key) {
-        Node node = map.remove(key);
-        if (node == null) {
+        int index = findEntry(key, hash(key));
+        if (index == NO_ENTRY) {
             return false;
-        } else {
-            unlink(node);
-            return true;
         }
+        // the entry stays in its bucket chain until the next compaction
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        if (size < (keys.length >> 2) && keys.length > INITIAL_CAPACITY) {
+            rehash(keys.length >> 1);
+        }
+        return true;
+    }
+
+    @TruffleBoundary
+    public void clear() {
+        keys = EMPTY_ARRAY;
+        values = EMPTY_ARRAY;
+        chain = EMPTY_CHAIN;
+        buckets = EMPTY_BUCKETS;
+        usedSlots = 0;
+        size = 0;
+        transition = transition.clear();
     }
 
-    private void unlink(Node node) {
-        Node next = node.getNext();
-        Node prev = node.getPrev();
-        prev.setNext(next);
-        if (next != null) {
-            next.setPrev(prev);
+    private static int hash(Object key) {
+        return mix(key.hashCode());
+    }
+
+    private static int mix(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    private int findEntry(Object key, int hash) {
+        if (key instanceof Integer) {
+            return findIntEntry((Integer) key);
+        }
+        for (int index = buckets[hash & (buckets.length - 1)]; index != NO_ENTRY; index = chain[index]) {
+            Object entryKey = keys[index];
+            if (entryKey == key || (entryKey != null && key.equals(entryKey))) {
+                return index;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    private int findIntEntry(int key) {
+        // Integer.hashCode(key) == key
+        for (int index = buckets[mix(key) & (buckets.length - 1)]; index != NO_ENTRY; index = chain[index]) {
+            Object entryKey = keys[index];
+            if (entryKey instanceof Integer && ((Integer) entryKey).intValue() == key) {
+                return index;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    private int findDoubleEntry(double key) {
+        if (JSRuntime.doubleIsRepresentableAsInt(key, true)) {
+            // also covers -0
+            return findIntEntry((int) key);
+        }
+        // same equivalence as Double.equals (NaN equals NaN)
+        long bits = Double.doubleToLongBits(key);
+        for (int index = buckets[mix(Double.hashCode(key)) & (buckets.length - 1)]; index != NO_ENTRY; index = chain[index]) {
+            Object entryKey = keys[index];
+            if (entryKey instanceof Double && Double.doubleToLongBits((Double) entryKey) == bits) {
+                return index;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    private void grow() {
+        int capacity = keys.length;
+        if (capacity == 0) {
+            rehash(INITIAL_CAPACITY);
+        } else if (size >= (capacity >> 1)) {
+            if (capacity == MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            rehash(capacity << 1);
         } else {
-            tail = prev;
+            // many deleted entries: compacting is sufficient
+            rehash(capacity);
         }
-        node.setEmpty();
     }
 
-    @TruffleBoundary
-    public void clear() {
-        map.clear();
-        for (Node current = head.getNext(); current != null; current = current.getNext()) {
-            current.setEmpty();
+    /**
+     * Moves all live entries into fresh arrays of the given capacity, preserving their order.
+     */
+    private void rehash(int newCapacity) {
+        assert newCapacity >= size && Integer.bitCount(newCapacity) == 1;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsedSlots = usedSlots;
+        Object[] newKeys = new Object[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        int[] newChain = new int[newCapacity];
+        int[] newBuckets = new int[Math.max(1, newCapacity / LOAD_FACTOR)];
+        Arrays.fill(newBuckets, NO_ENTRY);
+        int holeCount = oldUsedSlots - size;
+        int[] holes = holeCount == 0 ? null : new int[holeCount];
+        int holeIndex = 0;
+        int newIndex = 0;
+        int mask = newBuckets.length - 1;
+        for (int oldIndex = 0; oldIndex < oldUsedSlots; oldIndex++) {
+            Object key = oldKeys[oldIndex];
+            if (key == null) {
+                holes[holeIndex++] = oldIndex;
+                continue;
+            }
+            newKeys[newIndex] = key;
+            newValues[newIndex] = oldValues[oldIndex];
+            int bucket = hash(key) & mask;
+            newChain[newIndex] = newBuckets[bucket];
+            newBuckets[bucket] = newIndex;
+            newIndex++;
+        }
+        assert newIndex == size && holeIndex == holeCount;
+        this.keys = newKeys;
+        this.values = newValues;
+        this.chain = newChain;
+        this.buckets = newBuckets;
+        this.usedSlots = newIndex;
+        if (holes != null) {
+            transition = transition.compact(holes);
         }
-        head.setNext(null);
-        tail = head;
     }
 
     @TruffleBoundary
     @Override
     public String toString() {
-        return map.toString();
+        StringBuilder sb = new StringBuilder().append('{');
+        boolean first = true;
+        for (int i = 0; i < usedSlots; i++) {
+            if (keys[i] != null) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append('=').append(values[i]);
+                first = false;
+            }
+        }
+        return sb.append('}').toString();
     }
 
     public Cursor getEntries() {
-        return new CursorImpl(head);
+        return new CursorImpl(this, transition, 0);
+    }
+
+    /**
+     * Records how entry indices changed since a cursor last looked at the map. Only the latest
+     * transition (without a successor) is referenced by the map; older ones are kept alive only by
+     * cursors that have not caught up yet.
+     */
+    private static final class Transition {
+        /** Sorted indices of the removed holes, or {@code null} if the map was cleared. */
+        private int[] removedHoles;
+        private Transition next;
+
+        Transition compact(int[] holes) {
+            assert next == null;
+            this.removedHoles = holes;
+            this.next = new Transition();
+            return next;
+        }
+
+        Transition clear() {
+            assert next == null;
+            this.removedHoles = null;
+            this.next = new Transition();
+            return next;
+        }
+
+        /**
+         * Maps an index valid before this transition to the equivalent index after it.
+         */
+        int updateIndex(int index) {
+            if (removedHoles == null) {
+                return 0;
+            }
+            // number of holes below index (index itself may have been a hole)
+            int pos = Arrays.binarySearch(removedHoles, index);
+            return index - (pos >= 0 ? pos : -(pos + 1));
+        }
     }
 
     private static final class CursorImpl implements Cursor {
-        private Node current;
+        private final JSHashMap map;
+        /** Transition the index is relative to; {@code null} once the cursor is exhausted. */
+        private Transition transition;
+        /** Index of the next entry slot to examine. */
+        private int nextIndex;
+        private Object key;
+        private Object value;
 
-        CursorImpl(Node head) {
-            this.current = head;
+        CursorImpl(JSHashMap map, Transition transition, int nextIndex) {
+            this.map = map;
+            this.transition = transition;
+            this.nextIndex = nextIndex;
         }
 
         @Override
         public boolean advance() {
-            if (current == null) {
+            if (transition == null) {
                 return false;
-            } else {
-                // if current is no longer in the map, back up to a previous node still in the map
-                while (current.isEmpty() && current.getPrev() != null) {
-                    current = current.getPrev();
+            }
+            while (transition.next != null) {
+                nextIndex = transition.updateIndex(nextIndex);
+                transition = transition.next;
+            }
+            Object[] keys = map.keys;
+            int usedSlots = map.usedSlots;
+            while (nextIndex < usedSlots) {
+                int index = nextIndex++;
+                Object entryKey = keys[index];
+                if (entryKey != null) {
+                    key = entryKey;
+                    value = map.values[index];
+                    return true;
                 }
-                Node next = current.getNext();
-                assert next == null || next.getKey() != null;
-                current = next;
-                return next != null;
             }
+            key = null;
+            value = null;
+            transition = null;
+            return false;
         }
 
         @Override
         public Object getKey() {
-            Object key = current.getKey();
             assert key != null;
             return key;
         }
 
         @Override
         public Object getValue() {
-            Object value = current.getValue();
             assert value != null;
             return value;
         }
 
         @Override
         public String toString() {
-            return "Cursor [current=" + current + "]";
+            return "Cursor [key=" + key + ", value=" + value + "]";
         }
 
         @Override
         public Cursor copy() {
-            return new CursorImpl(current);
-        }
-    }
-
-    private static final class Node {
-        private Object key;
-        private Object value;
-        private Node prev;
-        private Node next;
-
-        Node(Object key, Object value, Node prev, Node next) {
-            this.key = key;
-            this.value = value;
-            this.prev = prev;
-            this.next = next;
-        }
-
-        Object getKey() {
-            return key;
-        }
-
-        Object getValue() {
-            return value;
-        }
-
-        void setValue(Object value) {
-            this.value = value;
-        }
-
-        Node getPrev() {
-            return prev;
-        }
-
-        void setPrev(Node prev) {
-            this.prev = prev;
-        }
-
-        Node getNext() {
-            return next;
-        }
-
-        void setNext(Node next) {
-            this.next = next;
-        }
-
-        void setEmpty() {
-            this.key = null;
-            this.value = null;
-        }
-
-        boolean isEmpty() {
-            return this.key == null;
-        }
-
-        @Override
-        public String toString() {
-            return "Node [key=" + key + ", value=" + value + "]";
+            CursorImpl copy = new CursorImpl(map, transition, nextIndex);
+            copy.key = key;
+            copy.value = value;
+            return copy;
         }
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Specialized sorting routines for {@code Array.prototype.sort} that avoid calling a comparator
+ * (and converting the elements) on every comparison.
+ */
+public final class SortUtil {
+
+    /** Size of the runs sorted by insertion sort before merging. */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private static final Comparator<Object> STRING_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object o1, Object o2) {
+            return ((String) o1).compareTo((String) o2);
+        }
+    };
+
+    private SortUtil() {
+    }
+
+    /**
+     * Sorts the array in the default sort order of {@code Array.prototype.sort}, i.e. by the string
+     * values of the elements, with {@code undefined} sorted last. The string value of every element
+     * is computed only once. Only applicable if all elements are primitives (other than symbols),
+     * since ToString could have side effects for other values.
+     *
+     * @return {@code false} (without modifying the array) if the array contains other elements
+     */
+    public static boolean sortByStringValue(Object[] array) {
+        int undefinedCount = 0;
+        boolean allStrings = true;
+        for (Object element : array) {
+            if (element == Undefined.instance) {
+                undefinedCount++;
+            } else if (!(element instanceof String)) {
+                if (!JSRuntime.isJSPrimitive(element) || element instanceof Symbol) {
+                    return false;
+                }
+                allStrings = false;
+            }
+        }
+        int length = array.length - undefinedCount;
+        if (undefinedCount != 0) {
+            int j = 0;
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] != Undefined.instance) {
+                    array[j++] = array[i];
+                }
+            }
+            Arrays.fill(array, length, array.length, Undefined.instance);
+        }
+        if (allStrings) {
+            Arrays.sort(array, 0, length, STRING_ORDER);
+        } else {
+            String[] keys = new String[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = JSRuntime.toString(array[i]);
+            }
+            sortByKeys(keys, array, length);
+        }
+        return true;
+    }
+
+    /**
+     * Sorts the range of the array by the string values of its elements, in place.
+     */
+    public static void sortByStringValue(int[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        String[] keys = new String[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = Integer.toString(array[fromIndex + i]);
+        }
+        Arrays.sort(keys);
+        // the decimal representation of an int is canonical, so parsing restores the value
+        for (int i = 0; i < length; i++) {
+            array[fromIndex + i] = Integer.parseInt(keys[i]);
+        }
+    }
+
+    /**
+     * Sorts the range of the array numerically, in place.
+     */
+    public static void sortNumeric(int[] array, int fromIndex, int toIndex, boolean descending) {
+        Arrays.sort(array, fromIndex, toIndex);
+        if (descending) {
+            // equal ints are indistinguishable, so reversing keeps the sort stable
+            for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+
+    /**
+     * Sorts the range of the array numerically, in place. Arrays.sort orders NaN last and -0
+     * before +0, whereas a subtracting comparator considers NaN equal to every value and -0 equal
+     * to +0, so ranges containing either are left to the generic sort.
+     *
+     * @return {@code false} (without modifying the array) if the range contains NaN or -0
+     */
+    public static boolean sortNumeric(double[] array, int fromIndex, int toIndex, boolean descending) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            double value = array[i];
+            if (Double.isNaN(value) || JSRuntime.isNegativeZero(value)) {
+                return false;
+            }
+        }
+        Arrays.sort(array, fromIndex, toIndex);
+        if (descending) {
+            for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+                double tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stable merge sort of the first {@code length} values by the corresponding keys.
+     */
+    private static void sortByKeys(String[] keys, Object[] values, int length) {
+        for (int start = 0; start < length; start += INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, values, start, Math.min(start + INSERTION_SORT_THRESHOLD, length));
+        }
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            return;
+        }
+        String[] srcKeys = keys;
+        Object[] srcValues = values;
+        String[] dstKeys = new String[length];
+        Object[] dstValues = new Object[length];
+        for (long width = INSERTION_SORT_THRESHOLD; width < length; width <<= 1) {
+            for (long low = 0; low < length; low += width << 1) {
+                int mid = (int) Math.min(low + width, length);
+                int high = (int) Math.min(low + (width << 1), length);
+                merge(srcKeys, srcValues, dstKeys, dstValues, (int) low, mid, high);
+            }
+            String[] tmpKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmpKeys;
+            Object[] tmpValues = srcValues;
+            srcValues = dstValues;
+            dstValues = tmpValues;
+        }
+        if (srcValues != values) {
+            System.arraycopy(srcValues, 0, values, 0, length);
+        }
+    }
+
+    private static void insertionSort(String[] keys, Object[] values, int fromIndex, int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            String key = keys[i];
+            Object value = values[i];
+            int j = i - 1;
+            while (j >= fromIndex && keys[j].compareTo(key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private static void merge(String[] srcKeys, Object[] srcValues, String[] dstKeys, Object[] dstValues, int low, int mid, int high) {
+        int i = low;
+        int j = mid;
+        for (int k = low; k < high; k++) {
+            // take from the left run on ties to keep the sort stable
+            if (j >= high || (i < mid && srcKeys[i].compareTo(srcKeys[j]) <= 0)) {
+                dstKeys[k] = srcKeys[i];
+                dstValues[k] = srcValues[i];
+                i++;
+            } else {
+                dstKeys[k] = srcKeys[j];
+                dstValues[k] = srcValues[j];
+                j++;
+            }
+        }
+    }
+}
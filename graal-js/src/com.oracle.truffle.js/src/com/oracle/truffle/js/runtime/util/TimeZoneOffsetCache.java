@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+
+/**
+ * Per-realm cache of the local time zone offset (LocalTZA) used by the Date builtins. It remembers
+ * the last few intervals [start, end) of UTC time in which the offset of the time zone is
+ * constant, i.e., the intervals between two consecutive offset transitions (e.g. daylight saving
+ * time changes), so that most offset computations do not have to consult {@link ZoneRules}.
+ *
+ * The cache is bound to the {@link ZoneId} it was filled for and is reset when it is queried with
+ * a different one, e.g. after the local time zone of the realm has been changed.
+ */
+public final class TimeZoneOffsetCache {
+
+    private static final DebugCounter cacheHits = DebugCounter.create("Time zone offset cache hits");
+    private static final DebugCounter cacheMisses = DebugCounter.create("Time zone offset cache misses");
+
+    private static final int SIZE = 4;
+    /**
+     * Upper bound of the difference of any two offsets ({@link java.time.ZoneOffset} is limited to
+     * +/-18 hours). A local time that maps into an interval at least this far from both of its
+     * ends cannot have another (ambiguous) mapping in a neighboring interval.
+     */
+    private static final long MAX_OFFSET_DIFFERENCE = 36L * 3600 * 1000;
+
+    private ZoneId zoneId;
+    private final long[] starts = new long[SIZE];
+    private final long[] ends = new long[SIZE];
+    private final long[] offsets = new long[SIZE];
+    private int count;
+    private int next;
+
+    /**
+     * Returns the offset of the given zone at the UTC time {@code t}, or at the local time
+     * {@code t} if {@code isUTC} is false (see {@link JSDate#localTZA(double, boolean, ZoneId)}).
+     */
+    public long localTZA(double t, boolean isUTC, ZoneId zone) {
+        if (zone == zoneId) {
+            long time = (long) t;
+            for (int i = 0; i < count; i++) {
+                if (isUTC) {
+                    if (starts[i] <= time && time < ends[i]) {
+                        cacheHits.inc();
+                        return offsets[i];
+                    }
+                } else {
+                    long utc = time - offsets[i];
+                    if (starts[i] + MAX_OFFSET_DIFFERENCE <= utc && utc < ends[i] - MAX_OFFSET_DIFFERENCE) {
+                        cacheHits.inc();
+                        return offsets[i];
+                    }
+                }
+            }
+        }
+        cacheMisses.inc();
+        return localTZASlow(t, isUTC, zone);
+    }
+
+    @TruffleBoundary
+    private long localTZASlow(double t, boolean isUTC, ZoneId zone) {
+        if (!zone.equals(zoneId)) {
+            count = 0;
+            next = 0;
+        }
+        zoneId = zone;
+        long offset = JSDate.localTZA(t, isUTC, zone);
+        if (Math.abs(t) < JSDate.MAX_DATE + JSDate.MS_PER_DAY) {
+            addInterval(isUTC ? (long) t : (long) t - offset, zone.getRules());
+        }
+        return offset;
+    }
+
+    private void addInterval(long utc, ZoneRules rules) {
+        Instant instant = Instant.ofEpochMilli(utc);
+        long start;
+        long end;
+        if (rules.isFixedOffset()) {
+            start = Long.MIN_VALUE;
+            end = Long.MAX_VALUE;
+        } else {
+            // previousTransition is exclusive, but the interval starts at the transition
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusNanos(1));
+            ZoneOffsetTransition following = rules.nextTransition(instant);
+            start = previous == null ? Long.MIN_VALUE : previous.getInstant().toEpochMilli();
+            end = following == null ? Long.MAX_VALUE : following.getInstant().toEpochMilli();
+        }
+        int index = next;
+        starts[index] = start;
+        ends[index] = end;
+        offsets[index] = rules.getOffset(instant).getTotalSeconds() * 1000L;
+        next = (index + 1) % SIZE;
+        if (count < SIZE) {
+            count++;
+        }
+    }
+}
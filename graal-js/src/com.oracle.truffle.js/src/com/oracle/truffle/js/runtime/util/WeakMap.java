@@ -40,11 +40,10 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.HiddenKey;
@@ -56,10 +55,32 @@ import com.oracle.truffle.js.runtime.objects.JSShape;
 
 /**
  * JavaScript WeakMap.
+ *
+ * Entries are stored on the key rather than in the map, so that a value is only kept alive by its
+ * key (ephemeron semantics), even if the value references the key. Every key carries a hidden
+ * property with a chain of {@link InvertedEntry entries}, one per WeakMap containing the key,
+ * which refer to their WeakMap weakly. The hidden property is defined when the key is first added
+ * to any WeakMap and only updated in place afterwards, so adding the key to further WeakMaps or
+ * updating values does not change the shape of the key.
  */
 public class WeakMap implements Map<DynamicObject, Object> {
     private static final HiddenKey INVERTED_WEAK_MAP_KEY = new HiddenKey("InvertedWeakMap");
 
+    /**
+     * Entry of a key in a WeakMap, stored on the key. Entries whose WeakMap has been collected or
+     * that have been removed are unlinked lazily.
+     */
+    public static final class InvertedEntry extends WeakReference<WeakMap> {
+        Object value;
+        InvertedEntry next;
+
+        InvertedEntry(WeakMap map, Object value, InvertedEntry next) {
+            super(map);
+            this.value = value;
+            this.next = next;
+        }
+    }
+
     public WeakMap() {
     }
 
@@ -78,54 +99,126 @@ public class WeakMap implements Map<DynamicObject, Object> {
         return (DynamicObject) key;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<WeakMap, Object> getInvertedMap(DynamicObject k, boolean put) {
+    private static InvertedEntry getInvertedEntries(DynamicObject k) {
         if (k.containsKey(INVERTED_WEAK_MAP_KEY)) {
-            return (WeakHashMap<WeakMap, Object>) k.get(INVERTED_WEAK_MAP_KEY);
+            return (InvertedEntry) k.get(INVERTED_WEAK_MAP_KEY);
         } else {
-            if (put) {
-                return putInvertedMap(k);
-            } else {
-                return Collections.emptyMap();
-            }
+            return null;
         }
     }
 
-    private static WeakHashMap<WeakMap, Object> putInvertedMap(DynamicObject k) {
-        WeakHashMap<WeakMap, Object> invertedMap = new WeakHashMap<>();
+    private static void putInvertedEntries(DynamicObject k, InvertedEntry head) {
+        if (k.containsKey(INVERTED_WEAK_MAP_KEY)) {
+            k.set(INVERTED_WEAK_MAP_KEY, head);
+            return;
+        }
         boolean wasNotExtensible = !JSShape.isExtensible(k.getShape());
-        k.define(INVERTED_WEAK_MAP_KEY, invertedMap);
+        k.define(INVERTED_WEAK_MAP_KEY, head);
         if (wasNotExtensible && JSObject.isExtensible(k)) {
             // not-extensible marker property is expected to be the last property; ensure it is.
             k.delete(JSShape.NOT_EXTENSIBLE_KEY);
             JSObject.preventExtensions(k);
             assert !JSObject.isExtensible(k);
         }
-        return invertedMap;
+    }
+
+    /**
+     * Finds the live entry of this map in a chain of inverted entries, unlinking dead entries
+     * (except for the head, which is only replaced by {@link #put}).
+     */
+    private InvertedEntry findEntry(InvertedEntry head) {
+        InvertedEntry prev = null;
+        for (InvertedEntry entry = head; entry != null; entry = entry.next) {
+            WeakMap map = entry.get();
+            if (map == this) {
+                return entry;
+            } else if (map == null && prev != null) {
+                prev.next = entry.next;
+                entry.value = null;
+            } else {
+                prev = entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of this map in the inverted entries of a key, or {@code null} if absent.
+     *
+     * @param invertedEntries value of the key's hidden inverted entries property
+     */
+    public Object getInverted(Object invertedEntries) {
+        InvertedEntry entry = findEntry((InvertedEntry) invertedEntries);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Returns whether the inverted entries of a key contain an entry of this map.
+     *
+     * @param invertedEntries value of the key's hidden inverted entries property
+     */
+    public boolean hasInverted(Object invertedEntries) {
+        return findEntry((InvertedEntry) invertedEntries) != null;
+    }
+
+    /**
+     * Updates the value of an existing entry of this map in the inverted entries of a key.
+     *
+     * @param invertedEntries value of the key's hidden inverted entries property
+     * @return {@code false} if there is no entry for this map, i.e., {@link #put} is needed
+     */
+    public boolean setInverted(Object invertedEntries, Object value) {
+        InvertedEntry entry = findEntry((InvertedEntry) invertedEntries);
+        if (entry == null) {
+            return false;
+        }
+        entry.value = value;
+        return true;
     }
 
     @Override
     public boolean containsKey(Object key) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).containsKey(this);
+        return findEntry(getInvertedEntries(k)) != null;
     }
 
     @Override
     public Object get(Object key) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).get(this);
+        return getInverted(getInvertedEntries(k));
     }
 
     @Override
     public Object put(DynamicObject key, Object value) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, true).put(this, value);
+        InvertedEntry head = getInvertedEntries(k);
+        InvertedEntry entry = findEntry(head);
+        if (entry != null) {
+            Object oldValue = entry.value;
+            entry.value = value;
+            return oldValue;
+        }
+        InvertedEntry next = head;
+        if (head != null && head.get() == null) {
+            // replace the dead head entry
+            head.value = null;
+            next = head.next;
+        }
+        putInvertedEntries(k, new InvertedEntry(this, value, next));
+        return null;
     }
 
     @Override
     public Object remove(Object key) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).remove(this);
+        InvertedEntry entry = findEntry(getInvertedEntries(k));
+        if (entry == null) {
+            return null;
+        }
+        Object oldValue = entry.value;
+        entry.value = null;
+        entry.clear();
+        return oldValue;
     }
 
     @Override
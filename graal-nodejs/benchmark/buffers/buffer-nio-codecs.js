@@ -0,0 +1,41 @@
+'use strict';
+
+// Compares the Java (NIO buffer) implementations of the Buffer codecs with
+// the original native ones. Only meaningful on graal-nodejs; when NIO buffers
+// are disabled (-Dnode.buffer.nio=false) both variants use the native path.
+
+const common = require('../common.js');
+
+const bench = common.createBenchmark(main, {
+  encoding: ['latin1', 'ascii', 'hex', 'base64', 'ucs2'],
+  op: ['slice', 'write'],
+  impl: ['java', 'native'],
+  len: [16, 1024, 65536],
+  n: [1e5]
+}, { flags: ['--expose-internals'] });
+
+function main({ encoding, op, impl, len, n }) {
+  const buf = Buffer.alloc(len);
+  for (let i = 0; i < len; i++)
+    buf[i] = (i * 31) & 0x7f;
+  const str = buf.toString(encoding);
+
+  const name = encoding + (op === 'slice' ? 'Slice' : 'Write');
+  let fn = Buffer.prototype[name];
+  if (impl === 'native') {
+    const { nativeBufferFunctions } = require('internal/graal/buffer');
+    fn = nativeBufferFunctions[name] || fn;
+  }
+
+  if (op === 'slice') {
+    bench.start();
+    for (let i = 0; i < n; i++)
+      fn.call(buf, 0, len);
+    bench.end(n);
+  } else {
+    bench.start();
+    for (let i = 0; i < n; i++)
+      fn.call(buf, str, 0, len);
+    bench.end(n);
+  }
+}
@@ -248,6 +248,8 @@ enum GraalAccessMethod {
     unbound_script_bind_to_context,
     unbound_script_get_id,
     unbound_script_get_content,
+    unbound_script_is_cached_data_rejected,
+    unbound_script_create_code_cache,
     context_global,
     context_set_pointer_in_embedder_data,
     context_get_pointer_in_embedder_data,
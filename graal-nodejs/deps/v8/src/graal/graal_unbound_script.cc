@@ -49,16 +49,28 @@
 GraalUnboundScript::GraalUnboundScript(GraalIsolate* isolate, jobject java_script) : GraalHandleContent(isolate, java_script) {
 }
 
-v8::Local<v8::UnboundScript> GraalUnboundScript::Compile(v8::Local<v8::String> source_code, v8::Local<v8::String> file_name, v8::Local<v8::PrimitiveArray> options) {
+v8::Local<v8::UnboundScript> GraalUnboundScript::Compile(v8::Local<v8::String> source_code, v8::Local<v8::String> file_name, v8::Local<v8::PrimitiveArray> options, v8::ScriptCompiler::CachedData* cached_data) {
     GraalString* graal_source_code = reinterpret_cast<GraalString*> (*source_code);
     jobject java_source_code = graal_source_code->GetJavaObject();
     jobject java_file_name = file_name.IsEmpty() ? NULL : reinterpret_cast<GraalString*> (*file_name)->GetJavaObject();
     jobject java_options = options.IsEmpty() ? NULL : reinterpret_cast<GraalPrimitiveArray*> (*options)->GetJavaObject();
     GraalIsolate* graal_isolate = graal_source_code->Isolate();
-    JNI_CALL(jobject, java_script, graal_isolate, GraalAccessMethod::unbound_script_compile, Object, java_source_code, java_file_name, java_options)
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    jobject java_cached_data = NULL;
+    if (cached_data != nullptr) {
+        java_cached_data = env->NewDirectByteBuffer(const_cast<uint8_t*> (cached_data->data), cached_data->length);
+    }
+    JNI_CALL(jobject, java_script, graal_isolate, GraalAccessMethod::unbound_script_compile, Object, java_source_code, java_file_name, java_options, java_cached_data)
+    if (java_cached_data != NULL) {
+        env->DeleteLocalRef(java_cached_data);
+    }
     if (java_script == NULL) {
         return v8::Local<v8::UnboundScript>();
     } else {
+        if (cached_data != nullptr) {
+            JNI_CALL(jboolean, rejected, graal_isolate, GraalAccessMethod::unbound_script_is_cached_data_rejected, Boolean, java_script);
+            cached_data->rejected = rejected;
+        }
         GraalUnboundScript* graal_script = new GraalUnboundScript(graal_isolate, java_script);
         return reinterpret_cast<v8::UnboundScript*> (graal_script);
     }
@@ -93,3 +105,18 @@ v8::Local<v8::String> GraalUnboundScript::GetContent() {
     GraalString* graal_content = new GraalString(graal_isolate, (jstring) java_content);
     return reinterpret_cast<v8::String*> (graal_content);
 }
+
+v8::ScriptCompiler::CachedData* GraalUnboundScript::CreateCodeCache() {
+    GraalIsolate* graal_isolate = Isolate();
+    JNI_CALL(jobject, java_cache, graal_isolate, GraalAccessMethod::unbound_script_create_code_cache, Object, GetJavaObject());
+    if (java_cache == NULL) {
+        return new v8::ScriptCompiler::CachedData(nullptr, 0);
+    }
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    jbyteArray java_bytes = (jbyteArray) java_cache;
+    jsize length = env->GetArrayLength(java_bytes);
+    uint8_t* data = new uint8_t[length];
+    env->GetByteArrayRegion(java_bytes, 0, length, (jbyte*) data);
+    env->DeleteLocalRef(java_cache);
+    return new v8::ScriptCompiler::CachedData(data, length, v8::ScriptCompiler::CachedData::BufferOwned);
+}
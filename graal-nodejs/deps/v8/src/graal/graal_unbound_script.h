@@ -48,10 +48,11 @@
 class GraalUnboundScript : public GraalHandleContent {
 public:
     GraalUnboundScript(GraalIsolate* isolate, jobject java_script);
-    static v8::Local<v8::UnboundScript> Compile(v8::Local<v8::String> source, v8::Local<v8::String> file_name, v8::Local<v8::PrimitiveArray> options);
+    static v8::Local<v8::UnboundScript> Compile(v8::Local<v8::String> source, v8::Local<v8::String> file_name, v8::Local<v8::PrimitiveArray> options, v8::ScriptCompiler::CachedData* cached_data = nullptr);
     v8::Local<v8::Script> BindToCurrentContext();
     int GetId();
     v8::Local<v8::String> GetContent();
+    v8::ScriptCompiler::CachedData* CreateCodeCache();
 protected:
     GraalHandleContent* CopyImpl(jobject java_object_copy) override;
 };
@@ -1890,16 +1890,10 @@ namespace v8 {
             Source* source,
             CompileOptions options,
             NoCacheReason no_cache_reason) {
-        if (options == ScriptCompiler::kConsumeCodeCache) {
-            String::Utf8Value text(isolate, source->source_string);
-            CachedData* data = source->cached_data;
-            if (data->length != text.length() || memcmp(data->data, (const uint8_t*) *text, text.length())) {
-                data->rejected = true;
-            }
-        }
+        CachedData* cached_data = (options == ScriptCompiler::kConsumeCodeCache) ? source->cached_data : nullptr;
         Local<Value> resource_name = source->resource_name;
         Local<String> file_name = resource_name.IsEmpty() ? resource_name.As<String>() : resource_name->ToString(isolate);
-        return GraalUnboundScript::Compile(source->source_string, file_name, source->host_defined_options);
+        return GraalUnboundScript::Compile(source->source_string, file_name, source->host_defined_options, cached_data);
     }
 
     bool Value::IsDataView() const {
@@ -2894,10 +2888,7 @@ namespace v8 {
 
     ScriptCompiler::CachedData* ScriptCompiler::CreateCodeCache(Local<UnboundScript> unbound_script) {
         GraalUnboundScript* graal_script = reinterpret_cast<GraalUnboundScript*> (*unbound_script);
-        String::Utf8Value text(reinterpret_cast<Isolate*> (graal_script->Isolate()), graal_script->GetContent());
-        uint8_t* copy = new uint8_t[text.length()];
-        memcpy(copy, *text, text.length());
-        return new ScriptCompiler::CachedData((const uint8_t*) copy, text.length());
+        return graal_script->CreateCodeCache();
     }
 
     ScriptCompiler::CachedData* ScriptCompiler::CreateCodeCache(Local<UnboundModuleScript> unbound_module_script) {
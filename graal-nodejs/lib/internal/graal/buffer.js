@@ -42,14 +42,25 @@
 // When NIO buffers are enabled, GraalJSAccess ensures that this module is loaded with the builtins constructor as extra argument.
 const NIOBufferPrototypeAllocator = typeof graalExtension === 'undefined' ? arguments[arguments.length - 1] : graalExtension;
 
+const encodings = ['utf8', 'latin1', 'ascii', 'hex', 'base64', 'ucs2'];
+
+// The original (native) implementations, kept for comparison in benchmarks.
+const nativeBufferFunctions = {};
+
 function patchBufferPrototype(proto) {
 	if (NIOBufferPrototypeAllocator) {
-		const bufferBuiltin = NIOBufferPrototypeAllocator(proto.utf8Write, proto.utf8Slice);
-		proto.utf8Write = bufferBuiltin.utf8Write;
-		proto.utf8Slice = bufferBuiltin.utf8Slice;
+		// the native functions are kept as a fallback by the builtins
+		const bufferBuiltin = NIOBufferPrototypeAllocator(proto);
+		for (const encoding of encodings) {
+			nativeBufferFunctions[encoding + 'Write'] = proto[encoding + 'Write'];
+			nativeBufferFunctions[encoding + 'Slice'] = proto[encoding + 'Slice'];
+			proto[encoding + 'Write'] = bufferBuiltin[encoding + 'Write'];
+			proto[encoding + 'Slice'] = bufferBuiltin[encoding + 'Slice'];
+		}
 	}
 }
 
 module.exports = {
-	install: patchBufferPrototype
+	install: patchBufferPrototype,
+	nativeBufferFunctions
 }
\ No newline at end of file
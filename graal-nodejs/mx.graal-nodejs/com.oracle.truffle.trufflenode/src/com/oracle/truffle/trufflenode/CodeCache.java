@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.graalvm.home.HomeFinder;
+
+import com.oracle.truffle.api.TruffleContext;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.parser.BinarySnapshotProvider;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.snapshot.SnapshotTool;
+
+/**
+ * Code cache of scripts that are not part of Node.js core, i.e., the equivalent of V8's
+ * {@code cachedData}. The cached data are binary snapshots of the translated script (see
+ * {@link BinarySnapshotProvider}). When the {@value #CACHE_DIR_PROPERTY} system property is set,
+ * the snapshots of user modules are also stored in (and loaded from) the given directory, keyed by
+ * a hash of the source code and the version of the engine.
+ */
+final class CodeCache {
+
+    static final String CACHE_DIR_PROPERTY = "truffle.node.js.code-cache-dir";
+    private static final String CACHE_FILE_SUFFIX = ".bin";
+    private static final String GRAALVM_VERSION = String.valueOf(HomeFinder.getInstance().getVersion());
+
+    private final Path directory;
+    private final boolean verbose;
+
+    private CodeCache(Path directory, boolean verbose) {
+        this.directory = directory;
+        this.verbose = verbose;
+    }
+
+    /**
+     * Returns the persistent code cache or {@code null} when it is not enabled.
+     */
+    static CodeCache create(boolean verbose) {
+        String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        if (dir == null || dir.isEmpty()) {
+            return null;
+        }
+        try {
+            Path directory = Paths.get(dir);
+            Files.createDirectories(directory);
+            return new CodeCache(directory, verbose);
+        } catch (IOException | RuntimeException e) {
+            if (verbose) {
+                System.err.printf("code cache disabled, cannot use directory %s: %s\n", dir, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Creates cached data for the given script or returns {@code null} if they cannot be created.
+     * The script is translated again, so this should be done only for scripts that are expected to
+     * be loaded again.
+     */
+    static byte[] produce(JSRealm realm, Source source, String prefix, String suffix) {
+        TruffleContext truffleContext = realm.getTruffleContext();
+        Object prev = truffleContext.enter();
+        try {
+            return SnapshotTool.createBinarySnapshot(realm.getContext(), source, prefix, suffix);
+        } catch (RuntimeException | LinkageError e) {
+            // e.g. syntax errors or the recording of the node factory not being supported (native
+            // image); cached data are optional
+            return null;
+        } finally {
+            truffleContext.leave(prev);
+        }
+    }
+
+    /**
+     * Returns whether the given cached data can be used for the given source code.
+     */
+    static boolean accepts(ByteBuffer cachedData, CharSequence code) {
+        return BinarySnapshotProvider.isValidFor(cachedData, code);
+    }
+
+    /**
+     * Loads the cached data of the script with the given code (where {@code body} is the content of
+     * the source).
+     *
+     * @return the cached data or {@code null} if there are no (valid) cached data
+     */
+    ByteBuffer load(String prefix, String body, String suffix) {
+        Path file = directory.resolve(key(prefix, body, suffix) + CACHE_FILE_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (accepts(data, body)) {
+                return data;
+            }
+        } catch (IOException e) {
+            if (verbose) {
+                System.err.printf("cannot read code cache file %s: %s\n", file, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the cached data of the given script.
+     */
+    void store(JSRealm realm, Source source, String prefix, String suffix) {
+        String body = source.getCharacters().toString();
+        byte[] data = produce(realm, source, prefix, suffix);
+        if (data == null) {
+            return;
+        }
+        Path file = directory.resolve(key(prefix, body, suffix) + CACHE_FILE_SUFFIX);
+        try {
+            // write to a temporary file first so that concurrent processes never see partial data
+            Path tmp = Files.createTempFile(directory, null, ".tmp");
+            try {
+                Files.write(tmp, data);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            if (verbose) {
+                System.err.printf("cannot write code cache file %s: %s\n", file, e);
+            }
+        }
+    }
+
+    private static String key(String prefix, String body, String suffix) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(GRAALVM_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update(Integer.toHexString(JSNodeDecoder.getChecksum()).getBytes(StandardCharsets.UTF_8));
+        for (String part : new String[]{prefix, body, suffix}) {
+            digest.update((byte) 0);
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
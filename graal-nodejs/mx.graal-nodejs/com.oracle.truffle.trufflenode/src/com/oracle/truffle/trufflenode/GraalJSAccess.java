@@ -290,6 +290,11 @@ public final class GraalJSAccess {
 
     private final boolean exposeGC;
 
+    /**
+     * Persistent code cache of user modules, {@code null} when disabled.
+     */
+    private final CodeCache codeCache = CodeCache.create(VERBOSE);
+
     /**
      * @see Options.OptionsParser#preprocessArguments
      */
@@ -1855,13 +1860,6 @@ public final class GraalJSAccess {
         }
         String parameterList = params.toString();
 
-        try {
-            GraalJSParserHelper.checkFunctionSyntax(jsContext, jsContext.getParserOptions(), parameterList, body, false, false, sourceName);
-        } catch (com.oracle.js.parser.ParserException ex) {
-            // throw the correct JS error
-            nodeEvaluator.parseFunction(jsContext, parameterList, body, false, false, sourceName);
-        }
-
         StringBuilder code = new StringBuilder();
 
         boolean anyExtension = extensions.length > 0;
@@ -1920,11 +1918,26 @@ public final class GraalJSAccess {
             hostDefinedOptionsMap.put(source, hostDefinedOptions);
         }
 
+        boolean persistentCache = snapshot == null && codeCache != null && hostDefinedOptions != null && !anyExtension && !UnboundScript.isCoreModule(sourceName);
+        if (persistentCache) {
+            snapshot = codeCache.load(prefix, body, suffix);
+        }
+
         Object function;
         if (snapshot == null) {
+            try {
+                GraalJSParserHelper.checkFunctionSyntax(jsContext, jsContext.getParserOptions(), parameterList, body, false, false, sourceName);
+            } catch (com.oracle.js.parser.ParserException ex) {
+                // throw the correct JS error
+                nodeEvaluator.parseFunction(jsContext, parameterList, body, false, false, sourceName);
+            }
+
             ScriptNode scriptNode = nodeEvaluator.parseScript(jsContext, source, prefix, suffix);
             DynamicObject fn = (DynamicObject) scriptNode.run(realm);
             function = anyExtension ? JSFunction.call(fn, Undefined.instance, extensions) : fn;
+            if (persistentCache) {
+                codeCache.store(realm, source, prefix, suffix);
+            }
         } else {
             ScriptNode scriptNode = parseScriptFromSnapshot(jsContext, source, prefix, suffix, snapshot);
             function = scriptNode.run(realm);
@@ -1943,7 +1956,7 @@ public final class GraalJSAccess {
     }
 
     public Object scriptCompile(Object context, Object sourceCode, Object fileName, Object hostDefinedOptions) {
-        UnboundScript unboundScript = (UnboundScript) unboundScriptCompile(sourceCode, fileName, hostDefinedOptions);
+        UnboundScript unboundScript = (UnboundScript) unboundScriptCompile(sourceCode, fileName, hostDefinedOptions, null);
         return unboundScriptBindToContext(context, unboundScript);
     }
 
@@ -2040,7 +2053,7 @@ public final class GraalJSAccess {
         return parseResult;
     }
 
-    public Object unboundScriptCompile(Object sourceCode, Object fileName, Object hostDefinedOptions) {
+    public Object unboundScriptCompile(Object sourceCode, Object fileName, Object hostDefinedOptions, Object cachedData) {
         String sourceCodeStr = (String) sourceCode;
         String fileNameStr = (String) fileName;
         Source source = UnboundScript.createSource(internSourceCode(sourceCodeStr), fileNameStr);
@@ -2054,10 +2067,64 @@ public final class GraalJSAccess {
             }
         }
 
+        boolean cachedDataRejected = false;
+        if (cachedData != null) {
+            // the native buffer is owned by the caller
+            ByteBuffer cachedDataCopy = copyBuffer((ByteBuffer) cachedData);
+            if (CodeCache.accepts(cachedDataCopy, sourceCodeStr)) {
+                return new UnboundScript(source, cachedDataCopy);
+            }
+            cachedDataRejected = true;
+        }
+
+        boolean persistentCache = codeCache != null && fileNameStr != null && !UnboundScript.isCoreModule(fileNameStr);
+        if (persistentCache) {
+            ByteBuffer persistentData = codeCache.load("", sourceCodeStr, "");
+            if (persistentData != null) {
+                return new UnboundScript(source, persistentData);
+            }
+        }
+
         // Needed to generate potential syntax errors, see node --check
         FunctionNode functionNode = parseSource(source, mainJSContext);
 
-        return new UnboundScript(source, functionNode);
+        if (persistentCache) {
+            codeCache.store(mainJSRealm, source, "", "");
+        }
+
+        UnboundScript unboundScript = new UnboundScript(source, functionNode);
+        if (cachedDataRejected) {
+            unboundScript.setCachedDataRejected();
+        }
+        return unboundScript;
+    }
+
+    public boolean unboundScriptIsCachedDataRejected(Object script) {
+        return ((UnboundScript) script).isCachedDataRejected();
+    }
+
+    public byte[] unboundScriptCreateCodeCache(Object script) {
+        UnboundScript unboundScript = (UnboundScript) script;
+        Object parseResult = unboundScript.getParseResult();
+        if (parseResult == DUMMY_UNBOUND_MODULE_PARSE_RESULT) {
+            // code cache of modules is not supported
+            return null;
+        } else if (parseResult instanceof ByteBuffer) {
+            // the script has been created from a snapshot or cached data already
+            ByteBuffer snapshot = ((ByteBuffer) parseResult).duplicate();
+            byte[] bytes = new byte[snapshot.remaining()];
+            snapshot.get(bytes);
+            return bytes;
+        } else {
+            return CodeCache.produce(mainJSRealm, unboundScript.getSource(), "", "");
+        }
+    }
+
+    private static ByteBuffer copyBuffer(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer.duplicate());
+        copy.flip();
+        return copy;
     }
 
     private static ByteBuffer getCoreModuleBinarySnapshot(String modulePath) {
@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.trufflenode.buffer.NIOBufferBuiltins;
 
 /**
  * Realm-specific embedder data.
@@ -52,8 +53,7 @@ public final class RealmData {
     private Object securityToken;
     private final Map<Integer, Object> embedderData = new HashMap<>();
 
-    private DynamicObject nativeUtf8Write;
-    private DynamicObject nativeUtf8Slice;
+    private final DynamicObject[] nativeBufferFunctions = new DynamicObject[NIOBufferBuiltins.Buffer.values().length];
     private DynamicObject resolverFactory;
     private DynamicObject extrasBindingObject;
 
@@ -68,20 +68,16 @@ public final class RealmData {
         return securityToken;
     }
 
-    public DynamicObject getNativeUtf8Write() {
-        return nativeUtf8Write;
+    /**
+     * Returns the native implementation of a Buffer.prototype function (like {@code utf8Slice})
+     * that has been replaced by a Java implementation.
+     */
+    public DynamicObject getNativeBufferFunction(NIOBufferBuiltins.Buffer builtin) {
+        return nativeBufferFunctions[builtin.ordinal()];
     }
 
-    public void setNativeUtf8Write(DynamicObject nativeUtf8Write) {
-        this.nativeUtf8Write = nativeUtf8Write;
-    }
-
-    public DynamicObject getNativeUtf8Slice() {
-        return nativeUtf8Slice;
-    }
-
-    public void setNativeUtf8Slice(DynamicObject nativeUtf8Slice) {
-        this.nativeUtf8Slice = nativeUtf8Slice;
+    public void setNativeBufferFunction(NIOBufferBuiltins.Buffer builtin, DynamicObject function) {
+        nativeBufferFunctions[builtin.ordinal()] = function;
     }
 
     public void setEmbedderData(int index, Object value) {
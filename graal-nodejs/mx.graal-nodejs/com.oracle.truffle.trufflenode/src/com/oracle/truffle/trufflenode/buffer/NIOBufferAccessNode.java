@@ -63,6 +63,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 public abstract class NIOBufferAccessNode extends JSBuiltinNode {
 
     protected static final Charset utf8 = Charset.forName("UTF-8");
+    protected static final int V8MaxStringLength = (1 << 30) - 1 - 24;
 
     @Child protected ArrayBufferViewGetByteLengthNode getLenNode;
 
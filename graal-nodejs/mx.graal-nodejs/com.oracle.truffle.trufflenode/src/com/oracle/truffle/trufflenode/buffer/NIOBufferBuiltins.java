@@ -44,6 +44,7 @@ import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.trufflenode.buffer.NIOBufferCodecs.Encoding;
 
 public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOBufferBuiltins.Buffer> {
     protected NIOBufferBuiltins() {
@@ -52,7 +53,17 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
 
     public enum Buffer implements BuiltinEnum<Buffer> {
         utf8Write(0),
-        utf8Slice(0);
+        utf8Slice(0),
+        latin1Write(0),
+        latin1Slice(0),
+        asciiWrite(0),
+        asciiSlice(0),
+        hexWrite(0),
+        hexSlice(0),
+        base64Write(0),
+        base64Slice(0),
+        ucs2Write(0),
+        ucs2Slice(0);
 
         private final int length;
 
@@ -73,6 +84,26 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
                 return NIOBufferUTF8WriteNodeGen.create(context, builtin, args().withThis().fixedArgs(3).createArgumentNodes(context));
             case utf8Slice:
                 return NIOBufferUTF8SliceNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case latin1Write:
+                return NIOBufferWriteNodeGen.create(context, builtin, builtinEnum, Encoding.LATIN1, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case latin1Slice:
+                return NIOBufferSliceNodeGen.create(context, builtin, builtinEnum, Encoding.LATIN1, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case asciiWrite:
+                return NIOBufferWriteNodeGen.create(context, builtin, builtinEnum, Encoding.ASCII, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case asciiSlice:
+                return NIOBufferSliceNodeGen.create(context, builtin, builtinEnum, Encoding.ASCII, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case hexWrite:
+                return NIOBufferWriteNodeGen.create(context, builtin, builtinEnum, Encoding.HEX, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case hexSlice:
+                return NIOBufferSliceNodeGen.create(context, builtin, builtinEnum, Encoding.HEX, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case base64Write:
+                return NIOBufferWriteNodeGen.create(context, builtin, builtinEnum, Encoding.BASE64, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case base64Slice:
+                return NIOBufferSliceNodeGen.create(context, builtin, builtinEnum, Encoding.BASE64, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case ucs2Write:
+                return NIOBufferWriteNodeGen.create(context, builtin, builtinEnum, Encoding.UCS2, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case ucs2Slice:
+                return NIOBufferSliceNodeGen.create(context, builtin, builtinEnum, Encoding.UCS2, args().withThis().fixedArgs(2).createArgumentNodes(context));
         }
         return null;
     }
@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Java implementations of the string encodings of Node.js buffers (see {@code StringBytes} in
+ * {@code src/string_bytes.cc}). All methods work on byte arrays and are written as simple loops
+ * over arrays so that they can be vectorized by the compiler.
+ */
+final class NIOBufferCodecs {
+
+    enum Encoding {
+        LATIN1,
+        ASCII,
+        HEX,
+        BASE64,
+        UCS2
+    }
+
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char[] BASE64_TABLE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final byte[] UNHEX_TABLE = new byte[256];
+    /** Values of base64 characters; -2 for whitespace and -1 for other invalid characters. */
+    private static final byte[] UNBASE64_TABLE = new byte[256];
+
+    static {
+        Arrays.fill(UNHEX_TABLE, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            UNHEX_TABLE['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            UNHEX_TABLE['a' + i] = (byte) (10 + i);
+            UNHEX_TABLE['A' + i] = (byte) (10 + i);
+        }
+        Arrays.fill(UNBASE64_TABLE, (byte) -1);
+        for (int i = 0; i < BASE64_TABLE.length; i++) {
+            UNBASE64_TABLE[BASE64_TABLE[i]] = (byte) i;
+        }
+        // URL-safe alphabet
+        UNBASE64_TABLE['-'] = 62;
+        UNBASE64_TABLE['_'] = 63;
+        UNBASE64_TABLE['\t'] = -2;
+        UNBASE64_TABLE['\n'] = -2;
+        UNBASE64_TABLE['\r'] = -2;
+        UNBASE64_TABLE[' '] = -2;
+    }
+
+    private NIOBufferCodecs() {
+    }
+
+    /**
+     * Returns the length of the string that {@link #decode} produces for the given number of bytes.
+     */
+    static long decodedLength(Encoding encoding, int byteLength) {
+        switch (encoding) {
+            case HEX:
+                return 2L * byteLength;
+            case BASE64:
+                return (byteLength + 2L) / 3 * 4;
+            case UCS2:
+                return byteLength / 2;
+            default:
+                return byteLength;
+        }
+    }
+
+    /**
+     * Converts the bytes to a string ({@code buffer.toString(encoding)}).
+     */
+    static String decode(Encoding encoding, byte[] bytes, int length) {
+        switch (encoding) {
+            case LATIN1:
+                return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+            case ASCII:
+                return decodeAscii(bytes, length);
+            case HEX:
+                return decodeHex(bytes, length);
+            case BASE64:
+                return decodeBase64(bytes, length);
+            case UCS2:
+                return decodeUcs2(bytes, length);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Decodes UTF-8 bytes like V8's {@code String::NewFromUtf8}: every maximal subpart of an
+     * ill-formed sequence is replaced by a single U+FFFD. Strings that consist of ASCII characters
+     * only are created directly from the bytes.
+     */
+    static String decodeUtf8(byte[] bytes, int length) {
+        int i = 0;
+        while (i < length && bytes[i] >= 0) {
+            i++;
+        }
+        if (i == length) {
+            return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        }
+        // a UTF-8 sequence never decodes to more UTF-16 code units than it has bytes
+        char[] chars = new char[length];
+        for (int j = 0; j < i; j++) {
+            chars[j] = (char) bytes[j];
+        }
+        int pos = i;
+        while (i < length) {
+            int b = bytes[i++] & 0xff;
+            if (b < 0x80) {
+                chars[pos++] = (char) b;
+                continue;
+            }
+            int needed;
+            int codePoint;
+            int lower = 0x80;
+            int upper = 0xbf;
+            if (b >= 0xc2 && b <= 0xdf) {
+                needed = 1;
+                codePoint = b & 0x1f;
+            } else if (b >= 0xe0 && b <= 0xef) {
+                needed = 2;
+                codePoint = b & 0x0f;
+                if (b == 0xe0) {
+                    lower = 0xa0;
+                } else if (b == 0xed) {
+                    // no surrogates
+                    upper = 0x9f;
+                }
+            } else if (b >= 0xf0 && b <= 0xf4) {
+                needed = 3;
+                codePoint = b & 0x07;
+                if (b == 0xf0) {
+                    lower = 0x90;
+                } else if (b == 0xf4) {
+                    upper = 0x8f;
+                }
+            } else {
+                chars[pos++] = REPLACEMENT_CHARACTER;
+                continue;
+            }
+            for (; needed > 0; needed--) {
+                int c;
+                if (i == length || (c = bytes[i] & 0xff) < lower || c > upper) {
+                    break;
+                }
+                codePoint = (codePoint << 6) | (c & 0x3f);
+                lower = 0x80;
+                upper = 0xbf;
+                i++;
+            }
+            if (needed != 0) {
+                // the offending byte is not consumed, it starts the next sequence
+                chars[pos++] = REPLACEMENT_CHARACTER;
+            } else if (codePoint < 0x10000) {
+                chars[pos++] = (char) codePoint;
+            } else {
+                chars[pos++] = Character.highSurrogate(codePoint);
+                chars[pos++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        return new String(chars, 0, pos);
+    }
+
+    /**
+     * Converts the string to bytes ({@code buffer.write(string, encoding)}), writing at most
+     * {@code maxLength} bytes.
+     *
+     * @return the number of bytes written
+     */
+    static int encode(Encoding encoding, String str, byte[] bytes, int maxLength) {
+        switch (encoding) {
+            case LATIN1:
+            case ASCII:
+                return encodeOneByte(str, bytes, maxLength);
+            case HEX:
+                return encodeHex(str, bytes, maxLength);
+            case BASE64:
+                return encodeBase64(str, bytes, maxLength);
+            case UCS2:
+                return encodeUcs2(str, bytes, maxLength);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Returns an upper bound of the number of bytes {@link #encode} writes for the string.
+     */
+    static int maxEncodedLength(Encoding encoding, String str) {
+        switch (encoding) {
+            case HEX:
+                return str.length() / 2;
+            case BASE64:
+                return (str.length() / 4) * 3 + 2;
+            case UCS2:
+                return str.length() * 2;
+            default:
+                return str.length();
+        }
+    }
+
+    private static String decodeAscii(byte[] bytes, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (bytes[i] & 0x7f);
+        }
+        return new String(chars);
+    }
+
+    private static String decodeHex(byte[] bytes, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int b = bytes[i] & 0xff;
+            chars[2 * i] = HEX_DIGITS[b >> 4];
+            chars[2 * i + 1] = HEX_DIGITS[b & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static String decodeBase64(byte[] bytes, int length) {
+        char[] chars = new char[(length + 2) / 3 * 4];
+        int n = length / 3 * 3;
+        int k = 0;
+        for (int i = 0; i < n; i += 3) {
+            int v = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff);
+            chars[k] = BASE64_TABLE[v >> 18];
+            chars[k + 1] = BASE64_TABLE[(v >> 12) & 0x3f];
+            chars[k + 2] = BASE64_TABLE[(v >> 6) & 0x3f];
+            chars[k + 3] = BASE64_TABLE[v & 0x3f];
+            k += 4;
+        }
+        if (length - n == 1) {
+            int a = bytes[n] & 0xff;
+            chars[k] = BASE64_TABLE[a >> 2];
+            chars[k + 1] = BASE64_TABLE[(a & 3) << 4];
+            chars[k + 2] = '=';
+            chars[k + 3] = '=';
+        } else if (length - n == 2) {
+            int a = bytes[n] & 0xff;
+            int b = bytes[n + 1] & 0xff;
+            chars[k] = BASE64_TABLE[a >> 2];
+            chars[k + 1] = BASE64_TABLE[((a & 3) << 4) | (b >> 4)];
+            chars[k + 2] = BASE64_TABLE[(b & 0xf) << 2];
+            chars[k + 3] = '=';
+        }
+        return new String(chars);
+    }
+
+    private static String decodeUcs2(byte[] bytes, int length) {
+        char[] chars = new char[length / 2];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ((bytes[2 * i] & 0xff) | (bytes[2 * i + 1] & 0xff) << 8);
+        }
+        return new String(chars);
+    }
+
+    private static int encodeOneByte(String str, byte[] bytes, int maxLength) {
+        int length = Math.min(maxLength, str.length());
+        for (int i = 0; i < length; i++) {
+            // like V8's String::WriteOneByte, keeps the low byte of every char
+            bytes[i] = (byte) str.charAt(i);
+        }
+        return length;
+    }
+
+    private static int unhex(char c) {
+        // like node, uses the low byte of the char only
+        return UNHEX_TABLE[c & 0xff];
+    }
+
+    private static int encodeHex(String str, byte[] bytes, int maxLength) {
+        int srcLength = str.length();
+        int i;
+        for (i = 0; i < maxLength && i * 2 + 1 < srcLength; i++) {
+            int a = unhex(str.charAt(i * 2));
+            int b = unhex(str.charAt(i * 2 + 1));
+            if (a < 0 || b < 0) {
+                return i;
+            }
+            bytes[i] = (byte) (a << 4 | b);
+        }
+        return i;
+    }
+
+    private static int unbase64(char c) {
+        // like node, uses the low byte of the char only
+        return UNBASE64_TABLE[c & 0xff];
+    }
+
+    private static int base64DecodedSize(String str) {
+        int size = str.length();
+        if (size == 0) {
+            return 0;
+        }
+        if (str.charAt(size - 1) == '=') {
+            size--;
+        }
+        if (size > 0 && str.charAt(size - 1) == '=') {
+            size--;
+        }
+        int remainder = size % 4;
+        int decodedSize = (size / 4) * 3;
+        if (remainder != 0) {
+            if (decodedSize == 0 && remainder == 1) {
+                // 1-byte input cannot be decoded
+                decodedSize = 0;
+            } else {
+                // non-padded input, add 1 or 2 extra bytes
+                decodedSize += 1 + (remainder == 3 ? 1 : 0);
+            }
+        }
+        return decodedSize;
+    }
+
+    /**
+     * Decodes base64 (and base64url) like node's {@code base64_decode}: whitespace and other
+     * invalid characters are skipped, decoding stops at the first {@code '='}.
+     */
+    private static int encodeBase64(String str, byte[] bytes, int maxLength) {
+        int srcLength = str.length();
+        int available = Math.min(maxLength, base64DecodedSize(str));
+        int maxK = available / 3 * 3;
+        int maxI = srcLength / 4 * 4;
+        int[] pos = new int[2];
+        int i = 0;
+        int k = 0;
+        while (i < maxI && k < maxK) {
+            int a = unbase64(str.charAt(i));
+            int b = unbase64(str.charAt(i + 1));
+            int c = unbase64(str.charAt(i + 2));
+            int d = unbase64(str.charAt(i + 3));
+            if ((a | b | c | d) < 0) {
+                pos[0] = i;
+                pos[1] = k;
+                boolean proceed = decodeBase64GroupSlow(str, bytes, maxLength, pos);
+                i = pos[0];
+                k = pos[1];
+                if (!proceed) {
+                    return k;
+                }
+                maxI = i + (srcLength - i) / 4 * 4;
+            } else {
+                int v = a << 18 | b << 12 | c << 6 | d;
+                bytes[k] = (byte) (v >> 16);
+                bytes[k + 1] = (byte) (v >> 8);
+                bytes[k + 2] = (byte) v;
+                i += 4;
+                k += 3;
+            }
+        }
+        if (i < srcLength && k < maxLength) {
+            pos[0] = i;
+            pos[1] = k;
+            decodeBase64GroupSlow(str, bytes, maxLength, pos);
+            k = pos[1];
+        }
+        return k;
+    }
+
+    /**
+     * Decodes one group of four base64 characters, skipping invalid characters.
+     *
+     * @param pos the current source (index 0) and destination (index 1) positions, updated
+     * @return {@code false} if decoding should stop
+     */
+    private static boolean decodeBase64GroupSlow(String str, byte[] bytes, int maxLength, int[] pos) {
+        int srcLength = str.length();
+        int i = pos[0];
+        int k = pos[1];
+        int hi = 0;
+        try {
+            for (int group = 0; group < 4; group++) {
+                int lo;
+                while (true) {
+                    char c = str.charAt(i);
+                    lo = unbase64(c);
+                    i++;
+                    if (lo >= 0) {
+                        break;
+                    }
+                    if (c == '=' || i >= srcLength) {
+                        return false;
+                    }
+                }
+                switch (group) {
+                    case 1:
+                        bytes[k++] = (byte) (((hi & 0x3f) << 2) | ((lo & 0x30) >> 4));
+                        break;
+                    case 2:
+                        bytes[k++] = (byte) (((hi & 0x0f) << 4) | ((lo & 0x3c) >> 2));
+                        break;
+                    case 3:
+                        bytes[k++] = (byte) (((hi & 0x03) << 6) | (lo & 0x3f));
+                        break;
+                    default:
+                        break;
+                }
+                if (i >= srcLength || k >= maxLength) {
+                    return false;
+                }
+                hi = lo;
+            }
+            return true;
+        } finally {
+            pos[0] = i;
+            pos[1] = k;
+        }
+    }
+
+    private static int encodeUcs2(String str, byte[] bytes, int maxLength) {
+        int length = Math.min(maxLength / 2, str.length());
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            // always little endian, like node
+            bytes[2 * i] = (byte) c;
+            bytes[2 * i + 1] = (byte) (c >> 8);
+        }
+        return length * 2;
+    }
+}
@@ -51,6 +51,7 @@ import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.builtins.JSBuiltinObject;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.RealmData;
@@ -77,6 +78,21 @@ public final class NIOBufferObject extends JSBuiltinObject {
         return CLASS_NAME;
     }
 
+    /**
+     * Remembers the native implementations of the functions of the Buffer prototype that are
+     * replaced by the NIO buffer builtins. They are used as a fallback.
+     */
+    @TruffleBoundary
+    private static void registerNativeFunctions(JSContext context, DynamicObject bufferPrototype) {
+        RealmData embedderData = GraalJSAccess.getRealmEmbedderData(context.getRealm());
+        for (NIOBufferBuiltins.Buffer builtin : NIOBufferBuiltins.Buffer.values()) {
+            Object nativeFunction = JSObject.get(bufferPrototype, builtin.name());
+            if (JSFunction.isJSFunction(nativeFunction)) {
+                embedderData.setNativeBufferFunction(builtin, (DynamicObject) nativeFunction);
+            }
+        }
+    }
+
     @TruffleBoundary
     public static Object createInitFunction(JSContext context) {
         JSRealm realm = context.getRealm();
@@ -87,16 +103,12 @@ public final class NIOBufferObject extends JSBuiltinObject {
             @Override
             public Object execute(VirtualFrame frame) {
                 Object[] args = frame.getArguments();
-                assert args.length == 4;
-                DynamicObject nativeUtf8Write = (DynamicObject) args[2];
-                DynamicObject nativeUtf8Slice = (DynamicObject) args[3];
-                RealmData embedderData = GraalJSAccess.getRealmEmbedderData(context.getRealm());
-                embedderData.setNativeUtf8Write(nativeUtf8Write);
-                embedderData.setNativeUtf8Slice(nativeUtf8Slice);
+                assert args.length == 3;
+                registerNativeFunctions(context, (DynamicObject) args[2]);
                 return create(context);
             }
         };
-        JSFunctionData functionData = JSFunctionData.createCallOnly(context, Truffle.getRuntime().createCallTarget(wrapperNode), 2, "NIOBufferBuiltinsInitFunction");
+        JSFunctionData functionData = JSFunctionData.createCallOnly(context, Truffle.getRuntime().createCallTarget(wrapperNode), 1, "NIOBufferBuiltinsInitFunction");
         return JSFunction.create(realm, functionData);
     }
 
@@ -40,13 +40,7 @@
  */
 package com.oracle.truffle.trufflenode.buffer;
 
-import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
-
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -61,8 +55,6 @@ import com.oracle.truffle.trufflenode.GraalJSAccess;
 
 public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
 
-    private static final int V8MaxStringLength = (1 << 30) - 1 - 24;
-
     protected final BranchProfile nativePath = BranchProfile.create();
     protected final BranchProfile errorBranch = BranchProfile.create();
 
@@ -71,25 +63,17 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
     }
 
     private DynamicObject getNativeUtf8Slice() {
-        return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeUtf8Slice();
+        return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeBufferFunction(NIOBufferBuiltins.Buffer.utf8Slice);
     }
 
     @Specialization(guards = {"accept(target)"})
     public Object slice(DynamicObject target, int start, int end) {
-        try {
-            return doSlice(target, start, end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
+        return doSlice(target, start, end);
     }
 
     @Specialization(guards = {"accept(target)"})
     public Object slice(DynamicObject target, double start, double end) {
-        try {
-            return doSlice(target, (int) start, (int) end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
+        return doSlice(target, (int) start, (int) end);
     }
 
     @Specialization
@@ -108,7 +92,7 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
         return JSFunction.call(getNativeUtf8Slice(), target, new Object[]{start, end});
     }
 
-    private Object doSlice(DynamicObject target, int start, int end) throws CharacterCodingException {
+    private Object doSlice(DynamicObject target, int start, int end) {
         boolean isArrayBufferView = JSArrayBufferView.isJSArrayBufferView(target);
         DynamicObject arrayBuffer = getArrayBuffer(target, isArrayBufferView);
         ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
@@ -134,18 +118,14 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
             errorBranch.enter();
             outOfBoundsFail();
         }
-        ByteBuffer data = sliceBuffer(rawBuffer, byteOffset);
-        asBaseBuffer(data).position(start).limit(end);
-        return doDecode(data);
+        return doDecode(rawBuffer, byteOffset + start, length);
     }
 
     @TruffleBoundary
-    private static Object doDecode(ByteBuffer data) throws CharacterCodingException {
-        CharsetDecoder decoder = utf8.newDecoder();
-        decoder.onMalformedInput(CodingErrorAction.REPORT);
-        decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer decoded = decoder.decode(data);
-        return decoded.toString();
+    private static String doDecode(ByteBuffer rawBuffer, int byteOffset, int length) {
+        byte[] bytes = new byte[length];
+        sliceBuffer(rawBuffer, byteOffset).get(bytes);
+        return NIOBufferCodecs.decodeUtf8(bytes, length);
     }
 
     private static boolean oobCheck(int start, int end) {
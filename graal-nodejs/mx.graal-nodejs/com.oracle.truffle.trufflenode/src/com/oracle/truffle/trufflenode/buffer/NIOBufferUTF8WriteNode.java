@@ -74,7 +74,7 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
     }
 
     private DynamicObject getNativeUtf8Write() {
-        return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeUtf8Write();
+        return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeBufferFunction(NIOBufferBuiltins.Buffer.utf8Write);
     }
 
     @Specialization(guards = "accept(target)")
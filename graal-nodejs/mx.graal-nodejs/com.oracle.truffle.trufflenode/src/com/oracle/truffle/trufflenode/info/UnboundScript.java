@@ -57,6 +57,7 @@ public final class UnboundScript {
     private final int id;
     private final Source source;
     private final Object parseResult;
+    private boolean cachedDataRejected;
 
     private UnboundScript(Source source, Object parseResult, int id) {
         this.source = source;
@@ -115,4 +116,16 @@ public final class UnboundScript {
     public Object getParseResult() {
         return parseResult;
     }
+
+    /**
+     * Returns whether the cached data passed to the compilation of this script have been rejected,
+     * see {@code v8::ScriptCompiler::CachedData::rejected}.
+     */
+    public boolean isCachedDataRejected() {
+        return cachedDataRejected;
+    }
+
+    public void setCachedDataRejected() {
+        this.cachedDataRejected = true;
+    }
 }
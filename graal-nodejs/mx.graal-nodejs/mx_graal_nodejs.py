@@ -594,7 +594,7 @@ mx_sdk.register_graalvm_component(mx_sdk.GraalVmLanguage(
     license_files=[],
     third_party_license_files=[],
     dependencies=['Graal.js'],
-    truffle_jars=['graal-nodejs:TRUFFLENODE'],
+    truffle_jars=['graal-nodejs:TRUFFLENODE', 'graal-js:TRUFFLE_JS_SNAPSHOT_TOOL'],
     support_distributions=['graal-nodejs:TRUFFLENODE_GRAALVM_SUPPORT'],
     provided_executables=[
         'bin/<exe:node>',
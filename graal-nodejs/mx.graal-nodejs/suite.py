@@ -77,6 +77,7 @@ suite = {
       "sourceDirs" : ["src"],
       "dependencies" : [
         "graal-js:GRAALJS",
+        "graal-js:TRUFFLE_JS_SNAPSHOT_TOOL",
         "sdk:LAUNCHER_COMMON",
       ],
       "annotationProcessors" : ["truffle:TRUFFLE_DSL_PROCESSOR"],
@@ -144,6 +145,7 @@ suite = {
       "dependencies" : ["com.oracle.truffle.trufflenode"],
       "distDependencies" : [
         "graal-js:GRAALJS",
+        "graal-js:TRUFFLE_JS_SNAPSHOT_TOOL",
         "sdk:LAUNCHER_COMMON",
       ],
       "description" : "Graal Node.js",
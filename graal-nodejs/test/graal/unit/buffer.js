@@ -145,4 +145,49 @@ describe('Buffer.utf8Slice', function() {
     it('length is zero', function() {
         assert.strictEqual(Buffer.alloc(0).utf8Slice.length, 0);
     });
-});
\ No newline at end of file
+});
+describe('Buffer.toString(\'utf8\') with ill-formed input', function() {
+    // every maximal subpart of an ill-formed sequence is replaced by one U+FFFD (like V8 and WHATWG)
+    function decode(bytes, start, end) {
+        return Buffer.from(bytes).toString('utf8', start, end);
+    }
+    it('should replace a truncated 2-byte sequence at the end', function() {
+        assert.strictEqual(decode([0x61, 0xC3]), 'a�');
+    });
+    it('should replace a truncated 3-byte sequence at the end', function() {
+        assert.strictEqual(decode([0x61, 0xE2, 0x82]), 'a�');
+        assert.strictEqual(decode([0x61, 0xE2]), 'a�');
+    });
+    it('should replace a truncated 4-byte sequence at the end', function() {
+        assert.strictEqual(decode([0xF0, 0x9F, 0x98]), '�');
+        assert.strictEqual(decode([0xF0, 0x9F, 0x98, 0x80]), '😀');
+    });
+    it('should replace a sequence truncated by the end of the slice', function() {
+        var euro = [0xE2, 0x82, 0xAC, 0x61];
+        assert.strictEqual(decode(euro, 0, 2), '�');
+        assert.strictEqual(decode(euro, 1, 4), '��a');
+        assert.strictEqual(decode(euro, 0, 4), '€a');
+    });
+    it('should replace overlong encodings', function() {
+        assert.strictEqual(decode([0xC0, 0x80]), '��');
+        assert.strictEqual(decode([0xC1, 0xBF]), '��');
+        assert.strictEqual(decode([0xE0, 0x80, 0x80]), '���');
+        assert.strictEqual(decode([0xF0, 0x80, 0x80, 0x80]), '����');
+    });
+    it('should replace encoded surrogates', function() {
+        assert.strictEqual(decode([0xED, 0xA0, 0x80]), '���');
+        assert.strictEqual(decode([0xED, 0xBF, 0xBF, 0x61]), '���a');
+    });
+    it('should replace code points above U+10FFFF', function() {
+        assert.strictEqual(decode([0xF4, 0x90, 0x80, 0x80]), '����');
+        assert.strictEqual(decode([0xF5, 0x80, 0x80, 0x80]), '����');
+        assert.strictEqual(decode([0xF4, 0x8F, 0xBF, 0xBF]), '􏿿');
+    });
+    it('should replace a lone continuation byte', function() {
+        assert.strictEqual(decode([0x80]), '�');
+        assert.strictEqual(decode([0x61, 0x80, 0x62]), 'a�b');
+    });
+    it('should replace bytes that never occur in UTF-8', function() {
+        assert.strictEqual(decode([0xFF, 0xFE]), '��');
+    });
+});
@@ -83,4 +83,21 @@ describe('vm', function () {
         // property is defined)
         //assert.strictEqual(desc.configurable, false);
     });
+    it('should accept cached data produced for the same source', function () {
+        var code = 'var x = 6; (function (y) { return x * y; })(7)';
+        var script = new vm.Script(code, {produceCachedData: true});
+        assert.ok(Buffer.isBuffer(script.cachedData));
+        var cached = new vm.Script(code, {cachedData: script.cachedData});
+        assert.strictEqual(cached.cachedDataRejected, false);
+        assert.strictEqual(cached.runInNewContext(), 42);
+    });
+    it('should reject cached data of a different source', function () {
+        var cachedData = new vm.Script('1 + 1').createCachedData();
+        var script = new vm.Script('2 + 2', {cachedData: cachedData});
+        assert.strictEqual(script.cachedDataRejected, true);
+        assert.strictEqual(script.runInThisContext(), 4);
+        script = new vm.Script('3 + 3', {cachedData: Buffer.from('garbage')});
+        assert.strictEqual(script.cachedDataRejected, true);
+        assert.strictEqual(script.runInThisContext(), 6);
+    });
 });